@@ -0,0 +1,54 @@
+package com.automation.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wrapper cost of BasePage.click/enterText/getText (logging, snapshot invalidation, element cache)
+ * on top of the driver calls they issue.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BasePageBenchmark {
+    private BoundLoginPage page;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDriver driver) {
+        page = new BoundLoginPage(driver.driver);
+    }
+
+    @Benchmark
+    public void click() {
+        page.clickLogin();
+    }
+
+    @Benchmark
+    public void enterText() {
+        page.enterUsername("user@example.com");
+    }
+
+    @Benchmark
+    public String getText() {
+        return page.getWelcomeText();
+    }
+
+    @Benchmark
+    public String getTextByLocator() {
+        return page.getWelcomeTextByLocator();
+    }
+}
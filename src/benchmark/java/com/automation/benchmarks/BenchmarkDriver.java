@@ -0,0 +1,29 @@
+package com.automation.benchmarks;
+
+import com.automation.drivers.DriverManager;
+import io.appium.java_client.AppiumDriver;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Per-thread in-process driver registered with DriverManager, so framework code calling
+ * DriverManager.getDriver() runs against {@link InProcessCommandExecutor}.
+ */
+@State(Scope.Thread)
+public class BenchmarkDriver {
+    AppiumDriver driver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        driver = InProcessCommandExecutor.createAndroidDriver();
+        DriverManager.setDriver(driver);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DriverManager.quitDriver();
+    }
+}
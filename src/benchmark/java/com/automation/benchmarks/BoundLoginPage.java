@@ -0,0 +1,89 @@
+package com.automation.benchmarks;
+
+import com.automation.pages.BasePage;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.pagefactory.AndroidFindBy;
+import io.appium.java_client.pagefactory.iOSXCUITFindBy;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Login page with package-private fields, bound by its generated PageBinder.
+ */
+public class BoundLoginPage extends BasePage {
+    private static final By WELCOME_MESSAGE = AppiumBy.id("com.example.app:id/welcome_message");
+
+    @AndroidFindBy(id = "com.example.app:id/username_field")
+    @iOSXCUITFindBy(accessibility = "usernameField")
+    WebElement usernameField;
+
+    @AndroidFindBy(id = "com.example.app:id/password_field")
+    @iOSXCUITFindBy(accessibility = "passwordField")
+    WebElement passwordField;
+
+    @AndroidFindBy(id = "com.example.app:id/login_button")
+    @iOSXCUITFindBy(accessibility = "loginButton")
+    WebElement loginButton;
+
+    @AndroidFindBy(id = "com.example.app:id/welcome_message")
+    @iOSXCUITFindBy(accessibility = "welcomeMessage")
+    WebElement welcomeMessage;
+
+    @AndroidFindBy(id = "com.example.app:id/forgot_password_link")
+    @iOSXCUITFindBy(accessibility = "forgotPasswordLink")
+    WebElement forgotPasswordLink;
+
+    @AndroidFindBy(id = "com.example.app:id/remember_me_checkbox")
+    @iOSXCUITFindBy(accessibility = "rememberMeCheckbox")
+    WebElement rememberMeCheckbox;
+
+    @AndroidFindBy(id = "com.example.app:id/sign_up_link")
+    @iOSXCUITFindBy(accessibility = "signUpLink")
+    WebElement signUpLink;
+
+    @AndroidFindBy(id = "com.example.app:id/error_message")
+    @iOSXCUITFindBy(accessibility = "errorMessage")
+    WebElement errorMessage;
+
+    @AndroidFindBy(id = "com.example.app:id/logo")
+    @iOSXCUITFindBy(accessibility = "logo")
+    WebElement logo;
+
+    @AndroidFindBy(id = "com.example.app:id/version_label")
+    @iOSXCUITFindBy(accessibility = "versionLabel")
+    WebElement versionLabel;
+
+    @AndroidFindBy(id = "com.example.app:id/language_picker")
+    @iOSXCUITFindBy(accessibility = "languagePicker")
+    WebElement languagePicker;
+
+    @AndroidFindBy(id = "com.example.app:id/help_button")
+    @iOSXCUITFindBy(accessibility = "helpButton")
+    WebElement helpButton;
+
+    public BoundLoginPage(AppiumDriver driver) {
+        super(driver);
+    }
+
+    public void enterUsername(String username) {
+        enterText(usernameField, username, "Username Field");
+    }
+
+    public void clickLogin() {
+        click(loginButton, "Login Button");
+    }
+
+    public String getWelcomeText() {
+        return getText(welcomeMessage, "Welcome Message");
+    }
+
+    public String getWelcomeTextByLocator() {
+        return getText(WELCOME_MESSAGE, "Welcome Message");
+    }
+
+    @Override
+    protected void scrollToElement(WebElement element, String elementName) {
+        throw new UnsupportedOperationException("Not used by benchmarks");
+    }
+}
@@ -0,0 +1,49 @@
+package com.automation.benchmarks;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of ConfigManager lookups, which framework code does on every wait, click and page construction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigManagerBenchmark {
+
+    @Benchmark
+    public String getProperty() {
+        return ConfigManager.getProperty(ConfigKey.ANDROID_APP_PACKAGE);
+    }
+
+    @Benchmark
+    public String getMissingPropertyWithDefault() {
+        return ConfigManager.getProperty("benchmark.missing.key", "default");
+    }
+
+    @Benchmark
+    public boolean getBooleanProperty() {
+        return ConfigManager.getBooleanProperty(ConfigKey.ELEMENT_CACHE_ENABLED);
+    }
+
+    @Benchmark
+    public long getLongProperty() {
+        return ConfigManager.getLongProperty(ConfigKey.WAIT_POLL_INITIAL_MS);
+    }
+
+    @Benchmark
+    public boolean isAndroid() {
+        return ConfigManager.isAndroid();
+    }
+}
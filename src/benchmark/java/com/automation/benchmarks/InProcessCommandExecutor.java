@@ -0,0 +1,108 @@
+package com.automation.benchmarks;
+
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Command executor answering driver commands in process, so benchmarks can build a real
+ * AndroidDriver without an Appium server or device. Every locator matches one element that is
+ * displayed and enabled; element commands succeed and screenshots return a fixed PNG.
+ */
+public class InProcessCommandExecutor extends AppiumCommandExecutor {
+    private static final String SESSION_ID = UUID.randomUUID().toString();
+    private static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+    private static final String SCREENSHOT = createScreenshot();
+
+    public InProcessCommandExecutor() {
+        super(MobileCommand.commandRepository, localUrl());
+    }
+
+    /**
+     * Create an Android driver backed by an in-process executor
+     * @return Driver
+     */
+    public static AndroidDriver createAndroidDriver() {
+        MutableCapabilities capabilities = new MutableCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        capabilities.setCapability("appium:automationName", "UiAutomator2");
+        return new AndroidDriver(new InProcessCommandExecutor(), capabilities);
+    }
+
+    @Override
+    public Response execute(Command command) {
+        Response response = new Response();
+        response.setSessionId(SESSION_ID);
+        response.setState("success");
+        response.setValue(answer(command));
+        return response;
+    }
+
+    private static Object answer(Command command) {
+        switch (command.getName()) {
+            case DriverCommand.NEW_SESSION:
+                Map<String, Object> capabilities = new HashMap<>();
+                capabilities.put("platformName", "Android");
+                capabilities.put("automationName", "UiAutomator2");
+                return capabilities;
+            case DriverCommand.FIND_ELEMENT:
+            case DriverCommand.FIND_CHILD_ELEMENT:
+                return element();
+            case DriverCommand.FIND_ELEMENTS:
+            case DriverCommand.FIND_CHILD_ELEMENTS:
+                return Collections.singletonList(element());
+            case DriverCommand.IS_ELEMENT_DISPLAYED:
+            case DriverCommand.IS_ELEMENT_ENABLED:
+                return Boolean.TRUE;
+            case DriverCommand.GET_ELEMENT_TEXT:
+                return "Welcome";
+            case DriverCommand.SCREENSHOT:
+                return SCREENSHOT;
+            default:
+                return null;
+        }
+    }
+
+    private static Map<String, Object> element() {
+        return Collections.singletonMap(ELEMENT_KEY, "element-1");
+    }
+
+    /**
+     * Encode a phone-sized blank PNG as the base64 screenshot payload
+     * @return Base64 PNG
+     */
+    private static String createScreenshot() {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(new BufferedImage(360, 640, BufferedImage.TYPE_INT_RGB), "png", out);
+            return Base64.getEncoder().encodeToString(out.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static URL localUrl() {
+        try {
+            return new URL("http://127.0.0.1:4723");
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.automation.benchmarks;
+
+import io.appium.java_client.pagefactory.AppiumFieldDecorator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.support.PageFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page-object construction through the generated PageBinder compared with the reflective
+ * PageFactory.initElements paths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PageBindingBenchmark {
+    private BoundLoginPage page;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDriver driver) {
+        page = new BoundLoginPage(driver.driver);
+    }
+
+    @Benchmark
+    public Object generatedBinder(BenchmarkDriver driver) {
+        return new BoundLoginPage(driver.driver);
+    }
+
+    @Benchmark
+    public Object pageFactoryCachingDecorator(BenchmarkDriver driver) {
+        return new ReflectiveLoginPage(driver.driver);
+    }
+
+    @Benchmark
+    public Object pageFactoryAppiumDecorator(BenchmarkDriver driver) {
+        PageFactory.initElements(new AppiumFieldDecorator(driver.driver, Duration.ofSeconds(10)), page);
+        return page;
+    }
+}
@@ -0,0 +1,70 @@
+package com.automation.benchmarks;
+
+import com.automation.pages.BasePage;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.pagefactory.AndroidFindBy;
+import io.appium.java_client.pagefactory.iOSXCUITFindBy;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Same login page with private fields, initialized by PageFactory.
+ */
+public class ReflectiveLoginPage extends BasePage {
+
+    @AndroidFindBy(id = "com.example.app:id/username_field")
+    @iOSXCUITFindBy(accessibility = "usernameField")
+    private WebElement usernameField;
+
+    @AndroidFindBy(id = "com.example.app:id/password_field")
+    @iOSXCUITFindBy(accessibility = "passwordField")
+    private WebElement passwordField;
+
+    @AndroidFindBy(id = "com.example.app:id/login_button")
+    @iOSXCUITFindBy(accessibility = "loginButton")
+    private WebElement loginButton;
+
+    @AndroidFindBy(id = "com.example.app:id/welcome_message")
+    @iOSXCUITFindBy(accessibility = "welcomeMessage")
+    private WebElement welcomeMessage;
+
+    @AndroidFindBy(id = "com.example.app:id/forgot_password_link")
+    @iOSXCUITFindBy(accessibility = "forgotPasswordLink")
+    private WebElement forgotPasswordLink;
+
+    @AndroidFindBy(id = "com.example.app:id/remember_me_checkbox")
+    @iOSXCUITFindBy(accessibility = "rememberMeCheckbox")
+    private WebElement rememberMeCheckbox;
+
+    @AndroidFindBy(id = "com.example.app:id/sign_up_link")
+    @iOSXCUITFindBy(accessibility = "signUpLink")
+    private WebElement signUpLink;
+
+    @AndroidFindBy(id = "com.example.app:id/error_message")
+    @iOSXCUITFindBy(accessibility = "errorMessage")
+    private WebElement errorMessage;
+
+    @AndroidFindBy(id = "com.example.app:id/logo")
+    @iOSXCUITFindBy(accessibility = "logo")
+    private WebElement logo;
+
+    @AndroidFindBy(id = "com.example.app:id/version_label")
+    @iOSXCUITFindBy(accessibility = "versionLabel")
+    private WebElement versionLabel;
+
+    @AndroidFindBy(id = "com.example.app:id/language_picker")
+    @iOSXCUITFindBy(accessibility = "languagePicker")
+    private WebElement languagePicker;
+
+    @AndroidFindBy(id = "com.example.app:id/help_button")
+    @iOSXCUITFindBy(accessibility = "helpButton")
+    private WebElement helpButton;
+
+    public ReflectiveLoginPage(AppiumDriver driver) {
+        super(driver);
+    }
+
+    @Override
+    protected void scrollToElement(WebElement element, String elementName) {
+        throw new UnsupportedOperationException("Not used by benchmarks");
+    }
+}
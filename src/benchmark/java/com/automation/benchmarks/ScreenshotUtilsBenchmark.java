@@ -0,0 +1,46 @@
+package com.automation.benchmarks;
+
+import com.automation.utils.ScreenshotUtils;
+import com.automation.utils.ScreenshotWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Screenshot capture and file handling. Files overwrite one name under build/jmh/screenshots
+ * so the run does not fill the disk.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dscreenshot.path=build/jmh/screenshots/")
+@State(Scope.Benchmark)
+public class ScreenshotUtilsBenchmark {
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ScreenshotWriter.shutdown(10);
+    }
+
+    @Benchmark
+    public String captureAndWrite(BenchmarkDriver driver) {
+        return ScreenshotUtils.captureScreenshot("benchmark", false);
+    }
+
+    @Benchmark
+    public CompletableFuture<String> captureAsync(BenchmarkDriver driver) {
+        return ScreenshotUtils.captureScreenshotAsync("benchmark", false);
+    }
+}
@@ -0,0 +1,49 @@
+package com.automation.benchmarks;
+
+import com.automation.utils.WaitUtils;
+import io.appium.java_client.AppiumBy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Framework overhead of a wait whose element is already there: the implicit wait switch,
+ * one poll and the statistics bookkeeping, without network latency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WaitUtilsBenchmark {
+    private static final By USERNAME = AppiumBy.id("com.example.app:id/username");
+    private static final By WELCOME = AppiumBy.id("com.example.app:id/welcome_message");
+
+    @Benchmark
+    public WebElement waitForElementVisible(BenchmarkDriver driver) {
+        return WaitUtils.waitForElementVisible(USERNAME);
+    }
+
+    @Benchmark
+    public WebElement waitForElementClickable(BenchmarkDriver driver) {
+        return WaitUtils.waitForElementClickable(USERNAME);
+    }
+
+    @Benchmark
+    public Object waitForAnyVisible(BenchmarkDriver driver) {
+        return WaitUtils.waitForAnyVisible(10, WELCOME, USERNAME);
+    }
+
+    @Benchmark
+    public boolean isElementPresent(BenchmarkDriver driver) {
+        return WaitUtils.isElementPresent(USERNAME);
+    }
+}
@@ -0,0 +1,89 @@
+package com.automation.runners;
+
+import com.automation.drivers.DeviceManager;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.SkipException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Java 21 runner executing every scenario on its own virtual thread, for cloud and simulated device
+ * farms with hundreds of concurrent sessions. Blocking driver round trips park the virtual thread
+ * instead of holding an OS thread, so concurrency is bounded by device leases (one permit per device
+ * in the inventory) rather than by a worker thread pool. Uses the {@link TestRunner} Cucumber options,
+ * scenario order and rerun stage. Run with {@code gradle virtualThreadTest}.
+ */
+public class VirtualThreadTestRunner {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadTestRunner.class);
+
+    public static void main(String[] args) {
+        TestNGCucumberRunner cucumber = new TestNGCucumberRunner(TestRunner.class);
+        int devices = Math.max(1, DeviceManager.getDeviceCount());
+        Semaphore deviceLeases = new Semaphore(devices, true);
+        List<Object[]> failed;
+        try {
+            Object[][] scenarios = ScenarioScheduler.order(cucumber.provideScenarios());
+            logger.info("Running {} scenario(s) on virtual threads, at most {} at a time", scenarios.length, devices);
+            failed = runAll(cucumber, scenarios, deviceLeases, false);
+            if (!failed.isEmpty() && ScenarioRerun.isEnabled()) {
+                failed.forEach(ScenarioRerun::recordFailure);
+                for (int attempt = 1; attempt <= ScenarioRerun.getAttempts() && !failed.isEmpty(); attempt++) {
+                    logger.info("Rerunning {} failed scenario(s), attempt {}", failed.size(), attempt);
+                    List<Object[]> rerun = failed;
+                    failed = runAll(cucumber, rerun.toArray(new Object[0][]), deviceLeases, true);
+                    List<Object[]> stillFailing = failed;
+                    rerun.stream().filter(row -> !stillFailing.contains(row))
+                            .forEach(row -> ScenarioRerun.recordRerun(row, true));
+                }
+                failed.forEach(row -> ScenarioRerun.recordRerun(row, false));
+            }
+        } finally {
+            cucumber.finish();
+            ScenarioRerun.writeSummary();
+        }
+        logger.info("Virtual thread run finished: {} scenario(s) failed", failed.size());
+        System.exit(failed.isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Run scenarios on one virtual thread each and wait for all of them
+     * @return Rows of the scenarios that failed
+     */
+    private static List<Object[]> runAll(TestNGCucumberRunner cucumber, Object[][] scenarios, Semaphore deviceLeases,
+                                         boolean rerun) {
+        List<Object[]> failed = new ArrayList<>();
+        AtomicInteger skipped = new AtomicInteger();
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(rerun ? "rerun-" : "scenario-", 0).factory())) {
+            for (Object[] row : scenarios) {
+                executor.submit(() -> {
+                    deviceLeases.acquireUninterruptibly();
+                    ScenarioRerun.setRerunning(rerun);
+                    try {
+                        cucumber.runScenario(((PickleWrapper) row[0]).getPickle());
+                    } catch (SkipException e) {
+                        skipped.incrementAndGet();
+                    } catch (Throwable e) {
+                        synchronized (failed) {
+                            failed.add(row);
+                        }
+                    } finally {
+                        ScenarioRerun.setRerunning(false);
+                        deviceLeases.release();
+                    }
+                });
+            }
+        }
+        logger.info("{} {} scenario(s): {} failed, {} skipped", rerun ? "Reran" : "Ran", scenarios.length,
+                failed.size(), skipped.get());
+        return failed;
+    }
+}
@@ -0,0 +1,170 @@
+package com.automation.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration keys the framework reads, with their value type and default.
+ * Every key is parsed and validated once when a {@link ConfigSnapshot} is built, so a malformed value
+ * fails at startup instead of mid-scenario, and environment / -D overrides apply to these keys even when
+ * no config file sets them. Keys outside this list (settings profiles, per-platform lookups) stay raw
+ * strings read through {@link ConfigManager#getProperty(String)}.
+ */
+public enum ConfigKey {
+    // Appium server and HTTP client
+    PLATFORM_TYPE("platform.type", Type.STRING, null),
+    APPIUM_SERVER_URL("appium.server.url", Type.STRING, null),
+    APPIUM_CONNECTION_TIMEOUT("appium.connection.timeout", Type.LONG, 60L),
+    APPIUM_READ_TIMEOUT("appium.read.timeout", Type.LONG, 180L),
+    APPIUM_HTTP_SHARED("appium.http.shared", Type.BOOLEAN, true),
+    APPIUM_HTTP_MAX_CONNECTIONS("appium.http.max.connections", Type.INT, 64),
+    APPIUM_HTTP_KEEPALIVE_MS("appium.http.keepalive.ms", Type.LONG, 4000L),
+    APPIUM_HTTP_THREADS("appium.http.threads", Type.INT, 8),
+
+    // Session pool and devices
+    DRIVER_POOL_SIZE("driver.pool.size", Type.INT, 0),
+    DRIVER_POOL_MAX_USES("driver.pool.max.uses", Type.INT, 25),
+    DRIVER_POOL_LEASE_TIMEOUT("driver.pool.lease.timeout", Type.LONG, 300L),
+    DRIVER_POOL_HEALTH_CHECK_IDLE_MS("driver.pool.health.check.idle.ms", Type.LONG, 30000L),
+    DEVICE_INVENTORY_PATH("device.inventory.path", Type.STRING, ""),
+    DEVICE_LEASE_TIMEOUT("device.lease.timeout", Type.LONG, 600L),
+
+    // Simulated Appium server
+    SIMULATOR_ENABLED("simulator.enabled", Type.BOOLEAN, false),
+    SIMULATOR_PORT("simulator.port", Type.INT, 0),
+    SIMULATOR_UI_TREE("simulator.ui.tree", Type.STRING, ""),
+    SIMULATOR_LATENCY_MS("simulator.latency.ms", Type.LONG, 0L),
+    SIMULATOR_JITTER_MS("simulator.jitter.ms", Type.LONG, 0L),
+    SIMULATOR_THREADS("simulator.threads", Type.INT, 64),
+
+    // Apps under test
+    ANDROID_APP_PATH("android.app.path", Type.STRING, null),
+    ANDROID_DEVICE_NAME("android.device.name", Type.STRING, null),
+    ANDROID_PLATFORM_VERSION("android.platform.version", Type.STRING, null),
+    ANDROID_AUTOMATION_NAME("android.automation.name", Type.STRING, null),
+    ANDROID_APP_PACKAGE("android.app.package", Type.STRING, null),
+    ANDROID_APP_ACTIVITY("android.app.activity", Type.STRING, null),
+    IOS_APP_PATH("ios.app.path", Type.STRING, null),
+    IOS_DEVICE_NAME("ios.device.name", Type.STRING, null),
+    IOS_PLATFORM_VERSION("ios.platform.version", Type.STRING, null),
+    IOS_AUTOMATION_NAME("ios.automation.name", Type.STRING, null),
+    IOS_BUNDLE_ID("ios.bundle.id", Type.STRING, null),
+    APP_RESET("app.reset", Type.STRING, "true"),
+    APP_INSTALL_CACHE_PATH("app.install.cache.path", Type.STRING, ".cache/app-install-checksums.properties"),
+    FULL_RESET("full.reset", Type.BOOLEAN, false),
+    NO_RESET("no.reset", Type.BOOLEAN, false),
+    AUTO_GRANT_PERMISSIONS("auto.grant.permissions", Type.BOOLEAN, true),
+
+    // Waits
+    IMPLICIT_WAIT("implicit.wait", Type.INT, 10),
+    EXPLICIT_WAIT("explicit.wait", Type.INT, 20),
+    WAIT_POLL_INITIAL_MS("wait.poll.initial.ms", Type.LONG, 50L),
+    WAIT_POLL_MULTIPLIER("wait.poll.multiplier", Type.DOUBLE, 1.5),
+    WAIT_POLL_MAX_MS("wait.poll.max.ms", Type.LONG, 1000L),
+
+    // Screenshots and failure replay
+    SCREENSHOT_ON_FAILURE("screenshot.on.failure", Type.BOOLEAN, true),
+    SCREENSHOT_WRITER_THREADS("screenshot.writer.threads", Type.INT, 1),
+    SCREENSHOT_WRITER_QUEUE_SIZE("screenshot.writer.queue.size", Type.INT, 16),
+    SCREENSHOT_FORMAT("screenshot.format", Type.STRING, "png"),
+    SCREENSHOT_SCALE("screenshot.scale", Type.DOUBLE, 1.0),
+    REPLAY_ENABLED("replay.enabled", Type.BOOLEAN, false),
+    REPLAY_SOURCE("replay.source", Type.STRING, "poll"),
+    REPLAY_MJPEG_URL("replay.mjpeg.url", Type.STRING, ""),
+    REPLAY_FPS("replay.fps", Type.INT, 2),
+    REPLAY_SECONDS("replay.seconds", Type.INT, 10),
+    REPLAY_SCALE("replay.scale", Type.DOUBLE, 0.4),
+    REPLAY_BUFFER_MB("replay.buffer.mb", Type.INT, 16),
+
+    // Pages and elements
+    PAGE_SNAPSHOT_ENABLED("page.snapshot.enabled", Type.BOOLEAN, false),
+    PAGE_SNAPSHOT_MAX_NODES("page.snapshot.max.nodes", Type.INT, 20000),
+    ELEMENT_CACHE_ENABLED("element.cache.enabled", Type.BOOLEAN, true),
+    BATCH_ENABLED("batch.enabled", Type.BOOLEAN, true),
+    BATCH_TIMEOUT_MS("batch.timeout.ms", Type.LONG, 60000L),
+    SCROLL_NATIVE_ENABLED("scroll.native.enabled", Type.BOOLEAN, true),
+    SCROLL_MAX_GESTURES("scroll.max.gestures", Type.INT, 15),
+    SCROLL_DISTANCE_INITIAL("scroll.distance.initial", Type.DOUBLE, 0.3),
+    SCROLL_DISTANCE_MAX("scroll.distance.max", Type.DOUBLE, 0.7),
+    SCROLL_SWIPE_MS("scroll.swipe.ms", Type.LONG, 300L),
+    INPUT_STRATEGY("input.strategy", Type.STRING, "auto"),
+    INPUT_SKIP_EQUAL("input.skip.equal", Type.BOOLEAN, true),
+    INPUT_PASTE_MIN_LENGTH("input.paste.min.length", Type.INT, 50),
+    INPUT_VERIFY("input.verify", Type.BOOLEAN, true),
+    INPUT_TYPE_CHAR_MS("input.type.char.ms", Type.LONG, 50L),
+    SETTINGS_READBACK("settings.readback", Type.BOOLEAN, true),
+
+    // Metrics and locator profiling
+    METRICS_ENABLED("metrics.enabled", Type.BOOLEAN, true),
+    LOCATOR_PROFILER_ENABLED("locator.profiler.enabled", Type.BOOLEAN, true),
+    LOCATOR_PROFILER_SUGGEST("locator.profiler.suggest", Type.BOOLEAN, false),
+    LOCATOR_PROFILER_SLOW_MS("locator.profiler.slow.ms", Type.LONG, 300L),
+    LOCATOR_PROFILER_TOP("locator.profiler.top", Type.INT, 10),
+
+    // Scheduling, reruns and reports
+    SCENARIO_ORDER("scenario.order", Type.STRING, "duration"),
+    HISTORY_PATH("history.path", Type.STRING, ".cache/scenario-durations.json"),
+    HISTORY_DEFAULT_DURATION_MS("history.default.duration.ms", Type.LONG, 60000L),
+    RERUN_FAILED_ATTEMPTS("rerun.failed.attempts", Type.INT, 1),
+    EXTENT_REPORT_PATH("extent.report.path", Type.STRING, "extent-reports/"),
+    CUCUMBER_REPORT_PATH("cucumber.report.path", Type.STRING, "cucumber-reports/"),
+    REPORT_STREAM_PATH("report.stream.path", Type.STRING, "cucumber-reports/stream/"),
+    REPORT_MERGE_ON_FINISH("report.merge.on.finish", Type.BOOLEAN, true),
+    SCREENSHOT_PATH("screenshot.path", Type.STRING, "screenshots/"),
+    METRICS_REPORT_PATH("metrics.report.path", Type.STRING, "metrics-reports/");
+
+    /**
+     * Value type of a key
+     */
+    enum Type {
+        STRING, INT, LONG, DOUBLE, BOOLEAN
+    }
+
+    private static final Map<String, ConfigKey> BY_KEY = new HashMap<>();
+
+    static {
+        for (ConfigKey key : values()) {
+            BY_KEY.put(key.key, key);
+        }
+    }
+
+    private final String key;
+    private final Type type;
+    private final Object defaultValue;
+
+    ConfigKey(String key, Type type, Object defaultValue) {
+        this.key = key;
+        this.type = type;
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * Get the property name
+     * @return Property name, e.g. driver.pool.size
+     */
+    public String getKey() {
+        return key;
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    Object getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * Find the known key for a property name
+     * @param key Property name
+     * @return Known key, or null if the framework does not declare it
+     */
+    public static ConfigKey forKey(String key) {
+        return BY_KEY.get(key);
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
@@ -3,34 +3,159 @@ package com.automation.config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 /**
- * Configuration Manager to load and manage properties from config files
+ * Configuration Manager to load and manage properties from config files.
+ * Configuration is layered, each layer overriding the previous one:
+ * <ol>
+ *   <li>base file: -Dconfig.path / CONFIG_PATH, otherwise src/test/resources/config/config.properties,
+ *       otherwise config/config.properties on the classpath (packaged runs)</li>
+ *   <li>profile file config-&lt;profile&gt;.properties next to the base file, selected by config.profile</li>
+ *   <li>environment variables, e.g. APPIUM_SERVER_URL overrides appium.server.url</li>
+ *   <li>-D system properties with the same key</li>
+ * </ol>
+ * Overrides apply to keys set in a file, to every {@link ConfigKey} (including ones left to their code
+ * default) and, as -D properties only, to keys under {@link #OVERRIDE_PREFIXES}.
+ * The merged result is parsed and validated once into an immutable {@link ConfigSnapshot}; framework code
+ * reads known keys through the {@link ConfigKey} getters, which return pre-parsed values.
  */
 public class ConfigManager {
     private static final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
-    private static Properties properties;
-    private static final String CONFIG_FILE_PATH = "src/test/resources/config/config.properties";
+    private static final String DEFAULT_CONFIG_FILE_PATH = "src/test/resources/config/config.properties";
+    private static final String CLASSPATH_CONFIG_RESOURCE = "config/config.properties";
+    /** Key prefixes whose -D system properties are added even when no config file declares the key */
+    static final List<String> OVERRIDE_PREFIXES = List.of("settings.profile.");
+    private static volatile ConfigSnapshot snapshot;
 
     static {
         loadProperties();
     }
 
     /**
-     * Load properties from config file
+     * Load all configuration layers and publish a new snapshot
      */
     private static void loadProperties() {
-        properties = new Properties();
-        try (FileInputStream fis = new FileInputStream(CONFIG_FILE_PATH)) {
-            properties.load(fis);
-            logger.info("Configuration properties loaded successfully from: {}", CONFIG_FILE_PATH);
+        Properties properties = new Properties();
+        String basePath = firstNonEmpty(System.getProperty("config.path"), System.getenv("CONFIG_PATH"));
+        String filePath = basePath != null ? basePath : DEFAULT_CONFIG_FILE_PATH;
+        String source = loadLayer(properties, filePath, CLASSPATH_CONFIG_RESOURCE, basePath != null);
+
+        String profile = firstNonEmpty(System.getProperty("config.profile"), System.getenv("CONFIG_PROFILE"),
+                properties.getProperty("config.profile"));
+        if (profile != null) {
+            String profileFile = "config-" + profile + ".properties";
+            Path profilePath = Paths.get(filePath).resolveSibling(profileFile);
+            loadLayer(properties, profilePath.toString(), "config/" + profileFile, true);
+        }
+
+        int overrides = applyOverrides(properties);
+        try {
+            snapshot = new ConfigSnapshot(properties);
+        } catch (IllegalStateException e) {
+            logger.error("Invalid configuration loaded from: {}", source, e);
+            throw e;
+        }
+        logger.info("Configuration properties loaded successfully from: {} (profile: {}, {} override(s))",
+                source, profile != null ? profile : "none", overrides);
+    }
+
+    /**
+     * Load one properties layer from the file system, falling back to the classpath
+     * @param properties Properties to merge into
+     * @param filePath File path to try first
+     * @param resource Classpath resource to try second
+     * @param required true to fail when neither location exists
+     * @return Location the layer was loaded from
+     */
+    private static String loadLayer(Properties properties, String filePath, String resource, boolean required) {
+        try {
+            Path path = Paths.get(filePath);
+            if (Files.isRegularFile(path)) {
+                try (InputStream in = Files.newInputStream(path)) {
+                    properties.load(in);
+                }
+                return filePath;
+            }
+            try (InputStream in = ConfigManager.class.getClassLoader().getResourceAsStream(resource)) {
+                if (in != null) {
+                    properties.load(in);
+                    return "classpath:" + resource;
+                }
+            }
         } catch (IOException e) {
-            logger.error("Failed to load configuration properties from: {}", CONFIG_FILE_PATH, e);
+            logger.error("Failed to load configuration properties from: {}", filePath, e);
             throw new RuntimeException("Failed to load configuration properties", e);
         }
+        if (required || properties.isEmpty()) {
+            logger.error("Configuration properties not found at: {} or classpath:{}", filePath, resource);
+            throw new RuntimeException("Failed to load configuration properties: " + filePath);
+        }
+        return filePath;
+    }
+
+    /**
+     * Apply environment variable and system property overrides for file keys, known keys and
+     * system properties under an override prefix
+     * @param properties Properties to update
+     * @return Number of overridden keys
+     */
+    private static int applyOverrides(Properties properties) {
+        Set<String> keys = new LinkedHashSet<>(properties.stringPropertyNames());
+        for (ConfigKey key : ConfigKey.values()) {
+            keys.add(key.getKey());
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (OVERRIDE_PREFIXES.stream().anyMatch(key::startsWith)) {
+                keys.add(key);
+            }
+        }
+        Map<String, String> env = System.getenv();
+        int overrides = 0;
+        for (String key : keys) {
+            String value = firstNonEmpty(System.getProperty(key),
+                    env.get(key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_')));
+            if (value != null) {
+                properties.setProperty(key, value);
+                overrides++;
+            }
+        }
+        return overrides;
+    }
+
+    private static String firstNonEmpty(String... values) {
+        for (String value : values) {
+            if (value != null && !value.trim().isEmpty()) {
+                return value.trim();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reload all configuration layers. Readers keep the previous snapshot until the new one is published.
+     */
+    public static synchronized void reload() {
+        logger.info("Reloading configuration");
+        loadProperties();
+    }
+
+    /**
+     * Get the current configuration snapshot
+     * @return Immutable configuration snapshot
+     */
+    public static ConfigSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
@@ -39,7 +164,7 @@ public class ConfigManager {
      * @return Property value
      */
     public static String getProperty(String key) {
-        String value = properties.getProperty(key);
+        String value = snapshot.get(key);
         if (value == null) {
             logger.warn("Property '{}' not found in config file", key);
         }
@@ -53,17 +178,98 @@ public class ConfigManager {
      * @return Property value or default
      */
     public static String getProperty(String key, String defaultValue) {
-        String value = properties.getProperty(key, defaultValue);
-        logger.debug("Retrieved property '{}' = '{}'", key, value);
+        String value = snapshot.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Get a known string property
+     * @param key Known key
+     * @return Property value, its default, or null if a key without default is not set
+     */
+    public static String getProperty(ConfigKey key) {
+        String value = snapshot.getString(key);
+        if (value == null) {
+            logger.warn("Property '{}' not found in config file", key);
+        }
         return value;
     }
 
+    /**
+     * Get a known integer property, parsed when the configuration was loaded
+     * @param key Known key
+     * @return Property value or its default
+     */
+    public static int getIntProperty(ConfigKey key) {
+        return snapshot.getInt(key);
+    }
+
+    /**
+     * Get a known long property, parsed when the configuration was loaded
+     * @param key Known key
+     * @return Property value or its default
+     */
+    public static long getLongProperty(ConfigKey key) {
+        return snapshot.getLong(key);
+    }
+
+    /**
+     * Get a known decimal property, parsed when the configuration was loaded
+     * @param key Known key
+     * @return Property value or its default
+     */
+    public static double getDoubleProperty(ConfigKey key) {
+        return snapshot.getDouble(key);
+    }
+
+    /**
+     * Get a known boolean property, parsed when the configuration was loaded
+     * @param key Known key
+     * @return Property value or its default
+     */
+    public static boolean getBooleanProperty(ConfigKey key) {
+        return snapshot.getBoolean(key);
+    }
+
+    /**
+     * Get integer property value with default fallback
+     * @param key Property key
+     * @param defaultValue Default value if key not found or empty
+     * @return Property value or default
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+        String value = snapshot.get(key);
+        return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * Get long property value with default fallback
+     * @param key Property key
+     * @param defaultValue Default value if key not found or empty
+     * @return Property value or default
+     */
+    public static long getLongProperty(String key, long defaultValue) {
+        String value = snapshot.get(key);
+        return value == null || value.isEmpty() ? defaultValue : Long.parseLong(value);
+    }
+
+    /**
+     * Get boolean property value with default fallback
+     * @param key Property key
+     * @param defaultValue Default value if key not found or empty
+     * @return Property value or default
+     */
+    public static boolean getBooleanProperty(String key, boolean defaultValue) {
+        String value = snapshot.get(key);
+        return value == null || value.isEmpty() ? defaultValue : Boolean.parseBoolean(value);
+    }
+
     /**
      * Get platform type (android/ios)
      * @return Platform type
      */
     public static String getPlatformType() {
-        return getProperty("platform.type");
+        return snapshot.getPlatformType();
     }
 
     /**
@@ -71,7 +277,31 @@ public class ConfigManager {
      * @return Appium server URL
      */
     public static String getAppiumServerUrl() {
-        return getProperty("appium.server.url");
+        return snapshot.getAppiumServerUrl();
+    }
+
+    /**
+     * Get implicit wait in seconds
+     * @return Implicit wait
+     */
+    public static int getImplicitWait() {
+        return snapshot.getImplicitWait();
+    }
+
+    /**
+     * Get default explicit wait in seconds
+     * @return Explicit wait
+     */
+    public static int getExplicitWait() {
+        return snapshot.getExplicitWait();
+    }
+
+    /**
+     * Get screenshot output directory
+     * @return Screenshot path
+     */
+    public static String getScreenshotPath() {
+        return snapshot.getScreenshotPath();
     }
 
     /**
@@ -79,7 +309,7 @@ public class ConfigManager {
      * @return true if Android, false otherwise
      */
     public static boolean isAndroid() {
-        return "android".equalsIgnoreCase(getPlatformType());
+        return snapshot.isAndroid();
     }
 
     /**
@@ -87,6 +317,6 @@ public class ConfigManager {
      * @return true if iOS, false otherwise
      */
     public static boolean isIOS() {
-        return "ios".equalsIgnoreCase(getPlatformType());
+        return snapshot.isIOS();
     }
 }
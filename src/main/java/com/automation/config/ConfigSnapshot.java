@@ -0,0 +1,182 @@
+package com.automation.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Immutable, validated view of the configuration.
+ * Every {@link ConfigKey} is parsed once into a typed value (its default when unset or empty), so
+ * lookups on hot paths are array reads and a malformed value fails when the snapshot is built.
+ */
+public final class ConfigSnapshot {
+    private final Map<String, String> values;
+    private final Object[] typed;
+    private final String platformType;
+    private final boolean android;
+    private final boolean ios;
+    private final String appiumServerUrl;
+    private final int implicitWait;
+    private final int explicitWait;
+    private final String screenshotPath;
+
+    /**
+     * Build and validate a snapshot from merged properties
+     * @param properties Merged configuration layers
+     */
+    ConfigSnapshot(Properties properties) {
+        Map<String, String> map = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            map.put(key, properties.getProperty(key).trim());
+        }
+        this.values = Collections.unmodifiableMap(map);
+        this.typed = new Object[ConfigKey.values().length];
+        for (ConfigKey key : ConfigKey.values()) {
+            typed[key.ordinal()] = parse(key, map.get(key.getKey()));
+        }
+        this.platformType = getString(ConfigKey.PLATFORM_TYPE);
+        this.android = "android".equalsIgnoreCase(platformType);
+        this.ios = "ios".equalsIgnoreCase(platformType);
+        if (!android && !ios) {
+            throw new IllegalStateException("Invalid platform.type '" + platformType + "', expected android or ios");
+        }
+        this.appiumServerUrl = getString(ConfigKey.APPIUM_SERVER_URL);
+        this.implicitWait = getInt(ConfigKey.IMPLICIT_WAIT);
+        this.explicitWait = getInt(ConfigKey.EXPLICIT_WAIT);
+        this.screenshotPath = getString(ConfigKey.SCREENSHOT_PATH);
+    }
+
+    /**
+     * Get raw property value
+     * @param key Property key
+     * @return Property value, or null if not set
+     */
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Get all property values
+     * @return Unmodifiable key/value map
+     */
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    /**
+     * Get a string key
+     * @param key Known key
+     * @return Value, its default if unset, or null for a required key that is not set
+     */
+    public String getString(ConfigKey key) {
+        return (String) typed(key, ConfigKey.Type.STRING);
+    }
+
+    /**
+     * Get an integer key
+     * @param key Known key
+     * @return Value, or its default if unset or empty
+     */
+    public int getInt(ConfigKey key) {
+        return (Integer) typed(key, ConfigKey.Type.INT);
+    }
+
+    /**
+     * Get a long key
+     * @param key Known key
+     * @return Value, or its default if unset or empty
+     */
+    public long getLong(ConfigKey key) {
+        return (Long) typed(key, ConfigKey.Type.LONG);
+    }
+
+    /**
+     * Get a decimal key
+     * @param key Known key
+     * @return Value, or its default if unset or empty
+     */
+    public double getDouble(ConfigKey key) {
+        return (Double) typed(key, ConfigKey.Type.DOUBLE);
+    }
+
+    /**
+     * Get a boolean key
+     * @param key Known key
+     * @return Value, or its default if unset or empty
+     */
+    public boolean getBoolean(ConfigKey key) {
+        return (Boolean) typed(key, ConfigKey.Type.BOOLEAN);
+    }
+
+    public String getPlatformType() {
+        return platformType;
+    }
+
+    public boolean isAndroid() {
+        return android;
+    }
+
+    public boolean isIOS() {
+        return ios;
+    }
+
+    public String getAppiumServerUrl() {
+        return appiumServerUrl;
+    }
+
+    public int getImplicitWait() {
+        return implicitWait;
+    }
+
+    public int getExplicitWait() {
+        return explicitWait;
+    }
+
+    public String getScreenshotPath() {
+        return screenshotPath;
+    }
+
+    private Object typed(ConfigKey key, ConfigKey.Type type) {
+        if (key.getType() != type) {
+            throw new IllegalArgumentException("'" + key + "' is a " + key.getType() + " key, not " + type);
+        }
+        return typed[key.ordinal()];
+    }
+
+    /**
+     * Parse the value of a known key
+     * @param key Known key
+     * @param value Raw value, or null if not set
+     * @return Typed value
+     * @throws IllegalStateException if the value is malformed
+     */
+    private static Object parse(ConfigKey key, String value) {
+        if (key.getType() == ConfigKey.Type.STRING) {
+            return value != null ? value : key.getDefaultValue();
+        }
+        if (value == null || value.isEmpty()) {
+            return key.getDefaultValue();
+        }
+        try {
+            switch (key.getType()) {
+                case INT:
+                    return Integer.parseInt(value);
+                case LONG:
+                    return Long.parseLong(value);
+                case DOUBLE:
+                    return Double.parseDouble(value);
+                default:
+                    if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                        throw new IllegalStateException("Invalid boolean for '" + key + "': " + value
+                                + ", expected true or false");
+                    }
+                    return Boolean.parseBoolean(value);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid " + key.getType().name().toLowerCase(Locale.ROOT)
+                    + " for '" + key + "': " + value, e);
+        }
+    }
+}
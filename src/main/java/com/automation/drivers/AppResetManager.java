@@ -0,0 +1,222 @@
+package com.automation.drivers;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.automation.utils.LatencyHistogram;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.InteractsWithApps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Applies an {@link AppResetStrategy} to a session before a scenario and records how long each reset took.
+ * Checksums of the app binary installed on each device are kept in app.install.cache.path so that
+ * REINSTALL only reinstalls when the APK/IPA changed, across runs.
+ */
+public class AppResetManager {
+    private static final Logger logger = LoggerFactory.getLogger(AppResetManager.class);
+    private static final Map<AppResetStrategy, LatencyHistogram> timings = new EnumMap<>(AppResetStrategy.class);
+    private static final Map<String, String> binaryChecksums = new ConcurrentHashMap<>();
+    private static final Object cacheLock = new Object();
+    private static Properties installedChecksums;
+
+    static {
+        for (AppResetStrategy strategy : AppResetStrategy.values()) {
+            timings.put(strategy, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Reset the app under test on a session.
+     * A session that was just created already started the app clean (unless no.reset is set), so only the
+     * REINSTALL checksum check is applied to it.
+     * @param driver Driver instance
+     * @param device Device the session runs on, used as checksum cache key
+     * @param strategy Reset strategy
+     * @param newSession true if the session was created for this scenario
+     */
+    public static void reset(AppiumDriver driver, Device device, AppResetStrategy strategy, boolean newSession) {
+        if (strategy == AppResetStrategy.NONE) {
+            return;
+        }
+        boolean sessionStartedClean = newSession && !ConfigManager.getBooleanProperty(ConfigKey.NO_RESET);
+        if (sessionStartedClean && strategy != AppResetStrategy.REINSTALL) {
+            return;
+        }
+        long start = System.nanoTime();
+        String appId = appId();
+        InteractsWithApps apps = (InteractsWithApps) driver;
+        String tier = strategy.name();
+        if (strategy == AppResetStrategy.REINSTALL && reinstallIfChanged(apps, device, appId)) {
+            tier = "REINSTALL (binary changed)";
+        } else if (sessionStartedClean) {
+            return;
+        } else if (strategy == AppResetStrategy.RESTART) {
+            apps.terminateApp(appId);
+            apps.activateApp(appId);
+        } else {
+            apps.terminateApp(appId);
+            driver.executeScript("mobile: clearApp",
+                    Map.of(ConfigManager.isAndroid() ? "appId" : "bundleId", appId));
+            apps.activateApp(appId);
+            tier = strategy == AppResetStrategy.REINSTALL ? "CLEAR (binary unchanged)" : tier;
+        }
+        long elapsed = System.nanoTime() - start;
+        timings.get(strategy).record(elapsed);
+        logger.info("App reset {} of {} on session {} took {} ms", tier, appId, driver.getSessionId(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * Reinstall the app when the configured binary differs from the one last installed on the device
+     * @return true if the app was reinstalled
+     */
+    private static boolean reinstallIfChanged(InteractsWithApps apps, Device device, String appId) {
+        String appPath = ConfigManager.isAndroid()
+                ? ConfigManager.getProperty(ConfigKey.ANDROID_APP_PATH)
+                : ConfigManager.getProperty(ConfigKey.IOS_APP_PATH);
+        Path binary = Paths.get(appPath);
+        if (!Files.exists(binary)) {
+            logger.warn("App binary {} not found, clearing app data instead of reinstalling", appPath);
+            return false;
+        }
+        String checksum = checksumOf(binary);
+        String cacheKey = device.getId() + "|" + appId;
+        if (checksum.equals(installedChecksum(cacheKey))) {
+            return false;
+        }
+        logger.info("App binary {} changed since last install on {}, reinstalling", appPath, device);
+        apps.removeApp(appId);
+        apps.installApp(binary.toAbsolutePath().toString());
+        apps.activateApp(appId);
+        storeInstalledChecksum(cacheKey, checksum);
+        return true;
+    }
+
+    /**
+     * Get the SHA-256 of an app binary; a .app bundle directory is hashed file by file in path order.
+     * Checksums are cached per path, size and modification time.
+     */
+    private static String checksumOf(Path binary) {
+        try {
+            String key = binary.toAbsolutePath() + "|" + Files.size(binary) + "|" + Files.getLastModifiedTime(binary);
+            return binaryChecksums.computeIfAbsent(key, k -> computeChecksum(binary));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read app binary " + binary, e);
+        }
+    }
+
+    private static String computeChecksum(Path binary) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(binary)) {
+                files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            byte[] buffer = new byte[64 * 1024];
+            for (Path file : files) {
+                digest.update(binary.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                    while (in.read(buffer) != -1) {
+                        // DigestInputStream updates the digest
+                    }
+                }
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to hash app binary " + binary, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String installedChecksum(String cacheKey) {
+        synchronized (cacheLock) {
+            return loadCache().getProperty(cacheKey);
+        }
+    }
+
+    private static void storeInstalledChecksum(String cacheKey, String checksum) {
+        synchronized (cacheLock) {
+            Properties cache = loadCache();
+            cache.setProperty(cacheKey, checksum);
+            Path path = cachePath();
+            try {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    cache.store(out, "SHA-256 of the app binary installed per device|app id");
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                logger.warn("Failed to write app install cache {}", path, e);
+            }
+        }
+    }
+
+    private static Properties loadCache() {
+        if (installedChecksums == null) {
+            installedChecksums = new Properties();
+            Path path = cachePath();
+            if (Files.exists(path)) {
+                try (InputStream in = Files.newInputStream(path)) {
+                    installedChecksums.load(in);
+                } catch (IOException e) {
+                    logger.warn("Failed to read app install cache {}, starting empty", path, e);
+                }
+            }
+        }
+        return installedChecksums;
+    }
+
+    private static Path cachePath() {
+        return Paths.get(ConfigManager.getProperty(ConfigKey.APP_INSTALL_CACHE_PATH));
+    }
+
+    private static String appId() {
+        return ConfigManager.isAndroid()
+                ? ConfigManager.getProperty(ConfigKey.ANDROID_APP_PACKAGE)
+                : ConfigManager.getProperty(ConfigKey.IOS_BUNDLE_ID);
+    }
+
+    /**
+     * Log reset counts and timings per strategy
+     */
+    public static void logStatistics() {
+        for (Map.Entry<AppResetStrategy, LatencyHistogram> entry : timings.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            if (histogram.getCount() > 0) {
+                logger.info("App reset {}: {} reset(s), mean {} ms, p90 {} ms, max {} ms", entry.getKey(),
+                        histogram.getCount(), histogram.getTotalMicros() / histogram.getCount() / 1000,
+                        histogram.getPercentileMicros(90) / 1000, histogram.getMaxMicros() / 1000);
+            }
+        }
+    }
+}
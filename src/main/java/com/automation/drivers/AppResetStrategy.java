@@ -0,0 +1,63 @@
+package com.automation.drivers;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * App reset applied before a scenario, from cheapest to most thorough.
+ * Each tier includes the ones before it: CLEAR also restarts the app, REINSTALL clears the app data
+ * when the installed binary is up to date.
+ */
+public enum AppResetStrategy {
+    /** Leave the app as the previous scenario left it */
+    NONE,
+    /** Terminate and relaunch the app */
+    RESTART,
+    /** Clear the app data (mobile: clearApp) and relaunch it */
+    CLEAR,
+    /** Reinstall the app when its binary changed since it was installed on the device, otherwise CLEAR */
+    REINSTALL;
+
+    private static final String TAG_PREFIX = "@reset:";
+
+    /**
+     * Get the strategy selected by a scenario's tags (feature tags included), e.g. @reset:clear
+     * @param tags Scenario tag names
+     * @return Tagged strategy, or the configured default from app.reset
+     */
+    public static AppResetStrategy fromTags(Collection<String> tags) {
+        for (String tag : tags) {
+            if (tag.toLowerCase(Locale.ROOT).startsWith(TAG_PREFIX)) {
+                return parse(tag.substring(TAG_PREFIX.length()));
+            }
+        }
+        return getDefault();
+    }
+
+    /**
+     * Get the default strategy from app.reset
+     * @return Configured strategy; true and false are read as RESTART and NONE
+     */
+    public static AppResetStrategy getDefault() {
+        return parse(ConfigManager.getProperty(ConfigKey.APP_RESET));
+    }
+
+    private static AppResetStrategy parse(String value) {
+        String name = value.trim().toUpperCase(Locale.ROOT);
+        if (name.equals("TRUE")) {
+            return RESTART;
+        }
+        if (name.equals("FALSE")) {
+            return NONE;
+        }
+        try {
+            return valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid app reset strategy '" + value
+                    + "', expected none, restart, clear or reinstall", e);
+        }
+    }
+}
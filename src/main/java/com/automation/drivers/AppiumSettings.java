@@ -0,0 +1,331 @@
+package com.automation.drivers;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.automation.config.ConfigSnapshot;
+import com.automation.utils.CommandMetrics;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.HasSettings;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Named Appium settings profiles (waitForIdleTimeout, waitForSelectorTimeout, snapshotMaxDepth, ...)
+ * declared in config as settings.profile.&lt;name&gt;[.android|.ios].&lt;setting&gt;=&lt;value&gt;.
+ * A session's settings are layered: the server defaults read on first use, the profile of the current
+ * page (see {@code @SettingsProfile}) and the profiles of open {@link Scope}s, innermost last. Every
+ * change sends only the settings whose effective value differs, in one request, and the defaults are
+ * restored before the session goes back to the pool. The active profile labels command latencies in
+ * {@link CommandMetrics}, which also reports the values each profile put in effect.
+ */
+public class AppiumSettings {
+    private static final Logger logger = LoggerFactory.getLogger(AppiumSettings.class);
+    private static final String PREFIX = "settings.profile.";
+    private static final String DEFAULT_PROFILE = "default";
+    private static final ScenarioContext.Key<State> STATE = new ScenarioContext.Key<>("appiumSettings", State.class);
+    private static volatile Profiles profiles;
+
+    private AppiumSettings() {
+    }
+
+    /**
+     * Get the settings of a profile for the configured platform
+     * @param name Profile name
+     * @return Setting values (unmodifiable); platform-specific keys override common ones
+     * @throws IllegalStateException if the profile is not declared
+     */
+    public static Map<String, Object> getProfile(String name) {
+        Map<String, Object> profile = profiles().get(name);
+        if (profile == null) {
+            throw new IllegalStateException("Unknown Appium settings profile '" + name + "', no " + PREFIX + name
+                    + ".* keys in config");
+        }
+        return profile;
+    }
+
+    /**
+     * Activate a profile on the current thread's driver until the returned scope is closed, e.g. in a step
+     * on an animated screen: {@code try (AppiumSettings.Scope ignored = AppiumSettings.activate("animated-screen"))}
+     * @param profile Profile name
+     * @return Scope restoring the previous settings when closed
+     */
+    public static Scope activate(String profile) {
+        return activate(DriverManager.getDriver(), profile);
+    }
+
+    /**
+     * Activate a profile on a driver until the returned scope is closed
+     * @param driver Driver to configure
+     * @param profile Profile name
+     * @return Scope restoring the previous settings when closed
+     */
+    public static Scope activate(AppiumDriver driver, String profile) {
+        getProfile(profile);
+        State state = state(driver, true);
+        Scope scope = new Scope(state, profile);
+        if (state != null) {
+            state.scopes.add(scope);
+            apply(state);
+        }
+        return scope;
+    }
+
+    /**
+     * Set the profile of the page the session is on, replacing the previous page's profile
+     * @param driver Driver the page uses
+     * @param profile Profile name, or null for a page without a profile
+     */
+    public static void activatePage(AppiumDriver driver, String profile) {
+        if (profile != null) {
+            getProfile(profile);
+        }
+        State state = state(driver, profile != null);
+        if (state == null || Objects.equals(state.pageProfile, profile)) {
+            return;
+        }
+        state.pageProfile = profile;
+        apply(state);
+    }
+
+    /**
+     * Restore the server defaults on the current scenario's session; called when the scenario ends,
+     * before the session is released
+     * @return false if the defaults could not be restored, so the session must not be reused
+     */
+    public static boolean restore() {
+        ScenarioContext context = ScenarioContext.peek();
+        State state = context != null ? context.get(STATE) : null;
+        if (state == null) {
+            return true;
+        }
+        state.pageProfile = null;
+        state.scopes.clear();
+        boolean restored = true;
+        try {
+            apply(state);
+        } catch (WebDriverException e) {
+            logger.warn("Failed to restore Appium settings, the session will be evicted: {}", e.getMessage());
+            restored = false;
+        }
+        context.put(STATE, null);
+        CommandMetrics.setCurrentSettings(null);
+        return restored;
+    }
+
+    /**
+     * Get the settings state of a driver in the current scenario
+     * @param driver Driver
+     * @param create true to read the server defaults and create the state if there is none
+     * @return State, or null if there is none (or the driver does not support settings)
+     */
+    private static State state(AppiumDriver driver, boolean create) {
+        if (!(driver instanceof HasSettings)) {
+            return null;
+        }
+        ScenarioContext context = ScenarioContext.current();
+        State state = context.get(STATE);
+        if (state != null && state.driver == driver) {
+            return state;
+        }
+        if (!create) {
+            return null;
+        }
+        Map<String, Object> defaults = ((HasSettings) driver).getSettings();
+        state = new State(driver, defaults != null ? defaults : new HashMap<>());
+        context.put(STATE, state);
+        recordInEffect(state, DEFAULT_PROFILE);
+        return state;
+    }
+
+    /**
+     * Send the settings whose effective value changed and label the following commands
+     * @param state Session settings state
+     */
+    private static void apply(State state) {
+        Map<String, Object> effective = new LinkedHashMap<>();
+        for (String key : state.touched) {
+            effective.put(key, state.defaults.get(key));
+        }
+        List<String> layers = new ArrayList<>();
+        if (state.pageProfile != null) {
+            layers.add(state.pageProfile);
+        }
+        for (Scope scope : state.scopes) {
+            layers.add(scope.profile);
+        }
+        for (String layer : layers) {
+            effective.putAll(getProfile(layer));
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> setting : effective.entrySet()) {
+            state.touched.add(setting.getKey());
+            if (setting.getValue() == null) {
+                logger.debug("No server default for setting {}, it keeps its last value", setting.getKey());
+            } else if (!Objects.equals(state.applied.get(setting.getKey()), setting.getValue())) {
+                changes.put(setting.getKey(), setting.getValue());
+            }
+        }
+        String active = layers.isEmpty() ? DEFAULT_PROFILE : layers.get(layers.size() - 1);
+        if (!changes.isEmpty()) {
+            ((HasSettings) state.driver).setSettings(changes);
+            state.applied.putAll(changes);
+            logger.info("Appium settings profile '{}' active, changed: {}", active, changes);
+        }
+        CommandMetrics.setCurrentSettings(active);
+        recordInEffect(state, active);
+    }
+
+    /**
+     * Record the settings the server reports for a profile, once per profile and run
+     * @param state Session settings state
+     * @param profile Active profile
+     */
+    private static void recordInEffect(State state, String profile) {
+        if (CommandMetrics.hasSettings(profile) || !ConfigManager.getBooleanProperty(ConfigKey.SETTINGS_READBACK)) {
+            return;
+        }
+        Map<String, Object> actual = profile.equals(DEFAULT_PROFILE) && state.touched.isEmpty()
+                ? state.defaults
+                : ((HasSettings) state.driver).getSettings();
+        if (actual != null && CommandMetrics.recordSettings(profile, actual)) {
+            logger.info("Appium settings in effect for profile '{}': {}", profile, new TreeMap<>(actual));
+        }
+    }
+
+    /**
+     * Get the profiles declared in the current configuration, parsed once per snapshot
+     * @return Settings of every profile by name, for the configured platform
+     */
+    private static Map<String, Map<String, Object>> profiles() {
+        ConfigSnapshot snapshot = ConfigManager.getSnapshot();
+        Profiles current = profiles;
+        if (current == null || current.snapshot != snapshot) {
+            current = new Profiles(snapshot);
+            profiles = current;
+        }
+        return current.byName;
+    }
+
+    private static Object parseValue(String value) {
+        String trimmed = value.trim();
+        if (trimmed.equalsIgnoreCase("true") || trimmed.equalsIgnoreCase("false")) {
+            return Boolean.parseBoolean(trimmed);
+        }
+        if (trimmed.matches("-?\\d+")) {
+            return Long.parseLong(trimmed);
+        }
+        if (trimmed.matches("-?\\d*\\.\\d+")) {
+            return Double.parseDouble(trimmed);
+        }
+        return trimmed;
+    }
+
+    /**
+     * Activated profile; closing it reverts its settings unless the scenario already restored the defaults
+     */
+    public static final class Scope implements AutoCloseable {
+        private final State state;
+        private final String profile;
+        private boolean closed;
+
+        private Scope(State state, String profile) {
+            this.state = state;
+            this.profile = profile;
+        }
+
+        /**
+         * Get the profile name
+         * @return Profile name
+         */
+        public String getProfile() {
+            return profile;
+        }
+
+        @Override
+        public void close() {
+            if (closed || state == null) {
+                return;
+            }
+            closed = true;
+            ScenarioContext context = ScenarioContext.peek();
+            if (state.scopes.remove(this) && context != null && context.get(STATE) == state) {
+                apply(state);
+            }
+        }
+    }
+
+    /**
+     * Profiles parsed from one configuration snapshot: settings.profile.&lt;name&gt;[.android|.ios].&lt;setting&gt;,
+     * with the configured platform's keys overriding the common ones. A profile declared only for the other
+     * platform is empty.
+     */
+    private static final class Profiles {
+        private final ConfigSnapshot snapshot;
+        private final Map<String, Map<String, Object>> byName;
+
+        private Profiles(ConfigSnapshot snapshot) {
+            this.snapshot = snapshot;
+            String platform = snapshot.isAndroid() ? "android" : "ios";
+            Map<String, Map<String, Object>> common = new HashMap<>();
+            Map<String, Map<String, Object>> specific = new HashMap<>();
+            for (Map.Entry<String, String> property : snapshot.asMap().entrySet()) {
+                String key = property.getKey();
+                int settingStart = key.lastIndexOf('.');
+                if (!key.startsWith(PREFIX) || settingStart <= PREFIX.length()) {
+                    continue;
+                }
+                String name = key.substring(PREFIX.length(), settingStart);
+                String setting = key.substring(settingStart + 1);
+                Map<String, Map<String, Object>> layer = common;
+                int platformStart = name.lastIndexOf('.');
+                String qualifier = platformStart > 0 ? name.substring(platformStart + 1) : "";
+                if (qualifier.equals("android") || qualifier.equals("ios")) {
+                    name = name.substring(0, platformStart);
+                    layer = qualifier.equals(platform) ? specific : null;
+                }
+                common.computeIfAbsent(name, ignored -> new TreeMap<>());
+                if (layer != null) {
+                    layer.computeIfAbsent(name, ignored -> new TreeMap<>())
+                            .put(setting, parseValue(property.getValue()));
+                }
+            }
+            Map<String, Map<String, Object>> merged = new HashMap<>();
+            for (Map.Entry<String, Map<String, Object>> profile : common.entrySet()) {
+                Map<String, Object> settings = profile.getValue();
+                settings.putAll(specific.getOrDefault(profile.getKey(), Collections.emptyMap()));
+                merged.put(profile.getKey(), Collections.unmodifiableMap(settings));
+            }
+            this.byName = merged;
+        }
+    }
+
+    /**
+     * Settings layers of one session in the current scenario
+     */
+    private static final class State {
+        private final AppiumDriver driver;
+        private final Map<String, Object> defaults;
+        private final Map<String, Object> applied;
+        private final Set<String> touched = new LinkedHashSet<>();
+        private final List<Scope> scopes = new ArrayList<>();
+        private String pageProfile;
+
+        private State(AppiumDriver driver, Map<String, Object> defaults) {
+            this.driver = driver;
+            this.defaults = defaults;
+            this.applied = new HashMap<>(defaults);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.automation.drivers;
+
+/**
+ * Device entry from the device inventory.
+ * Each device carries the ports Appium needs to drive it in parallel with other devices.
+ */
+public class Device {
+    private String name;
+    private String udid;
+    private String platformVersion;
+    private String appiumUrl;
+    private Integer systemPort;
+    private Integer wdaLocalPort;
+    private Integer mjpegServerPort;
+
+    /**
+     * Constructor used by the inventory loader (Gson)
+     */
+    Device() {
+    }
+
+    /**
+     * Create a device entry
+     * @param name Device name
+     * @param udid Device UDID, or null to let Appium pick the device
+     * @param platformVersion Platform version, or null to use the configured one
+     * @param appiumUrl Appium server URL, or null to use the configured one
+     * @param systemPort UiAutomator2 system port (Android)
+     * @param wdaLocalPort WebDriverAgent local port (iOS)
+     * @param mjpegServerPort MJPEG screenshot stream port
+     */
+    public Device(String name, String udid, String platformVersion, String appiumUrl,
+                  Integer systemPort, Integer wdaLocalPort, Integer mjpegServerPort) {
+        this.name = name;
+        this.udid = udid;
+        this.platformVersion = platformVersion;
+        this.appiumUrl = appiumUrl;
+        this.systemPort = systemPort;
+        this.wdaLocalPort = wdaLocalPort;
+        this.mjpegServerPort = mjpegServerPort;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUdid() {
+        return udid;
+    }
+
+    public String getPlatformVersion() {
+        return platformVersion;
+    }
+
+    public String getAppiumUrl() {
+        return appiumUrl;
+    }
+
+    public Integer getSystemPort() {
+        return systemPort;
+    }
+
+    public Integer getWdaLocalPort() {
+        return wdaLocalPort;
+    }
+
+    public Integer getMjpegServerPort() {
+        return mjpegServerPort;
+    }
+
+    /**
+     * Get a stable identifier for logging and bookkeeping
+     * @return UDID if set, otherwise the device name
+     */
+    public String getId() {
+        return udid != null ? udid : name;
+    }
+
+    @Override
+    public String toString() {
+        return name + " [" + getId() + "]";
+    }
+}
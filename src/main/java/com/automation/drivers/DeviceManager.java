@@ -0,0 +1,211 @@
+package com.automation.drivers;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Device Manager to lease devices from the device inventory.
+ * A device is owned by at most one driver session at a time, so parallel workers never share a device.
+ * Busy time is recorded per device to report utilization at the end of the run.
+ */
+public class DeviceManager {
+    private static final Logger logger = LoggerFactory.getLogger(DeviceManager.class);
+
+    private static final List<Device> devices = loadInventory();
+    private static final BlockingQueue<Device> availableDevices = new LinkedBlockingQueue<>(devices);
+    private static final Set<String> leasedDevices = ConcurrentHashMap.newKeySet();
+    private static final Map<String, DeviceUsage> usage = new ConcurrentHashMap<>();
+    private static final long startNanos = System.nanoTime();
+
+    static {
+        for (Device device : devices) {
+            usage.put(device.getId(), new DeviceUsage());
+        }
+    }
+
+    /**
+     * Get all devices in the inventory
+     * @return Unmodifiable device list
+     */
+    public static List<Device> getDevices() {
+        return devices;
+    }
+
+    /**
+     * Get number of devices in the inventory
+     * @return Device count
+     */
+    public static int getDeviceCount() {
+        return devices.size();
+    }
+
+    /**
+     * Acquire a free device, waiting up to device.lease.timeout seconds
+     * @return Leased device
+     */
+    public static Device acquire() {
+        long timeout = ConfigManager.getLongProperty(ConfigKey.DEVICE_LEASE_TIMEOUT);
+        try {
+            Device device = availableDevices.poll(timeout, TimeUnit.SECONDS);
+            if (device == null) {
+                throw new IllegalStateException("No device became available within " + timeout + " seconds");
+            }
+            if (!leasedDevices.add(device.getId())) {
+                throw new IllegalStateException("Device leased twice: " + device);
+            }
+            logger.info("Leased device {} to thread {}", device, Thread.currentThread().getName());
+            return device;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a device", e);
+        }
+    }
+
+    /**
+     * Return a device to the inventory
+     * @param device Leased device
+     */
+    public static void release(Device device) {
+        if (device == null) {
+            return;
+        }
+        if (!leasedDevices.remove(device.getId())) {
+            throw new IllegalStateException("Device released without being leased: " + device);
+        }
+        availableDevices.offer(device);
+        logger.info("Released device {}", device);
+    }
+
+    /**
+     * Record a scenario run on a device
+     * @param device Device that ran the scenario
+     * @param busyNanos Time the scenario held the device
+     */
+    public static void recordScenario(Device device, long busyNanos) {
+        DeviceUsage deviceUsage = device != null ? usage.get(device.getId()) : null;
+        if (deviceUsage != null) {
+            deviceUsage.scenarios.incrementAndGet();
+            deviceUsage.busyNanos.addAndGet(busyNanos);
+        }
+    }
+
+    /**
+     * Get busy percentage per device since the inventory was loaded
+     * @return Utilization percentage keyed by device id
+     */
+    public static Map<String, Double> getUtilization() {
+        long elapsed = Math.max(1, System.nanoTime() - startNanos);
+        Map<String, Double> utilization = new LinkedHashMap<>();
+        for (Device device : devices) {
+            utilization.put(device.getId(), usage.get(device.getId()).busyNanos.get() * 100.0 / elapsed);
+        }
+        return utilization;
+    }
+
+    /**
+     * Log scenarios run, busy time and utilization for every device
+     */
+    public static void logUtilization() {
+        long elapsed = Math.max(1, System.nanoTime() - startNanos);
+        long totalBusy = 0;
+        logger.info("Device utilization over {} s:", TimeUnit.NANOSECONDS.toSeconds(elapsed));
+        for (Device device : devices) {
+            DeviceUsage deviceUsage = usage.get(device.getId());
+            long busy = deviceUsage.busyNanos.get();
+            totalBusy += busy;
+            logger.info("  {}: {} scenario(s), busy {} s, utilization {}%", device,
+                    deviceUsage.scenarios.get(), TimeUnit.NANOSECONDS.toSeconds(busy),
+                    String.format("%.1f", busy * 100.0 / elapsed));
+        }
+        logger.info("Effective parallel speedup: {}x", String.format("%.2f", (double) totalBusy / elapsed));
+    }
+
+    /**
+     * Load the device inventory from device.inventory.path, or fall back to the single
+     * device configured through android.device.name / ios.device.name
+     * @return Device list
+     */
+    private static List<Device> loadInventory() {
+        String inventoryPath = ConfigManager.getProperty(ConfigKey.DEVICE_INVENTORY_PATH);
+        List<Device> inventory;
+        if (inventoryPath.isEmpty()) {
+            String platform = ConfigManager.isIOS() ? "ios" : "android";
+            inventory = Collections.singletonList(new Device(
+                    ConfigManager.getProperty(platform + ".device.name"), null, null, null, null, null, null));
+            logger.info("No device inventory configured, using single device: {}", inventory.get(0));
+        } else {
+            inventory = readInventory(Paths.get(inventoryPath));
+            logger.info("Loaded {} device(s) from inventory: {}", inventory.size(), inventoryPath);
+        }
+        validate(inventory);
+        return Collections.unmodifiableList(inventory);
+    }
+
+    private static List<Device> readInventory(Path path) {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            JsonObject root = new Gson().fromJson(reader, JsonObject.class);
+            List<Device> inventory = new Gson().fromJson(root.get("devices"),
+                    new TypeToken<List<Device>>() { }.getType());
+            if (inventory == null || inventory.isEmpty()) {
+                throw new IllegalStateException("Device inventory is empty: " + path);
+            }
+            return new ArrayList<>(inventory);
+        } catch (IOException e) {
+            logger.error("Failed to load device inventory from: {}", path, e);
+            throw new RuntimeException("Failed to load device inventory", e);
+        }
+    }
+
+    /**
+     * Reject inventories where two devices share a UDID or a port on the same Appium server
+     * @param inventory Device list
+     */
+    private static void validate(List<Device> inventory) {
+        Set<String> seen = new HashSet<>();
+        for (Device device : inventory) {
+            String host = device.getAppiumUrl() != null ? device.getAppiumUrl() : "default";
+            checkUnique(seen, "udid", "", device.getId(), device);
+            checkUnique(seen, "systemPort", host, device.getSystemPort(), device);
+            checkUnique(seen, "wdaLocalPort", host, device.getWdaLocalPort(), device);
+            checkUnique(seen, "mjpegServerPort", host, device.getMjpegServerPort(), device);
+        }
+    }
+
+    private static void checkUnique(Set<String> seen, String field, String scope, Object value, Device device) {
+        if (value != null && !seen.add(field + "|" + scope + "|" + value)) {
+            throw new IllegalStateException("Duplicate " + field + " " + value + " in device inventory: " + device);
+        }
+    }
+
+    /**
+     * Usage counters for one device
+     */
+    private static class DeviceUsage {
+        private final AtomicLong scenarios = new AtomicLong();
+        private final AtomicLong busyNanos = new AtomicLong();
+    }
+}
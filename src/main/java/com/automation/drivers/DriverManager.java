@@ -1,9 +1,12 @@
 package com.automation.drivers;
 
+import com.automation.config.ConfigKey;
 import com.automation.config.ConfigManager;
+import io.appium.java_client.AppiumClientConfig;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.ios.IOSDriver;
+import io.appium.java_client.remote.AppiumCommandExecutor;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,91 +14,313 @@ import org.slf4j.LoggerFactory;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Driver Manager to manage Appium driver lifecycle for Android and iOS
  */
 public class DriverManager {
     private static final Logger logger = LoggerFactory.getLogger(DriverManager.class);
-    private static final ThreadLocal<AppiumDriver> driver = new ThreadLocal<>();
+    private static final Map<AppiumDriver, Device> sessionDevices = new ConcurrentHashMap<>();
+    private static volatile DriverPool driverPool;
+    private static volatile boolean poolConfigured;
+    private static volatile String serverUrlOverride;
 
     /**
-     * Get the current driver instance
-     * @return AppiumDriver instance
+     * Get the current scenario's driver instance
+     * @return AppiumDriver instance, or null if none is initialized
      */
     public static AppiumDriver getDriver() {
-        return driver.get();
+        ScenarioContext context = ScenarioContext.peek();
+        return context != null ? context.getDriver() : null;
+    }
+
+    /**
+     * Use an already created driver on the current thread instead of creating a session
+     * (e.g. an in-process driver in benchmarks). quitDriver() quits it like any unpooled session.
+     * @param appiumDriver Driver instance
+     */
+    public static void setDriver(AppiumDriver appiumDriver) {
+        ScenarioContext.current().setDriver(appiumDriver);
     }
 
     /**
-     * Initialize driver based on platform configuration
+     * Get the device the current driver session runs on
+     * @return Device instance, or null if no driver is initialized
+     */
+    public static Device getCurrentDevice() {
+        AppiumDriver appiumDriver = getDriver();
+        return appiumDriver != null ? sessionDevices.get(appiumDriver) : null;
+    }
+
+    /**
+     * Initialize driver based on platform configuration, resetting the app with the app.reset strategy.
+     * When the driver pool is enabled a pooled session is leased instead of creating a new one.
      */
     public static void initializeDriver() {
-        logger.info("Initializing driver for platform: {}", ConfigManager.getPlatformType());
-        
+        initializeDriver(AppResetStrategy.getDefault());
+    }
+
+    /**
+     * Initialize driver based on platform configuration.
+     * When the driver pool is enabled a pooled session is leased instead of creating a new one.
+     * @param resetStrategy App reset applied to the session before the scenario
+     */
+    public static void initializeDriver(AppResetStrategy resetStrategy) {
+        logger.info("Initializing driver for platform: {} (app reset: {})", ConfigManager.getPlatformType(),
+                resetStrategy);
+
+        DriverPool pool = getPool();
+        if (pool != null) {
+            DriverPool.PooledSession session = leaseResetSession(pool, resetStrategy);
+            ScenarioContext context = ScenarioContext.current();
+            context.setPooledSession(session);
+            context.setDriver(session.getDriver());
+            context.setStartNanos(System.nanoTime());
+            logger.info("Leased pooled session {} for platform: {}", session.getDriver().getSessionId(),
+                    ConfigManager.getPlatformType());
+            return;
+        }
+
+        AppiumDriver appiumDriver = createDriver();
+        try {
+            AppResetManager.reset(appiumDriver, sessionDevices.get(appiumDriver), resetStrategy, true);
+        } catch (RuntimeException e) {
+            disposeDriver(appiumDriver);
+            throw e;
+        }
+        ScenarioContext context = ScenarioContext.current();
+        context.setDriver(appiumDriver);
+        context.setStartNanos(System.nanoTime());
+        logger.info("Driver initialized successfully for platform: {}", ConfigManager.getPlatformType());
+    }
+
+    /**
+     * Lease a pooled session and reset the app on it; a session whose reset fails is evicted and
+     * one more session is leased
+     * @param pool Driver pool
+     * @param resetStrategy App reset strategy
+     * @return Leased session
+     */
+    private static DriverPool.PooledSession leaseResetSession(DriverPool pool, AppResetStrategy resetStrategy) {
+        for (int attempt = 1; ; attempt++) {
+            DriverPool.PooledSession session = pool.lease();
+            AppiumDriver appiumDriver = session.getDriver();
+            try {
+                AppResetManager.reset(appiumDriver, sessionDevices.get(appiumDriver), resetStrategy,
+                        session.getUses() == 1);
+                return session;
+            } catch (RuntimeException e) {
+                pool.release(session, true);
+                if (attempt >= 2) {
+                    throw e;
+                }
+                logger.warn("App reset failed on pooled session {}, evicted it", appiumDriver.getSessionId(), e);
+            }
+        }
+    }
+
+    /**
+     * Create a new driver session for the configured platform on a device leased from the inventory
+     * @return AppiumDriver instance
+     */
+    private static AppiumDriver createDriver() {
+        Device device = DeviceManager.acquire();
         try {
             AppiumDriver appiumDriver;
             if (ConfigManager.isAndroid()) {
-                appiumDriver = createAndroidDriver();
+                appiumDriver = createAndroidDriver(device);
             } else if (ConfigManager.isIOS()) {
-                appiumDriver = createIOSDriver();
+                appiumDriver = createIOSDriver(device);
             } else {
                 throw new IllegalArgumentException("Invalid platform type: " + ConfigManager.getPlatformType());
             }
             
-            driver.set(appiumDriver);
+            sessionDevices.put(appiumDriver, device);
             configureTimeouts(appiumDriver);
-            logger.info("Driver initialized successfully for platform: {}", ConfigManager.getPlatformType());
+            return appiumDriver;
         } catch (Exception e) {
+            DeviceManager.release(device);
             logger.error("Failed to initialize driver", e);
             throw new RuntimeException("Failed to initialize driver", e);
         }
     }
 
+    /**
+     * Quit a driver session and return its device to the inventory
+     * @param appiumDriver Driver instance
+     */
+    private static void disposeDriver(AppiumDriver appiumDriver) {
+        try {
+            appiumDriver.quit();
+        } finally {
+            DeviceManager.release(sessionDevices.remove(appiumDriver));
+        }
+    }
+
+    /**
+     * Get the driver pool, creating it on first use when driver.pool.size is greater than zero
+     * @return DriverPool instance, or null if pooling is disabled
+     */
+    private static DriverPool getPool() {
+        if (!poolConfigured) {
+            synchronized (DriverManager.class) {
+                if (!poolConfigured) {
+                    int poolSize = ConfigManager.getIntProperty(ConfigKey.DRIVER_POOL_SIZE);
+                    if (poolSize > DeviceManager.getDeviceCount()) {
+                        // Every pooled session holds a device, warm-up would wait for one that never frees up
+                        throw new IllegalStateException("driver.pool.size " + poolSize + " exceeds the "
+                                + DeviceManager.getDeviceCount() + " device(s) in the inventory");
+                    }
+                    if (poolSize > 0) {
+                        int maxUses = ConfigManager.getIntProperty(ConfigKey.DRIVER_POOL_MAX_USES);
+                        long leaseTimeout = ConfigManager.getLongProperty(ConfigKey.DRIVER_POOL_LEASE_TIMEOUT);
+                        long healthCheckIdle =
+                                ConfigManager.getLongProperty(ConfigKey.DRIVER_POOL_HEALTH_CHECK_IDLE_MS);
+                        driverPool = new DriverPool(DriverManager::createDriver, DriverManager::disposeDriver,
+                                poolSize, maxUses, leaseTimeout * 1000L, healthCheckIdle);
+                    }
+                    poolConfigured = true;
+                }
+            }
+        }
+        return driverPool;
+    }
+
+    /**
+     * Route every new session to one server, ignoring appium.server.url and the device inventory URLs
+     * (used by the test hooks for the embedded simulator)
+     * @param url Server URL, or null to clear the override
+     */
+    public static void setServerUrlOverride(String url) {
+        serverUrlOverride = url;
+    }
+
+    /**
+     * Warm up the driver pool before the suite starts. Does nothing when pooling is disabled.
+     */
+    public static void warmUpPool() {
+        DriverPool pool = getPool();
+        if (pool != null) {
+            pool.warmUp();
+        }
+    }
+
+    /**
+     * Quit all pooled sessions. Does nothing when pooling is disabled.
+     */
+    public static void shutdownPool() {
+        DriverPool pool = driverPool;
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Get number of session creations saved by the driver pool
+     * @return Saved session creations, 0 when pooling is disabled
+     */
+    public static int getSessionsSaved() {
+        DriverPool pool = driverPool;
+        return pool != null ? pool.getSessionsSaved() : 0;
+    }
+
     /**
      * Create Android driver with capabilities
+     * @param device Device to run the session on
      * @return AndroidDriver instance
      */
-    private static AndroidDriver createAndroidDriver() throws MalformedURLException {
-        logger.info("Creating Android driver with capabilities");
+    private static AndroidDriver createAndroidDriver(Device device) throws MalformedURLException {
+        logger.info("Creating Android driver with capabilities on device: {}", device);
         
         DesiredCapabilities capabilities = new DesiredCapabilities();
         capabilities.setCapability("platformName", "Android");
-        capabilities.setCapability("deviceName", ConfigManager.getProperty("android.device.name"));
-        capabilities.setCapability("platformVersion", ConfigManager.getProperty("android.platform.version"));
-        capabilities.setCapability("automationName", ConfigManager.getProperty("android.automation.name"));
-        capabilities.setCapability("app", ConfigManager.getProperty("android.app.path"));
-        capabilities.setCapability("appPackage", ConfigManager.getProperty("android.app.package"));
-        capabilities.setCapability("appActivity", ConfigManager.getProperty("android.app.activity"));
-        capabilities.setCapability("autoGrantPermissions", Boolean.parseBoolean(ConfigManager.getProperty("auto.grant.permissions", "true")));
-        capabilities.setCapability("noReset", Boolean.parseBoolean(ConfigManager.getProperty("no.reset", "false")));
-        capabilities.setCapability("fullReset", Boolean.parseBoolean(ConfigManager.getProperty("full.reset", "false")));
+        capabilities.setCapability("deviceName", device.getName());
+        capabilities.setCapability("platformVersion", platformVersion(device, ConfigKey.ANDROID_PLATFORM_VERSION));
+        capabilities.setCapability("automationName", ConfigManager.getProperty(ConfigKey.ANDROID_AUTOMATION_NAME));
+        capabilities.setCapability("app", ConfigManager.getProperty(ConfigKey.ANDROID_APP_PATH));
+        capabilities.setCapability("appPackage", ConfigManager.getProperty(ConfigKey.ANDROID_APP_PACKAGE));
+        capabilities.setCapability("appActivity", ConfigManager.getProperty(ConfigKey.ANDROID_APP_ACTIVITY));
+        capabilities.setCapability("autoGrantPermissions",
+                ConfigManager.getBooleanProperty(ConfigKey.AUTO_GRANT_PERMISSIONS));
+        capabilities.setCapability("noReset", ConfigManager.getBooleanProperty(ConfigKey.NO_RESET));
+        capabilities.setCapability("fullReset", ConfigManager.getBooleanProperty(ConfigKey.FULL_RESET));
+        setDeviceCapability(capabilities, "udid", device.getUdid());
+        setDeviceCapability(capabilities, "systemPort", device.getSystemPort());
+        setDeviceCapability(capabilities, "mjpegServerPort", device.getMjpegServerPort());
         
         logger.debug("Android capabilities: {}", capabilities);
         
-        return new AndroidDriver(new URL(ConfigManager.getAppiumServerUrl()), capabilities);
+        return new AndroidDriver(createExecutor(new URL(appiumServerUrl(device))), capabilities);
     }
 
     /**
      * Create iOS driver with capabilities
+     * @param device Device to run the session on
      * @return IOSDriver instance
      */
-    private static IOSDriver createIOSDriver() throws MalformedURLException {
-        logger.info("Creating iOS driver with capabilities");
+    private static IOSDriver createIOSDriver(Device device) throws MalformedURLException {
+        logger.info("Creating iOS driver with capabilities on device: {}", device);
         
         DesiredCapabilities capabilities = new DesiredCapabilities();
         capabilities.setCapability("platformName", "iOS");
-        capabilities.setCapability("deviceName", ConfigManager.getProperty("ios.device.name"));
-        capabilities.setCapability("platformVersion", ConfigManager.getProperty("ios.platform.version"));
-        capabilities.setCapability("automationName", ConfigManager.getProperty("ios.automation.name"));
-        capabilities.setCapability("app", ConfigManager.getProperty("ios.app.path"));
-        capabilities.setCapability("bundleId", ConfigManager.getProperty("ios.bundle.id"));
-        capabilities.setCapability("noReset", Boolean.parseBoolean(ConfigManager.getProperty("no.reset", "false")));
-        capabilities.setCapability("fullReset", Boolean.parseBoolean(ConfigManager.getProperty("full.reset", "false")));
+        capabilities.setCapability("deviceName", device.getName());
+        capabilities.setCapability("platformVersion", platformVersion(device, ConfigKey.IOS_PLATFORM_VERSION));
+        capabilities.setCapability("automationName", ConfigManager.getProperty(ConfigKey.IOS_AUTOMATION_NAME));
+        capabilities.setCapability("app", ConfigManager.getProperty(ConfigKey.IOS_APP_PATH));
+        capabilities.setCapability("bundleId", ConfigManager.getProperty(ConfigKey.IOS_BUNDLE_ID));
+        capabilities.setCapability("noReset", ConfigManager.getBooleanProperty(ConfigKey.NO_RESET));
+        capabilities.setCapability("fullReset", ConfigManager.getBooleanProperty(ConfigKey.FULL_RESET));
+        setDeviceCapability(capabilities, "udid", device.getUdid());
+        setDeviceCapability(capabilities, "wdaLocalPort", device.getWdaLocalPort());
+        setDeviceCapability(capabilities, "mjpegServerPort", device.getMjpegServerPort());
         
         logger.debug("iOS capabilities: {}", capabilities);
         
-        return new IOSDriver(new URL(ConfigManager.getAppiumServerUrl()), capabilities);
+        return new IOSDriver(createExecutor(new URL(appiumServerUrl(device))), capabilities);
+    }
+
+    /**
+     * Create the command executor for a session: commands go through the shared HTTP client
+     * (appium.http.shared) with appium.connection.timeout/appium.read.timeout, the implicit wait is
+     * managed for probes and commands are timed when metrics are enabled
+     * @param serverUrl Appium server URL
+     * @return Command executor
+     */
+    private static AppiumCommandExecutor createExecutor(URL serverUrl) {
+        AppiumClientConfig clientConfig = AppiumClientConfig.defaultConfig()
+                .baseUrl(serverUrl)
+                .connectionTimeout(SharedHttpClientFactory.getConnectionTimeout())
+                .readTimeout(SharedHttpClientFactory.getReadTimeout());
+        SharedHttpClientFactory httpClientFactory = SharedHttpClientFactory.isEnabled()
+                ? SharedHttpClientFactory.getInstance()
+                : null;
+        return new InstrumentedCommandExecutor(clientConfig, httpClientFactory);
+    }
+
+    /**
+     * Set a device-specific capability when the inventory provides a value for it
+     * @param capabilities Capabilities to update
+     * @param name Capability name
+     * @param value Capability value, may be null
+     */
+    private static void setDeviceCapability(DesiredCapabilities capabilities, String name, Object value) {
+        if (value != null) {
+            capabilities.setCapability(name, value);
+        }
+    }
+
+    private static String platformVersion(Device device, ConfigKey configKey) {
+        return device.getPlatformVersion() != null ? device.getPlatformVersion() : ConfigManager.getProperty(configKey);
+    }
+
+    private static String appiumServerUrl(Device device) {
+        String override = serverUrlOverride;
+        if (override != null) {
+            return override;
+        }
+        return device.getAppiumUrl() != null ? device.getAppiumUrl() : ConfigManager.getAppiumServerUrl();
     }
 
     /**
@@ -103,7 +328,7 @@ public class DriverManager {
      * @param appiumDriver Driver instance
      */
     private static void configureTimeouts(AppiumDriver appiumDriver) {
-        int implicitWait = Integer.parseInt(ConfigManager.getProperty("implicit.wait", "10"));
+        int implicitWait = ConfigManager.getImplicitWait();
         appiumDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
         logger.debug("Configured implicit wait: {} seconds", implicitWait);
     }
@@ -112,11 +337,45 @@ public class DriverManager {
      * Quit and cleanup driver
      */
     public static void quitDriver() {
-        if (driver.get() != null) {
+        quitDriver(false);
+    }
+
+    /**
+     * Quit and cleanup driver. Pooled sessions are returned to the pool unless evicted.
+     * @param evict true to discard a pooled session instead of reusing it (e.g. after a failure)
+     */
+    public static void quitDriver(boolean evict) {
+        ScenarioContext context = ScenarioContext.peek();
+        if (context == null) {
+            return;
+        }
+        recordScenarioUsage(context);
+        DriverPool.PooledSession session = context.getPooledSession();
+        if (session != null) {
+            logger.info("Returning pooled session {} to the pool", session.getDriver().getSessionId());
+            context.setPooledSession(null);
+            context.setDriver(null);
+            driverPool.release(session, evict);
+            return;
+        }
+        AppiumDriver appiumDriver = context.getDriver();
+        if (appiumDriver != null) {
             logger.info("Quitting driver for platform: {}", ConfigManager.getPlatformType());
-            driver.get().quit();
-            driver.remove();
+            context.setDriver(null);
+            disposeDriver(appiumDriver);
             logger.info("Driver quit successfully");
         }
     }
+
+    /**
+     * Record how long the current scenario held its device
+     * @param context Scenario context
+     */
+    private static void recordScenarioUsage(ScenarioContext context) {
+        long start = context.getStartNanos();
+        if (start != 0) {
+            context.setStartNanos(0);
+            DeviceManager.recordScenario(getCurrentDevice(), System.nanoTime() - start);
+        }
+    }
 }
@@ -0,0 +1,277 @@
+package com.automation.drivers;
+
+import io.appium.java_client.AppiumDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Pool of reusable Appium sessions.
+ * Sessions are warmed up before the suite starts, leased per scenario and evicted after a maximum number
+ * of uses or when they fail. A session idle for longer than the health check threshold (e.g. close to the
+ * server's newCommandTimeout) is health-checked on lease; sessions handed out again right away are not, the
+ * lessee's first command (usually the app reset, see {@link AppResetManager}) fails fast on a dead one.
+ */
+public class DriverPool {
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    private final Supplier<AppiumDriver> sessionFactory;
+    private final Consumer<AppiumDriver> sessionDisposer;
+    private final int maxSize;
+    private final int maxUses;
+    private final long leaseTimeoutMillis;
+    private final long healthCheckIdleNanos;
+    private final BlockingQueue<PooledSession> idleSessions = new LinkedBlockingQueue<>();
+
+    private final AtomicInteger liveSessions = new AtomicInteger();
+    private final AtomicInteger sessionsCreated = new AtomicInteger();
+    private final AtomicInteger leases = new AtomicInteger();
+    private final AtomicInteger sessionsEvicted = new AtomicInteger();
+    private volatile boolean shutdown;
+
+    /**
+     * Create a session pool
+     * @param sessionFactory Factory creating a new driver session
+     * @param sessionDisposer Quits an evicted session and frees its resources
+     * @param maxSize Maximum number of live sessions
+     * @param maxUses Number of leases after which a session is evicted
+     * @param leaseTimeoutMillis Maximum time to wait for a free session
+     * @param healthCheckIdleMillis Idle time after which a session is health-checked before it is leased
+     */
+    public DriverPool(Supplier<AppiumDriver> sessionFactory, Consumer<AppiumDriver> sessionDisposer,
+                      int maxSize, int maxUses, long leaseTimeoutMillis, long healthCheckIdleMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1: " + maxSize);
+        }
+        this.sessionFactory = sessionFactory;
+        this.sessionDisposer = sessionDisposer;
+        this.maxSize = maxSize;
+        this.maxUses = Math.max(1, maxUses);
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+        this.healthCheckIdleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, healthCheckIdleMillis));
+    }
+
+    /**
+     * Create sessions up to the pool size so that the first scenarios do not pay the session handshake
+     */
+    public void warmUp() {
+        logger.info("Warming up driver pool with {} session(s)", maxSize);
+        while (!shutdown && reserveSlot()) {
+            try {
+                idleSessions.offer(createSession().markIdle());
+            } catch (RuntimeException e) {
+                liveSessions.decrementAndGet();
+                logger.error("Failed to warm up pooled session", e);
+                throw e;
+            }
+        }
+        logger.info("Driver pool warmed up: {} idle session(s)", idleSessions.size());
+    }
+
+    /**
+     * Lease a healthy session from the pool, creating one if the pool is not full yet
+     * @return Leased session
+     */
+    public PooledSession lease() {
+        long deadline = System.currentTimeMillis() + leaseTimeoutMillis;
+        while (!shutdown) {
+            PooledSession session = idleSessions.poll();
+            if (session == null && reserveSlot()) {
+                try {
+                    session = createSession();
+                } catch (RuntimeException e) {
+                    liveSessions.decrementAndGet();
+                    throw e;
+                }
+                return markLeased(session);
+            }
+            if (session == null) {
+                session = awaitIdleSession(deadline);
+            }
+            if (isHealthy(session)) {
+                logger.debug("Reusing pooled session {} (use {} of {})", session.getDriver().getSessionId(),
+                        session.getUses() + 1, maxUses);
+                return markLeased(session);
+            }
+            evict(session, "failed health check");
+        }
+        throw new IllegalStateException("Driver pool has been shut down");
+    }
+
+    /**
+     * Return a session to the pool
+     * @param session Leased session
+     * @param evict true to discard the session instead of reusing it
+     */
+    public void release(PooledSession session, boolean evict) {
+        if (session == null) {
+            return;
+        }
+        if (shutdown || evict) {
+            evict(session, shutdown ? "pool shut down" : "released with error");
+            return;
+        }
+        if (session.getUses() >= maxUses) {
+            evict(session, "reached " + maxUses + " uses");
+            return;
+        }
+        idleSessions.offer(session.markIdle());
+    }
+
+    /**
+     * Quit all idle sessions and reject further leases
+     */
+    public void shutdown() {
+        shutdown = true;
+        PooledSession session;
+        while ((session = idleSessions.poll()) != null) {
+            evict(session, "pool shut down");
+        }
+        logger.info("Driver pool shut down: {} session(s) created, {} session creation(s) saved, {} evicted",
+                sessionsCreated.get(), getSessionsSaved(), sessionsEvicted.get());
+    }
+
+    /**
+     * Get number of sessions created by the pool
+     * @return Created session count
+     */
+    public int getSessionsCreated() {
+        return sessionsCreated.get();
+    }
+
+    /**
+     * Get number of session creations saved by reusing pooled sessions: leases minus sessions created
+     * (a warmed-up session's first lease saves nothing, it only moved the creation before the suite)
+     * @return Saved session creation count
+     */
+    public int getSessionsSaved() {
+        return Math.max(0, leases.get() - sessionsCreated.get());
+    }
+
+    /**
+     * Get number of sessions leased
+     * @return Lease count
+     */
+    public int getLeases() {
+        return leases.get();
+    }
+
+    /**
+     * Get number of sessions evicted from the pool
+     * @return Evicted session count
+     */
+    public int getSessionsEvicted() {
+        return sessionsEvicted.get();
+    }
+
+    private boolean reserveSlot() {
+        int live;
+        do {
+            live = liveSessions.get();
+            if (live >= maxSize) {
+                return false;
+            }
+        } while (!liveSessions.compareAndSet(live, live + 1));
+        return true;
+    }
+
+    private PooledSession createSession() {
+        AppiumDriver driver = sessionFactory.get();
+        sessionsCreated.incrementAndGet();
+        logger.info("Created pooled session {}", driver.getSessionId());
+        return new PooledSession(driver);
+    }
+
+    private PooledSession awaitIdleSession(long deadline) {
+        long remaining = deadline - System.currentTimeMillis();
+        try {
+            PooledSession session = remaining > 0 ? idleSessions.poll(remaining, TimeUnit.MILLISECONDS) : null;
+            if (session == null) {
+                throw new IllegalStateException("No pooled session became available within "
+                        + leaseTimeoutMillis + " ms");
+            }
+            return session;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled session", e);
+        }
+    }
+
+    private PooledSession markLeased(PooledSession session) {
+        leases.incrementAndGet();
+        return session.markLeased();
+    }
+
+    private boolean isHealthy(PooledSession session) {
+        AppiumDriver driver = session.getDriver();
+        if (driver.getSessionId() == null) {
+            return false;
+        }
+        if (System.nanoTime() - session.idleSince < healthCheckIdleNanos) {
+            return true;
+        }
+        try {
+            return driver.manage().timeouts().getImplicitWaitTimeout() != null;
+        } catch (RuntimeException e) {
+            logger.debug("Health check failed for pooled session {}", driver.getSessionId(), e);
+            return false;
+        }
+    }
+
+    private void evict(PooledSession session, String reason) {
+        AppiumDriver driver = session.getDriver();
+        logger.info("Evicting pooled session {}: {}", driver.getSessionId(), reason);
+        liveSessions.decrementAndGet();
+        sessionsEvicted.incrementAndGet();
+        try {
+            sessionDisposer.accept(driver);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to quit evicted session {}", driver.getSessionId(), e);
+        }
+    }
+
+    /**
+     * Session owned by the pool together with its usage count
+     */
+    public static class PooledSession {
+        private final AppiumDriver driver;
+        private int uses;
+        private long idleSince;
+
+        PooledSession(AppiumDriver driver) {
+            this.driver = driver;
+        }
+
+        /**
+         * Get the pooled driver
+         * @return AppiumDriver instance
+         */
+        public AppiumDriver getDriver() {
+            return driver;
+        }
+
+        /**
+         * Get number of times this session has been leased
+         * @return Lease count
+         */
+        public int getUses() {
+            return uses;
+        }
+
+        private PooledSession markLeased() {
+            uses++;
+            return this;
+        }
+
+        private PooledSession markIdle() {
+            idleSince = System.nanoTime();
+            return this;
+        }
+    }
+}
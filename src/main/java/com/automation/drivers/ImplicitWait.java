@@ -0,0 +1,144 @@
+package com.automation.drivers;
+
+import com.automation.config.ConfigManager;
+import io.appium.java_client.AppiumDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Implicit wait of each session, kept at zero while probes and polling loops own the waiting.
+ * Switching the implicit wait off and on around every probe costs two POST /timeouts round trips, so
+ * sessions created through {@link InstrumentedCommandExecutor} are zeroed by the first probe and stay at
+ * zero through the following probes and waits; the executor restores the session's own implicit wait
+ * just before the next find that is not part of a probe. Sessions without that executor (in-process
+ * benchmark drivers) are zeroed around each probe and restored to the value they had before it.
+ */
+public final class ImplicitWait {
+    private static final Logger logger = LoggerFactory.getLogger(ImplicitWait.class);
+    private static final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private static final ThreadLocal<int[]> probeDepth = ThreadLocal.withInitial(() -> new int[1]);
+    private static final AtomicLong switches = new AtomicLong();
+
+    private ImplicitWait() {
+    }
+
+    /**
+     * Run an action with the implicit wait at zero. Nested calls only switch the timeout once, and a
+     * managed session is left at zero afterwards until a regular find needs its implicit wait again.
+     * @param driver Driver to probe with, may be null
+     * @param action Action to run
+     * @param <T> Result type
+     * @return Action result
+     */
+    public static <T> T withoutImplicitWait(AppiumDriver driver, Supplier<T> action) {
+        int[] depth = probeDepth.get();
+        if (driver == null || depth[0] > 0) {
+            return action.get();
+        }
+        depth[0]++;
+        try {
+            Session session = sessions.get(String.valueOf(driver.getSessionId()));
+            if (session != null) {
+                if (!session.zeroed && session.millis > 0) {
+                    setImplicitWait(driver, Duration.ZERO);
+                    session.zeroed = true;
+                }
+                return action.get();
+            }
+            Duration original = driver.manage().timeouts().getImplicitWaitTimeout();
+            if (original.isZero()) {
+                return action.get();
+            }
+            setImplicitWait(driver, Duration.ZERO);
+            try {
+                return action.get();
+            } finally {
+                setImplicitWait(driver, original);
+            }
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    /**
+     * Check whether the current thread is running a probe
+     * @return true inside {@link #withoutImplicitWait}
+     */
+    public static boolean inProbe() {
+        return probeDepth.get()[0] > 0;
+    }
+
+    /**
+     * Get the implicit wait a session runs regular finds with
+     * @param driver Driver
+     * @return Implicit wait last set on the session outside probes, or the configured implicit wait
+     */
+    public static Duration get(AppiumDriver driver) {
+        Session session = driver != null ? sessions.get(String.valueOf(driver.getSessionId())) : null;
+        return session != null
+                ? Duration.ofMillis(session.millis)
+                : Duration.ofSeconds(ConfigManager.getImplicitWait());
+    }
+
+    /**
+     * Get the number of implicit wait changes sent by probes
+     * @return POST /timeouts requests sent to switch the implicit wait
+     */
+    public static long getSwitchCount() {
+        return switches.get();
+    }
+
+    /**
+     * Record an implicit wait set on a session outside a probe; the session is managed from then on
+     * @param sessionId Session id
+     * @param millis Implicit wait in milliseconds
+     */
+    static void track(String sessionId, long millis) {
+        Session session = sessions.computeIfAbsent(sessionId, id -> new Session());
+        session.millis = millis;
+        session.zeroed = false;
+    }
+
+    /**
+     * Called before a find outside a probe
+     * @param sessionId Session id
+     * @return Implicit wait in milliseconds to restore before the find, or -1 if it is already in effect
+     */
+    static long restoreBeforeFind(String sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session == null || !session.zeroed) {
+            return -1;
+        }
+        session.zeroed = false;
+        switches.incrementAndGet();
+        logger.trace("Restoring implicit wait of {} ms on session {}", session.millis, sessionId);
+        return session.millis;
+    }
+
+    /**
+     * Forget a session that has quit
+     * @param sessionId Session id
+     */
+    static void forget(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    private static void setImplicitWait(AppiumDriver driver, Duration timeout) {
+        driver.manage().timeouts().implicitlyWait(timeout);
+        switches.incrementAndGet();
+    }
+
+    /**
+     * Implicit wait state of a managed session
+     */
+    private static final class Session {
+        private volatile long millis;
+        private volatile boolean zeroed;
+    }
+}
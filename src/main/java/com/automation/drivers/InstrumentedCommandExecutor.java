@@ -0,0 +1,103 @@
+package com.automation.drivers;
+
+import com.automation.pages.ActionBatch;
+import com.automation.pages.LocatorProfiler;
+import com.automation.pages.TextEntry;
+import com.automation.utils.CommandMetrics;
+import io.appium.java_client.AppiumClientConfig;
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.http.HttpClient;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Appium command executor that records the latency of every driver command in {@link CommandMetrics}
+ * (when metrics are enabled) and manages the session's {@link ImplicitWait}.
+ * Wrapping the executor rather than the driver keeps the session an AndroidDriver/IOSDriver and also
+ * covers commands issued through WebElements (click, sendKeys, getText), which go through the same executor.
+ * Implicit waits set outside probes are tracked, and a session that probes left at zero gets its implicit
+ * wait back right before the next regular find.
+ * Top-level finds are also reported to {@link LocatorProfiler}, which queues slow XPath and class name
+ * lookups and verifies faster locators against a page source fetched after the step.
+ */
+public class InstrumentedCommandExecutor extends AppiumCommandExecutor {
+    private static final Set<String> FIND_COMMANDS = Set.of(DriverCommand.FIND_ELEMENT, DriverCommand.FIND_ELEMENTS,
+            DriverCommand.FIND_CHILD_ELEMENT, DriverCommand.FIND_CHILD_ELEMENTS);
+
+    /**
+     * Create an instrumented executor for an Appium server
+     * @param clientConfig Client config with the server URL and timeouts
+     * @param httpClientFactory HTTP client factory, null for Selenium's default
+     */
+    public InstrumentedCommandExecutor(AppiumClientConfig clientConfig, HttpClient.Factory httpClientFactory) {
+        super(MobileCommand.commandRepository, null, httpClientFactory, clientConfig);
+    }
+
+    @Override
+    public Response execute(Command command) {
+        String sessionId = String.valueOf(command.getSessionId());
+        if (FIND_COMMANDS.contains(command.getName()) && !ImplicitWait.inProbe()) {
+            long implicitWait = ImplicitWait.restoreBeforeFind(sessionId);
+            if (implicitWait >= 0) {
+                timed(new Command(command.getSessionId(), DriverCommand.SET_TIMEOUT,
+                        Collections.singletonMap("implicit", implicitWait)));
+            }
+        }
+        Response response = timed(command);
+        if (DriverCommand.QUIT.equals(command.getName())) {
+            ImplicitWait.forget(sessionId);
+            ActionBatch.forget(sessionId);
+            TextEntry.forget(sessionId);
+        } else if (DriverCommand.SET_TIMEOUT.equals(command.getName()) && !ImplicitWait.inProbe()
+                && command.getParameters().get("implicit") instanceof Number) {
+            ImplicitWait.track(sessionId, ((Number) command.getParameters().get("implicit")).longValue());
+        }
+        return response;
+    }
+
+    private Response timed(Command command) {
+        if (!CommandMetrics.isEnabled()) {
+            return super.execute(command);
+        }
+        long start = System.nanoTime();
+        Response response = null;
+        try {
+            response = super.execute(command);
+            return response;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Object using = command.getParameters().get("using");
+            CommandMetrics.recordCommand(command.getName(), using != null ? using.toString() : null, elapsed);
+            if (using != null && response != null) {
+                profileFind(command, using.toString(), response, elapsed);
+            }
+        }
+    }
+
+    /**
+     * Report a top-level find to the locator profiler
+     * @param command Find command
+     * @param using Locator strategy
+     * @param response Find response
+     * @param elapsed Find latency in nanoseconds
+     */
+    private void profileFind(Command command, String using, Response response, long elapsed) {
+        boolean multiple = DriverCommand.FIND_ELEMENTS.equals(command.getName());
+        if ((!multiple && !DriverCommand.FIND_ELEMENT.equals(command.getName())) || !LocatorProfiler.isEnabled()) {
+            return;
+        }
+        Object value = response.getValue();
+        // W3C responses carry the error in their state ("success" otherwise); the value of an error is its details
+        boolean found = (response.getState() == null || "success".equals(response.getState())) && value != null
+                && !(value instanceof Throwable)
+                && !(value instanceof Collection && ((Collection<?>) value).isEmpty());
+        LocatorProfiler.recordFind(using, String.valueOf(command.getParameters().get("value")), multiple, elapsed,
+                found);
+    }
+}
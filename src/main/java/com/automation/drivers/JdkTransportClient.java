@@ -0,0 +1,165 @@
+package com.automation.drivers;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selenium HTTP client sending commands through a JDK {@link java.net.http.HttpClient} shared by all driver
+ * sessions (see {@link SharedHttpClientFactory}). The client config's filters, read timeout (per request)
+ * and base URL credentials (basic auth) are applied here; WebSockets are delegated to the default client.
+ */
+class JdkTransportClient implements HttpClient {
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+            "upgrade");
+
+    private final ClientConfig config;
+    private final java.net.http.HttpClient client;
+    private final SharedHttpClientFactory.ConnectionTracker connections;
+    private final SharedHttpClientFactory factory;
+    private final HttpClient.Factory fallbackFactory;
+    private final String baseUri;
+    private final String authorization;
+    private final HttpHandler handler;
+    private HttpClient webSocketClient;
+
+    JdkTransportClient(ClientConfig config, java.net.http.HttpClient client,
+                       SharedHttpClientFactory.ConnectionTracker connections, SharedHttpClientFactory factory,
+                       HttpClient.Factory fallbackFactory) {
+        this.config = config;
+        this.client = client;
+        this.connections = connections;
+        this.factory = factory;
+        this.fallbackFactory = fallbackFactory;
+        URI base = config.baseUri();
+        this.baseUri = (base.getScheme() + "://" + base.getRawAuthority().replaceFirst("^.*@", "")
+                + (base.getRawPath() != null ? base.getRawPath() : "")).replaceAll("/$", "");
+        this.authorization = base.getUserInfo() != null
+                ? "Basic " + Base64.getEncoder().encodeToString(base.getUserInfo().getBytes(StandardCharsets.UTF_8))
+                : null;
+        this.handler = config.filter().andFinally(this::send);
+    }
+
+    @Override
+    public HttpResponse execute(HttpRequest request) {
+        return handler.execute(request);
+    }
+
+    @Override
+    public synchronized WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+        if (webSocketClient == null) {
+            webSocketClient = fallbackFactory.createClient(config);
+        }
+        return webSocketClient.openSocket(request, listener);
+    }
+
+    @Override
+    public synchronized void close() {
+        // The JDK client and its connections are shared with other sessions; only the WebSocket client is ours
+        if (webSocketClient != null) {
+            webSocketClient.close();
+            webSocketClient = null;
+        }
+    }
+
+    private HttpResponse send(HttpRequest request) {
+        URI target = resolve(request);
+        factory.recordRequest();
+        connections.acquire();
+        boolean keepAlive = false;
+        try {
+            java.net.http.HttpResponse<byte[]> response = client.send(toJdkRequest(request, target),
+                    java.net.http.HttpResponse.BodyHandlers.ofByteArray());
+            keepAlive = !response.headers().firstValue("Connection").map("close"::equalsIgnoreCase).orElse(false);
+            return toSeleniumResponse(response);
+        } catch (HttpTimeoutException e) {
+            factory.recordTimeout();
+            throw new TimeoutException("HTTP " + request.getMethod() + " " + target + " timed out after "
+                    + config.readTimeout(), e);
+        } catch (IOException e) {
+            factory.recordFailure();
+            throw new UncheckedIOException("HTTP " + request.getMethod() + " " + target + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            factory.recordFailure();
+            throw new UncheckedIOException(new IOException("Interrupted during HTTP " + request.getMethod() + " "
+                    + target, e));
+        } finally {
+            connections.release(keepAlive);
+        }
+    }
+
+    private java.net.http.HttpRequest toJdkRequest(HttpRequest request, URI target) {
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(target)
+                .timeout(config.readTimeout());
+        boolean hasAuthorization = false;
+        for (String name : request.getHeaderNames()) {
+            if (RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            hasAuthorization |= name.equalsIgnoreCase("Authorization");
+            for (String value : request.getHeaders(name)) {
+                builder.header(name, value);
+            }
+        }
+        if (authorization != null && !hasAuthorization) {
+            builder.header("Authorization", authorization);
+        }
+        HttpMethod method = request.getMethod();
+        if (method == HttpMethod.POST || method == HttpMethod.PUT) {
+            builder.method(method.name(),
+                    java.net.http.HttpRequest.BodyPublishers.ofByteArray(Contents.bytes(request.getContent())));
+        } else {
+            builder.method(method.name(), java.net.http.HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+
+    private static HttpResponse toSeleniumResponse(java.net.http.HttpResponse<byte[]> response) {
+        HttpResponse converted = new HttpResponse();
+        converted.setStatus(response.statusCode());
+        HttpHeaders headers = response.headers();
+        for (Map.Entry<String, List<String>> header : headers.map().entrySet()) {
+            for (String value : header.getValue()) {
+                converted.addHeader(header.getKey(), value);
+            }
+        }
+        converted.setContent(Contents.bytes(response.body()));
+        return converted;
+    }
+
+    private URI resolve(HttpRequest request) {
+        String uri = request.getUri();
+        if (uri.startsWith("http:") || uri.startsWith("https:")) {
+            return URI.create(uri);
+        }
+        StringBuilder query = new StringBuilder();
+        for (String name : request.getQueryParameterNames()) {
+            for (String value : request.getQueryParameters(name)) {
+                query.append(query.length() == 0 ? "?" : "&")
+                        .append(URLEncoder.encode(name, StandardCharsets.UTF_8)).append('=')
+                        .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+            }
+        }
+        return URI.create(baseUri + uri + query);
+    }
+}
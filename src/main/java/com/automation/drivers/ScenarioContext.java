@@ -0,0 +1,135 @@
+package com.automation.drivers;
+
+import io.appium.java_client.AppiumDriver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * State of the scenario running on the current thread: the driver session, its pool lease and
+ * per-scenario attributes of other components (current step, page snapshot, frame recording).
+ * A context is opened when a scenario starts and closed when it ends, so the only per-thread state is
+ * one reference to it; this keeps scenarios cheap to run on short-lived (virtual) threads.
+ */
+public final class ScenarioContext {
+    private static final ThreadLocal<ScenarioContext> bound = new ThreadLocal<>();
+
+    private final Map<Key<?>, Object> attributes = new ConcurrentHashMap<>();
+    private volatile AppiumDriver driver;
+    private volatile DriverPool.PooledSession pooledSession;
+    private volatile long startNanos;
+
+    private ScenarioContext() {
+    }
+
+    /**
+     * Open a new context for a scenario starting on the current thread, replacing any previous one
+     * @return Opened context
+     */
+    public static ScenarioContext open() {
+        ScenarioContext context = new ScenarioContext();
+        bound.set(context);
+        return context;
+    }
+
+    /**
+     * Get the current thread's context, opening one if none is open (e.g. a driver set up outside a
+     * scenario by a benchmark)
+     * @return Context
+     */
+    public static ScenarioContext current() {
+        ScenarioContext context = bound.get();
+        return context != null ? context : open();
+    }
+
+    /**
+     * Get the current thread's context without opening one
+     * @return Context, or null outside a scenario
+     */
+    public static ScenarioContext peek() {
+        return bound.get();
+    }
+
+    /**
+     * Close the current thread's context when the scenario ends
+     */
+    public static void close() {
+        ScenarioContext context = bound.get();
+        if (context != null) {
+            context.attributes.clear();
+            bound.remove();
+        }
+    }
+
+    /**
+     * Get a per-scenario attribute
+     * @param key Attribute key
+     * @param <T> Attribute type
+     * @return Value, or null if not set
+     */
+    public <T> T get(Key<T> key) {
+        return key.type.cast(attributes.get(key));
+    }
+
+    /**
+     * Set a per-scenario attribute
+     * @param key Attribute key
+     * @param value Value, or null to remove the attribute
+     * @param <T> Attribute type
+     */
+    public <T> void put(Key<T> key, T value) {
+        if (value == null) {
+            attributes.remove(key);
+        } else {
+            attributes.put(key, value);
+        }
+    }
+
+    AppiumDriver getDriver() {
+        return driver;
+    }
+
+    void setDriver(AppiumDriver driver) {
+        this.driver = driver;
+    }
+
+    DriverPool.PooledSession getPooledSession() {
+        return pooledSession;
+    }
+
+    void setPooledSession(DriverPool.PooledSession pooledSession) {
+        this.pooledSession = pooledSession;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    void setStartNanos(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Typed key of a per-scenario attribute
+     * @param <T> Attribute type
+     */
+    public static final class Key<T> {
+        private final String name;
+        private final Class<T> type;
+
+        /**
+         * Create a key; keys are compared by identity, so each component keeps its key in a constant
+         * @param name Name for debugging
+         * @param type Attribute type
+         */
+        public Key(String name, Class<T> type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.automation.drivers;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP client factory shared by all driver sessions.
+ * Sessions get a {@link JdkTransportClient} over one JDK {@link java.net.http.HttpClient} per connect timeout
+ * and SSL context, so keep-alive connections to the Appium server are pooled by the JDK client across
+ * sessions and all responses are handled on one bounded executor (appium.http.threads).
+ * TLS uses the JDK defaults, including hostname verification, and failed requests are not replayed by this
+ * factory (the JDK client only retries idempotent requests).
+ * The JDK client does not expose its connections, so connections opened versus reused are counted by
+ * {@link ConnectionTracker}, which follows the pool's rules: a request reuses an idle connection younger than
+ * the keep-alive timeout, otherwise it opens one; a connection goes back to the pool after a complete response
+ * without {@code Connection: close}.
+ * Configs with a proxy or credentials use Selenium's default client.
+ */
+public class SharedHttpClientFactory implements HttpClient.Factory {
+    private static final Logger logger = LoggerFactory.getLogger(SharedHttpClientFactory.class);
+    private static final String KEEPALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    private static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+    private static final SharedHttpClientFactory instance = new SharedHttpClientFactory();
+
+    private final HttpClient.Factory fallbackFactory = HttpClient.Factory.createDefault();
+    private final Map<List<Object>, java.net.http.HttpClient> clients = new ConcurrentHashMap<>();
+    private final Map<java.net.http.HttpClient, ConnectionTracker> trackers = new ConcurrentHashMap<>();
+    private volatile ExecutorService executor;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+
+    /**
+     * Get the shared factory
+     * @return Factory instance
+     */
+    public static SharedHttpClientFactory getInstance() {
+        return instance;
+    }
+
+    /**
+     * Check if driver sessions should use the shared factory
+     * @return true if appium.http.shared is set (default)
+     */
+    public static boolean isEnabled() {
+        return ConfigManager.getBooleanProperty(ConfigKey.APPIUM_HTTP_SHARED);
+    }
+
+    /**
+     * Get the connect timeout from appium.connection.timeout
+     * @return Connect timeout
+     */
+    public static Duration getConnectionTimeout() {
+        return Duration.ofSeconds(ConfigManager.getLongProperty(ConfigKey.APPIUM_CONNECTION_TIMEOUT));
+    }
+
+    /**
+     * Get the read timeout from appium.read.timeout
+     * @return Read timeout
+     */
+    public static Duration getReadTimeout() {
+        return Duration.ofSeconds(ConfigManager.getLongProperty(ConfigKey.APPIUM_READ_TIMEOUT));
+    }
+
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        if (config.proxy() != null || config.credentials() != null) {
+            return fallbackFactory.createClient(config);
+        }
+        java.net.http.HttpClient client = clients.computeIfAbsent(
+                Arrays.asList(config.connectionTimeout(), config.sslContext()), key -> build(config));
+        return new JdkTransportClient(config, client, trackers.get(client), this, fallbackFactory);
+    }
+
+    /**
+     * Number of JDK clients created, normally one for the whole suite
+     * @return Client count
+     */
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getConnectionsOpened() {
+        return opened.get();
+    }
+
+    public long getConnectionsReused() {
+        return reused.get();
+    }
+
+    /**
+     * Log request and connection counters
+     */
+    public void logStatistics() {
+        long total = requests.get();
+        if (total > 0) {
+            long connections = opened.get() + reused.get();
+            logger.info("HTTP transport: {} request(s) through {} shared client(s), {} connection(s) opened, "
+                            + "{} reused ({}%), {} timed out, {} failed", total, clients.size(), opened.get(),
+                    reused.get(), connections > 0 ? reused.get() * 100 / connections : 0, timeouts.get(),
+                    failures.get());
+        }
+    }
+
+    void recordRequest() {
+        requests.incrementAndGet();
+    }
+
+    void recordTimeout() {
+        timeouts.incrementAndGet();
+    }
+
+    void recordFailure() {
+        failures.incrementAndGet();
+    }
+
+    private java.net.http.HttpClient build(ClientConfig config) {
+        configureConnectionPool();
+        java.net.http.HttpClient.Builder builder = java.net.http.HttpClient.newBuilder()
+                .version(java.net.http.HttpClient.Version.HTTP_1_1)
+                .followRedirects(java.net.http.HttpClient.Redirect.NEVER)
+                .connectTimeout(config.connectionTimeout())
+                .executor(executor());
+        if (config.sslContext() != null) {
+            builder.sslContext(config.sslContext());
+        }
+        java.net.http.HttpClient client = builder.build();
+        trackers.put(client, new ConnectionTracker(
+                Duration.ofSeconds(Long.getLong(KEEPALIVE_PROPERTY, 1200)).toNanos(),
+                Integer.getInteger(POOL_SIZE_PROPERTY, 0)));
+        return client;
+    }
+
+    /**
+     * Apply appium.http.keepalive.ms and appium.http.max.connections to the JDK connection pool. These are
+     * JVM-wide properties read once, when the first JDK client of the JVM is built; values set on the
+     * command line win.
+     */
+    private static void configureConnectionPool() {
+        long keepAliveSeconds = Math.max(1,
+                (ConfigManager.getLongProperty(ConfigKey.APPIUM_HTTP_KEEPALIVE_MS) + 999) / 1000);
+        if (System.getProperty(KEEPALIVE_PROPERTY) == null) {
+            System.setProperty(KEEPALIVE_PROPERTY, String.valueOf(keepAliveSeconds));
+        }
+        if (System.getProperty(POOL_SIZE_PROPERTY) == null) {
+            System.setProperty(POOL_SIZE_PROPERTY,
+                    String.valueOf(Math.max(1, ConfigManager.getIntProperty(ConfigKey.APPIUM_HTTP_MAX_CONNECTIONS))));
+        }
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            int threads = Math.max(1, ConfigManager.getIntProperty(ConfigKey.APPIUM_HTTP_THREADS));
+            AtomicInteger sequence = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "appium-http-" + sequence.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+        return executor;
+    }
+
+    /**
+     * Idle connections of one JDK client, as its HTTP/1.1 pool keeps them
+     */
+    final class ConnectionTracker {
+        private final long keepAliveNanos;
+        private final int poolSize;
+        private final Deque<Long> idleSince = new ArrayDeque<>();
+
+        ConnectionTracker(long keepAliveNanos, int poolSize) {
+            this.keepAliveNanos = keepAliveNanos;
+            this.poolSize = poolSize;
+        }
+
+        /**
+         * Take a connection for a request: the most recently returned idle one still within the keep-alive
+         * timeout, or a new one
+         */
+        synchronized void acquire() {
+            long now = System.nanoTime();
+            while (!idleSince.isEmpty()) {
+                if (now - idleSince.pollFirst() < keepAliveNanos) {
+                    reused.incrementAndGet();
+                    return;
+                }
+            }
+            opened.incrementAndGet();
+        }
+
+        /**
+         * Return the request's connection
+         * @param keepAlive false if the response failed or asked to close the connection
+         */
+        synchronized void release(boolean keepAlive) {
+            if (keepAlive && (poolSize <= 0 || idleSince.size() < poolSize)) {
+                idleSince.addFirst(System.nanoTime());
+            }
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.automation.pages;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.google.gson.Gson;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.ExecutesDriverScript;
+import io.appium.java_client.driverscripts.ScriptOptions;
+import io.appium.java_client.driverscripts.ScriptType;
+import io.appium.java_client.driverscripts.ScriptValue;
+import org.openqa.selenium.By;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sequence of finds, text inputs and clicks sent to the Appium server in one request.
+ * The actions run in an execute-driver script (POST /session/:id/appium/execute_driver), so a
+ * login form costs one round trip instead of five. Each find in the script polls until a displayed
+ * element matches or explicit.wait runs out, and a field already holding the text is left alone, as
+ * {@link TextEntry} does. Servers started without --allow-insecure execute_driver_script, and
+ * batch.enabled=false, run the same actions serially through the page's own waitForElement, enterText
+ * and click. Both modes log every action, stop at the first failing action and throw with the action's
+ * name; per-action results are available from {@link #getResults()}.
+ */
+public class ActionBatch {
+    private static final Logger logger = LoggerFactory.getLogger(ActionBatch.class);
+    private static final Gson GSON = new Gson();
+    private static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+    private static final Set<String> unsupportedSessions = ConcurrentHashMap.newKeySet();
+    private static final AtomicLong batchedRequests = new AtomicLong();
+    private static final AtomicLong batchedActions = new AtomicLong();
+    private static final AtomicLong serialBatches = new AtomicLong();
+
+    /**
+     * Runs the actions with WebDriver protocol commands. Finds poll with backoff for a displayed element
+     * until the wait runs out, since the session's implicit wait may be zero; a find that matches nothing
+     * either throws or returns an error object depending on the WebdriverIO version, both are reported the same
+     */
+    private static final String SCRIPT = "const actions = %s;\n"
+            + "const wait = %s;\n"
+            + "const idOf = (ref) => ref && (ref['" + ELEMENT_KEY + "'] || ref.ELEMENT);\n"
+            + "async function find(action) {\n"
+            + "  const deadline = Date.now() + wait.timeoutMs;\n"
+            + "  let pause = wait.pollMs;\n"
+            + "  let error = 'no such element';\n"
+            + "  while (true) {\n"
+            + "    try {\n"
+            + "      const refs = await driver.findElements(action.using, action.value);\n"
+            + "      for (const ref of (Array.isArray(refs) ? refs : [])) {\n"
+            + "        const id = idOf(ref);\n"
+            + "        if (id && await driver.isElementDisplayed(id)) {\n"
+            + "          return id;\n"
+            + "        }\n"
+            + "      }\n"
+            + "    } catch (e) {\n"
+            + "      error = String(e && e.message ? e.message : e);\n"
+            + "    }\n"
+            + "    if (Date.now() + pause > deadline) {\n"
+            + "      throw new Error(error + ' (waited ' + wait.timeoutMs + ' ms for ' + action.value + ')');\n"
+            + "    }\n"
+            + "    await driver.pause(pause);\n"
+            + "    pause = Math.min(pause * wait.multiplier, wait.maxPollMs);\n"
+            + "  }\n"
+            + "}\n"
+            + "const results = [];\n"
+            + "for (const action of actions) {\n"
+            + "  try {\n"
+            + "    const id = await find(action);\n"
+            + "    let skipped = false;\n"
+            + "    if (action.type === 'enterText') {\n"
+            + "      skipped = (await driver.getElementText(id)) === action.text;\n"
+            + "      if (!skipped) {\n"
+            + "        await driver.elementClear(id);\n"
+            + "        await driver.elementSendKeys(id, action.text);\n"
+            + "      }\n"
+            + "    } else if (action.type === 'click') {\n"
+            + "      await driver.elementClick(id);\n"
+            + "    }\n"
+            + "    results.push({ok: true, skipped: skipped});\n"
+            + "  } catch (e) {\n"
+            + "    results.push({ok: false, error: String(e && e.message ? e.message : e)});\n"
+            + "    break;\n"
+            + "  }\n"
+            + "}\n"
+            + "return results;";
+
+    private final BasePage page;
+    private final AppiumDriver driver;
+    private final List<Action> actions = new ArrayList<>();
+    private List<Result> results = Collections.emptyList();
+
+    /**
+     * Create an empty batch
+     * @param page Page whose driver runs the actions, whose methods run them serially and whose snapshot
+     *             and cached elements are dropped after a batch with inputs or clicks
+     */
+    ActionBatch(BasePage page) {
+        this.page = page;
+        this.driver = page.driver;
+    }
+
+    /**
+     * Add a find that fails the batch when the element is not present
+     * @param locator Element locator
+     * @param elementName Name of the element for logging
+     * @return This batch
+     */
+    public ActionBatch find(By locator, String elementName) {
+        actions.add(new Action("find", locator, null, elementName));
+        return this;
+    }
+
+    /**
+     * Add a clear and text input
+     * @param locator Element locator
+     * @param text Text to enter
+     * @param elementName Name of the element for logging
+     * @return This batch
+     */
+    public ActionBatch enterText(By locator, String text, String elementName) {
+        actions.add(new Action("enterText", locator, text, elementName));
+        return this;
+    }
+
+    /**
+     * Add a click
+     * @param locator Element locator
+     * @param elementName Name of the element for logging
+     * @return This batch
+     */
+    public ActionBatch click(By locator, String elementName) {
+        actions.add(new Action("click", locator, null, elementName));
+        return this;
+    }
+
+    /**
+     * Run the actions, in one request when the server supports it
+     * @return Result per action, in order
+     * @throws WebDriverException naming the first failed action; later actions are not run
+     */
+    public List<Result> execute() {
+        if (actions.isEmpty()) {
+            return results;
+        }
+        String sessionId = String.valueOf(driver.getSessionId());
+        boolean batched = false;
+        if (isBatchingEnabled() && driver instanceof ExecutesDriverScript && !unsupportedSessions.contains(sessionId)) {
+            try {
+                results = executeBatched();
+                batched = true;
+            } catch (UnsupportedCommandException e) {
+                unsupportedSessions.add(sessionId);
+                logger.info("Server does not support execute-driver scripts, running batches serially: {}",
+                        firstLine(e.getMessage()));
+            } catch (WebDriverException e) {
+                if (!isScriptRejected(e)) {
+                    throw e;
+                }
+                unsupportedSessions.add(sessionId);
+                logger.info("Server rejected execute-driver script, running batches serially: {}",
+                        firstLine(e.getMessage()));
+            }
+        }
+        if (!batched) {
+            results = executeSerially();
+            serialBatches.incrementAndGet();
+        }
+        if (actions.stream().anyMatch(action -> !action.type.equals("find"))) {
+            page.invalidateSnapshot();
+        }
+        for (Result result : results) {
+            if (!result.isSuccess()) {
+                throw new WebDriverException("Action " + result.getAction() + " on '" + result.getElementName()
+                        + "' failed: " + result.getError(), result.cause);
+            }
+        }
+        logger.debug("Ran {} action(s) {}", actions.size(), batched ? "in one request" : "serially");
+        return results;
+    }
+
+    /**
+     * Get the results of the last execute, including the failed action
+     * @return Result per action that ran
+     */
+    public List<Result> getResults() {
+        return results;
+    }
+
+    private List<Result> executeBatched() {
+        List<Map<String, String>> payload = new ArrayList<>();
+        for (Action action : actions) {
+            By.Remotable.Parameters parameters = remoteParameters(action.locator);
+            Map<String, String> entry = new LinkedHashMap<>();
+            entry.put("type", action.type);
+            entry.put("using", parameters.using());
+            entry.put("value", String.valueOf(parameters.value()));
+            if (action.text != null) {
+                entry.put("text", action.text);
+            }
+            payload.add(entry);
+        }
+        logger.info("Running {} action(s) in one execute-driver request", actions.size());
+        for (Action action : actions) {
+            action.log();
+        }
+        Map<String, Object> wait = new LinkedHashMap<>();
+        wait.put("timeoutMs", ConfigManager.getExplicitWait() * 1000L);
+        wait.put("pollMs", ConfigManager.getLongProperty(ConfigKey.WAIT_POLL_INITIAL_MS));
+        wait.put("multiplier", ConfigManager.getDoubleProperty(ConfigKey.WAIT_POLL_MULTIPLIER));
+        wait.put("maxPollMs", ConfigManager.getLongProperty(ConfigKey.WAIT_POLL_MAX_MS));
+        ScriptValue value = ((ExecutesDriverScript) driver).executeDriverScript(
+                String.format(SCRIPT, GSON.toJson(payload), GSON.toJson(wait)),
+                new ScriptOptions().withScriptType(ScriptType.WEBDRIVERIO)
+                        .withTimeout(ConfigManager.getLongProperty(ConfigKey.BATCH_TIMEOUT_MS)));
+        batchedRequests.incrementAndGet();
+        batchedActions.addAndGet(actions.size());
+
+        Object raw = value.getResult();
+        if (!(raw instanceof List)) {
+            throw new WebDriverException("Unexpected execute-driver result: " + raw);
+        }
+        List<Result> batchResults = new ArrayList<>();
+        List<?> entries = (List<?>) raw;
+        for (int i = 0; i < entries.size() && i < actions.size(); i++) {
+            Map<?, ?> entry = (Map<?, ?>) entries.get(i);
+            Action action = actions.get(i);
+            boolean ok = Boolean.TRUE.equals(entry.get("ok"));
+            if (Boolean.TRUE.equals(entry.get("skipped"))) {
+                logger.debug("'{}' already holds the text, left as it was", action.elementName);
+            }
+            batchResults.add(new Result(action, ok, ok ? null : String.valueOf(entry.get("error")), null));
+        }
+        return batchResults;
+    }
+
+    private List<Result> executeSerially() {
+        List<Result> serialResults = new ArrayList<>();
+        for (Action action : actions) {
+            try {
+                if (action.type.equals("enterText")) {
+                    page.enterText(action.locator, action.text, action.elementName);
+                } else if (action.type.equals("click")) {
+                    page.click(action.locator, action.elementName);
+                } else {
+                    page.waitForElement(action.locator, action.elementName);
+                }
+                serialResults.add(new Result(action, true, null, null));
+            } catch (WebDriverException e) {
+                serialResults.add(new Result(action, false, firstLine(e.getMessage()), e));
+                break;
+            }
+        }
+        return serialResults;
+    }
+
+    private static By.Remotable.Parameters remoteParameters(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Locator cannot be sent to the server: " + locator);
+        }
+        return ((By.Remotable) locator).getRemoteParameters();
+    }
+
+    /**
+     * Check whether an execute-driver error means the endpoint is unavailable, so no action ran
+     */
+    private static boolean isScriptRejected(WebDriverException e) {
+        String message = e.getMessage() != null ? e.getMessage() : "";
+        return message.contains("execute_driver") || message.contains("insecure feature")
+                || message.contains("unknown command") || message.contains("unknown method");
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "";
+        }
+        int newline = message.indexOf('\n');
+        return newline >= 0 ? message.substring(0, newline) : message;
+    }
+
+    /**
+     * Check whether a session was found not to support execute-driver scripts
+     * @param sessionId Session id
+     * @return true if its batches run serially
+     */
+    static boolean isUnsupported(String sessionId) {
+        return unsupportedSessions.contains(sessionId);
+    }
+
+    /**
+     * Forget a session that has quit, so the set of sessions without execute-driver support does not grow
+     * @param sessionId Session id
+     */
+    public static void forget(String sessionId) {
+        unsupportedSessions.remove(sessionId);
+    }
+
+    private static boolean isBatchingEnabled() {
+        return ConfigManager.getBooleanProperty(ConfigKey.BATCH_ENABLED);
+    }
+
+    /**
+     * Log batching statistics
+     */
+    public static void logStatistics() {
+        if (batchedRequests.get() > 0 || serialBatches.get() > 0) {
+            logger.info("Action batches: {} request(s) carrying {} action(s), {} batch(es) run serially",
+                    batchedRequests.get(), batchedActions.get(), serialBatches.get());
+        }
+    }
+
+    private static final class Action {
+        private final String type;
+        private final By locator;
+        private final String text;
+        private final String elementName;
+
+        private Action(String type, By locator, String text, String elementName) {
+            this.type = type;
+            this.locator = locator;
+            this.text = text;
+            this.elementName = elementName;
+        }
+
+        /**
+         * Log the action the way the page's single-action methods do
+         */
+        private void log() {
+            if (type.equals("enterText")) {
+                logger.info("Entering text '{}' into element: {}", text, elementName);
+            } else if (type.equals("click")) {
+                logger.info("Clicking on element: {}", elementName);
+            } else {
+                logger.debug("Waiting for element: {}", elementName);
+            }
+        }
+    }
+
+    /**
+     * Outcome of one batched action
+     */
+    public static final class Result {
+        private final Action action;
+        private final boolean success;
+        private final String error;
+        private final WebDriverException cause;
+
+        private Result(Action action, boolean success, String error, WebDriverException cause) {
+            this.action = action;
+            this.success = success;
+            this.error = error;
+            this.cause = cause;
+        }
+
+        public String getAction() {
+            return action.type;
+        }
+
+        public String getElementName() {
+            return action.elementName;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        /**
+         * Get the server's error message
+         * @return Error message, or null if the action succeeded
+         */
+        public String getError() {
+            return error;
+        }
+    }
+}
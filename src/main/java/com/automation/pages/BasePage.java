@@ -1,5 +1,8 @@
 package com.automation.pages;
 
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.automation.drivers.AppiumSettings;
 import com.automation.drivers.DriverManager;
 import com.automation.utils.ScreenshotUtils;
 import com.automation.utils.WaitUtils;
@@ -12,6 +15,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Base Page class for Page Object Model
@@ -19,14 +26,43 @@ import java.time.Duration;
  */
 public abstract class BasePage {
     protected static final Logger logger = LoggerFactory.getLogger(BasePage.class);
+    // Settings profile of each page class, so constructing a page reads its annotation only once
+    private static final Map<Class<?>, Optional<String>> settingsProfiles = new ConcurrentHashMap<>();
     protected AppiumDriver driver;
+    protected final ElementCache elementCache = new ElementCache();
 
     /**
-     * Constructor to initialize page elements
+     * Constructor to initialize page elements for the current thread's driver.
+     * With element.cache.enabled (default) resolved elements are cached per page instance.
      */
     public BasePage() {
-        this.driver = DriverManager.getDriver();
-        PageFactory.initElements(new AppiumFieldDecorator(driver, Duration.ofSeconds(10)), this);
+        this(DriverManager.getDriver());
+    }
+
+    /**
+     * Constructor to initialize page elements for a given driver.
+     * Pages with a generated {@link PageBinder} are bound from its static locator table, to caching
+     * element proxies or, with element.cache.enabled=false, to proxies that find the element on every call;
+     * other pages use PageFactory.
+     * The page's {@link SettingsProfile}, if any, replaces the previous page's settings profile.
+     * @param driver Driver the page elements are resolved with
+     */
+    protected BasePage(AppiumDriver driver) {
+        this.driver = driver;
+        boolean caching = ConfigManager.getBooleanProperty(ConfigKey.ELEMENT_CACHE_ENABLED);
+        PageBinder<BasePage> binder = PageBindings.binderFor(getClass());
+        if (binder != null) {
+            ElementCache cache = caching ? elementCache : null;
+            binder.bind(this, ConfigManager.isAndroid(),
+                    by -> new CachingElementLocator(driver, by, cache).createProxy());
+        } else if (caching) {
+            PageFactory.initElements(new CachingFieldDecorator(driver, Duration.ofSeconds(10), elementCache), this);
+        } else {
+            PageFactory.initElements(new AppiumFieldDecorator(driver, Duration.ofSeconds(10)), this);
+        }
+        AppiumSettings.activatePage(driver, settingsProfiles.computeIfAbsent(getClass(), pageClass ->
+                Optional.ofNullable(pageClass.getAnnotation(SettingsProfile.class)).map(SettingsProfile::value))
+                .orElse(null));
         logger.debug("Initialized page: {}", this.getClass().getSimpleName());
     }
 
@@ -37,7 +73,11 @@ public abstract class BasePage {
      */
     protected void click(WebElement element, String elementName) {
         logger.info("Clicking on element: {}", elementName);
-        element.click();
+        try {
+            element.click();
+        } finally {
+            invalidateSnapshot();
+        }
         logger.debug("Clicked on element: {}", elementName);
     }
 
@@ -49,21 +89,31 @@ public abstract class BasePage {
     protected void click(By locator, String elementName) {
         logger.info("Clicking on element: {}", elementName);
         WebElement element = WaitUtils.waitForElementClickable(locator);
-        element.click();
+        try {
+            element.click();
+        } finally {
+            invalidateSnapshot();
+        }
         logger.debug("Clicked on element: {}", elementName);
     }
 
     /**
-     * Enter text into element with logging
+     * Enter text into element with logging.
+     * The input method is picked by {@link TextEntry}: fields already holding the text are skipped,
+     * partial values are completed and others are replaced or pasted where the platform allows it.
      * @param element WebElement to enter text
      * @param text Text to enter
      * @param elementName Name of the element for logging
      */
     protected void enterText(WebElement element, String text, String elementName) {
         logger.info("Entering text '{}' into element: {}", text, elementName);
-        element.clear();
-        element.sendKeys(text);
-        logger.debug("Text entered into element: {}", elementName);
+        TextEntryStrategy strategy;
+        try {
+            strategy = TextEntry.enter(driver, element, text, elementName);
+        } finally {
+            invalidateSnapshot();
+        }
+        logger.debug("Text entered into element: {} ({})", elementName, strategy);
     }
 
     /**
@@ -75,9 +125,52 @@ public abstract class BasePage {
     protected void enterText(By locator, String text, String elementName) {
         logger.info("Entering text '{}' into element: {}", text, elementName);
         WebElement element = WaitUtils.waitForElementVisible(locator);
-        element.clear();
-        element.sendKeys(text);
-        logger.debug("Text entered into element: {}", elementName);
+        TextEntryStrategy strategy;
+        try {
+            strategy = TextEntry.enter(driver, element, text, elementName);
+        } finally {
+            invalidateSnapshot();
+        }
+        logger.debug("Text entered into element: {} ({})", elementName, strategy);
+    }
+
+    /**
+     * Start a batch of finds, text inputs and clicks that is sent to the server in one request
+     * (serially when the server does not support execute-driver scripts). Running it drops the page
+     * snapshot and cached elements like the single-action methods do.
+     * @return Empty batch; add actions and call execute()
+     */
+    protected ActionBatch batch() {
+        return new ActionBatch(this);
+    }
+
+    /**
+     * Get the locator of an annotated field of this page for the configured platform
+     * @param fieldName Field name
+     * @return Locator
+     * @throws IllegalStateException if the page has no generated binder or the field no locator
+     */
+    protected By locatorOf(String fieldName) {
+        By locator = PageBindings.locatorOf(this, fieldName);
+        if (locator == null) {
+            throw new IllegalStateException("No locator for " + getClass().getSimpleName() + "." + fieldName);
+        }
+        return locator;
+    }
+
+    /**
+     * Check whether {@link #locatorOf(String)} can resolve all the given fields, e.g. before building a
+     * batch, so pages without a generated binder can fall back to their field-based methods
+     * @param fieldNames Field names
+     * @return true if the page has a binder with a locator for every field on the configured platform
+     */
+    protected boolean hasLocators(String... fieldNames) {
+        for (String fieldName : fieldNames) {
+            if (PageBindings.locatorOf(this, fieldName) == null) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -94,13 +187,20 @@ public abstract class BasePage {
     }
 
     /**
-     * Get text using locator with explicit wait
+     * Get text using locator with explicit wait.
+     * In snapshot mode the text is read from the page snapshot when the element is in it.
      * @param locator By locator
      * @param elementName Name of the element for logging
      * @return Element text
      */
     protected String getText(By locator, String elementName) {
         logger.debug("Getting text from element: {}", elementName);
+        SnapshotNode node = findInSnapshot(locator, true);
+        if (node != null) {
+            String text = node.getText();
+            logger.info("Text from element '{}' (snapshot): {}", elementName, text);
+            return text;
+        }
         WebElement element = WaitUtils.waitForElementVisible(locator);
         String text = element.getText();
         logger.info("Text from element '{}': {}", elementName, text);
@@ -128,6 +228,10 @@ public abstract class BasePage {
      */
     protected boolean isDisplayed(By locator, String elementName) {
         logger.debug("Checking if element is displayed: {}", elementName);
+        if (findInSnapshot(locator, true) != null) {
+            logger.info("Element '{}' displayed (snapshot): true", elementName);
+            return true;
+        }
         try {
             WebElement element = WaitUtils.waitForElementVisible(locator, 5);
             boolean isDisplayed = element.isDisplayed();
@@ -139,6 +243,30 @@ public abstract class BasePage {
         }
     }
 
+    /**
+     * Check if element is present right now, without waiting
+     * @param locator By locator
+     * @param elementName Name of the element for logging
+     * @return true if present, false otherwise
+     */
+    protected boolean isPresent(By locator, String elementName) {
+        boolean isPresent = WaitUtils.isElementPresent(locator);
+        logger.info("Element '{}' present: {}", elementName, isPresent);
+        return isPresent;
+    }
+
+    /**
+     * Check that element is absent right now, without waiting for the implicit wait
+     * @param locator By locator
+     * @param elementName Name of the element for logging
+     * @return true if absent, false otherwise
+     */
+    protected boolean isAbsent(By locator, String elementName) {
+        boolean isAbsent = WaitUtils.isElementAbsent(locator);
+        logger.info("Element '{}' absent: {}", elementName, isAbsent);
+        return isAbsent;
+    }
+
     /**
      * Wait for element to be visible
      * @param locator By locator
@@ -151,12 +279,62 @@ public abstract class BasePage {
     }
 
     /**
-     * Scroll to element (to be implemented based on platform)
+     * Resolve a locator against the page snapshot when snapshot mode is enabled
+     * @param locator By locator
+     * @param displayedOnly true to only accept displayed elements
+     * @return First matching node, or null if snapshot mode is off or the snapshot cannot answer
+     */
+    protected SnapshotNode findInSnapshot(By locator, boolean displayedOnly) {
+        PageSnapshot snapshot = PageSnapshotCache.get();
+        if (snapshot == null) {
+            return null;
+        }
+        List<SnapshotNode> nodes = snapshot.find(locator);
+        if (nodes != null) {
+            for (SnapshotNode node : nodes) {
+                if (!displayedOnly || node.isDisplayed()) {
+                    PageSnapshotCache.recordLocalLookup();
+                    return node;
+                }
+            }
+        }
+        PageSnapshotCache.recordFallback();
+        return null;
+    }
+
+    /**
+     * Drop the page snapshot and cached elements. Every mutating helper here calls it after its action
+     * (also when the action fails part-way); call it after any other interaction that can change the
+     * screen, e.g. gestures
+     */
+    protected void invalidateSnapshot() {
+        PageSnapshotCache.invalidate();
+        elementCache.invalidateAll();
+    }
+
+    /**
+     * Scroll to element (to be implemented based on platform, usually with {@link ScrollEngine})
      * @param element WebElement to scroll to
      * @param elementName Name of the element for logging
      */
     protected abstract void scrollToElement(WebElement element, String elementName);
 
+    /**
+     * Scroll until an element matching the locator is visible, using the platform's native scroll
+     * when the locator allows it and adaptive swipes otherwise
+     * @param locator By locator
+     * @param elementName Name of the element for logging
+     * @return Visible element
+     */
+    protected WebElement scrollToElement(By locator, String elementName) {
+        logger.info("Scrolling to element: {}", elementName);
+        try {
+            return ScrollEngine.scrollTo(driver, locator, elementName);
+        } finally {
+            invalidateSnapshot();
+        }
+    }
+
     /**
      * Take screenshot of current page
      * @param screenshotName Screenshot name
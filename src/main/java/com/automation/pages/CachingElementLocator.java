@@ -0,0 +1,164 @@
+package com.automation.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * Element locator that keeps the resolved element reference until it goes stale or the page changes.
+ * Page fields are bound to proxies created by {@link #createProxy()}: every call goes to the cached
+ * element, a StaleElementReferenceException re-resolves the element and retries once, click/submit
+ * drop all cached references of the page, and clear/sendKeys drop all references except this one.
+ * Without a cache (element.cache.enabled=false) the proxy resolves the element on every call instead.
+ */
+public class CachingElementLocator implements ElementLocator {
+    private final SearchContext searchContext;
+    private final By by;
+    private final ElementCache cache;
+    private volatile WebElement cachedElement;
+
+    /**
+     * Create a caching locator and register it with the page cache
+     * @param searchContext Context to search in (usually the driver)
+     * @param by Element locator
+     * @param cache Element cache of the owning page, or null to find the element on every call
+     */
+    public CachingElementLocator(SearchContext searchContext, By by, ElementCache cache) {
+        this.searchContext = searchContext;
+        this.by = by;
+        this.cache = cache;
+        if (cache != null) {
+            cache.register(this);
+        }
+    }
+
+    /**
+     * Get the locator this element is resolved with
+     * @return By locator
+     */
+    public By getBy() {
+        return by;
+    }
+
+    @Override
+    public WebElement findElement() {
+        if (cache == null) {
+            return searchContext.findElement(by);
+        }
+        WebElement element = cachedElement;
+        if (element != null) {
+            ElementCache.recordHit();
+            return element;
+        }
+        ElementCache.recordMiss();
+        element = searchContext.findElement(by);
+        cachedElement = element;
+        return element;
+    }
+
+    @Override
+    public List<WebElement> findElements() {
+        return searchContext.findElements(by);
+    }
+
+    /**
+     * Drop the cached element reference
+     */
+    void invalidate() {
+        cachedElement = null;
+    }
+
+    /**
+     * Create a WebElement proxy backed by this locator
+     * @return Element proxy
+     */
+    public WebElement createProxy() {
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebElement.class, WrapsElement.class, Locatable.class}, new Handler());
+    }
+
+    /**
+     * Get the locator behind an element proxy created by {@link #createProxy()}
+     * @param element Page element
+     * @return Locator, or null if the element is not a caching proxy
+     */
+    static By locatorOf(WebElement element) {
+        if (element != null && Proxy.isProxyClass(element.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(element);
+            if (handler instanceof Handler) {
+                return ((Handler) handler).getBy();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "Cached proxy element for: " + by;
+    }
+
+    /**
+     * Invocation handler routing proxy calls to the cached element
+     */
+    private final class Handler implements InvocationHandler {
+        By getBy() {
+            return by;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (method.getDeclaringClass() == Object.class) {
+                switch (name) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return CachingElementLocator.this.toString();
+                }
+            }
+            if (name.equals("getWrappedElement")) {
+                return findElement();
+            }
+            Object result;
+            try {
+                result = invokeOn(findElement(), method, args);
+            } catch (StaleElementReferenceException e) {
+                if (cache == null) {
+                    throw e;
+                }
+                ElementCache.recordStale();
+                invalidate();
+                result = invokeOn(findElement(), method, args);
+            }
+            if (cache == null) {
+                return result;
+            }
+            if (name.equals("click") || name.equals("submit")) {
+                cache.invalidateAll();
+            } else if (name.equals("sendKeys") || name.equals("clear")) {
+                cache.invalidateAllExcept(CachingElementLocator.this);
+            }
+            return result;
+        }
+
+        private Object invokeOn(WebElement element, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
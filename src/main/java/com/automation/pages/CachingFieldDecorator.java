@@ -0,0 +1,53 @@
+package com.automation.pages;
+
+import com.automation.config.ConfigManager;
+import io.appium.java_client.pagefactory.AppiumFieldDecorator;
+import io.appium.java_client.pagefactory.DefaultElementByBuilder;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+
+/**
+ * Field decorator binding WebElement fields to {@link CachingElementLocator} proxies.
+ * Locators are built from @AndroidFindBy / @iOSXCUITFindBy / @FindBy exactly as AppiumFieldDecorator
+ * does; other field types (lists, widgets) are delegated to AppiumFieldDecorator.
+ */
+public class CachingFieldDecorator implements FieldDecorator {
+    private final SearchContext searchContext;
+    private final ElementCache cache;
+    private final AppiumFieldDecorator fallback;
+    private final String platform;
+    private final String automation;
+
+    /**
+     * Create a caching field decorator for one page instance
+     * @param searchContext Context to search in (usually the driver)
+     * @param timeout Lookup timeout used for fields delegated to AppiumFieldDecorator
+     * @param cache Element cache of the page being decorated
+     */
+    public CachingFieldDecorator(SearchContext searchContext, Duration timeout, ElementCache cache) {
+        this.searchContext = searchContext;
+        this.cache = cache;
+        this.fallback = new AppiumFieldDecorator(searchContext, timeout);
+        this.platform = ConfigManager.isAndroid() ? "Android" : "iOS";
+        this.automation = ConfigManager.getProperty(ConfigManager.isAndroid()
+                ? "android.automation.name" : "ios.automation.name");
+    }
+
+    @Override
+    public Object decorate(ClassLoader loader, Field field) {
+        if (field.getType() == WebElement.class) {
+            DefaultElementByBuilder builder = new DefaultElementByBuilder(platform, automation);
+            builder.setAnnotated(field);
+            By by = builder.buildBy();
+            if (by != null) {
+                return new CachingElementLocator(searchContext, by, cache).createProxy();
+            }
+        }
+        return fallback.decorate(loader, field);
+    }
+}
@@ -0,0 +1,93 @@
+package com.automation.pages;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolved element references of one page instance.
+ * A screen-changing interaction on any element of the page drops all cached references,
+ * so they are re-resolved on next use. Hit, miss and stale counters are shared by all pages.
+ */
+public class ElementCache {
+    private static final Logger logger = LoggerFactory.getLogger(ElementCache.class);
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong stale = new AtomicLong();
+
+    private final List<CachingElementLocator> locators = new CopyOnWriteArrayList<>();
+
+    /**
+     * Register a locator owned by this page
+     * @param locator Caching locator
+     */
+    void register(CachingElementLocator locator) {
+        locators.add(locator);
+    }
+
+    /**
+     * Drop all cached element references of this page
+     */
+    public void invalidateAll() {
+        invalidateAllExcept(null);
+    }
+
+    /**
+     * Drop all cached element references of this page except one
+     * @param keep Locator whose reference stays cached, may be null
+     */
+    void invalidateAllExcept(CachingElementLocator keep) {
+        for (CachingElementLocator locator : locators) {
+            if (locator != keep) {
+                locator.invalidate();
+            }
+        }
+    }
+
+    static void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    static void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    static void recordStale() {
+        stale.incrementAndGet();
+    }
+
+    /**
+     * Get number of element accesses served from the cache
+     * @return Hit count
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get number of element accesses that needed a findElement call
+     * @return Miss count
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get number of cached references found stale and re-resolved
+     * @return Stale count
+     */
+    public static long getStale() {
+        return stale.get();
+    }
+
+    /**
+     * Log hit, miss and stale counters
+     */
+    public static void logStatistics() {
+        logger.info("Element cache: {} hit(s), {} miss(es), {} stale reference(s) re-resolved",
+                hits.get(), misses.get(), stale.get());
+    }
+}
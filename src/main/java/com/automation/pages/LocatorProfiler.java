@@ -0,0 +1,324 @@
+package com.automation.pages;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.automation.drivers.DriverManager;
+import com.automation.drivers.ScenarioContext;
+import com.automation.utils.LatencyHistogram;
+import com.google.gson.GsonBuilder;
+import io.appium.java_client.AppiumDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Find latency per locator and page class, with faster equivalents for slow XPath and class name lookups.
+ * Finds are reported by the instrumented command executor and attributed to the innermost page object
+ * on the calling stack ("-" for lookups outside page objects). With locator.profiler.suggest, the first
+ * time an XPath or class name lookup exceeds locator.profiler.slow.ms it is queued, and the page source
+ * is fetched once after the current step ({@link #suggestPending()}), off the step's own timing; the
+ * element's id, accessibility id, UiSelector / predicate and class chain are derived from it and kept
+ * only if they match the same element(s) in that source. A lookup whose element is gone by then is
+ * analysed again the next time it is slow. The ranked report is written after the suite as
+ * locator-profile.json under metrics.report.path.
+ */
+public class LocatorProfiler {
+    private static final Logger logger = LoggerFactory.getLogger(LocatorProfiler.class);
+    private static final String NONE = "-";
+    private static final StackWalker STACK_WALKER =
+            StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final Map<List<String>, LatencyHistogram> finds = new ConcurrentHashMap<>();
+    private static final Map<List<String>, List<Suggestion>> suggestions = new ConcurrentHashMap<>();
+    private static final ScenarioContext.Key<Pending> PENDING = new ScenarioContext.Key<>("slowFinds", Pending.class);
+
+    /**
+     * Check if locator profiling is enabled
+     * @return true if locator.profiler.enabled is set (default)
+     */
+    public static boolean isEnabled() {
+        return ConfigManager.getBooleanProperty(ConfigKey.LOCATOR_PROFILER_ENABLED);
+    }
+
+    /**
+     * Record the latency of a find command, queueing slow lookups for {@link #suggestPending()}
+     * @param using Locator strategy
+     * @param value Locator value
+     * @param multiple true for findElements
+     * @param nanos Latency in nanoseconds
+     * @param found true if the find returned at least one element
+     */
+    public static void recordFind(String using, String value, boolean multiple, long nanos, boolean found) {
+        finds.computeIfAbsent(Arrays.asList(callingPage(), using, value), key -> new LatencyHistogram()).record(nanos);
+        if (found
+                && isSlowStrategy(using)
+                && nanos >= ConfigManager.getLongProperty(ConfigKey.LOCATOR_PROFILER_SLOW_MS) * 1_000_000
+                && ConfigManager.getBooleanProperty(ConfigKey.LOCATOR_PROFILER_SUGGEST)
+                && suggestions.putIfAbsent(Arrays.asList(using, value), Collections.emptyList()) == null) {
+            ScenarioContext context = ScenarioContext.current();
+            Pending pending = context.get(PENDING);
+            if (pending == null) {
+                pending = new Pending();
+                context.put(PENDING, pending);
+            }
+            pending.finds.add(new String[] {using, value, String.valueOf(multiple)});
+        }
+    }
+
+    /**
+     * Analyse the slow lookups queued during the current step against one page source fetched now.
+     * Called between steps so the fetch does not delay the step that issued the lookup.
+     */
+    public static void suggestPending() {
+        ScenarioContext context = ScenarioContext.peek();
+        Pending pending = context != null ? context.get(PENDING) : null;
+        if (pending == null) {
+            return;
+        }
+        context.put(PENDING, null);
+        AppiumDriver driver = DriverManager.getDriver();
+        String pageSource = null;
+        try {
+            pageSource = driver != null ? driver.getPageSource() : null;
+        } catch (RuntimeException e) {
+            logger.debug("Failed to fetch page source for locator suggestions", e);
+        }
+        for (String[] find : pending.finds) {
+            if (pageSource != null) {
+                suggest(find[0], find[1], Boolean.parseBoolean(find[2]), pageSource);
+            } else {
+                suggestions.remove(Arrays.asList(find[0], find[1]), Collections.emptyList());
+            }
+        }
+    }
+
+    /**
+     * Derive faster locators for a slow lookup from a page source taken after it, keeping the ones that
+     * match the same element(s). If the element is no longer in that source, the lookup is analysed
+     * again the next time it is slow.
+     * @param using Locator strategy
+     * @param value Locator value
+     * @param multiple true for findElements, which must match the same list; findElement only the first
+     * @param pageSource Current page source
+     */
+    public static void suggest(String using, String value, boolean multiple, String pageSource) {
+        PageSnapshot snapshot = PageSnapshot.parse(pageSource,
+                ConfigManager.getIntProperty(ConfigKey.PAGE_SNAPSHOT_MAX_NODES));
+        List<SnapshotNode> expected = snapshot != null ? snapshot.find(using, value) : null;
+        if (expected == null) {
+            logger.debug("Cannot resolve {} '{}' locally, no rewrite suggested", using, value);
+            return;
+        }
+        if (expected.isEmpty()) {
+            suggestions.remove(Arrays.asList(using, value), Collections.emptyList());
+            return;
+        }
+        List<Suggestion> verified = new ArrayList<>();
+        for (Suggestion candidate : candidates(expected.get(0))) {
+            List<SnapshotNode> matches = candidate.matches(snapshot);
+            boolean same = multiple
+                    ? matches.equals(expected)
+                    : !matches.isEmpty() && matches.get(0) == expected.get(0);
+            if (same) {
+                verified.add(candidate);
+            }
+        }
+        suggestions.put(Arrays.asList(using, value), verified);
+        if (!verified.isEmpty()) {
+            logger.info("Slow {} locator '{}' can be replaced with {} '{}'", using, value,
+                    verified.get(0).using, verified.get(0).value);
+        }
+    }
+
+    /**
+     * Write the ranked locator report and log the slowest entries. Does nothing if nothing was recorded.
+     */
+    public static void writeReport() {
+        if (finds.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> ranking = ranking();
+        int top = Math.min(ranking.size(), ConfigManager.getIntProperty(ConfigKey.LOCATOR_PROFILER_TOP));
+        for (Map<String, Object> entry : ranking.subList(0, top)) {
+            logger.info("Locator {} '{}' on {}: {} find(s), p90 {} ms, {} ms total{}", entry.get("strategy"),
+                    entry.get("value"), entry.get("page"), entry.get("count"), entry.get("p90Ms"), entry.get("totalMs"),
+                    entry.containsKey("suggestions") ? ", suggested: " + entry.get("suggestions") : "");
+        }
+        Path directory = Paths.get(ConfigManager.getProperty(ConfigKey.METRICS_REPORT_PATH));
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("locator-profile.json"), new GsonBuilder().setPrettyPrinting().create()
+                    .toJson(Collections.singletonMap("locators", ranking)).getBytes(StandardCharsets.UTF_8));
+            logger.info("Locator profile written to: {}", directory.resolve("locator-profile.json"));
+        } catch (IOException e) {
+            logger.error("Failed to write locator profile", e);
+        }
+    }
+
+    /**
+     * Build the report entries, slowest total find time first
+     * @return One entry per page, strategy and value
+     */
+    private static List<Map<String, Object>> ranking() {
+        long slowMicros = ConfigManager.getLongProperty(ConfigKey.LOCATOR_PROFILER_SLOW_MS) * 1000;
+        List<Map.Entry<List<String>, LatencyHistogram>> sorted = new ArrayList<>(finds.entrySet());
+        sorted.sort(Comparator.comparingLong(
+                (Map.Entry<List<String>, LatencyHistogram> e) -> e.getValue().getTotalMicros()).reversed());
+        List<Map<String, Object>> ranking = new ArrayList<>();
+        for (Map.Entry<List<String>, LatencyHistogram> find : sorted) {
+            List<String> key = find.getKey();
+            LatencyHistogram histogram = find.getValue();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("page", key.get(0));
+            entry.put("strategy", key.get(1));
+            entry.put("value", key.get(2));
+            entry.put("count", histogram.getCount());
+            entry.put("p50Ms", histogram.getPercentileMicros(50) / 1000.0);
+            entry.put("p90Ms", histogram.getPercentileMicros(90) / 1000.0);
+            entry.put("maxMs", histogram.getMaxMicros() / 1000.0);
+            entry.put("totalMs", histogram.getTotalMicros() / 1000.0);
+            entry.put("slow", isSlowStrategy(key.get(1)) && histogram.getPercentileMicros(90) >= slowMicros);
+            List<Suggestion> verified = suggestions.getOrDefault(key.subList(1, 3), Collections.emptyList());
+            if (!verified.isEmpty()) {
+                List<Map<String, String>> rewrites = new ArrayList<>();
+                for (Suggestion suggestion : verified) {
+                    Map<String, String> rewrite = new LinkedHashMap<>();
+                    rewrite.put("strategy", suggestion.using);
+                    rewrite.put("value", suggestion.value);
+                    rewrites.add(rewrite);
+                }
+                entry.put("suggestions", rewrites);
+            }
+            ranking.add(entry);
+        }
+        return ranking;
+    }
+
+    private static boolean isSlowStrategy(String using) {
+        return "xpath".equals(using) || "class name".equals(using);
+    }
+
+    /**
+     * Find the innermost page object on the calling stack
+     * @return Simple name of the page class, or "-" if the find was not issued by a page
+     */
+    private static String callingPage() {
+        Optional<Class<?>> page = STACK_WALKER.walk(frames -> frames
+                .<Class<?>>map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(type -> type != BasePage.class && BasePage.class.isAssignableFrom(type))
+                .findFirst());
+        return page.map(Class::getSimpleName).orElse(NONE);
+    }
+
+    /**
+     * Derive candidate locators from an element's attributes, fastest strategy first
+     * @param node Element the slow locator matched
+     * @return Candidates, not yet verified
+     */
+    private static List<Suggestion> candidates(SnapshotNode node) {
+        List<Suggestion> candidates = new ArrayList<>();
+        String type = node.getTag();
+        if (ConfigManager.isAndroid()) {
+            String resourceId = nonEmpty(node.getAttribute("resource-id"));
+            String description = nonEmpty(node.getAttribute("content-desc"));
+            String text = nonEmpty(node.getAttribute("text"));
+            if (resourceId != null) {
+                candidates.add(Suggestion.indexed("id", resourceId));
+            }
+            if (description != null) {
+                candidates.add(Suggestion.indexed("accessibility id", description));
+            }
+            if (text != null) {
+                candidates.add(new Suggestion("-android uiautomator", "new UiSelector().className(\"" + quote(type)
+                        + "\").text(\"" + quote(text) + "\")",
+                        candidate -> type.equals(candidate.getTag()) && text.equals(candidate.getAttribute("text"))));
+            }
+        } else {
+            String name = nonEmpty(node.getAttribute("name"));
+            String label = nonEmpty(node.getAttribute("label"));
+            if (name != null) {
+                candidates.add(Suggestion.indexed("accessibility id", name));
+            }
+            if (label != null) {
+                candidates.add(new Suggestion("-ios predicate string", "type == '" + type.replace("'", "\\'")
+                        + "' AND label == '" + label.replace("'", "\\'") + "'",
+                        candidate -> type.equals(candidate.getTag()) && label.equals(candidate.getAttribute("label"))));
+                if (!label.contains("`")) {
+                    candidates.add(Suggestion.indexed("-ios class chain",
+                            "**/" + type + "[`label == \"" + quote(label) + "\"`]"));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static String nonEmpty(String value) {
+        return value != null && !value.isEmpty() ? value : null;
+    }
+
+    private static String quote(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Slow lookups of the current step awaiting a page source: strategy, value and "true" for findElements
+     */
+    private static final class Pending {
+        private final List<String[]> finds = new ArrayList<>();
+    }
+
+    /**
+     * Candidate locator with the local evaluation used to verify it
+     */
+    private static final class Suggestion {
+        private final String using;
+        private final String value;
+        private final Predicate<SnapshotNode> filter;
+
+        private Suggestion(String using, String value, Predicate<SnapshotNode> filter) {
+            this.using = using;
+            this.value = value;
+            this.filter = filter;
+        }
+
+        /**
+         * Candidate the snapshot can resolve itself, the same way it resolves driver lookups
+         */
+        static Suggestion indexed(String using, String value) {
+            return new Suggestion(using, value, null);
+        }
+
+        List<SnapshotNode> matches(PageSnapshot snapshot) {
+            if (filter == null) {
+                List<SnapshotNode> matches = snapshot.find(using, value);
+                return matches != null ? matches : Collections.emptyList();
+            }
+            List<SnapshotNode> matches = new ArrayList<>();
+            collect(snapshot.getRoot(), matches);
+            return matches;
+        }
+
+        private void collect(SnapshotNode node, List<SnapshotNode> matches) {
+            for (SnapshotNode child : node.getChildren()) {
+                if (filter.test(child)) {
+                    matches.add(child);
+                }
+                collect(child, matches);
+            }
+        }
+    }
+}
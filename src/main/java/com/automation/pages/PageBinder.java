@@ -0,0 +1,31 @@
+package com.automation.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.function.Function;
+
+/**
+ * Binds the annotated WebElement fields of a page without reflection.
+ * Implementations named &lt;PageClass&gt;_PageBinder are generated at build time by
+ * com.automation.processor.PageBindingProcessor from @AndroidFindBy / @iOSXCUITFindBy.
+ * @param <T> Page type
+ */
+public interface PageBinder<T extends BasePage> {
+
+    /**
+     * Assign an element to every annotated field of the page for the given platform
+     * @param page Page instance
+     * @param android true for Android locators, false for iOS locators
+     * @param elementFactory Creates the element bound to a field from its locator
+     */
+    void bind(T page, boolean android, Function<By, WebElement> elementFactory);
+
+    /**
+     * Get the locator of an annotated field
+     * @param fieldName Field name
+     * @param android true for the Android locator, false for the iOS locator
+     * @return Locator, or null if the field has no locator for that platform
+     */
+    By getLocator(String fieldName, boolean android);
+}
@@ -0,0 +1,57 @@
+package com.automation.pages;
+
+import com.automation.config.ConfigManager;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of generated {@link PageBinder}s.
+ * The binder class of a page is looked up once per page class and cached, so constructing a page
+ * with a generated binder does no reflection after the first instance.
+ */
+public class PageBindings {
+    private static final Logger logger = LoggerFactory.getLogger(PageBindings.class);
+    private static final String BINDER_SUFFIX = "_PageBinder";
+    private static final Map<Class<?>, Optional<PageBinder<BasePage>>> binders = new ConcurrentHashMap<>();
+
+    /**
+     * Get the generated binder of a page class
+     * @param pageClass Page class
+     * @return Binder, or null if none was generated (the page falls back to PageFactory)
+     */
+    public static PageBinder<BasePage> binderFor(Class<? extends BasePage> pageClass) {
+        return binders.computeIfAbsent(pageClass, PageBindings::loadBinder).orElse(null);
+    }
+
+    /**
+     * Get the locator of an annotated field for the configured platform
+     * @param page Page instance
+     * @param fieldName Field name
+     * @return Locator, or null if the page has no generated binder or the field has no locator
+     */
+    public static By locatorOf(BasePage page, String fieldName) {
+        PageBinder<BasePage> binder = binderFor(page.getClass());
+        return binder != null ? binder.getLocator(fieldName, ConfigManager.isAndroid()) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<PageBinder<BasePage>> loadBinder(Class<?> pageClass) {
+        String binderName = pageClass.getName().replace('$', '_') + BINDER_SUFFIX;
+        try {
+            Class<?> binderClass = Class.forName(binderName, true, pageClass.getClassLoader());
+            logger.debug("Using generated page binder: {}", binderName);
+            return Optional.of((PageBinder<BasePage>) binderClass.getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException e) {
+            logger.debug("No generated page binder for {}, using PageFactory", pageClass.getName());
+            return Optional.empty();
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Failed to instantiate page binder {}, using PageFactory", binderName, e);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,559 @@
+package com.automation.pages;
+
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory, indexed snapshot of the page source.
+ * The source is parsed once with a streaming (StAX) parser into a compact node tree indexed by
+ * resource-id, accessibility id / name and class, so read-only lookups can be resolved locally
+ * instead of with one HTTP round trip per element. Supported locators: id, accessibility id, name,
+ * class name, a subset of XPath (child and descendant steps with attribute, contains(), starts-with(),
+ * text() and position predicates) and a subset of iOS class chain.
+ */
+public final class PageSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(PageSnapshot.class);
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private final SnapshotNode root;
+    private int size;
+    private final Map<String, List<SnapshotNode>> byResourceId = new HashMap<>();
+    private final Map<String, List<SnapshotNode>> byAccessibilityId = new HashMap<>();
+    private final Map<String, List<SnapshotNode>> byTag = new HashMap<>();
+
+    private PageSnapshot(SnapshotNode root) {
+        this.root = root;
+    }
+
+    /**
+     * Parse a page source into a snapshot
+     * @param pageSource Page source XML
+     * @param maxNodes Maximum number of nodes to keep; larger sources are rejected
+     * @return Snapshot, or null if the source is too large or cannot be parsed
+     */
+    public static PageSnapshot parse(String pageSource, int maxNodes) {
+        return parse(new StringReader(pageSource), maxNodes);
+    }
+
+    /**
+     * Parse a page source into a snapshot, streaming from a reader
+     * @param pageSource Page source XML reader
+     * @param maxNodes Maximum number of nodes to keep; larger sources are rejected
+     * @return Snapshot, or null if the source is too large or cannot be parsed
+     */
+    public static PageSnapshot parse(Reader pageSource, int maxNodes) {
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(pageSource);
+            SnapshotNode documentRoot = new SnapshotNode("#document", new String[0], null);
+            PageSnapshot snapshot = new PageSnapshot(documentRoot);
+            SnapshotNode current = documentRoot;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (++snapshot.size > maxNodes) {
+                        logger.warn("Page source exceeds {} nodes, snapshot disabled for this page", maxNodes);
+                        return null;
+                    }
+                    String[] attributes = new String[reader.getAttributeCount() * 2];
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        attributes[2 * i] = reader.getAttributeLocalName(i).intern();
+                        attributes[2 * i + 1] = reader.getAttributeValue(i);
+                    }
+                    SnapshotNode node = new SnapshotNode(reader.getLocalName().intern(), attributes, current);
+                    current.addChild(node);
+                    snapshot.index(node);
+                    current = node;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    current = current.getParent();
+                }
+            }
+            return snapshot;
+        } catch (XMLStreamException e) {
+            logger.warn("Failed to parse page source, snapshot disabled for this page", e);
+            return null;
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    logger.trace("Failed to close page source reader", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the document node above the top-level element
+     * @return Document root
+     */
+    SnapshotNode getRoot() {
+        return root;
+    }
+
+    /**
+     * Get number of element nodes in the snapshot
+     * @return Node count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Resolve a locator against the snapshot
+     * @param locator Element locator
+     * @return Matching nodes in document order, or null if the locator cannot be resolved locally
+     */
+    public List<SnapshotNode> find(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        return find(parameters.using(), String.valueOf(parameters.value()));
+    }
+
+    /**
+     * Resolve a W3C locator strategy and value against the snapshot
+     * @param using Locator strategy, e.g. "id" or "xpath"
+     * @param value Locator value
+     * @return Matching nodes in document order, or null if the strategy cannot be resolved locally
+     */
+    public List<SnapshotNode> find(String using, String value) {
+        switch (using) {
+            case "id":
+                return findById(value);
+            case "accessibility id":
+            case "name":
+                return lookup(byAccessibilityId, value);
+            case "class name":
+                return lookup(byTag, value);
+            case "xpath":
+                return evaluate(XPathQuery.parseXPath(value));
+            case "-ios class chain":
+                return evaluate(XPathQuery.parseClassChain(value));
+            default:
+                return null;
+        }
+    }
+
+    private List<SnapshotNode> findById(String id) {
+        List<SnapshotNode> matches = byResourceId.get(id);
+        if (matches == null && id.indexOf(":id/") < 0) {
+            matches = byResourceId.get(":id/" + id);
+        }
+        if (matches == null) {
+            matches = byAccessibilityId.get(id);
+        }
+        return matches != null ? Collections.unmodifiableList(matches) : Collections.emptyList();
+    }
+
+    private List<SnapshotNode> evaluate(XPathQuery query) {
+        return query != null ? query.evaluate(root) : null;
+    }
+
+    private static List<SnapshotNode> lookup(Map<String, List<SnapshotNode>> index, String key) {
+        List<SnapshotNode> matches = index.get(key);
+        return matches != null ? Collections.unmodifiableList(matches) : Collections.emptyList();
+    }
+
+    private void index(SnapshotNode node) {
+        String resourceId = node.getAttribute("resource-id");
+        if (resourceId != null && !resourceId.isEmpty()) {
+            add(byResourceId, resourceId, node);
+            int idStart = resourceId.indexOf(":id/");
+            if (idStart >= 0) {
+                add(byResourceId, resourceId.substring(idStart), node);
+            }
+        }
+        String accessibilityId = node.getAttribute("content-desc");
+        if (accessibilityId == null) {
+            accessibilityId = node.getAttribute("name");
+        }
+        if (accessibilityId != null && !accessibilityId.isEmpty()) {
+            add(byAccessibilityId, accessibilityId, node);
+        }
+        add(byTag, node.getTag(), node);
+        String className = node.getAttribute("class");
+        if (className != null && !className.equals(node.getTag())) {
+            add(byTag, className, node);
+        }
+    }
+
+    private static void add(Map<String, List<SnapshotNode>> index, String key, SnapshotNode node) {
+        index.computeIfAbsent(key, k -> new ArrayList<>(1)).add(node);
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+
+    /**
+     * Compiled path query shared by the XPath and class chain subsets
+     */
+    static final class XPathQuery {
+        private final List<Step> steps;
+        private final boolean relativeToApplication;
+
+        private XPathQuery(List<Step> steps, boolean relativeToApplication) {
+            this.steps = steps;
+            this.relativeToApplication = relativeToApplication;
+        }
+
+        /**
+         * Compile an absolute XPath expression
+         * @param expression XPath expression
+         * @return Query, or null if the expression is outside the supported subset
+         */
+        static XPathQuery parseXPath(String expression) {
+            try {
+                List<Step> steps = new ArrayList<>();
+                String path = expression.trim();
+                int i = 0;
+                if (!path.startsWith("/")) {
+                    return null;
+                }
+                while (i < path.length()) {
+                    boolean descendant = path.startsWith("//", i);
+                    i += descendant ? 2 : 1;
+                    int nameEnd = i;
+                    while (nameEnd < path.length() && path.charAt(nameEnd) != '[' && path.charAt(nameEnd) != '/') {
+                        nameEnd++;
+                    }
+                    String name = path.substring(i, nameEnd).trim();
+                    if (!name.matches("[\\w.:-]+|\\*") || name.contains("::")) {
+                        return null;
+                    }
+                    Step step = new Step(descendant, name);
+                    i = nameEnd;
+                    while (i < path.length() && path.charAt(i) == '[') {
+                        int close = closingBracket(path, i, ']');
+                        step.predicates.add(parseXPathPredicate(path.substring(i + 1, close).trim()));
+                        i = close + 1;
+                    }
+                    steps.add(step);
+                }
+                return new XPathQuery(steps, false);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Compile an iOS class chain expression
+         * @param expression Class chain expression
+         * @return Query, or null if the expression is outside the supported subset
+         */
+        static XPathQuery parseClassChain(String expression) {
+            try {
+                List<Step> steps = new ArrayList<>();
+                boolean descendant = false;
+                for (String part : splitClassChain(expression.trim())) {
+                    if (part.equals("**")) {
+                        descendant = true;
+                        continue;
+                    }
+                    int bracket = part.indexOf('[');
+                    String name = (bracket < 0 ? part : part.substring(0, bracket)).trim();
+                    Step step = new Step(descendant, name);
+                    descendant = false;
+                    int i = bracket;
+                    while (i >= 0 && i < part.length() && part.charAt(i) == '[') {
+                        int close = closingBracket(part, i, ']');
+                        step.predicates.add(parseClassChainPredicate(part.substring(i + 1, close).trim()));
+                        i = close + 1;
+                    }
+                    steps.add(step);
+                }
+                return steps.isEmpty() ? null : new XPathQuery(steps, true);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        List<SnapshotNode> evaluate(SnapshotNode root) {
+            Set<SnapshotNode> context = new LinkedHashSet<>();
+            context.add(relativeToApplication ? findApplication(root) : root);
+            for (Step step : steps) {
+                Set<SnapshotNode> next = new LinkedHashSet<>();
+                for (SnapshotNode node : context) {
+                    if (step.descendant) {
+                        collectDescendantSteps(node, step, next);
+                    } else {
+                        step.select(node, next);
+                    }
+                }
+                context = next;
+            }
+            return new ArrayList<>(context);
+        }
+
+        /**
+         * Class chains are evaluated relative to the XCUIElementTypeApplication element
+         * @param root Document root
+         * @return Application node, or the root if there is none near the top of the tree
+         */
+        private static SnapshotNode findApplication(SnapshotNode root) {
+            List<SnapshotNode> level = root.getChildren();
+            for (int depth = 0; depth < 3 && !level.isEmpty(); depth++) {
+                List<SnapshotNode> next = new ArrayList<>();
+                for (SnapshotNode node : level) {
+                    if (node.getTag().equals("XCUIElementTypeApplication")) {
+                        return node;
+                    }
+                    next.addAll(node.getChildren());
+                }
+                level = next;
+            }
+            return root;
+        }
+
+        private static void collectDescendantSteps(SnapshotNode node, Step step, Set<SnapshotNode> result) {
+            step.select(node, result);
+            for (SnapshotNode child : node.getChildren()) {
+                collectDescendantSteps(child, step, result);
+            }
+        }
+
+        private static Predicate parseXPathPredicate(String expression) {
+            if (expression.matches("\\d+")) {
+                return Predicate.position(Integer.parseInt(expression));
+            }
+            if (expression.equals("last()")) {
+                return Predicate.position(-1);
+            }
+            List<Predicate> terms = new ArrayList<>();
+            for (String term : splitOutsideQuotes(expression, " and ")) {
+                term = term.trim();
+                if (term.startsWith("@") && term.contains("=")) {
+                    int eq = term.indexOf('=');
+                    if ("!<>".indexOf(term.charAt(eq - 1)) >= 0) {
+                        throw new IllegalArgumentException("Unsupported XPath operator: " + term);
+                    }
+                    terms.add(Predicate.attribute(term.substring(1, eq).trim(), "==", unquote(term.substring(eq + 1))));
+                } else if (term.startsWith("text()") && term.contains("=")) {
+                    terms.add(Predicate.attribute("text", "==", unquote(term.substring(term.indexOf('=') + 1))));
+                } else if (term.startsWith("contains(") || term.startsWith("starts-with(")) {
+                    String operator = term.startsWith("contains(") ? "CONTAINS" : "BEGINSWITH";
+                    String arguments = term.substring(term.indexOf('(') + 1, term.lastIndexOf(')'));
+                    int comma = arguments.indexOf(',');
+                    String attribute = arguments.substring(0, comma).trim();
+                    attribute = attribute.equals("text()") ? "text" : attribute.replaceFirst("^@", "");
+                    terms.add(Predicate.attribute(attribute, operator, unquote(arguments.substring(comma + 1))));
+                } else {
+                    throw new IllegalArgumentException("Unsupported XPath predicate: " + term);
+                }
+            }
+            return Predicate.all(terms);
+        }
+
+        private static Predicate parseClassChainPredicate(String expression) {
+            if (expression.matches("-?\\d+")) {
+                return Predicate.position(Integer.parseInt(expression));
+            }
+            if (!expression.startsWith("`") || !expression.endsWith("`")) {
+                throw new IllegalArgumentException("Unsupported class chain predicate: " + expression);
+            }
+            List<Predicate> terms = new ArrayList<>();
+            for (String term : splitOutsideQuotes(expression.substring(1, expression.length() - 1), " AND ")) {
+                String[] parts = term.trim().split("\\s+", 3);
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Unsupported class chain predicate: " + term);
+                }
+                String operator = parts[1].equals("=") ? "==" : parts[1];
+                if (!operator.equals("==") && !operator.equals("CONTAINS") && !operator.equals("BEGINSWITH")) {
+                    throw new IllegalArgumentException("Unsupported class chain operator: " + operator);
+                }
+                terms.add(Predicate.attribute(parts[0], operator, unquote(parts[2])));
+            }
+            return Predicate.all(terms);
+        }
+
+        private static List<String> splitClassChain(String expression) {
+            List<String> parts = new ArrayList<>();
+            int start = 0;
+            int depth = 0;
+            boolean quoted = false;
+            for (int i = 0; i < expression.length(); i++) {
+                char c = expression.charAt(i);
+                if (c == '`') {
+                    quoted = !quoted;
+                } else if (!quoted && c == '[') {
+                    depth++;
+                } else if (!quoted && c == ']') {
+                    depth--;
+                } else if (!quoted && depth == 0 && c == '/') {
+                    parts.add(expression.substring(start, i));
+                    start = i + 1;
+                }
+            }
+            parts.add(expression.substring(start));
+            return parts;
+        }
+
+        private static int closingBracket(String text, int open, char close) {
+            char quote = 0;
+            for (int i = open + 1; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quote != 0) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '\'' || c == '"' || c == '`') {
+                    quote = c;
+                } else if (c == close) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Unbalanced brackets: " + text);
+        }
+
+        private static List<String> splitOutsideQuotes(String text, String separator) {
+            List<String> parts = new ArrayList<>();
+            char quote = 0;
+            int start = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quote != 0) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '\'' || c == '"') {
+                    quote = c;
+                } else if (text.startsWith(separator, i)) {
+                    parts.add(text.substring(start, i));
+                    start = i + separator.length();
+                    i = start - 1;
+                } else if (text.regionMatches(true, i, " or ", 0, 4)) {
+                    throw new IllegalArgumentException("Unsupported expression: " + text);
+                }
+            }
+            parts.add(text.substring(start));
+            return parts;
+        }
+
+        private static String unquote(String value) {
+            String trimmed = value.trim();
+            if (trimmed.length() >= 2 && (trimmed.charAt(0) == '\'' || trimmed.charAt(0) == '"')
+                    && trimmed.charAt(trimmed.length() - 1) == trimmed.charAt(0)) {
+                return trimmed.substring(1, trimmed.length() - 1);
+            }
+            throw new IllegalArgumentException("Expected quoted literal: " + value);
+        }
+    }
+
+    /**
+     * One location step: axis (child or descendant), element name and predicates
+     */
+    private static final class Step {
+        private final boolean descendant;
+        private final String name;
+        private final List<Predicate> predicates = new ArrayList<>();
+
+        private Step(boolean descendant, String name) {
+            this.descendant = descendant;
+            this.name = name;
+        }
+
+        private void select(SnapshotNode parent, Set<SnapshotNode> result) {
+            List<SnapshotNode> candidates = new ArrayList<>();
+            for (SnapshotNode child : parent.getChildren()) {
+                if (name.equals("*") || name.equals(child.getTag())) {
+                    candidates.add(child);
+                }
+            }
+            for (Predicate predicate : predicates) {
+                candidates = predicate.filter(candidates);
+            }
+            result.addAll(candidates);
+        }
+    }
+
+    /**
+     * Step predicate: attribute comparison, conjunction or position
+     */
+    private static final class Predicate {
+        private final String attribute;
+        private final String operator;
+        private final String value;
+        private final List<Predicate> terms;
+        private final int position;
+
+        private Predicate(String attribute, String operator, String value, List<Predicate> terms, int position) {
+            this.attribute = attribute;
+            this.operator = operator;
+            this.value = value;
+            this.terms = terms;
+            this.position = position;
+        }
+
+        static Predicate attribute(String attribute, String operator, String value) {
+            return new Predicate(attribute, operator, value, null, 0);
+        }
+
+        static Predicate all(List<Predicate> terms) {
+            return new Predicate(null, null, null, terms, 0);
+        }
+
+        static Predicate position(int position) {
+            return new Predicate(null, null, null, null, position);
+        }
+
+        List<SnapshotNode> filter(List<SnapshotNode> candidates) {
+            if (terms == null && attribute == null) {
+                int index = position > 0 ? position - 1 : candidates.size() + position;
+                return index >= 0 && index < candidates.size()
+                        ? Collections.singletonList(candidates.get(index)) : Collections.emptyList();
+            }
+            List<SnapshotNode> matches = new ArrayList<>();
+            for (SnapshotNode candidate : candidates) {
+                if (matches(candidate)) {
+                    matches.add(candidate);
+                }
+            }
+            return matches;
+        }
+
+        private boolean matches(SnapshotNode node) {
+            if (terms != null) {
+                for (Predicate term : terms) {
+                    if (!term.matches(node)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            String actual = attribute.equals("text") && node.getAttribute("text") == null
+                    ? node.getText() : node.getAttribute(attribute);
+            if (actual == null) {
+                return false;
+            }
+            switch (operator) {
+                case "CONTAINS":
+                    return actual.contains(value);
+                case "BEGINSWITH":
+                    return actual.startsWith(value);
+                default:
+                    return actual.equals(value);
+            }
+        }
+    }
+}
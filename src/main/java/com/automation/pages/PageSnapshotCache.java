@@ -0,0 +1,119 @@
+package com.automation.pages;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.automation.drivers.DriverManager;
+import com.automation.drivers.ScenarioContext;
+import io.appium.java_client.AppiumDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-scenario cache of the current {@link PageSnapshot}.
+ * The page source is fetched once and reused by read-only lookups until a mutating call
+ * (click, text entry, gesture) invalidates it. Snapshot mode is enabled with page.snapshot.enabled
+ * or per thread with {@link #setEnabled(boolean)}.
+ */
+public class PageSnapshotCache {
+    private static final Logger logger = LoggerFactory.getLogger(PageSnapshotCache.class);
+    private static final ScenarioContext.Key<Entry> CURRENT = new ScenarioContext.Key<>("pageSnapshot", Entry.class);
+    private static final ThreadLocal<Boolean> enabledOverride = new ThreadLocal<>();
+
+    private static final AtomicLong fetches = new AtomicLong();
+    private static final AtomicLong localLookups = new AtomicLong();
+    private static final AtomicLong fallbacks = new AtomicLong();
+
+    /**
+     * Check if snapshot mode is enabled for the current thread
+     * @return true if enabled, false otherwise
+     */
+    public static boolean isEnabled() {
+        Boolean override = enabledOverride.get();
+        return override != null ? override : ConfigManager.getBooleanProperty(ConfigKey.PAGE_SNAPSHOT_ENABLED);
+    }
+
+    /**
+     * Enable or disable snapshot mode for the current thread, overriding page.snapshot.enabled
+     * @param enabled true to resolve read-only lookups from the snapshot
+     */
+    public static void setEnabled(boolean enabled) {
+        enabledOverride.set(enabled);
+        if (!enabled) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Get the snapshot of the current screen, fetching the page source if there is no valid snapshot
+     * @return Snapshot, or null if snapshot mode is disabled or the page could not be parsed
+     */
+    public static PageSnapshot get() {
+        AppiumDriver driver = DriverManager.getDriver();
+        if (driver == null || !isEnabled()) {
+            return null;
+        }
+        ScenarioContext context = ScenarioContext.current();
+        Entry entry = context.get(CURRENT);
+        if (entry != null && entry.driver == driver) {
+            return entry.snapshot;
+        }
+        long start = System.nanoTime();
+        PageSnapshot snapshot = PageSnapshot.parse(driver.getPageSource(),
+                ConfigManager.getIntProperty(ConfigKey.PAGE_SNAPSHOT_MAX_NODES));
+        fetches.incrementAndGet();
+        context.put(CURRENT, new Entry(driver, snapshot));
+        logger.debug("Fetched page snapshot with {} node(s) in {} ms", snapshot != null ? snapshot.size() : 0,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return snapshot;
+    }
+
+    /**
+     * Drop the current snapshot after the screen may have changed
+     */
+    public static void invalidate() {
+        ScenarioContext context = ScenarioContext.peek();
+        if (context != null) {
+            context.put(CURRENT, null);
+        }
+    }
+
+    /**
+     * Record a lookup answered from the snapshot
+     */
+    static void recordLocalLookup() {
+        localLookups.incrementAndGet();
+    }
+
+    /**
+     * Record a lookup that fell back to the driver
+     */
+    static void recordFallback() {
+        fallbacks.incrementAndGet();
+    }
+
+    /**
+     * Log snapshot fetches and the lookups they answered locally
+     */
+    public static void logStatistics() {
+        if (fetches.get() > 0) {
+            logger.info("Page snapshots: {} fetched, {} lookup(s) answered locally, {} fell back to the driver",
+                    fetches.get(), localLookups.get(), fallbacks.get());
+        }
+    }
+
+    /**
+     * Snapshot together with the driver session it was taken from
+     */
+    private static final class Entry {
+        private final AppiumDriver driver;
+        private final PageSnapshot snapshot;
+
+        private Entry(AppiumDriver driver, PageSnapshot snapshot) {
+            this.driver = driver;
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.automation.pages;
 
-import io.appium.java_client.ios.IOSDriver;
 import io.appium.java_client.pagefactory.iOSXCUITFindBy;
 import org.openqa.selenium.WebElement;
 
@@ -10,16 +9,16 @@ import org.openqa.selenium.WebElement;
 public class SampleIOSPage extends BasePage {
 
     @iOSXCUITFindBy(id = "username")
-    private WebElement usernameField;
+    WebElement usernameField;
 
     @iOSXCUITFindBy(id = "password")
-    private WebElement passwordField;
+    WebElement passwordField;
 
     @iOSXCUITFindBy(id = "loginButton")
-    private WebElement loginButton;
+    WebElement loginButton;
 
     @iOSXCUITFindBy(id = "welcomeMessage")
-    private WebElement welcomeMessage;
+    WebElement welcomeMessage;
 
     /**
      * Enter username
@@ -68,22 +67,32 @@ public class SampleIOSPage extends BasePage {
     @Override
     protected void scrollToElement(WebElement element, String elementName) {
         logger.info("Scrolling to element on iOS: {}", elementName);
-        IOSDriver iosDriver = (IOSDriver) driver;
-        // iOS-specific scroll implementation can be added here
-        // Example: Using mobile: scroll for iOS
+        try {
+            ScrollEngine.scrollTo(driver, element, elementName);
+        } finally {
+            invalidateSnapshot();
+        }
         logger.debug("Scrolled to element: {}", elementName);
     }
 
     /**
-     * Perform login
+     * Perform login: both inputs and the click are sent in one batch, or entered one by one when the
+     * page has no generated binder
      * @param username Username
      * @param password Password
      */
     public void performLogin(String username, String password) {
         logger.info("Performing login with username: {}", username);
-        enterUsername(username);
-        enterPassword(password);
-        clickLoginButton();
+        if (hasLocators("usernameField", "passwordField", "loginButton")) {
+            batch().enterText(locatorOf("usernameField"), username, "Username Field")
+                    .enterText(locatorOf("passwordField"), password, "Password Field")
+                    .click(locatorOf("loginButton"), "Login Button")
+                    .execute();
+        } else {
+            enterUsername(username);
+            enterPassword(password);
+            clickLoginButton();
+        }
         logger.info("Login action completed");
     }
 }
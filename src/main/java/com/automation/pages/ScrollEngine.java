@@ -0,0 +1,427 @@
+package com.automation.pages;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.automation.utils.PresenceProbe;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.ios.IOSDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Scrolls the current screen until an element is visible.
+ * A lookup first tries the platform's native scroll (UiScrollable on Android, mobile: scroll on iOS)
+ * when the locator can be expressed for it, then falls back to W3C touch swipes. After every swipe the
+ * element is looked up; an off-screen iOS element gives the exact distance to swipe, and a list that did
+ * not move means its end, so the direction is reversed once and the lookup stops at the other end.
+ * Whether the list moved is told by the off-screen element's position, or by the last list item on
+ * screen (its text and rect), which costs a few small commands instead of a page source dump.
+ * Swipes start at scroll.distance.initial of the screen height and grow by half each time the
+ * element is not in sight, up to scroll.distance.max.
+ */
+public class ScrollEngine {
+    private static final Logger logger = LoggerFactory.getLogger(ScrollEngine.class);
+    private static final double GROWTH = 1.5;
+
+    private static final AtomicLong lookups = new AtomicLong();
+    private static final AtomicLong nativeLookups = new AtomicLong();
+    private static final AtomicLong gestures = new AtomicLong();
+    private static final AtomicLong nativeGestures = new AtomicLong();
+    private static final AtomicLong reversals = new AtomicLong();
+    private static final AtomicLong notFound = new AtomicLong();
+
+    /**
+     * Scroll direction, named after the content that is brought into view
+     */
+    public enum Direction {
+        DOWN,
+        UP
+    }
+
+    private ScrollEngine() {
+    }
+
+    /**
+     * Scroll until an element matching the locator is visible
+     * @param driver Driver to scroll with
+     * @param locator Element locator
+     * @param elementName Name of the element for logging
+     * @return Visible element
+     * @throws NoSuchElementException if the element is not found within scroll.max.gestures swipes
+     */
+    public static WebElement scrollTo(AppiumDriver driver, By locator, String elementName) {
+        lookups.incrementAndGet();
+        Sighting sighting = sight(driver, locator);
+        if (sighting != null && sighting.isVisible()) {
+            logger.info("Element '{}' visible without scrolling", elementName);
+            return sighting.element;
+        }
+        if (ConfigManager.getBooleanProperty(ConfigKey.SCROLL_NATIVE_ENABLED)) {
+            WebElement element = scrollNatively(driver, locator);
+            if (element != null) {
+                nativeLookups.incrementAndGet();
+                PageSnapshotCache.invalidate();
+                logger.info("Scrolled to element '{}' with native scroll", elementName);
+                return element;
+            }
+            if (sighting != null) {
+                // The native scroll may have moved the list: the off-screen position is out of date
+                sighting = sight(driver, locator);
+            }
+        }
+        return swipeUntil(driver, elementName, sighting, () -> sight(driver, locator)).element;
+    }
+
+    /**
+     * Scroll until a page element is visible. Elements bound by a generated page binder or
+     * the caching field decorator are looked up by their locator, so the native fast path and local
+     * lookups apply; other elements are checked with isDisplayed after every swipe.
+     * @param driver Driver to scroll with
+     * @param element Page element
+     * @param elementName Name of the element for logging
+     * @throws NoSuchElementException if the element is not found within scroll.max.gestures swipes
+     */
+    public static void scrollTo(AppiumDriver driver, WebElement element, String elementName) {
+        By locator = CachingElementLocator.locatorOf(element);
+        if (locator != null) {
+            scrollTo(driver, locator, elementName);
+            return;
+        }
+        lookups.incrementAndGet();
+        if (isDisplayedNow(element)) {
+            logger.info("Element '{}' visible without scrolling", elementName);
+            return;
+        }
+        swipeUntil(driver, elementName, null, () -> isDisplayedNow(element) ? Sighting.visible(element) : null);
+    }
+
+    /**
+     * Log lookups and the gestures they took
+     */
+    public static void logStatistics() {
+        long total = lookups.get();
+        if (total > 0) {
+            logger.info("Scroll lookups: {} ({} native), {} swipe(s) and {} native scroll(s), {} gesture(s) per "
+                            + "lookup, {} end-of-list reversal(s), {} not found", total, nativeLookups.get(),
+                    gestures.get(), nativeGestures.get(), String.format("%.1f", getGestureCount() / (double) total),
+                    reversals.get(), notFound.get());
+        }
+    }
+
+    static long getLookupCount() {
+        return lookups.get();
+    }
+
+    /**
+     * Get the gestures sent for lookups: swipes plus native scroll commands
+     * @return Gesture count
+     */
+    static long getGestureCount() {
+        return gestures.get() + nativeGestures.get();
+    }
+
+    /**
+     * Swipe until the probe sees the element, the list ends in both directions or the gesture budget
+     * is spent
+     * @param driver Driver to swipe with
+     * @param elementName Name of the element for logging
+     * @param sighting What the probe saw before the first swipe, or null if the element was not seen
+     * @param probe Checks the screen after a swipe
+     * @return Sighting of the visible element
+     */
+    private static Sighting swipeUntil(AppiumDriver driver, String elementName, Sighting sighting,
+                                       Supplier<Sighting> probe) {
+        int maxGestures = ConfigManager.getIntProperty(ConfigKey.SCROLL_MAX_GESTURES);
+        double maxDistance = clamp(ConfigManager.getDoubleProperty(ConfigKey.SCROLL_DISTANCE_MAX));
+        double distance = Math.min(maxDistance,
+                clamp(ConfigManager.getDoubleProperty(ConfigKey.SCROLL_DISTANCE_INITIAL)));
+        Duration swipeDuration = Duration.ofMillis(ConfigManager.getLongProperty(ConfigKey.SCROLL_SWIPE_MS));
+        Dimension screen = driver.manage().window().getSize();
+
+        Direction direction = Direction.DOWN;
+        boolean reversed = false;
+        String fingerprint = sighting == null ? listFingerprint(driver) : null;
+        int count = 0;
+        try {
+            while (true) {
+                if (sighting != null && sighting.isVisible()) {
+                    logger.info("Scrolled to element '{}' in {} swipe(s)", elementName, count);
+                    return sighting;
+                }
+                if (count >= maxGestures) {
+                    break;
+                }
+                if (sighting != null) {
+                    // The element is in the tree but off screen: swipe exactly the distance to the middle
+                    int offset = sighting.centerY - screen.getHeight() / 2;
+                    direction = offset > 0 ? Direction.DOWN : Direction.UP;
+                    double exact = clamp(Math.abs(offset) / (double) screen.getHeight());
+                    swipe(driver, screen, direction, Math.min(maxDistance, exact), swipeDuration);
+                } else {
+                    swipe(driver, screen, direction, distance, swipeDuration);
+                    distance = Math.min(maxDistance, distance * GROWTH);
+                }
+                count++;
+                PageSnapshotCache.invalidate();
+                Sighting previous = sighting;
+                sighting = probe.get();
+                // The list did not move if the off-screen element kept its position, or nothing else changed
+                String next = sighting == null ? listFingerprint(driver) : null;
+                boolean moved = sighting == null ? next == null || !next.equals(fingerprint)
+                        : sighting.isVisible() || previous == null || sighting.centerY != previous.centerY;
+                if (!moved) {
+                    if (reversed) {
+                        break;
+                    }
+                    logger.debug("End of list reached scrolling {} for '{}', reversing", direction, elementName);
+                    reversals.incrementAndGet();
+                    reversed = true;
+                    direction = direction == Direction.DOWN ? Direction.UP : Direction.DOWN;
+                    distance = maxDistance;
+                }
+                fingerprint = next;
+            }
+        } finally {
+            gestures.addAndGet(count);
+        }
+        notFound.incrementAndGet();
+        throw new NoSuchElementException("Element '" + elementName + "' not found after " + count + " swipe(s)");
+    }
+
+    /**
+     * Send one vertical touch swipe through the middle of the screen
+     * @param driver Driver to swipe with
+     * @param screen Screen size
+     * @param direction Content to bring into view
+     * @param distance Swipe length as a fraction of the screen height
+     * @param duration Swipe duration
+     */
+    private static void swipe(AppiumDriver driver, Dimension screen, Direction direction, double distance,
+                              Duration duration) {
+        int x = screen.getWidth() / 2;
+        int half = (int) (screen.getHeight() * distance / 2);
+        int middle = screen.getHeight() / 2;
+        int startY = direction == Direction.DOWN ? middle + half : middle - half;
+        int endY = direction == Direction.DOWN ? middle - half : middle + half;
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence swipe = new Sequence(finger, 0)
+                .addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), x, startY))
+                .addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()))
+                .addAction(finger.createPointerMove(duration, PointerInput.Origin.viewport(), x, endY))
+                .addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        driver.perform(Collections.singletonList(swipe));
+        logger.debug("Swiped {} by {}% of the screen", direction, Math.round(distance * 100));
+    }
+
+    /**
+     * Bring the element into view with the platform's own scrolling, which searches the list on the
+     * device instead of one round trip per swipe
+     * @param driver Driver to scroll with
+     * @param locator Element locator
+     * @return Visible element, or null if the locator has no native form or the native scroll failed
+     */
+    private static WebElement scrollNatively(AppiumDriver driver, By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String using = parameters.using();
+        String value = String.valueOf(parameters.value());
+        String selector = driver instanceof AndroidDriver ? uiSelector(using, value) : null;
+        Map<String, Object> args = driver instanceof IOSDriver ? iosScrollArguments(using, value) : null;
+        if (selector == null && args == null) {
+            return null;
+        }
+        try {
+            if (selector != null) {
+                int maxSwipes = ConfigManager.getIntProperty(ConfigKey.SCROLL_MAX_GESTURES);
+                WebElement element = PresenceProbe.withoutImplicitWait(() -> driver.findElement(
+                        AppiumBy.androidUIAutomator("new UiScrollable(new UiSelector().scrollable(true))"
+                                + ".setMaxSearchSwipes(" + maxSwipes + ").scrollIntoView(" + selector + ")")));
+                nativeGestures.incrementAndGet();
+                return element;
+            }
+            driver.executeScript("mobile: scroll", args);
+            nativeGestures.incrementAndGet();
+            return findVisible(driver, locator);
+        } catch (InvalidSelectorException | UnsupportedCommandException e) {
+            logger.debug("Native scroll to {} is not supported, falling back to swipes: {}", locator, e.getMessage());
+        } catch (WebDriverException e) {
+            // The device scrolled the list without finding the element
+            nativeGestures.incrementAndGet();
+            logger.debug("Native scroll to {} failed, falling back to swipes: {}", locator, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Express a locator as a UiSelector
+     * @param using Locator strategy
+     * @param value Locator value
+     * @return UiSelector expression, or null if the strategy has no UiSelector form
+     */
+    private static String uiSelector(String using, String value) {
+        switch (using) {
+            case "id":
+                return value.contains(":id/")
+                        ? "new UiSelector().resourceId(\"" + escape(value) + "\")"
+                        : "new UiSelector().resourceIdMatches(\".*:id/" + escape(value) + "\")";
+            case "accessibility id":
+                return "new UiSelector().description(\"" + escape(value) + "\")";
+            case "-android uiautomator":
+                return value.trim().startsWith("new UiSelector()") ? value : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Express a locator as mobile: scroll arguments
+     * @param using Locator strategy
+     * @param value Locator value
+     * @return Script arguments, or null if the strategy has no mobile: scroll form
+     */
+    private static Map<String, Object> iosScrollArguments(String using, String value) {
+        Map<String, Object> args = new LinkedHashMap<>();
+        switch (using) {
+            case "accessibility id":
+            case "id":
+            case "name":
+                args.put("name", value);
+                break;
+            case "-ios predicate string":
+                args.put("predicateString", value);
+                break;
+            default:
+                return null;
+        }
+        args.put("toVisible", true);
+        return args;
+    }
+
+    private static WebElement findVisible(AppiumDriver driver, By locator) {
+        return PresenceProbe.withoutImplicitWait(() -> {
+            for (WebElement element : driver.findElements(locator)) {
+                if (element.isDisplayed()) {
+                    return element;
+                }
+            }
+            return null;
+        });
+    }
+
+    private static boolean isDisplayedNow(WebElement element) {
+        return PresenceProbe.withoutImplicitWait(() -> {
+            try {
+                return element.isDisplayed();
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Look the element up: visible, off screen at a known position (iOS keeps off-screen elements in the
+     * tree) or not found
+     * @param driver Driver to look up with
+     * @param locator Element locator
+     * @return Sighting, or null if no element matches
+     */
+    private static Sighting sight(AppiumDriver driver, By locator) {
+        return PresenceProbe.withoutImplicitWait(() -> {
+            Sighting offScreen = null;
+            for (WebElement element : driver.findElements(locator)) {
+                try {
+                    if (element.isDisplayed()) {
+                        return Sighting.visible(element);
+                    }
+                    if (offScreen == null) {
+                        Rectangle rect = element.getRect();
+                        offScreen = Sighting.at(rect.getY() + rect.getHeight() / 2);
+                    }
+                } catch (StaleElementReferenceException e) {
+                    // Gone while the list settled
+                }
+            }
+            return offScreen;
+        });
+    }
+
+    /**
+     * Fingerprint the list on screen by its last item (iOS cell, Android text view): the item count,
+     * text and rect change whenever the list moves. Screens without such items fall back to the page source.
+     * @param driver Driver to look up with
+     * @return Fingerprint, or null if it could not be taken
+     */
+    private static String listFingerprint(AppiumDriver driver) {
+        By items = By.className(driver instanceof IOSDriver ? "XCUIElementTypeCell" : "android.widget.TextView");
+        return PresenceProbe.withoutImplicitWait(() -> {
+            try {
+                List<WebElement> found = driver.findElements(items);
+                if (found.isEmpty()) {
+                    return String.valueOf(driver.getPageSource().hashCode());
+                }
+                WebElement last = found.get(found.size() - 1);
+                Rectangle rect = last.getRect();
+                return found.size() + ":" + last.getText() + "@" + rect.getX() + "," + rect.getY() + ","
+                        + rect.getWidth() + "x" + rect.getHeight();
+            } catch (StaleElementReferenceException e) {
+                return null;
+            }
+        });
+    }
+
+    private static double clamp(double distance) {
+        return Math.max(0.1, Math.min(0.8, distance));
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * What a probe saw after a swipe: the element on screen, or in the tree at a known position
+     */
+    private static final class Sighting {
+        private final WebElement element;
+        private final int centerY;
+
+        private Sighting(WebElement element, int centerY) {
+            this.element = element;
+            this.centerY = centerY;
+        }
+
+        static Sighting visible(WebElement element) {
+            return new Sighting(element, -1);
+        }
+
+        static Sighting at(int centerY) {
+            return new Sighting(null, Math.max(0, centerY));
+        }
+
+        boolean isVisible() {
+            return element != null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.automation.pages;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Appium settings profile a page runs with, e.g. {@code @SettingsProfile("animated-screen")}.
+ * The profile is applied when the page is constructed and reverted when a page with another profile
+ * (or none) is constructed, or when the scenario ends. Profiles are declared in config as
+ * settings.profile.&lt;name&gt;[.android|.ios].&lt;setting&gt;.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface SettingsProfile {
+    /**
+     * Profile name
+     * @return Name of a profile declared in config
+     */
+    String value();
+}
@@ -0,0 +1,104 @@
+package com.automation.pages;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Element node of a {@link PageSnapshot}.
+ * Attributes are stored as a flat name/value array to keep large trees compact.
+ */
+public final class SnapshotNode {
+    private final String tag;
+    private final String[] attributes;
+    private final SnapshotNode parent;
+    private List<SnapshotNode> children;
+
+    SnapshotNode(String tag, String[] attributes, SnapshotNode parent) {
+        this.tag = tag;
+        this.attributes = attributes;
+        this.parent = parent;
+    }
+
+    /**
+     * Get the element tag (Android class name or XCUIElementType)
+     * @return Tag name
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Get attribute value
+     * @param name Attribute name
+     * @return Attribute value, or null if not set
+     */
+    public String getAttribute(String name) {
+        for (int i = 0; i < attributes.length; i += 2) {
+            if (attributes[i].equals(name)) {
+                return attributes[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get element text the way the driver reports it: text on Android, value or label on iOS
+     * @return Element text, never null
+     */
+    public String getText() {
+        String text = getAttribute("text");
+        if (text == null) {
+            text = getAttribute("value");
+        }
+        if (text == null || text.isEmpty()) {
+            String label = getAttribute("label");
+            text = label != null ? label : text;
+        }
+        return text != null ? text : "";
+    }
+
+    /**
+     * Check if element is displayed (displayed on Android, visible on iOS)
+     * @return true if displayed, false otherwise
+     */
+    public boolean isDisplayed() {
+        String displayed = getAttribute("displayed");
+        if (displayed == null) {
+            displayed = getAttribute("visible");
+        }
+        return displayed == null || Boolean.parseBoolean(displayed);
+    }
+
+    /**
+     * Get parent node
+     * @return Parent node, or null for the root
+     */
+    public SnapshotNode getParent() {
+        return parent;
+    }
+
+    /**
+     * Get child nodes
+     * @return Unmodifiable child list
+     */
+    public List<SnapshotNode> getChildren() {
+        return children == null ? Collections.emptyList() : Collections.unmodifiableList(children);
+    }
+
+    void addChild(SnapshotNode child) {
+        if (children == null) {
+            children = new ArrayList<>(4);
+        }
+        children.add(child);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("<").append(tag);
+        for (int i = 0; i < attributes.length; i += 2) {
+            builder.append(' ').append(attributes[i]).append("=\"").append(attributes[i + 1]).append('"');
+        }
+        return builder.append('>').toString();
+    }
+}
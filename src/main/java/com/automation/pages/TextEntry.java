@@ -0,0 +1,350 @@
+package com.automation.pages;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.automation.utils.PresenceProbe;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.clipboard.HasClipboard;
+import io.appium.java_client.ios.IOSDriver;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.remote.RemoteWebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Text input that picks the cheapest correct {@link TextEntryStrategy} per field.
+ * The field's current value is read first (one round trip, which also replaces the clear of an empty
+ * field): an equal value is left alone, a prefix gets only the missing suffix typed, and anything else
+ * is set with mobile: replaceElementValue on Android or, for texts of input.paste.min.length characters
+ * or more, pasted from the clipboard on iOS, where typing goes key by key through the keyboard.
+ * Every shortcut is verified by reading the value back (masked password values are accepted when their
+ * length matches) and falls back to clear and type when the value is wrong or the server does not
+ * support it; before skipping or appending, the value is checked against the field's hint, which an empty
+ * Android field reports as its text. Time saved is estimated against a least-squares fit of the typed
+ * inputs' duration over their length, or input.type.char.ms per character until typed inputs of
+ * different lengths were sampled.
+ */
+public class TextEntry {
+    private static final Logger logger = LoggerFactory.getLogger(TextEntry.class);
+    private static final Set<String> replaceUnsupportedSessions = ConcurrentHashMap.newKeySet();
+    private static final Map<TextEntryStrategy, AtomicLong> entries = new EnumMap<>(TextEntryStrategy.class);
+    private static final AtomicLong fallbacks = new AtomicLong();
+    private static final Savings savings = new Savings();
+
+    static {
+        for (TextEntryStrategy strategy : TextEntryStrategy.values()) {
+            entries.put(strategy, new AtomicLong());
+        }
+    }
+
+    private TextEntry() {
+    }
+
+    /**
+     * Bring a field to a text value
+     * @param driver Driver the element belongs to
+     * @param element Text field
+     * @param text Target value
+     * @param elementName Name of the element for logging
+     * @return Strategy that produced the value
+     */
+    public static TextEntryStrategy enter(AppiumDriver driver, WebElement element, String text, String elementName) {
+        long start = System.nanoTime();
+        TextEntryStrategy forced = TextEntryStrategy.getConfigured();
+        String current = forced == TextEntryStrategy.TYPE ? null : readValue(element);
+        TextEntryStrategy strategy = forced != null ? forced : choose(driver, current, text);
+        boolean verify = ConfigManager.getBooleanProperty(ConfigKey.INPUT_VERIFY);
+        if ((strategy == TextEntryStrategy.SKIP || strategy == TextEntryStrategy.APPEND) && verify
+                && current != null && !current.isEmpty() && isHint(driver, element, current)) {
+            logger.debug("{} shows its hint '{}', treating it as empty", elementName, current);
+            current = "";
+            strategy = forced != null ? forced : choose(driver, current, text);
+        }
+        boolean applied = apply(strategy, driver, element, current, text);
+        if (applied && strategy != TextEntryStrategy.TYPE && strategy != TextEntryStrategy.SKIP
+                && verify) {
+            String entered = readValue(element);
+            if (!matches(entered, text)) {
+                logger.info("{} left '{}' in {}, typing the text instead", strategy, entered, elementName);
+                current = entered;
+                applied = false;
+            }
+        }
+        if (!applied) {
+            if (strategy != TextEntryStrategy.TYPE) {
+                fallbacks.incrementAndGet();
+            }
+            strategy = TextEntryStrategy.TYPE;
+            type(element, current, text);
+        }
+        entries.get(strategy).incrementAndGet();
+        savings.record(strategy, text.length(), System.nanoTime() - start);
+        logger.debug("Entered text into {} with {} in {} ms", elementName, strategy,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return strategy;
+    }
+
+    /**
+     * Log inputs per strategy and the time the shortcuts saved compared to typing
+     */
+    public static void logStatistics() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<TextEntryStrategy, AtomicLong> entry : entries.entrySet()) {
+            counts.put(entry.getKey().name().toLowerCase(Locale.ROOT), entry.getValue().get());
+            total += entry.getValue().get();
+        }
+        if (total == 0) {
+            return;
+        }
+        long charNanos = TimeUnit.MILLISECONDS.toNanos(ConfigManager.getLongProperty(ConfigKey.INPUT_TYPE_CHAR_MS));
+        logger.info("Text entry: {} input(s) {}, {} fallback(s) to typing, ~{} s saved compared to typing ({})",
+                total, counts, fallbacks.get(), String.format("%.1f", savings.estimateSavedNanos(charNanos) / 1e9),
+                savings.isSampled() ? "sampled typing cost" : "input.type.char.ms per character");
+    }
+
+    /**
+     * Forget a session that has quit, so the set of sessions without value replacement does not grow
+     * @param sessionId Session id
+     */
+    public static void forget(String sessionId) {
+        replaceUnsupportedSessions.remove(sessionId);
+    }
+
+    static boolean isReplaceUnsupported(String sessionId) {
+        return replaceUnsupportedSessions.contains(sessionId);
+    }
+
+    /**
+     * Pick the cheapest strategy for a field
+     * @param driver Driver the element belongs to
+     * @param current Current field value, or null if it could not be read
+     * @param text Target value
+     * @return Strategy to try first
+     */
+    private static TextEntryStrategy choose(AppiumDriver driver, String current, String text) {
+        if (current != null && current.equals(text) && ConfigManager.getBooleanProperty(ConfigKey.INPUT_SKIP_EQUAL)) {
+            return TextEntryStrategy.SKIP;
+        }
+        if (current != null && !current.isEmpty() && text.startsWith(current)) {
+            return TextEntryStrategy.APPEND;
+        }
+        if (driver instanceof AndroidDriver
+                && !replaceUnsupportedSessions.contains(String.valueOf(driver.getSessionId()))) {
+            return TextEntryStrategy.REPLACE;
+        }
+        if (driver instanceof IOSDriver
+                && text.length() >= ConfigManager.getIntProperty(ConfigKey.INPUT_PASTE_MIN_LENGTH)) {
+            return TextEntryStrategy.PASTE;
+        }
+        return TextEntryStrategy.TYPE;
+    }
+
+    /**
+     * Run a strategy
+     * @param strategy Strategy to run
+     * @param driver Driver the element belongs to
+     * @param element Text field
+     * @param current Current field value, or null if it could not be read
+     * @param text Target value
+     * @return false if the strategy does not apply to this field or the server cannot run it
+     */
+    private static boolean apply(TextEntryStrategy strategy, AppiumDriver driver, WebElement element, String current,
+                                 String text) {
+        switch (strategy) {
+            case SKIP:
+                return text.equals(current);
+            case APPEND:
+                if (current == null || !text.startsWith(current)) {
+                    return false;
+                }
+                element.sendKeys(text.substring(current.length()));
+                return true;
+            case REPLACE:
+                return replace(driver, element, text);
+            case PASTE:
+                return paste(driver, element, current, text);
+            default:
+                type(element, current, text);
+                return true;
+        }
+    }
+
+    private static void type(WebElement element, String current, String text) {
+        if (current == null || !current.isEmpty()) {
+            element.clear();
+        }
+        element.sendKeys(text);
+    }
+
+    private static boolean replace(AppiumDriver driver, WebElement element, String text) {
+        String elementId = elementId(element);
+        if (elementId == null) {
+            return false;
+        }
+        Map<String, Object> args = new LinkedHashMap<>();
+        args.put("elementId", elementId);
+        args.put("text", text);
+        try {
+            driver.executeScript("mobile: replaceElementValue", args);
+            return true;
+        } catch (UnsupportedCommandException e) {
+            replaceUnsupportedSessions.add(String.valueOf(driver.getSessionId()));
+            logger.info("Server does not support mobile: replaceElementValue, typing instead");
+            return false;
+        } catch (WebDriverException e) {
+            logger.debug("Value replacement failed, typing instead: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean paste(AppiumDriver driver, WebElement element, String current, String text) {
+        String elementId = elementId(element);
+        if (!(driver instanceof HasClipboard) || elementId == null) {
+            return false;
+        }
+        try {
+            ((HasClipboard) driver).setClipboardText(text);
+            if (current == null || !current.isEmpty()) {
+                element.clear();
+            }
+            Map<String, Object> args = new LinkedHashMap<>();
+            args.put("elementId", elementId);
+            args.put("duration", 1.0);
+            driver.executeScript("mobile: touchAndHold", args);
+            List<WebElement> menu = PresenceProbe.withoutImplicitWait(
+                    () -> driver.findElements(AppiumBy.accessibilityId("Paste")));
+            if (menu.isEmpty()) {
+                return false;
+            }
+            menu.get(0).click();
+            return true;
+        } catch (WebDriverException e) {
+            logger.debug("Paste failed, typing instead: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Check if a field's value is only its hint: an empty Android field reports the hint as its text
+     * @param driver Driver the element belongs to
+     * @param element Text field
+     * @param current Value read from the field
+     * @return true if the value equals the hint (Android) or placeholder (iOS)
+     */
+    private static boolean isHint(AppiumDriver driver, WebElement element, String current) {
+        try {
+            return current.equals(element.getAttribute(driver instanceof IOSDriver ? "placeholderValue" : "hint"));
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static String readValue(WebElement element) {
+        try {
+            return element.getText();
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Check an entered value; password fields report a mask of the same length
+     * @param entered Value read back from the field
+     * @param text Target value
+     * @return true if the field holds the text
+     */
+    private static boolean matches(String entered, String text) {
+        if (entered == null) {
+            return false;
+        }
+        if (entered.equals(text)) {
+            return true;
+        }
+        return !text.isEmpty() && entered.length() == text.length()
+                && entered.chars().allMatch(c -> c == '\u2022' || c == '\u25CF');
+    }
+
+    private static String elementId(WebElement element) {
+        WebElement unwrapped = element;
+        while (unwrapped instanceof WrapsElement && !(unwrapped instanceof RemoteWebElement)) {
+            unwrapped = ((WrapsElement) unwrapped).getWrappedElement();
+        }
+        return unwrapped instanceof RemoteWebElement ? ((RemoteWebElement) unwrapped).getId() : null;
+    }
+
+    /**
+     * Durations of typed inputs (x = characters, y = nanoseconds) and of shortcut inputs, for the estimate
+     * of the time the shortcuts saved
+     */
+    static final class Savings {
+        private long typedCount;
+        private double typedChars;
+        private double typedNanos;
+        private double typedCharsSquared;
+        private double typedCharsTimesNanos;
+        private long shortcutCount;
+        private double shortcutChars;
+        private double shortcutNanos;
+
+        synchronized void record(TextEntryStrategy strategy, int chars, long nanos) {
+            if (strategy == TextEntryStrategy.TYPE) {
+                typedCount++;
+                typedChars += chars;
+                typedNanos += nanos;
+                typedCharsSquared += (double) chars * chars;
+                typedCharsTimesNanos += (double) chars * nanos;
+            } else {
+                shortcutCount++;
+                shortcutChars += chars;
+                shortcutNanos += nanos;
+            }
+        }
+
+        /**
+         * Check if typed inputs of different lengths were recorded, so the typing cost can be fitted
+         * @return true if the estimate uses the sampled cost
+         */
+        synchronized boolean isSampled() {
+            return typedCount > 1 && variance() > 1e-9;
+        }
+
+        /**
+         * Estimate the time the shortcut inputs saved: their predicted typing time minus their actual time.
+         * Typing is predicted by a least-squares fit of the typed inputs, or at a fixed cost per character
+         * (no fixed part) until typed inputs of different lengths were recorded.
+         * @param charNanos Typing cost per character to use without samples
+         * @return Saved nanoseconds, negative if the shortcuts were slower
+         */
+        synchronized double estimateSavedNanos(long charNanos) {
+            if (!isSampled()) {
+                return charNanos * shortcutChars - shortcutNanos;
+            }
+            double meanChars = typedChars / typedCount;
+            double meanNanos = typedNanos / typedCount;
+            double slope = (typedCharsTimesNanos / typedCount - meanChars * meanNanos) / variance();
+            double intercept = meanNanos - slope * meanChars;
+            return shortcutCount * intercept + slope * shortcutChars - shortcutNanos;
+        }
+
+        private double variance() {
+            double meanChars = typedChars / typedCount;
+            return typedCharsSquared / typedCount - meanChars * meanChars;
+        }
+    }
+}
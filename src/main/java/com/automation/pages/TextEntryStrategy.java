@@ -0,0 +1,41 @@
+package com.automation.pages;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+
+import java.util.Locale;
+
+/**
+ * Way a text input reaches its target value, from cheapest to the plain clear-and-type baseline.
+ * {@link TextEntry} picks one per input from the field's current value and the platform, or uses the
+ * one forced by input.strategy.
+ */
+public enum TextEntryStrategy {
+    /** The field already holds the text: no input */
+    SKIP,
+    /** The field holds a prefix of the text: type only the rest */
+    APPEND,
+    /** Set the value without the keyboard (Android mobile: replaceElementValue) */
+    REPLACE,
+    /** Put the text on the clipboard and paste it from the edit menu (iOS, long texts) */
+    PASTE,
+    /** Clear the field (unless it is known to be empty) and type the text */
+    TYPE;
+
+    /**
+     * Get the strategy forced by input.strategy
+     * @return Forced strategy, or null for auto (default)
+     */
+    public static TextEntryStrategy getConfigured() {
+        String value = ConfigManager.getProperty(ConfigKey.INPUT_STRATEGY).trim();
+        if (value.equalsIgnoreCase("auto")) {
+            return null;
+        }
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid input strategy '" + value
+                    + "', expected auto, skip, append, replace, paste or type", e);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.automation.drivers.ScenarioContext;
+import com.google.gson.GsonBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency histograms for driver commands and Cucumber steps.
+ * Command latencies are keyed by command, locator strategy, the step running on the recording
+ * thread and the Appium settings profile in effect; step durations are keyed by step text. The summary,
+ * including the setting values of every profile, is written after the suite as command-latency.json
+ * and command-latency.prom (Prometheus text format) under metrics.report.path.
+ */
+public class CommandMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(CommandMetrics.class);
+    private static final String NONE = "-";
+    private static final ScenarioContext.Key<String> CURRENT_STEP = new ScenarioContext.Key<>("currentStep", String.class);
+    private static final ScenarioContext.Key<String> CURRENT_SETTINGS =
+            new ScenarioContext.Key<>("currentSettings", String.class);
+    private static final Map<String, Map<String, Object>> settingsProfiles = new ConcurrentHashMap<>();
+    private static final Map<List<String>, LatencyHistogram> commands = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> steps = new ConcurrentHashMap<>();
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    /**
+     * Check if command instrumentation is enabled
+     * @return true if metrics.enabled is set (default)
+     */
+    public static boolean isEnabled() {
+        return ConfigManager.getBooleanProperty(ConfigKey.METRICS_ENABLED);
+    }
+
+    /**
+     * Set the step running in the current scenario; commands recorded meanwhile are attributed to it
+     * @param stepText Step text, or null when no step is running
+     */
+    public static void setCurrentStep(String stepText) {
+        ScenarioContext context = stepText != null ? ScenarioContext.current() : ScenarioContext.peek();
+        if (context != null) {
+            context.put(CURRENT_STEP, stepText);
+        }
+    }
+
+    /**
+     * Set the Appium settings profile in effect for the current scenario's session
+     * @param profile Profile name, or null for the server defaults
+     */
+    public static void setCurrentSettings(String profile) {
+        ScenarioContext context = profile != null ? ScenarioContext.current() : ScenarioContext.peek();
+        if (context != null) {
+            context.put(CURRENT_SETTINGS, profile);
+        }
+    }
+
+    /**
+     * Record the setting values a profile put in effect, as reported by the server
+     * @param profile Profile name
+     * @param settings Setting values
+     * @return true if this is the first record for the profile
+     */
+    public static boolean recordSettings(String profile, Map<String, Object> settings) {
+        return settingsProfiles.putIfAbsent(profile, new TreeMap<>(settings)) == null;
+    }
+
+    /**
+     * Check whether the setting values of a profile were recorded
+     * @param profile Profile name
+     * @return true if recorded
+     */
+    public static boolean hasSettings(String profile) {
+        return settingsProfiles.containsKey(profile);
+    }
+
+    /**
+     * Record the latency of a driver command (or a wait) for the current step
+     * @param command Command name, e.g. findElement
+     * @param strategy Locator strategy, or null if the command has none
+     * @param nanos Latency in nanoseconds
+     */
+    public static void recordCommand(String command, String strategy, long nanos) {
+        ScenarioContext context = ScenarioContext.peek();
+        String step = context != null ? context.get(CURRENT_STEP) : null;
+        String settings = context != null ? context.get(CURRENT_SETTINGS) : null;
+        commands.computeIfAbsent(Arrays.asList(command, strategy != null ? strategy : NONE,
+                step != null ? step : NONE, settings != null ? settings : NONE), key -> new LatencyHistogram())
+                .record(nanos);
+    }
+
+    /**
+     * Record the duration of a Cucumber step
+     * @param stepText Step text
+     * @param nanos Duration in nanoseconds
+     */
+    public static void recordStep(String stepText, long nanos) {
+        steps.computeIfAbsent(stepText, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Write the percentile summary as JSON and Prometheus text. Does nothing if nothing was recorded.
+     */
+    public static void writeReport() {
+        if (commands.isEmpty() && steps.isEmpty()) {
+            return;
+        }
+        Path directory = Paths.get(ConfigManager.getProperty(ConfigKey.METRICS_REPORT_PATH));
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("command-latency.json"), toJson().getBytes(StandardCharsets.UTF_8));
+            Files.write(directory.resolve("command-latency.prom"), toPrometheus().getBytes(StandardCharsets.UTF_8));
+            logger.info("Command latency summary written to: {}", directory);
+        } catch (IOException e) {
+            logger.error("Failed to write command latency summary", e);
+        }
+    }
+
+    /**
+     * Build the JSON summary
+     * @return JSON with one entry per command/strategy/step/settings profile, one per step and the
+     * setting values of every profile
+     */
+    public static String toJson() {
+        List<Map<String, Object>> commandEntries = new ArrayList<>();
+        sortedCommands().forEach((key, histogram) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("command", key.get(0));
+            entry.put("strategy", key.get(1));
+            entry.put("step", key.get(2));
+            entry.put("settings", key.get(3));
+            entry.putAll(summary(histogram));
+            commandEntries.add(entry);
+        });
+        List<Map<String, Object>> stepEntries = new ArrayList<>();
+        new TreeMap<>(steps).forEach((step, histogram) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("step", step);
+            entry.putAll(summary(histogram));
+            stepEntries.add(entry);
+        });
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("commands", commandEntries);
+        root.put("steps", stepEntries);
+        root.put("settingsProfiles", new TreeMap<>(settingsProfiles));
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root);
+    }
+
+    /**
+     * Build the Prometheus text exposition of the summary
+     * @return Prometheus text format
+     */
+    public static String toPrometheus() {
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP appium_command_latency_seconds Driver command latency\n")
+                .append("# TYPE appium_command_latency_seconds summary\n");
+        sortedCommands().forEach((key, histogram) -> appendSummary(out, "appium_command_latency_seconds",
+                "command=\"" + escape(key.get(0)) + "\",strategy=\"" + escape(key.get(1)) + "\",step=\""
+                        + escape(key.get(2)) + "\",settings=\"" + escape(key.get(3)) + "\"", histogram));
+        out.append("# HELP cucumber_step_duration_seconds Cucumber step duration\n")
+                .append("# TYPE cucumber_step_duration_seconds summary\n");
+        new TreeMap<>(steps).forEach((step, histogram) -> appendSummary(out, "cucumber_step_duration_seconds",
+                "step=\"" + escape(step) + "\"", histogram));
+        return out.toString();
+    }
+
+    private static Map<List<String>, LatencyHistogram> sortedCommands() {
+        Map<List<String>, LatencyHistogram> sorted = new TreeMap<>((a, b) -> String.join("\n", a)
+                .compareTo(String.join("\n", b)));
+        sorted.putAll(commands);
+        return sorted;
+    }
+
+    private static Map<String, Object> summary(LatencyHistogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getCount());
+        for (double percentile : PERCENTILES) {
+            summary.put("p" + (int) percentile + "Ms", histogram.getPercentileMicros(percentile) / 1000.0);
+        }
+        summary.put("maxMs", histogram.getMaxMicros() / 1000.0);
+        summary.put("totalMs", histogram.getTotalMicros() / 1000.0);
+        return summary;
+    }
+
+    private static void appendSummary(StringBuilder out, String name, String labels, LatencyHistogram histogram) {
+        for (double percentile : PERCENTILES) {
+            out.append(name).append('{').append(labels).append(",quantile=\"")
+                    .append(String.format(Locale.ROOT, "%.2f", percentile / 100)).append("\"} ")
+                    .append(seconds(histogram.getPercentileMicros(percentile))).append('\n');
+        }
+        out.append(name).append('{').append(labels).append(",quantile=\"1.00\"} ")
+                .append(seconds(histogram.getMaxMicros())).append('\n');
+        out.append(name).append("_sum{").append(labels).append("} ")
+                .append(seconds(histogram.getTotalMicros())).append('\n');
+        out.append(name).append("_count{").append(labels).append("} ").append(histogram.getCount()).append('\n');
+    }
+
+    private static String seconds(long micros) {
+        return String.format(Locale.ROOT, "%.6f", micros / 1_000_000.0);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
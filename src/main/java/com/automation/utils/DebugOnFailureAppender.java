@@ -0,0 +1,192 @@
+package com.automation.utils;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback appender holding the log lines of each scenario in memory until the scenario finishes.
+ * Events are keyed by the scenarioId MDC value. INFO and above are always kept; DEBUG (and TRACE) lines
+ * are kept up to maxEvents per scenario (oldest dropped). {@link ScenarioLogContext} forwards a scenario's
+ * lines to the attached appenders when it finishes, in timestamp order, with the DEBUG lines merged in only
+ * if the scenario failed. Events outside a scenario are forwarded immediately.
+ */
+public class DebugOnFailureAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+    private static final Set<DebugOnFailureAppender> instances = new CopyOnWriteArraySet<>();
+    private static final Comparator<Entry> CHRONOLOGICAL = Comparator
+            .comparingLong((Entry entry) -> entry.event.getTimeStamp())
+            .thenComparingLong(entry -> entry.sequence);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final Map<String, Buffer> buffers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private int maxEvents = 2000;
+
+    public void setMaxEvents(int maxEvents) {
+        this.maxEvents = maxEvents;
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        instances.add(this);
+    }
+
+    @Override
+    public void stop() {
+        instances.remove(this);
+        buffers.clear();
+        appenders.detachAndStopAllAppenders();
+        super.stop();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        String scenarioId = event.getMDCPropertyMap().get(ScenarioLogContext.MDC_KEY);
+        if (scenarioId == null) {
+            appenders.appendLoopOnAppenders(event);
+            return;
+        }
+        event.prepareForDeferredProcessing();
+        Entry entry = new Entry(sequence.incrementAndGet(), event);
+        Buffer buffer = buffers.computeIfAbsent(scenarioId, key -> new Buffer());
+        synchronized (buffer) {
+            if (event.getLevel().toInt() >= Level.INFO_INT) {
+                buffer.kept.add(entry);
+            } else {
+                if (buffer.debug.size() >= maxEvents) {
+                    buffer.debug.pollFirst();
+                }
+                buffer.debug.addLast(entry);
+            }
+        }
+    }
+
+    /**
+     * Write the buffered events of a scenario to all instances' attached appenders, oldest first
+     * @param scenarioId Scenario id
+     * @param includeDebug true to merge in the DEBUG lines, false to drop them
+     */
+    static void flush(String scenarioId, boolean includeDebug) {
+        for (DebugOnFailureAppender instance : instances) {
+            Buffer buffer = instance.buffers.remove(scenarioId);
+            if (buffer != null) {
+                instance.write(buffer, includeDebug);
+            }
+        }
+    }
+
+    /**
+     * Write the buffers of scenarios that never finished, with their DEBUG lines
+     * @return Number of scenarios flushed
+     */
+    static int flushAll() {
+        Set<String> scenarioIds = new HashSet<>();
+        for (DebugOnFailureAppender instance : instances) {
+            scenarioIds.addAll(instance.buffers.keySet());
+        }
+        for (String scenarioId : scenarioIds) {
+            flush(scenarioId, true);
+        }
+        return scenarioIds.size();
+    }
+
+    /**
+     * Number of scenarios whose lines are currently buffered
+     * @return Buffered scenario count
+     */
+    static int getBufferedScenarioCount() {
+        int count = 0;
+        for (DebugOnFailureAppender instance : instances) {
+            count += instance.buffers.size();
+        }
+        return count;
+    }
+
+    private void write(Buffer buffer, boolean includeDebug) {
+        List<Entry> entries;
+        synchronized (buffer) {
+            entries = new ArrayList<>(buffer.kept);
+            if (includeDebug) {
+                entries.addAll(buffer.debug);
+            }
+        }
+        entries.sort(CHRONOLOGICAL);
+        for (Entry entry : entries) {
+            appenders.appendLoopOnAppenders(entry.event);
+        }
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+
+    /**
+     * Lines of one scenario: INFO and above in full, DEBUG bounded
+     */
+    private static class Buffer {
+        private final List<Entry> kept = new ArrayList<>();
+        private final Deque<Entry> debug = new ArrayDeque<>();
+    }
+
+    /**
+     * Buffered event with its arrival order, which breaks timestamp ties
+     */
+    private static class Entry {
+        private final long sequence;
+        private final ILoggingEvent event;
+
+        private Entry(long sequence, ILoggingEvent event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+}
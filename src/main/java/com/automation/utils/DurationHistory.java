@@ -0,0 +1,187 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local store of scenario durations, updated after every run, used to schedule the longest
+ * scenarios first and to estimate the wall-clock time of a run.
+ * Scenarios are keyed by feature file (relative to the working directory) and line, so every
+ * Scenario Outline example row has its own entry. Durations are an exponentially weighted mean.
+ */
+public class DurationHistory {
+    private static final Logger logger = LoggerFactory.getLogger(DurationHistory.class);
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final double WEIGHT = 0.3;
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private static final Map<String, Long> recorded = new ConcurrentHashMap<>();
+    private static volatile boolean loaded;
+
+    /**
+     * Get the history key of a scenario
+     * @param uri Feature file URI
+     * @param line Scenario (or example row) line
+     * @return Key
+     */
+    public static String key(URI uri, int line) {
+        URI relative = Paths.get("").toAbsolutePath().toUri().relativize(uri);
+        return relative + ":" + line;
+    }
+
+    /**
+     * Get the estimated duration of a scenario
+     * @param key Scenario key
+     * @return Historical duration, or {@link #getDefaultMillis()} if the scenario has no history
+     */
+    public static long estimateMillis(String key) {
+        Entry entry = load().get(key);
+        return entry != null ? Math.round(entry.meanMillis) : getDefaultMillis();
+    }
+
+    /**
+     * Check whether a scenario has recorded history
+     * @param key Scenario key
+     * @return true if known
+     */
+    public static boolean isKnown(String key) {
+        return load().containsKey(key);
+    }
+
+    /**
+     * Get the weight of scenarios without history: the median known duration, so new scenarios are
+     * neither scheduled first nor last, or history.default.duration.ms when the history is empty
+     * @return Default duration in milliseconds
+     */
+    public static long getDefaultMillis() {
+        List<Double> durations = new ArrayList<>();
+        for (Entry entry : load().values()) {
+            durations.add(entry.meanMillis);
+        }
+        if (durations.isEmpty()) {
+            return ConfigManager.getLongProperty(ConfigKey.HISTORY_DEFAULT_DURATION_MS);
+        }
+        Collections.sort(durations);
+        return Math.round(durations.get(durations.size() / 2));
+    }
+
+    /**
+     * Record the duration of a finished scenario; saved by {@link #save()}
+     * @param key Scenario key
+     * @param millis Duration in milliseconds
+     */
+    public static void record(String key, long millis) {
+        recorded.put(key, millis);
+    }
+
+    /**
+     * Estimate the wall-clock time of running scenarios longest-first on a number of workers,
+     * each worker taking the next scenario when it finishes one
+     * @param durations Scenario durations in scheduling order
+     * @param workers Number of parallel workers
+     * @return Estimated makespan in milliseconds
+     */
+    public static long estimateMakespan(List<Long> durations, int workers) {
+        PriorityQueue<Long> finishTimes = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(1, workers); i++) {
+            finishTimes.add(0L);
+        }
+        long makespan = 0;
+        for (long duration : durations) {
+            long finish = finishTimes.poll() + duration;
+            makespan = Math.max(makespan, finish);
+            finishTimes.add(finish);
+        }
+        return makespan;
+    }
+
+    /**
+     * Merge the durations recorded in this run into the history file
+     */
+    public static synchronized void save() {
+        if (recorded.isEmpty()) {
+            return;
+        }
+        Map<String, Entry> history = load();
+        for (Map.Entry<String, Long> result : recorded.entrySet()) {
+            Entry entry = history.computeIfAbsent(result.getKey(), k -> new Entry());
+            entry.meanMillis = entry.runs == 0
+                    ? result.getValue()
+                    : entry.meanMillis * (1 - WEIGHT) + result.getValue() * WEIGHT;
+            entry.lastMillis = result.getValue();
+            entry.runs++;
+        }
+        Path path = historyPath();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                GSON.toJson(new TreeMap<>(history), writer);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Duration history updated with {} scenario(s): {}", recorded.size(), path);
+            recorded.clear();
+        } catch (IOException e) {
+            logger.warn("Failed to write duration history {}", path, e);
+        }
+    }
+
+    private static Map<String, Entry> load() {
+        if (!loaded) {
+            synchronized (DurationHistory.class) {
+                if (!loaded) {
+                    Path path = historyPath();
+                    if (Files.exists(path)) {
+                        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                            Map<String, Entry> stored = GSON.fromJson(reader,
+                                    new TypeToken<Map<String, Entry>>() { }.getType());
+                            if (stored != null) {
+                                entries.putAll(stored);
+                            }
+                        } catch (IOException | RuntimeException e) {
+                            logger.warn("Failed to read duration history {}, starting empty", path, e);
+                        }
+                    }
+                    loaded = true;
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static Path historyPath() {
+        return Paths.get(ConfigManager.getProperty(ConfigKey.HISTORY_PATH));
+    }
+
+    /**
+     * Stored duration of one scenario
+     */
+    private static final class Entry {
+        private double meanMillis;
+        private long lastMillis;
+        private int runs;
+    }
+}
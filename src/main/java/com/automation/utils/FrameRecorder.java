@@ -0,0 +1,349 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.automation.drivers.Device;
+import com.automation.drivers.DriverManager;
+import com.automation.drivers.ScenarioContext;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.OutputType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in recorder keeping the last replay.seconds of screen frames per session in a
+ * {@link FrameRingBuffer}. Frames come from the device MJPEG stream read on a background thread
+ * (replay.source=mjpeg, needs a mjpegServerPort in the device inventory or replay.mjpeg.url), or from
+ * low resolution screenshots taken between steps, at most replay.fps per second (replay.source=poll),
+ * so capturing never competes with a step's own commands on the session. Nothing is written unless the
+ * scenario fails, in which case the buffered frames are dumped as a JPEG frame sequence. A buffer is
+ * reused by a later scenario only once its dump is written and its stream thread has terminated.
+ */
+public class FrameRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(FrameRecorder.class);
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+    private static final int MAX_STREAM_FRAME_BYTES = 8 * 1024 * 1024;
+    private static final Queue<FrameRingBuffer> idleBuffers = new ConcurrentLinkedQueue<>();
+    private static final ScenarioContext.Key<Recording> RECORDING = new ScenarioContext.Key<>("recording", Recording.class);
+
+    private static final AtomicLong framesRecorded = new AtomicLong();
+    private static final AtomicLong dumps = new AtomicLong();
+
+    /**
+     * Check if the recorder is enabled
+     * @return true if replay.enabled is set
+     */
+    public static boolean isEnabled() {
+        return ConfigManager.getBooleanProperty(ConfigKey.REPLAY_ENABLED);
+    }
+
+    /**
+     * Start recording the current scenario's driver session. Does nothing when disabled.
+     */
+    public static void start() {
+        AppiumDriver driver = DriverManager.getDriver();
+        ScenarioContext context = ScenarioContext.peek();
+        if (driver == null || context == null || !isEnabled() || context.get(RECORDING) != null) {
+            return;
+        }
+        int fps = Math.max(1, ConfigManager.getIntProperty(ConfigKey.REPLAY_FPS));
+        int seconds = Math.max(1, ConfigManager.getIntProperty(ConfigKey.REPLAY_SECONDS));
+        int slots = fps * seconds;
+        int capacity = ConfigManager.getIntProperty(ConfigKey.REPLAY_BUFFER_MB) * 1024 * 1024;
+        // Off-heap buffers are reused across scenarios; there are as many as scenarios recording at once
+        FrameRingBuffer buffer = idleBuffers.poll();
+        if (buffer == null || buffer.getSlots() != slots || buffer.getCapacity() != capacity / slots * slots) {
+            buffer = new FrameRingBuffer(slots, capacity);
+        }
+        buffer.clear();
+
+        Recording recording = new Recording(driver, buffer, 1000L / fps, mjpegUrl());
+        context.put(RECORDING, recording);
+        if (recording.thread != null) {
+            recording.thread.start();
+        }
+        logger.debug("Started frame recorder ({}) keeping {} frame(s)",
+                recording.mjpegUrl != null ? recording.mjpegUrl : "screenshots between steps", slots);
+    }
+
+    /**
+     * Capture a frame after a step when recording from screenshots, unless one was taken less than
+     * 1/replay.fps seconds ago. Called from an AfterStep hook on the scenario thread.
+     */
+    public static void captureStep() {
+        ScenarioContext context = ScenarioContext.peek();
+        Recording recording = context != null ? context.get(RECORDING) : null;
+        if (recording == null || recording.thread != null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - recording.lastFrameMillis < recording.intervalMillis) {
+            return;
+        }
+        recording.lastFrameMillis = now;
+        try {
+            recording.capture(now);
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Failed to capture replay frame: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stop recording and dump the buffered frames if the scenario failed
+     * @param scenarioName Scenario name used for the dump directory
+     * @param failed true to write the buffered frames to disk
+     * @return Dump directory, or null if nothing was written
+     */
+    public static String stop(String scenarioName, boolean failed) {
+        ScenarioContext context = ScenarioContext.peek();
+        Recording recording = context != null ? context.get(RECORDING) : null;
+        if (recording == null) {
+            return null;
+        }
+        context.put(RECORDING, null);
+        recording.stop();
+        try {
+            return failed ? dump(recording.buffer, scenarioName) : null;
+        } finally {
+            recording.release();
+        }
+    }
+
+    /**
+     * Write the buffered frames of the last replay.seconds as a JPEG frame sequence
+     * @param buffer Frame buffer
+     * @param scenarioName Scenario name used for the dump directory
+     * @return Dump directory, or null if nothing was written
+     */
+    private static String dump(FrameRingBuffer buffer, String scenarioName) {
+        long since = System.currentTimeMillis()
+                - TimeUnit.SECONDS.toMillis(ConfigManager.getIntProperty(ConfigKey.REPLAY_SECONDS));
+        List<FrameRingBuffer.Frame> frames = buffer.snapshot(since);
+        if (frames.isEmpty()) {
+            logger.warn("No replay frames recorded for scenario: {}", scenarioName);
+            return null;
+        }
+        Path directory = Paths.get(ConfigManager.getScreenshotPath(), "replay",
+                scenarioName.replaceAll("[^a-zA-Z0-9]", "_") + "_" + LocalDateTime.now().format(TIMESTAMP));
+        try {
+            Files.createDirectories(directory);
+            long first = frames.get(0).getTimestampMillis();
+            for (int i = 0; i < frames.size(); i++) {
+                FrameRingBuffer.Frame frame = frames.get(i);
+                Files.write(directory.resolve(String.format("frame_%03d_+%dms.jpg", i,
+                        frame.getTimestampMillis() - first)), frame.getBytes());
+            }
+            dumps.incrementAndGet();
+            logger.info("Replay of last {} frame(s) saved at: {}", frames.size(), directory);
+            return directory.toString();
+        } catch (IOException e) {
+            logger.error("Failed to write replay frames for scenario: {}", scenarioName, e);
+            return null;
+        }
+    }
+
+    /**
+     * Log recorded frame and dump counters
+     */
+    public static void logStatistics() {
+        if (framesRecorded.get() > 0) {
+            logger.info("Frame recorder: {} frame(s) buffered, {} replay(s) written", framesRecorded.get(), dumps.get());
+        }
+    }
+
+    /**
+     * Resolve the MJPEG stream of the current device
+     * @return Stream URL, or null to poll screenshots instead
+     */
+    private static String mjpegUrl() {
+        if (!"mjpeg".equalsIgnoreCase(ConfigManager.getProperty(ConfigKey.REPLAY_SOURCE))) {
+            return null;
+        }
+        String url = ConfigManager.getProperty(ConfigKey.REPLAY_MJPEG_URL);
+        if (!url.isEmpty()) {
+            return url;
+        }
+        Device device = DriverManager.getCurrentDevice();
+        if (device == null || device.getMjpegServerPort() == null) {
+            logger.warn("replay.source=mjpeg needs a device mjpegServerPort or replay.mjpeg.url, polling screenshots");
+            return null;
+        }
+        try {
+            String appiumUrl = device.getAppiumUrl() != null ? device.getAppiumUrl() : ConfigManager.getAppiumServerUrl();
+            return "http://" + new URL(appiumUrl).getHost() + ":" + device.getMjpegServerPort();
+        } catch (IOException e) {
+            logger.warn("Cannot derive MJPEG stream host, polling screenshots", e);
+            return null;
+        }
+    }
+
+    /**
+     * Recording of one scenario: a stream reader thread (MJPEG) or screenshots taken between steps
+     */
+    private static class Recording implements Runnable {
+        private final AppiumDriver driver;
+        private final FrameRingBuffer buffer;
+        private final long intervalMillis;
+        private final String mjpegUrl;
+        private final Thread thread;
+        // The scenario (dump written) and the stream thread (terminated) each release the buffer once
+        private final AtomicInteger holders;
+        private volatile boolean running = true;
+        private volatile InputStream stream;
+        private long lastFrameMillis;
+
+        Recording(AppiumDriver driver, FrameRingBuffer buffer, long intervalMillis, String mjpegUrl) {
+            this.driver = driver;
+            this.buffer = buffer;
+            this.intervalMillis = intervalMillis;
+            this.mjpegUrl = mjpegUrl;
+            if (mjpegUrl != null) {
+                this.thread = new Thread(this, "frame-recorder-" + Thread.currentThread().getName());
+                this.thread.setDaemon(true);
+                this.holders = new AtomicInteger(2);
+            } else {
+                this.thread = null;
+                this.holders = new AtomicInteger(1);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                readStream();
+            } catch (Exception e) {
+                if (running) {
+                    logger.warn("Frame recorder stopped: {}", e.getMessage());
+                }
+            } finally {
+                release();
+            }
+        }
+
+        /**
+         * Give up this holder's use of the buffer; the last one returns it to the idle pool
+         */
+        void release() {
+            if (holders.decrementAndGet() == 0) {
+                idleBuffers.offer(buffer);
+            }
+        }
+
+        void stop() {
+            running = false;
+            if (thread == null) {
+                return;
+            }
+            thread.interrupt();
+            InputStream open = stream;
+            if (open != null) {
+                try {
+                    open.close();
+                } catch (IOException e) {
+                    logger.debug("Failed to close MJPEG stream", e);
+                }
+            }
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(2));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (thread.isAlive()) {
+                logger.debug("Frame recorder thread still running, its buffer is recycled when it ends");
+            }
+        }
+
+        private void capture(long timestampMillis) throws IOException {
+            byte[] png = driver.getScreenshotAs(OutputType.BYTES);
+            record(toJpeg(png, ConfigManager.getDoubleProperty(ConfigKey.REPLAY_SCALE)), timestampMillis);
+        }
+
+        /**
+         * Read JPEG frames from a multipart MJPEG stream by scanning for SOI/EOI markers,
+         * keeping at most one frame per interval
+         */
+        private void readStream() throws IOException {
+            URLConnection connection = new URL(mjpegUrl).openConnection();
+            connection.setConnectTimeout(5000);
+            try (InputStream in = new BufferedInputStream(connection.getInputStream())) {
+                stream = in;
+                ByteArrayOutputStream frame = new ByteArrayOutputStream(256 * 1024);
+                boolean inFrame = false;
+                long lastFrame = 0;
+                int previous = -1;
+                int current;
+                while (running && (current = in.read()) != -1) {
+                    if (!inFrame && previous == 0xFF && current == 0xD8) {
+                        inFrame = true;
+                        frame.reset();
+                        frame.write(0xFF);
+                    }
+                    if (inFrame) {
+                        frame.write(current);
+                        if (frame.size() > MAX_STREAM_FRAME_BYTES) {
+                            inFrame = false;
+                        }
+                        if (previous == 0xFF && current == 0xD9) {
+                            inFrame = false;
+                            long now = System.currentTimeMillis();
+                            if (now - lastFrame >= intervalMillis) {
+                                lastFrame = now;
+                                record(frame.toByteArray(), now);
+                            }
+                        }
+                    }
+                    previous = current;
+                }
+            }
+        }
+
+        private void record(byte[] frame, long timestampMillis) {
+            if (buffer.add(frame, timestampMillis)) {
+                framesRecorded.incrementAndGet();
+            }
+        }
+
+        private static byte[] toJpeg(byte[] png, double scale) throws IOException {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            if (image == null) {
+                throw new IOException("Screenshot is not a readable image");
+            }
+            int width = Math.max(1, (int) Math.round(image.getWidth() * Math.min(scale, 1.0)));
+            int height = Math.max(1, (int) Math.round(image.getHeight() * Math.min(scale, 1.0)));
+            BufferedImage output = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = output.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(image, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(output, "jpg", out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.automation.utils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size ring of encoded screen frames stored in one direct (off-heap) buffer.
+ * The buffer is split into equal slots; a new frame overwrites the oldest slot, so memory use
+ * never grows with scenario length. Frames larger than a slot are dropped.
+ */
+public class FrameRingBuffer {
+    private final ByteBuffer storage;
+    private final int slotSize;
+    private final int[] lengths;
+    private final long[] timestamps;
+    private int next;
+    private int count;
+    private long dropped;
+
+    /**
+     * Create a ring buffer
+     * @param slots Number of frames kept
+     * @param capacityBytes Total off-heap capacity, split evenly between slots
+     */
+    public FrameRingBuffer(int slots, int capacityBytes) {
+        this.slotSize = capacityBytes / slots;
+        this.storage = ByteBuffer.allocateDirect(slotSize * slots);
+        this.lengths = new int[slots];
+        this.timestamps = new long[slots];
+    }
+
+    /**
+     * Get the number of frames the ring holds
+     * @return Slot count
+     */
+    public int getSlots() {
+        return lengths.length;
+    }
+
+    /**
+     * Get the total off-heap capacity
+     * @return Capacity in bytes
+     */
+    public int getCapacity() {
+        return storage.capacity();
+    }
+
+    /**
+     * Store a frame, overwriting the oldest one when the ring is full
+     * @param frame Encoded frame bytes
+     * @param timestampMillis Capture time
+     * @return true if stored, false if the frame is larger than a slot
+     */
+    public synchronized boolean add(byte[] frame, long timestampMillis) {
+        if (frame.length > slotSize) {
+            dropped++;
+            return false;
+        }
+        ByteBuffer slot = storage.duplicate();
+        slot.position(next * slotSize);
+        slot.put(frame);
+        lengths[next] = frame.length;
+        timestamps[next] = timestampMillis;
+        next = (next + 1) % lengths.length;
+        count = Math.min(count + 1, lengths.length);
+        return true;
+    }
+
+    /**
+     * Copy the frames captured at or after a given time, oldest first
+     * @param sinceMillis Oldest capture time to include
+     * @return Frames
+     */
+    public synchronized List<Frame> snapshot(long sinceMillis) {
+        List<Frame> frames = new ArrayList<>(count);
+        int first = (next - count + lengths.length) % lengths.length;
+        for (int i = 0; i < count; i++) {
+            int index = (first + i) % lengths.length;
+            if (timestamps[index] < sinceMillis) {
+                continue;
+            }
+            byte[] bytes = new byte[lengths[index]];
+            ByteBuffer slot = storage.duplicate();
+            slot.position(index * slotSize);
+            slot.get(bytes);
+            frames.add(new Frame(bytes, timestamps[index]));
+        }
+        return frames;
+    }
+
+    /**
+     * Forget all frames; the off-heap memory is kept for reuse
+     */
+    public synchronized void clear() {
+        next = 0;
+        count = 0;
+    }
+
+    /**
+     * Get the number of frames dropped because they did not fit a slot
+     * @return Dropped frame count
+     */
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Frame copied out of the ring buffer
+     */
+    public static class Frame {
+        private final byte[] bytes;
+        private final long timestampMillis;
+
+        Frame(byte[] bytes, long timestampMillis) {
+            this.bytes = bytes;
+            this.timestampMillis = timestampMillis;
+        }
+
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        public long getTimestampMillis() {
+            return timestampMillis;
+        }
+    }
+}
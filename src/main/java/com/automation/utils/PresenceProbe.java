@@ -0,0 +1,128 @@
+package com.automation.utils;
+
+import com.automation.drivers.DriverManager;
+import com.automation.drivers.ImplicitWait;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Presence and absence probes that bypass the implicit wait.
+ * The implicit wait is at zero while a probe (or a polling loop) runs, so "element is NOT there" is
+ * answered by a single findElements round trip instead of blocking for the full implicit wait.
+ * {@link ImplicitWait} leaves the session at zero between probes and restores it only before the next
+ * regular find, so back-to-back probes and waits cost no extra timeout round trips.
+ */
+public class PresenceProbe {
+    private static final Logger logger = LoggerFactory.getLogger(PresenceProbe.class);
+
+    private static final AtomicLong probes = new AtomicLong();
+    private static final AtomicLong negativeProbes = new AtomicLong();
+    private static final AtomicLong savedMillis = new AtomicLong();
+
+    /**
+     * Run an action on the current thread's driver with the implicit wait at zero.
+     * Nested calls only switch the timeout once.
+     * @param action Action to run
+     * @param <T> Result type
+     * @return Action result
+     */
+    public static <T> T withoutImplicitWait(Supplier<T> action) {
+        return ImplicitWait.withoutImplicitWait(DriverManager.getDriver(), action);
+    }
+
+    /**
+     * Check whether at least one element matches the locator, without waiting
+     * @param locator Element locator
+     * @return true if present, false otherwise
+     */
+    public static boolean isPresent(By locator) {
+        return !findNow(locator).isEmpty();
+    }
+
+    /**
+     * Check whether no element matches the locator, without waiting
+     * @param locator Element locator
+     * @return true if absent, false otherwise
+     */
+    public static boolean isAbsent(By locator) {
+        return findNow(locator).isEmpty();
+    }
+
+    /**
+     * Check whether a displayed element matches the locator, without waiting
+     * @param locator Element locator
+     * @return true if a matching element is displayed, false otherwise
+     */
+    public static boolean isVisible(By locator) {
+        for (WebElement element : findNow(locator)) {
+            if (element.isDisplayed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get number of probes run
+     * @return Probe count
+     */
+    public static long getProbeCount() {
+        return probes.get();
+    }
+
+    /**
+     * Get number of probes that found no element
+     * @return Negative probe count
+     */
+    public static long getNegativeProbeCount() {
+        return negativeProbes.get();
+    }
+
+    /**
+     * Get implicit wait time saved by negative probes: for each probe outside a polling loop, the session's
+     * implicit wait minus the probe's duration. Probes inside a wait would not have blocked on the implicit
+     * wait either, so they save nothing.
+     * @return Saved time in milliseconds
+     */
+    public static long getSavedMillis() {
+        return savedMillis.get();
+    }
+
+    /**
+     * Log probe counts and wait time saved during the run
+     */
+    public static void logStatistics() {
+        logger.info("Presence probes: {} run, {} negative, {} s of implicit wait saved, {} implicit wait switch(es)",
+                probes.get(), negativeProbes.get(), TimeUnit.MILLISECONDS.toSeconds(savedMillis.get()),
+                ImplicitWait.getSwitchCount());
+    }
+
+    /**
+     * Run a single findElements with the implicit wait disabled and record the outcome
+     * @param locator Element locator
+     * @return Matching elements
+     */
+    private static List<WebElement> findNow(By locator) {
+        AppiumDriver driver = DriverManager.getDriver();
+        boolean topLevel = !ImplicitWait.inProbe();
+        long implicitWaitMillis = topLevel ? ImplicitWait.get(driver).toMillis() : 0;
+        long start = System.nanoTime();
+        List<WebElement> elements = withoutImplicitWait(() -> driver.findElements(locator));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        probes.incrementAndGet();
+        if (elements.isEmpty()) {
+            negativeProbes.incrementAndGet();
+            savedMillis.addAndGet(Math.max(0, implicitWaitMillis - elapsed));
+        }
+        logger.debug("Probe {} found {} element(s) in {} ms", locator, elements.size(), elapsed);
+        return elements;
+    }
+}
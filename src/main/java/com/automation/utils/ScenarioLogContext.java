@@ -0,0 +1,53 @@
+package com.automation.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tags log lines of the running scenario with a scenarioId MDC value, which logback.xml uses to
+ * route them to logs/scenarios/&lt;scenarioId&gt;.log, and writes the scenario's buffered lines (see
+ * {@link DebugOnFailureAppender}) when it finishes, with its DEBUG lines only if it failed.
+ */
+public class ScenarioLogContext {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioLogContext.class);
+    static final String MDC_KEY = "scenarioId";
+    private static final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Start tagging the current thread's log lines with a new scenario id
+     * @param scenarioName Scenario name
+     * @return Scenario id
+     */
+    public static String start(String scenarioName) {
+        String scenarioId = scenarioName.replaceAll("[^a-zA-Z0-9]", "_") + "-" + sequence.incrementAndGet();
+        MDC.put(MDC_KEY, scenarioId);
+        return scenarioId;
+    }
+
+    /**
+     * Stop tagging the current thread's log lines and write the scenario's buffered lines in time order
+     * @param failed true to merge in the buffered DEBUG lines, false to drop them
+     */
+    public static void finish(boolean failed) {
+        String scenarioId = MDC.get(MDC_KEY);
+        if (scenarioId == null) {
+            return;
+        }
+        MDC.remove(MDC_KEY);
+        DebugOnFailureAppender.flush(scenarioId, failed);
+    }
+
+    /**
+     * Write and release the buffers of scenarios that never reached {@link #finish(boolean)},
+     * with their DEBUG lines since their outcome is unknown
+     */
+    public static void finishAll() {
+        int unfinished = DebugOnFailureAppender.flushAll();
+        if (unfinished > 0) {
+            logger.warn("Wrote buffered log lines of {} unfinished scenario(s)", unfinished);
+        }
+    }
+}
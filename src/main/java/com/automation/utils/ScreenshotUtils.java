@@ -3,23 +3,25 @@ package com.automation.utils;
 import com.automation.config.ConfigManager;
 import com.automation.drivers.DriverManager;
 import io.appium.java_client.AppiumDriver;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Screenshot utility for capturing screenshots during test execution
+ * Screenshot utility for capturing screenshots during test execution.
+ * The screen is captured once as bytes on the calling thread; encoding and writing the file
+ * happen on the {@link ScreenshotWriter} threads.
  */
 public class ScreenshotUtils {
     private static final Logger logger = LoggerFactory.getLogger(ScreenshotUtils.class);
-    private static final String SCREENSHOT_DIR = ConfigManager.getProperty("screenshot.path", "screenshots/");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+    private static final AtomicLong sequence = new AtomicLong();
 
     /**
      * Take screenshot and save to file
@@ -27,32 +29,7 @@ public class ScreenshotUtils {
      * @return Screenshot file path
      */
     public static String captureScreenshot(String scenarioName) {
-        AppiumDriver driver = DriverManager.getDriver();
-        
-        if (driver == null) {
-            logger.warn("Driver is null, cannot capture screenshot");
-            return null;
-        }
-
-        try {
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-            String fileName = scenarioName.replaceAll("[^a-zA-Z0-9]", "_") + "_" + timestamp + ".png";
-            String filePath = SCREENSHOT_DIR + fileName;
-
-            File screenshotFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            File destinationFile = new File(filePath);
-            
-            // Create directory if it doesn't exist
-            destinationFile.getParentFile().mkdirs();
-            
-            FileUtils.copyFile(screenshotFile, destinationFile);
-            logger.info("Screenshot captured: {}", filePath);
-            
-            return filePath;
-        } catch (IOException e) {
-            logger.error("Failed to capture screenshot for scenario: {}", scenarioName, e);
-            return null;
-        }
+        return captureScreenshotAsync(scenarioName).join();
     }
 
     /**
@@ -61,36 +38,45 @@ public class ScreenshotUtils {
      * @return Screenshot file path
      */
     public static String captureScreenshot(String fileName, boolean includeTimestamp) {
+        return captureScreenshotAsync(fileName, includeTimestamp).join();
+    }
+
+    /**
+     * Take screenshot and save it in the background
+     * @param scenarioName Name of the scenario
+     * @return Future completing with the screenshot file path, or null if capturing or writing failed
+     */
+    public static CompletableFuture<String> captureScreenshotAsync(String scenarioName) {
+        return captureScreenshotAsync(scenarioName, true);
+    }
+
+    /**
+     * Take screenshot with custom file name and save it in the background.
+     * Timestamped names carry milliseconds and a sequence number, so they never collide.
+     * @param fileName Custom file name
+     * @param includeTimestamp true to append a unique timestamp, false to overwrite fileName
+     * @return Future completing with the screenshot file path, or null if capturing or writing failed
+     */
+    public static CompletableFuture<String> captureScreenshotAsync(String fileName, boolean includeTimestamp) {
         AppiumDriver driver = DriverManager.getDriver();
-        
+
         if (driver == null) {
             logger.warn("Driver is null, cannot capture screenshot");
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
 
+        byte[] bytes;
         try {
-            String finalFileName = fileName.replaceAll("[^a-zA-Z0-9]", "_");
-            if (includeTimestamp) {
-                String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-                finalFileName += "_" + timestamp;
-            }
-            finalFileName += ".png";
-            
-            String filePath = SCREENSHOT_DIR + finalFileName;
-
-            File screenshotFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            File destinationFile = new File(filePath);
-            
-            // Create directory if it doesn't exist
-            destinationFile.getParentFile().mkdirs();
-            
-            FileUtils.copyFile(screenshotFile, destinationFile);
-            logger.info("Screenshot captured: {}", filePath);
-            
-            return filePath;
-        } catch (IOException e) {
+            bytes = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (RuntimeException e) {
             logger.error("Failed to capture screenshot: {}", fileName, e);
-            return null;
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String baseName = fileName.replaceAll("[^a-zA-Z0-9]", "_");
+        if (includeTimestamp) {
+            baseName += "_" + LocalDateTime.now().format(TIMESTAMP) + "_" + sequence.incrementAndGet();
         }
+        return ScreenshotWriter.write(bytes, ConfigManager.getScreenshotPath(), baseName, includeTimestamp);
     }
 }
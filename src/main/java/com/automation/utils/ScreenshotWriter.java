@@ -0,0 +1,189 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded background writer for captured screenshot bytes.
+ * Files are written through a FileChannel, optionally downscaled (screenshot.scale) and re-encoded
+ * (screenshot.format). When screenshot.writer.queue.size writes are pending, or a write races with
+ * {@link #shutdown}, the capturing thread writes the file itself, so every returned future completes.
+ */
+public class ScreenshotWriter {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotWriter.class);
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    /**
+     * Runs a rejected write on the submitting thread. Unlike CallerRunsPolicy it also runs writes rejected
+     * because the pool was shut down after the caller got it, which CallerRunsPolicy would silently drop,
+     * leaving the write's future incomplete forever.
+     */
+    static final RejectedExecutionHandler RUN_ON_CALLER = (runnable, pool) -> runnable.run();
+
+    private static volatile ThreadPoolExecutor executor;
+
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong failed = new AtomicLong();
+    private static final AtomicLong bytesWritten = new AtomicLong();
+    private static final AtomicLong writeMillis = new AtomicLong();
+
+    /**
+     * Queue a screenshot for writing
+     * @param bytes Captured PNG bytes
+     * @param directory Output directory
+     * @param baseName File name without extension
+     * @param unique true to never overwrite an existing file (a sequence suffix is added on collision)
+     * @return Future completing with the written file path, or null if writing failed
+     */
+    public static CompletableFuture<String> write(byte[] bytes, String directory, String baseName, boolean unique) {
+        return CompletableFuture.supplyAsync(() -> writeNow(bytes, directory, baseName, unique), getExecutor());
+    }
+
+    /**
+     * Get the file extension screenshots are written with
+     * @return Extension without dot (png or jpg)
+     */
+    public static String getExtension() {
+        String format = ConfigManager.getProperty(ConfigKey.SCREENSHOT_FORMAT).toLowerCase();
+        return format.equals("jpg") || format.equals("jpeg") ? "jpg" : "png";
+    }
+
+    /**
+     * Wait for all queued screenshots to be written and stop the writer threads
+     * @param timeoutSeconds Maximum time to wait
+     */
+    public static synchronized void shutdown(long timeoutSeconds) {
+        ThreadPoolExecutor current = executor;
+        if (current == null) {
+            return;
+        }
+        executor = null;
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                logger.warn("{} screenshot write(s) still pending after {}s", current.getQueue().size(), timeoutSeconds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Log written, failed and byte counters
+     */
+    public static void logStatistics() {
+        long count = written.get();
+        logger.info("Screenshot writer: {} written ({} KB, avg {} ms off the test thread), {} failed",
+                count, bytesWritten.get() / 1024, count == 0 ? 0 : writeMillis.get() / count, failed.get());
+    }
+
+    private static String writeNow(byte[] bytes, String directory, String baseName, boolean unique) {
+        long start = System.nanoTime();
+        try {
+            byte[] encoded = encode(bytes);
+            Path dir = Paths.get(directory);
+            Files.createDirectories(dir);
+            String extension = "." + getExtension();
+            Path target = dir.resolve(baseName + extension);
+            for (int attempt = 1; ; attempt++) {
+                try (FileChannel channel = unique
+                        ? FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)
+                        : FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                StandardOpenOption.TRUNCATE_EXISTING)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(encoded);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    break;
+                } catch (FileAlreadyExistsException e) {
+                    target = dir.resolve(baseName + "_" + attempt + extension);
+                }
+            }
+            written.incrementAndGet();
+            bytesWritten.addAndGet(encoded.length);
+            writeMillis.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            logger.info("Screenshot captured: {}", target);
+            return target.toString();
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            logger.error("Failed to write screenshot: {}", baseName, e);
+            return null;
+        }
+    }
+
+    /**
+     * Downscale and re-encode the captured PNG if configured; otherwise return it unchanged
+     * @param png Captured PNG bytes
+     * @return Bytes to write
+     */
+    private static byte[] encode(byte[] png) throws IOException {
+        double scale = ConfigManager.getDoubleProperty(ConfigKey.SCREENSHOT_SCALE);
+        String extension = getExtension();
+        if (scale >= 1.0 && extension.equals("png")) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Screenshot is not a readable image");
+        }
+        int width = Math.max(1, (int) Math.round(image.getWidth() * Math.min(scale, 1.0)));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * Math.min(scale, 1.0)));
+        // JPEG has no alpha channel, so draw onto an RGB image in either case
+        BufferedImage output = new BufferedImage(width, height,
+                extension.equals("jpg") ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = output.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(png.length);
+        ImageIO.write(output, extension, out);
+        return out.toByteArray();
+    }
+
+    private static ThreadPoolExecutor getExecutor() {
+        ThreadPoolExecutor current = executor;
+        if (current == null) {
+            synchronized (ScreenshotWriter.class) {
+                current = executor;
+                if (current == null) {
+                    int threads = Math.max(1, ConfigManager.getIntProperty(ConfigKey.SCREENSHOT_WRITER_THREADS));
+                    int queueSize = Math.max(1, ConfigManager.getIntProperty(ConfigKey.SCREENSHOT_WRITER_QUEUE_SIZE));
+                    current = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                            new ArrayBlockingQueue<>(queueSize), runnable -> {
+                                Thread thread = new Thread(runnable, "screenshot-writer-" + threadCount.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            }, RUN_ON_CALLER);
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,278 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.automation.drivers.DriverManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Wait engine polling with adaptive backoff and the implicit wait disabled.
+ * Polls start fast (wait.poll.initial.ms) and slow down by wait.poll.multiplier up to wait.poll.max.ms,
+ * several locators can be waited for in a single polling loop, and the time each locator took to
+ * appear is recorded so poll intervals can be tuned from real data.
+ */
+public class WaitEngine {
+    private static final Logger logger = LoggerFactory.getLogger(WaitEngine.class);
+    private static final Map<String, LocatorStats> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Element state a locator has to reach
+     */
+    public enum Condition {
+        PRESENT,
+        VISIBLE,
+        CLICKABLE
+    }
+
+    /**
+     * Locator that satisfied a wait together with the matching element
+     */
+    public static final class Match {
+        private final By locator;
+        private final WebElement element;
+
+        private Match(By locator, WebElement element) {
+            this.locator = locator;
+            this.element = element;
+        }
+
+        public By getLocator() {
+            return locator;
+        }
+
+        public WebElement getElement() {
+            return element;
+        }
+    }
+
+    /**
+     * Wait for a single locator to reach a condition
+     * @param condition Condition to reach
+     * @param locator Element locator
+     * @param timeout Maximum time to wait
+     * @return Matching element
+     */
+    public static WebElement waitFor(Condition condition, By locator, Duration timeout) {
+        return waitForAny(condition, timeout, locator).getElement();
+    }
+
+    /**
+     * Wait until any of the locators reaches a condition, polling all of them in one loop
+     * @param condition Condition to reach
+     * @param timeout Maximum time to wait
+     * @param locators Candidate locators, checked in order on every poll
+     * @return First locator that matched and its element
+     */
+    public static Match waitForAny(Condition condition, Duration timeout, By... locators) {
+        long start = System.nanoTime();
+        try {
+            Match match = until(timeout, "any of " + Arrays.toString(locators) + " to be " + condition, () -> {
+                for (By locator : locators) {
+                    WebElement element = find(condition, locator);
+                    if (element != null) {
+                        return new Match(locator, element);
+                    }
+                }
+                return null;
+            });
+            record(match.getLocator(), condition, System.nanoTime() - start, true);
+            return match;
+        } catch (TimeoutException e) {
+            for (By locator : locators) {
+                record(locator, condition, System.nanoTime() - start, false);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Wait until all locators reach a condition, polling all pending locators in one loop
+     * @param condition Condition to reach
+     * @param timeout Maximum time to wait
+     * @param locators Locators that must all match
+     * @return Matching element per locator, in the given order
+     */
+    public static Map<By, WebElement> waitForAll(Condition condition, Duration timeout, By... locators) {
+        long start = System.nanoTime();
+        Map<By, WebElement> found = new LinkedHashMap<>();
+        try {
+            until(timeout, "all of " + Arrays.toString(locators) + " to be " + condition, () -> {
+                for (By locator : locators) {
+                    if (!found.containsKey(locator)) {
+                        WebElement element = find(condition, locator);
+                        if (element != null) {
+                            found.put(locator, element);
+                            record(locator, condition, System.nanoTime() - start, true);
+                        }
+                    }
+                }
+                return found.size() == locators.length ? Boolean.TRUE : null;
+            });
+            return found;
+        } catch (TimeoutException e) {
+            for (By locator : locators) {
+                if (!found.containsKey(locator)) {
+                    record(locator, condition, System.nanoTime() - start, false);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Poll a probe with adaptive backoff until it returns a non-null, non-false value.
+     * The implicit wait is disabled while polling so a poll that finds nothing returns immediately.
+     * @param timeout Maximum time to wait
+     * @param description Description used in the timeout message
+     * @param probe Probe to evaluate; NoSuchElement and StaleElementReference exceptions count as "not yet"
+     * @param <T> Result type
+     * @return Probe result
+     */
+    public static <T> T until(Duration timeout, String description, Supplier<T> probe) {
+        long start = System.nanoTime();
+        try {
+            return PresenceProbe.withoutImplicitWait(() -> poll(timeout, description, probe));
+        } finally {
+            CommandMetrics.recordCommand("wait", null, System.nanoTime() - start);
+        }
+    }
+
+    private static <T> T poll(Duration timeout, String description, Supplier<T> probe) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long pollMillis = ConfigManager.getLongProperty(ConfigKey.WAIT_POLL_INITIAL_MS);
+        long maxPollMillis = ConfigManager.getLongProperty(ConfigKey.WAIT_POLL_MAX_MS);
+        double multiplier = ConfigManager.getDoubleProperty(ConfigKey.WAIT_POLL_MULTIPLIER);
+        int polls = 0;
+        while (true) {
+            polls++;
+            try {
+                T result = probe.get();
+                if (result != null && !Boolean.FALSE.equals(result)) {
+                    return result;
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                logger.trace("Ignoring {} while waiting for {}", e.getClass().getSimpleName(), description);
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                throw new TimeoutException(String.format("Expected condition failed: waiting for %s (tried for %d "
+                        + "second(s) with %d poll(s))", description, timeout.getSeconds(), polls));
+            }
+            sleep(Math.min(pollMillis, remainingMillis));
+            pollMillis = Math.min(maxPollMillis, (long) Math.ceil(pollMillis * multiplier));
+        }
+    }
+
+    /**
+     * Get time-to-appear statistics per locator and condition
+     * @return Statistics keyed by "condition locator", sorted by key
+     */
+    public static Map<String, LocatorStats> getStatistics() {
+        return Collections.unmodifiableMap(new TreeMap<>(statistics));
+    }
+
+    /**
+     * Log time-to-appear statistics for every locator waited on
+     */
+    public static void logStatistics() {
+        if (statistics.isEmpty()) {
+            return;
+        }
+        logger.info("Wait statistics (time to appear per locator):");
+        getStatistics().forEach((key, stats) -> logger.info("  {}: {}", key, stats));
+    }
+
+    /**
+     * Evaluate a condition for one locator without waiting
+     * @param condition Condition to check
+     * @param locator Element locator
+     * @return Matching element, or null if none matches yet
+     */
+    private static WebElement find(Condition condition, By locator) {
+        List<WebElement> elements = DriverManager.getDriver().findElements(locator);
+        for (WebElement element : elements) {
+            if (condition == Condition.PRESENT) {
+                return element;
+            }
+            if (element.isDisplayed() && (condition == Condition.VISIBLE || element.isEnabled())) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    private static void record(By locator, Condition condition, long elapsedNanos, boolean appeared) {
+        statistics.computeIfAbsent(condition + " " + locator, key -> new LocatorStats())
+                .record(TimeUnit.NANOSECONDS.toMillis(elapsedNanos), appeared);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    /**
+     * Time-to-appear statistics for one locator
+     */
+    public static final class LocatorStats {
+        private long appeared;
+        private long timedOut;
+        private long totalMillis;
+        private long minMillis = Long.MAX_VALUE;
+        private long maxMillis;
+
+        private synchronized void record(long millis, boolean hasAppeared) {
+            if (!hasAppeared) {
+                timedOut++;
+                return;
+            }
+            appeared++;
+            totalMillis += millis;
+            minMillis = Math.min(minMillis, millis);
+            maxMillis = Math.max(maxMillis, millis);
+        }
+
+        public synchronized long getAppeared() {
+            return appeared;
+        }
+
+        public synchronized long getTimedOut() {
+            return timedOut;
+        }
+
+        public synchronized long getMeanMillis() {
+            return appeared == 0 ? 0 : totalMillis / appeared;
+        }
+
+        public synchronized long getMaxMillis() {
+            return maxMillis;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("appeared=%d timedOut=%d min=%dms mean=%dms max=%dms", appeared, timedOut,
+                    appeared == 0 ? 0 : minMillis, getMeanMillis(), maxMillis);
+        }
+    }
+}
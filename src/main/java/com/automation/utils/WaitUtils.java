@@ -2,31 +2,27 @@ package com.automation.utils;
 
 import com.automation.config.ConfigManager;
 import com.automation.drivers.DriverManager;
-import io.appium.java_client.AppiumDriver;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.Map;
 
 /**
- * Wait utility for explicit waits and element interactions
+ * Wait utility for explicit waits and element interactions.
+ * Waits are delegated to {@link WaitEngine}, which polls with adaptive backoff.
  */
 public class WaitUtils {
     private static final Logger logger = LoggerFactory.getLogger(WaitUtils.class);
-    private static final int DEFAULT_TIMEOUT = Integer.parseInt(
-            ConfigManager.getProperty("explicit.wait", "20"));
-
     /**
      * Wait for element to be visible
      * @param locator Element locator
      * @return WebElement
      */
     public static WebElement waitForElementVisible(By locator) {
-        return waitForElementVisible(locator, DEFAULT_TIMEOUT);
+        return waitForElementVisible(locator, ConfigManager.getExplicitWait());
     }
 
     /**
@@ -37,11 +33,10 @@ public class WaitUtils {
      */
     public static WebElement waitForElementVisible(By locator, int timeoutInSeconds) {
         logger.debug("Waiting for element to be visible: {}", locator);
-        AppiumDriver driver = DriverManager.getDriver();
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
         
         try {
-            WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            WebElement element = WaitEngine.waitFor(WaitEngine.Condition.VISIBLE, locator,
+                    Duration.ofSeconds(timeoutInSeconds));
             logger.debug("Element is visible: {}", locator);
             return element;
         } catch (Exception e) {
@@ -56,7 +51,7 @@ public class WaitUtils {
      * @return WebElement
      */
     public static WebElement waitForElementClickable(By locator) {
-        return waitForElementClickable(locator, DEFAULT_TIMEOUT);
+        return waitForElementClickable(locator, ConfigManager.getExplicitWait());
     }
 
     /**
@@ -67,11 +62,10 @@ public class WaitUtils {
      */
     public static WebElement waitForElementClickable(By locator, int timeoutInSeconds) {
         logger.debug("Waiting for element to be clickable: {}", locator);
-        AppiumDriver driver = DriverManager.getDriver();
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
         
         try {
-            WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
+            WebElement element = WaitEngine.waitFor(WaitEngine.Condition.CLICKABLE, locator,
+                    Duration.ofSeconds(timeoutInSeconds));
             logger.debug("Element is clickable: {}", locator);
             return element;
         } catch (Exception e) {
@@ -86,7 +80,7 @@ public class WaitUtils {
      * @return WebElement
      */
     public static WebElement waitForElementPresent(By locator) {
-        return waitForElementPresent(locator, DEFAULT_TIMEOUT);
+        return waitForElementPresent(locator, ConfigManager.getExplicitWait());
     }
 
     /**
@@ -97,11 +91,10 @@ public class WaitUtils {
      */
     public static WebElement waitForElementPresent(By locator, int timeoutInSeconds) {
         logger.debug("Waiting for element to be present: {}", locator);
-        AppiumDriver driver = DriverManager.getDriver();
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
         
         try {
-            WebElement element = wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+            WebElement element = WaitEngine.waitFor(WaitEngine.Condition.PRESENT, locator,
+                    Duration.ofSeconds(timeoutInSeconds));
             logger.debug("Element is present: {}", locator);
             return element;
         } catch (Exception e) {
@@ -115,7 +108,7 @@ public class WaitUtils {
      * @param locator Element locator
      */
     public static void waitForElementInvisible(By locator) {
-        waitForElementInvisible(locator, DEFAULT_TIMEOUT);
+        waitForElementInvisible(locator, ConfigManager.getExplicitWait());
     }
 
     /**
@@ -125,11 +118,10 @@ public class WaitUtils {
      */
     public static void waitForElementInvisible(By locator, int timeoutInSeconds) {
         logger.debug("Waiting for element to be invisible: {}", locator);
-        AppiumDriver driver = DriverManager.getDriver();
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
         
         try {
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            WaitEngine.until(Duration.ofSeconds(timeoutInSeconds), "invisibility of " + locator,
+                    () -> DriverManager.getDriver().findElements(locator).stream().noneMatch(WebElement::isDisplayed));
             logger.debug("Element is invisible: {}", locator);
         } catch (Exception e) {
             logger.error("Element still visible after {} seconds: {}", timeoutInSeconds, locator, e);
@@ -137,6 +129,53 @@ public class WaitUtils {
         }
     }
 
+    /**
+     * Check that no element matches the locator, in a single round trip without implicit wait
+     * @param locator Element locator
+     * @return true if absent, false otherwise
+     */
+    public static boolean isElementAbsent(By locator) {
+        boolean absent = PresenceProbe.isAbsent(locator);
+        logger.debug("Element absent: {} = {}", locator, absent);
+        return absent;
+    }
+
+    /**
+     * Check that an element matches the locator, in a single round trip without implicit wait
+     * @param locator Element locator
+     * @return true if present, false otherwise
+     */
+    public static boolean isElementPresent(By locator) {
+        boolean present = PresenceProbe.isPresent(locator);
+        logger.debug("Element present: {} = {}", locator, present);
+        return present;
+    }
+
+    /**
+     * Wait until any of the locators is visible, polling all of them in one loop
+     * @param timeoutInSeconds Timeout in seconds
+     * @param locators Candidate locators
+     * @return Locator that became visible first and its element
+     */
+    public static WaitEngine.Match waitForAnyVisible(int timeoutInSeconds, By... locators) {
+        logger.debug("Waiting for any element to be visible: {}", (Object) locators);
+        WaitEngine.Match match = WaitEngine.waitForAny(WaitEngine.Condition.VISIBLE,
+                Duration.ofSeconds(timeoutInSeconds), locators);
+        logger.debug("Element is visible: {}", match.getLocator());
+        return match;
+    }
+
+    /**
+     * Wait until all locators are visible, polling all of them in one loop
+     * @param timeoutInSeconds Timeout in seconds
+     * @param locators Locators that must all be visible
+     * @return Visible element per locator
+     */
+    public static Map<By, WebElement> waitForAllVisible(int timeoutInSeconds, By... locators) {
+        logger.debug("Waiting for all elements to be visible: {}", (Object) locators);
+        return WaitEngine.waitForAll(WaitEngine.Condition.VISIBLE, Duration.ofSeconds(timeoutInSeconds), locators);
+    }
+
     /**
      * Custom wait with specified duration
      * @param seconds Number of seconds to wait
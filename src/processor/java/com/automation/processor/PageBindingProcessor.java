@@ -0,0 +1,288 @@
+package com.automation.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor generating a &lt;PageClass&gt;_PageBinder for every BasePage subclass whose
+ * WebElement fields are annotated with @AndroidFindBy / @iOSXCUITFindBy.
+ * The binder holds a static locator table per platform and assigns the fields directly, so page
+ * construction needs no field scanning or annotation parsing at runtime. Pages the binder cannot
+ * handle (private/static/final fields, non-WebElement fields, multi-locator annotations, inherited
+ * annotated fields) get no binder and keep using PageFactory; a note explains why.
+ */
+@SupportedAnnotationTypes({PageBindingProcessor.ANDROID_FIND_BY, PageBindingProcessor.IOS_FIND_BY})
+public class PageBindingProcessor extends AbstractProcessor {
+    static final String ANDROID_FIND_BY = "io.appium.java_client.pagefactory.AndroidFindBy";
+    static final String IOS_FIND_BY = "io.appium.java_client.pagefactory.iOSXCUITFindBy";
+    private static final String PAGES_PACKAGE = "com.automation.pages";
+    private static final String BASE_PAGE = PAGES_PACKAGE + ".BasePage";
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+    private static final String BINDER_SUFFIX = "_PageBinder";
+    private static final List<String> UNSUPPORTED_ANNOTATIONS = Arrays.asList(
+            "io.appium.java_client.pagefactory.AndroidFindBys",
+            "io.appium.java_client.pagefactory.AndroidFindAll",
+            "io.appium.java_client.pagefactory.AndroidFindBySet",
+            "io.appium.java_client.pagefactory.iOSXCUITFindBys",
+            "io.appium.java_client.pagefactory.iOSXCUITFindAll",
+            "io.appium.java_client.pagefactory.iOSXCUITFindBySet",
+            "org.openqa.selenium.support.FindBy",
+            "org.openqa.selenium.support.FindBys",
+            "org.openqa.selenium.support.FindAll");
+
+    /** AppiumBy / By factory method per annotation member, as used by Appium's DefaultElementByBuilder */
+    private static final Map<String, String> STRATEGIES = new LinkedHashMap<>();
+
+    static {
+        STRATEGIES.put("id", "AppiumBy.id");
+        STRATEGIES.put("accessibility", "AppiumBy.accessibilityId");
+        STRATEGIES.put("className", "AppiumBy.className");
+        STRATEGIES.put("tagName", "By.tagName");
+        STRATEGIES.put("xpath", "AppiumBy.xpath");
+        STRATEGIES.put("uiAutomator", "AppiumBy.androidUIAutomator");
+        STRATEGIES.put("androidDataMatcher", "AppiumBy.androidDataMatcher");
+        STRATEGIES.put("androidViewMatcher", "AppiumBy.androidViewMatcher");
+        STRATEGIES.put("iOSClassChain", "AppiumBy.iOSClassChain");
+        STRATEGIES.put("iOSNsPredicate", "AppiumBy.iOSNsPredicateString");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, List<VariableElement>> pages = new LinkedHashMap<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD) {
+                    List<VariableElement> fields = pages.computeIfAbsent((TypeElement) element.getEnclosingElement(),
+                            key -> new ArrayList<>());
+                    if (!fields.contains(element)) {
+                        fields.add((VariableElement) element);
+                    }
+                }
+            }
+        }
+        TypeElement basePage = processingEnv.getElementUtils().getTypeElement(BASE_PAGE);
+        for (Map.Entry<TypeElement, List<VariableElement>> page : pages.entrySet()) {
+            if (basePage != null && isPage(page.getKey(), basePage)) {
+                generate(page.getKey(), page.getValue());
+            }
+        }
+        return false;
+    }
+
+    private boolean isPage(TypeElement type, TypeElement basePage) {
+        return processingEnv.getTypeUtils().isSubtype(processingEnv.getTypeUtils().erasure(type.asType()),
+                processingEnv.getTypeUtils().erasure(basePage.asType()));
+    }
+
+    /**
+     * Generate the binder of one page class
+     * @param page Page class
+     * @param fields Annotated fields declared by the page
+     */
+    private void generate(TypeElement page, List<VariableElement> fields) {
+        String reason = unsupportedReason(page, fields);
+        if (reason != null) {
+            note(page, "No page binder generated for " + page.getQualifiedName() + " (" + reason
+                    + "), PageFactory is used instead");
+            return;
+        }
+        List<String> androidLocators = new ArrayList<>();
+        List<String> iosLocators = new ArrayList<>();
+        for (VariableElement field : fields) {
+            String android = locatorExpression(field, ANDROID_FIND_BY);
+            String ios = locatorExpression(field, IOS_FIND_BY);
+            if (android == null || ios == null) {
+                note(field, "No page binder generated for " + page.getQualifiedName() + " (" + field.getSimpleName()
+                        + " must set exactly one locator strategy per annotation), PageFactory is used instead");
+                return;
+            }
+            androidLocators.add(android);
+            iosLocators.add(ios);
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(page).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(page).toString();
+        String binderName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+                .replace('$', '_') + BINDER_SUFFIX;
+        String pageName = page.getQualifiedName().toString();
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        if (!packageName.equals(PAGES_PACKAGE)) {
+            source.append("import ").append(PAGES_PACKAGE).append(".PageBinder;\n");
+        }
+        source.append("import io.appium.java_client.AppiumBy;\n")
+                .append("import org.openqa.selenium.By;\n")
+                .append("import org.openqa.selenium.WebElement;\n\n")
+                .append("import javax.annotation.processing.Generated;\n")
+                .append("import java.util.function.Function;\n\n")
+                .append("/**\n * Generated page binding for {@link ").append(pageName).append("}. Do not edit.\n */\n")
+                .append("@Generated(\"").append(PageBindingProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(binderName).append(" implements PageBinder<")
+                .append(pageName).append("> {\n")
+                .append("    private static final String[] FIELDS = {").append(join(fields)).append("};\n")
+                .append("    private static final By[] ANDROID_LOCATORS = {").append(String.join(", ", androidLocators))
+                .append("};\n")
+                .append("    private static final By[] IOS_LOCATORS = {").append(String.join(", ", iosLocators))
+                .append("};\n\n")
+                .append("    @Override\n")
+                .append("    public void bind(").append(pageName).append(" page, boolean android, ")
+                .append("Function<By, WebElement> elementFactory) {\n")
+                .append("        By[] locators = android ? ANDROID_LOCATORS : IOS_LOCATORS;\n");
+        for (int i = 0; i < fields.size(); i++) {
+            source.append("        if (locators[").append(i).append("] != null) {\n")
+                    .append("            page.").append(fields.get(i).getSimpleName())
+                    .append(" = elementFactory.apply(locators[").append(i).append("]);\n")
+                    .append("        }\n");
+        }
+        source.append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public By getLocator(String fieldName, boolean android) {\n")
+                .append("        for (int i = 0; i < FIELDS.length; i++) {\n")
+                .append("            if (FIELDS[i].equals(fieldName)) {\n")
+                .append("                return android ? ANDROID_LOCATORS[i] : IOS_LOCATORS[i];\n")
+                .append("            }\n")
+                .append("        }\n")
+                .append("        return null;\n")
+                .append("    }\n")
+                .append("}\n");
+
+        String qualifiedBinderName = packageName.isEmpty() ? binderName : packageName + "." + binderName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedBinderName, page).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write page binder " + qualifiedBinderName + ": " + e.getMessage(), page);
+        }
+    }
+
+    /**
+     * Check whether the generated binder can assign all annotated fields of the page
+     * @param page Page class
+     * @param fields Annotated fields declared by the page
+     * @return Reason the page is not supported, or null if it is
+     */
+    private String unsupportedReason(TypeElement page, List<VariableElement> fields) {
+        if (page.getModifiers().contains(Modifier.PRIVATE)
+                || (page.getNestingKind().isNested() && !page.getModifiers().contains(Modifier.STATIC))) {
+            return "page class must be top-level or a non-private static nested class";
+        }
+        for (VariableElement field : fields) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)
+                    || modifiers.contains(Modifier.FINAL)) {
+                return field.getSimpleName() + " is private, static or final";
+            }
+            if (!isWebElement(field.asType())) {
+                return field.getSimpleName() + " is not a WebElement";
+            }
+            for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+                if (UNSUPPORTED_ANNOTATIONS.contains(annotationName(mirror))) {
+                    return field.getSimpleName() + " uses @" + mirror.getAnnotationType().asElement().getSimpleName();
+                }
+            }
+        }
+        TypeMirror superclass = page.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement type = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (type.getQualifiedName().contentEquals(BASE_PAGE)) {
+                break;
+            }
+            for (Element member : type.getEnclosedElements()) {
+                if (member.getKind() == ElementKind.FIELD && (findAnnotation(member, ANDROID_FIND_BY) != null
+                        || findAnnotation(member, IOS_FIND_BY) != null)) {
+                    return "inherits annotated field " + type.getSimpleName() + "." + member.getSimpleName();
+                }
+            }
+            superclass = type.getSuperclass();
+        }
+        return null;
+    }
+
+    /**
+     * Build the Java expression creating the locator of one field for one platform
+     * @param field Annotated field
+     * @param annotationName Platform annotation
+     * @return Locator expression, "null" if the field has no annotation for the platform, or null if the
+     *         annotation does not set exactly one strategy
+     */
+    private String locatorExpression(VariableElement field, String annotationName) {
+        AnnotationMirror annotation = findAnnotation(field, annotationName);
+        if (annotation == null) {
+            return "null";
+        }
+        String expression = null;
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> member
+                : annotation.getElementValues().entrySet()) {
+            String strategy = STRATEGIES.get(member.getKey().getSimpleName().toString());
+            Object value = member.getValue().getValue();
+            if (strategy == null || !(value instanceof String) || ((String) value).isEmpty()) {
+                continue;
+            }
+            if (expression != null) {
+                return null;
+            }
+            expression = strategy + "(" + processingEnv.getElementUtils().getConstantExpression(value) + ")";
+        }
+        return expression;
+    }
+
+    private AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (annotationName(mirror).equals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static String annotationName(AnnotationMirror mirror) {
+        return ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private static boolean isWebElement(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(WEB_ELEMENT);
+    }
+
+    private static String join(List<VariableElement> fields) {
+        StringBuilder names = new StringBuilder();
+        for (VariableElement field : fields) {
+            names.append(names.length() == 0 ? "" : ", ").append('"').append(field.getSimpleName()).append('"');
+        }
+        return names.toString();
+    }
+
+    private void note(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, element);
+    }
+}
@@ -0,0 +1,96 @@
+package com.automation.config;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Typed parsing in {@link ConfigSnapshot} and overrides in {@link ConfigManager}
+ */
+public class ConfigSnapshotTest {
+
+    @Test
+    public void unsetKeysHaveTheirDefaults() {
+        ConfigSnapshot snapshot = new ConfigSnapshot(properties());
+
+        assertEquals(snapshot.getInt(ConfigKey.DRIVER_POOL_SIZE), 0);
+        assertEquals(snapshot.getLong(ConfigKey.WAIT_POLL_INITIAL_MS), 50L);
+        assertEquals(snapshot.getDouble(ConfigKey.WAIT_POLL_MULTIPLIER), 1.5);
+        assertTrue(snapshot.getBoolean(ConfigKey.ELEMENT_CACHE_ENABLED));
+        assertEquals(snapshot.getString(ConfigKey.SCENARIO_ORDER), "duration");
+        assertNull(snapshot.getString(ConfigKey.ANDROID_APP_PACKAGE));
+    }
+
+    @Test
+    public void valuesAreParsedOnce() {
+        ConfigSnapshot snapshot = new ConfigSnapshot(properties(
+                "driver.pool.size", " 4 ",
+                "locator.profiler.slow.ms", "120",
+                "scroll.distance.max", "0.5",
+                "element.cache.enabled", "FALSE",
+                "implicit.wait", ""));
+
+        assertEquals(snapshot.getInt(ConfigKey.DRIVER_POOL_SIZE), 4);
+        assertEquals(snapshot.getLong(ConfigKey.LOCATOR_PROFILER_SLOW_MS), 120L);
+        assertEquals(snapshot.getDouble(ConfigKey.SCROLL_DISTANCE_MAX), 0.5);
+        assertFalse(snapshot.getBoolean(ConfigKey.ELEMENT_CACHE_ENABLED));
+        assertEquals(snapshot.getImplicitWait(), 10);
+    }
+
+    @Test
+    public void malformedValuesFailTheSnapshot() {
+        expectThrows(IllegalStateException.class,
+                () -> new ConfigSnapshot(properties("driver.pool.size", "two")));
+        expectThrows(IllegalStateException.class,
+                () -> new ConfigSnapshot(properties("element.cache.enabled", "yes")));
+        expectThrows(IllegalStateException.class,
+                () -> new ConfigSnapshot(properties("platform.type", "windows")));
+    }
+
+    @Test
+    public void readingAKeyAsAnotherTypeFails() {
+        ConfigSnapshot snapshot = new ConfigSnapshot(properties());
+
+        expectThrows(IllegalArgumentException.class, () -> snapshot.getLong(ConfigKey.DRIVER_POOL_SIZE));
+    }
+
+    @Test
+    public void systemPropertiesOverrideKeysTheFileDoesNotSet() throws IOException {
+        Path file = Files.createTempFile("config", ".properties");
+        Files.write(file, Collections.singletonList("platform.type=android"));
+        System.setProperty("config.path", file.toString());
+        System.setProperty("history.default.duration.ms", "1234");
+        System.setProperty("settings.profile.unit-test.waitForIdleTimeout", "5");
+        try {
+            ConfigManager.reload();
+
+            assertEquals(ConfigManager.getLongProperty(ConfigKey.HISTORY_DEFAULT_DURATION_MS), 1234L);
+            assertEquals(ConfigManager.getProperty("settings.profile.unit-test.waitForIdleTimeout"), "5");
+        } finally {
+            System.clearProperty("config.path");
+            System.clearProperty("history.default.duration.ms");
+            System.clearProperty("settings.profile.unit-test.waitForIdleTimeout");
+            ConfigManager.reload();
+            Files.delete(file);
+        }
+    }
+
+    private static Properties properties(String... keyValues) {
+        Properties properties = new Properties();
+        properties.setProperty("platform.type", "android");
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return properties;
+    }
+}
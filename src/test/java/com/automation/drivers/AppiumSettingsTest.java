@@ -0,0 +1,152 @@
+package com.automation.drivers;
+
+import com.automation.config.ConfigManager;
+import com.automation.pages.BasePage;
+import com.automation.pages.ScrollEngine;
+import com.automation.pages.SettingsProfile;
+import io.appium.java_client.AppiumClientConfig;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.HasSettings;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * {@link AppiumSettings} profiles on the settings endpoint of the embedded {@link SimulatedAppiumServer}
+ * (Android defaults: waitForIdleTimeout and waitForSelectorTimeout 10000)
+ */
+public class AppiumSettingsTest {
+    private AppiumDriver driver;
+
+    static class PlainPage extends BasePage {
+        PlainPage(AppiumDriver driver) {
+            super(driver);
+        }
+
+        @Override
+        protected void scrollToElement(WebElement element, String elementName) {
+            ScrollEngine.scrollTo(driver, element, elementName);
+        }
+    }
+
+    @SettingsProfile("animated-screen")
+    static class AnimatedPage extends PlainPage {
+        AnimatedPage(AppiumDriver driver) {
+            super(driver);
+        }
+    }
+
+    @BeforeMethod
+    public void setUp() throws MalformedURLException {
+        MutableCapabilities capabilities = new MutableCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        capabilities.setCapability("appium:automationName", "UiAutomator2");
+        driver = new AndroidDriver(new InstrumentedCommandExecutor(AppiumClientConfig.defaultConfig()
+                .baseUrl(new URL(SimulatedAppiumServer.start().getUrl())), null), capabilities);
+        ScenarioContext.open();
+        DriverManager.setDriver(driver);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        AppiumSettings.restore();
+        ScenarioContext.close();
+        if (driver != null) {
+            driver.quit();
+            driver = null;
+        }
+    }
+
+    @Test
+    public void pageProfileIsReplacedByTheNextPage() {
+        new AnimatedPage(driver);
+        assertEquals(setting("waitForIdleTimeout"), 100);
+
+        new PlainPage(driver);
+        assertEquals(setting("waitForIdleTimeout"), 10000);
+    }
+
+    @Test
+    public void scopeRevertsToThePageProfile() {
+        new AnimatedPage(driver);
+
+        try (AppiumSettings.Scope ignored = AppiumSettings.activate("fast-static-screen")) {
+            assertEquals(setting("waitForIdleTimeout"), 0);
+            assertEquals(setting("waitForSelectorTimeout"), 0);
+        }
+
+        assertEquals(setting("waitForIdleTimeout"), 100);
+        assertEquals(setting("waitForSelectorTimeout"), 10000);
+    }
+
+    @Test
+    public void scenarioEndRestoresTheDefaults() {
+        new AnimatedPage(driver);
+        AppiumSettings.activate("fast-static-screen");
+
+        assertTrue(AppiumSettings.restore());
+
+        assertEquals(setting("waitForIdleTimeout"), 10000);
+        assertEquals(setting("waitForSelectorTimeout"), 10000);
+    }
+
+    @Test
+    public void failedRestoreAsksForEviction() {
+        AppiumSettings.activate("fast-static-screen");
+        SimulatedAppiumServer.start().expireSession(String.valueOf(driver.getSessionId()));
+
+        assertFalse(AppiumSettings.restore());
+        assertTrue(AppiumSettings.restore(), "nothing left to restore");
+        driver = null;
+    }
+
+    @Test
+    public void platformKeysOverrideCommonKeys() {
+        System.setProperty("settings.profile.unit-test.waitForIdleTimeout", "5");
+        System.setProperty("settings.profile.unit-test.android.waitForIdleTimeout", "7");
+        System.setProperty("settings.profile.unit-test.ios.snapshotMaxDepth", "9");
+        System.setProperty("settings.profile.unit-test-ios.ios.snapshotMaxDepth", "9");
+        try {
+            ConfigManager.reload();
+
+            assertEquals(AppiumSettings.getProfile("unit-test"), Collections.singletonMap("waitForIdleTimeout", 7L));
+            assertTrue(AppiumSettings.getProfile("unit-test-ios").isEmpty());
+            expectThrows(IllegalStateException.class, () -> AppiumSettings.getProfile("undeclared"));
+        } finally {
+            System.clearProperty("settings.profile.unit-test.waitForIdleTimeout");
+            System.clearProperty("settings.profile.unit-test.android.waitForIdleTimeout");
+            System.clearProperty("settings.profile.unit-test.ios.snapshotMaxDepth");
+            System.clearProperty("settings.profile.unit-test-ios.ios.snapshotMaxDepth");
+            ConfigManager.reload();
+        }
+    }
+
+    @Test
+    public void profilesAreParsedOncePerSnapshot() {
+        Map<String, Object> profile = AppiumSettings.getProfile("animated-screen");
+
+        assertSame(AppiumSettings.getProfile("animated-screen"), profile);
+        ConfigManager.reload();
+        assertNotSame(AppiumSettings.getProfile("animated-screen"), profile);
+        assertEquals(AppiumSettings.getProfile("animated-screen"), profile);
+    }
+
+    private long setting(String name) {
+        return ((Number) ((HasSettings) driver).getSettings().get(name)).longValue();
+    }
+}
@@ -0,0 +1,99 @@
+package com.automation.drivers;
+
+import com.automation.config.ConfigManager;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * {@link DeviceManager} exclusive leasing with more workers than devices in the inventory
+ */
+public class DeviceManagerTest {
+    private ExecutorService workers;
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+        System.clearProperty("device.lease.timeout");
+        ConfigManager.reload();
+    }
+
+    @Test
+    public void concurrentWorkersNeverHoldTheSameDevice() throws Exception {
+        int threads = DeviceManager.getDeviceCount() + 3;
+        workers = Executors.newFixedThreadPool(threads);
+        Map<String, String> holders = new ConcurrentHashMap<>();
+        AtomicInteger leases = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        System.setProperty("device.lease.timeout", "10");
+        ConfigManager.reload();
+
+        for (int i = 0; i < threads; i++) {
+            results.add(workers.submit(() -> {
+                start.await();
+                for (int lease = 0; lease < 3; lease++) {
+                    Device device = DeviceManager.acquire();
+                    try {
+                        assertNull(holders.putIfAbsent(device.getId(), Thread.currentThread().getName()),
+                                "Device " + device + " held twice");
+                        leases.incrementAndGet();
+                        Thread.sleep(20);
+                    } finally {
+                        holders.remove(device.getId());
+                        DeviceManager.release(device);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+
+        assertEquals(leases.get(), threads * 3);
+    }
+
+    @Test
+    public void waiterTimesOutWhileEveryDeviceIsLeased() throws Exception {
+        System.setProperty("device.lease.timeout", "1");
+        ConfigManager.reload();
+        List<Device> leased = new ArrayList<>();
+        for (int i = 0; i < DeviceManager.getDeviceCount(); i++) {
+            leased.add(DeviceManager.acquire());
+        }
+        workers = Executors.newSingleThreadExecutor();
+        try {
+            long start = System.nanoTime();
+            Future<Device> waiter = workers.submit(DeviceManager::acquire);
+
+            Exception error = expectThrows(Exception.class, () -> waiter.get(10, TimeUnit.SECONDS));
+
+            long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(error.getCause() instanceof IllegalStateException, String.valueOf(error));
+            assertTrue(waitedMillis >= 900, "waited " + waitedMillis + " ms for a 1 s lease timeout");
+        } finally {
+            for (Device device : leased) {
+                DeviceManager.release(device);
+            }
+        }
+    }
+}
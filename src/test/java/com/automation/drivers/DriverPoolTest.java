@@ -0,0 +1,213 @@
+package com.automation.drivers;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.MutableCapabilities;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * {@link DriverPool} against sessions on the embedded {@link SimulatedAppiumServer}
+ */
+public class DriverPoolTest {
+    private static final long NO_HEALTH_CHECK = Long.MAX_VALUE / 2;
+
+    private SimulatedAppiumServer server;
+    private final List<AppiumDriver> disposed = new ArrayList<>();
+    private DriverPool pool;
+
+    @BeforeMethod
+    public void setUp() {
+        server = SimulatedAppiumServer.start();
+        disposed.clear();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    @Test
+    public void warmUpCreatesSessionsUpToThePoolSize() {
+        pool = newPool(2, 25, 1000, NO_HEALTH_CHECK);
+        pool.warmUp();
+
+        assertEquals(pool.getSessionsCreated(), 2);
+        assertEquals(pool.getSessionsSaved(), 0);
+    }
+
+    @Test
+    public void savedCreationsAreLeasesMinusSessionsCreated() {
+        pool = newPool(2, 25, 1000, NO_HEALTH_CHECK);
+        pool.warmUp();
+        DriverPool.PooledSession first = pool.lease();
+        DriverPool.PooledSession second = pool.lease();
+        // Leasing each warmed-up session once only moved its creation before the suite
+        assertEquals(pool.getSessionsSaved(), 0);
+
+        pool.release(first, false);
+        pool.release(second, false);
+        for (int i = 0; i < 3; i++) {
+            pool.release(pool.lease(), false);
+        }
+
+        assertEquals(pool.getLeases(), 5);
+        assertEquals(pool.getSessionsCreated(), 2);
+        assertEquals(pool.getSessionsSaved(), 3);
+    }
+
+    @Test
+    public void evictedSessionIsQuitAndReplaced() {
+        pool = newPool(1, 25, 1000, NO_HEALTH_CHECK);
+        DriverPool.PooledSession session = pool.lease();
+        pool.release(session, true);
+
+        DriverPool.PooledSession replacement = pool.lease();
+
+        assertEquals(disposed.size(), 1);
+        assertSame(disposed.get(0), session.getDriver());
+        assertNotSame(replacement.getDriver(), session.getDriver());
+        assertEquals(pool.getSessionsCreated(), 2);
+        assertEquals(pool.getSessionsEvicted(), 1);
+    }
+
+    @Test
+    public void sessionIsEvictedAfterMaxUses() {
+        pool = newPool(1, 2, 1000, NO_HEALTH_CHECK);
+        DriverPool.PooledSession session = pool.lease();
+        pool.release(session, false);
+        assertSame(pool.lease(), session);
+        pool.release(session, false);
+
+        assertEquals(disposed.size(), 1);
+        assertEquals(pool.getSessionsEvicted(), 1);
+    }
+
+    @Test
+    public void leaseTimesOutWhenAllSessionsAreLeased() {
+        pool = newPool(1, 25, 200, NO_HEALTH_CHECK);
+        pool.lease();
+
+        long start = System.nanoTime();
+        expectThrows(IllegalStateException.class, pool::lease);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200);
+    }
+
+    @Test
+    public void recentlyIdleSessionIsLeasedWithoutRoundTrip() {
+        pool = newPool(1, 25, 1000, NO_HEALTH_CHECK);
+        pool.release(pool.lease(), false);
+
+        long commands = server.getCommandCount();
+        pool.lease();
+
+        assertEquals(server.getCommandCount(), commands);
+    }
+
+    @Test
+    public void longIdleSessionDroppedByTheServerIsReplaced() {
+        pool = newPool(1, 25, 1000, 0);
+        DriverPool.PooledSession session = pool.lease();
+        pool.release(session, false);
+        server.expireSession(session.getDriver().getSessionId().toString());
+
+        DriverPool.PooledSession replacement = pool.lease();
+
+        assertNotSame(replacement.getDriver(), session.getDriver());
+        assertEquals(pool.getSessionsEvicted(), 1);
+        assertEquals(pool.getSessionsCreated(), 2);
+    }
+
+    @Test
+    public void longIdleLiveSessionPassesTheHealthCheck() {
+        pool = newPool(1, 25, 1000, 0);
+        DriverPool.PooledSession session = pool.lease();
+        pool.release(session, false);
+
+        assertSame(pool.lease(), session);
+        assertEquals(pool.getSessionsEvicted(), 0);
+    }
+
+    @Test
+    public void concurrentLeasesNeverExceedThePoolSize() throws Exception {
+        pool = newPool(3, 1000, 10000, NO_HEALTH_CHECK);
+        AtomicInteger leased = new AtomicInteger();
+        AtomicInteger maxLeased = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int worker = 0; worker < 8; worker++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 10; i++) {
+                        DriverPool.PooledSession session = pool.lease();
+                        maxLeased.accumulateAndGet(leased.incrementAndGet(), Math::max);
+                        leased.decrementAndGet();
+                        pool.release(session, false);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(maxLeased.get() <= 3, "at most 3 sessions leased at once, was " + maxLeased.get());
+        assertTrue(pool.getSessionsCreated() <= 3);
+        assertEquals(pool.getLeases(), 80);
+        assertEquals(pool.getSessionsSaved(), 80 - pool.getSessionsCreated());
+    }
+
+    @Test
+    public void shutdownRejectsLeases() {
+        pool = newPool(1, 25, 1000, NO_HEALTH_CHECK);
+        pool.warmUp();
+        pool.shutdown();
+
+        assertEquals(disposed.size(), 1);
+        expectThrows(IllegalStateException.class, pool::lease);
+    }
+
+    private DriverPool newPool(int size, int maxUses, long leaseTimeoutMillis, long healthCheckIdleMillis) {
+        return new DriverPool(this::createSession, this::dispose, size, maxUses, leaseTimeoutMillis,
+                healthCheckIdleMillis);
+    }
+
+    private AppiumDriver createSession() {
+        MutableCapabilities capabilities = new MutableCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        capabilities.setCapability("appium:automationName", "UiAutomator2");
+        try {
+            return new AndroidDriver(new URL(server.getUrl()), capabilities);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private synchronized void dispose(AppiumDriver driver) {
+        disposed.add(driver);
+        driver.quit();
+    }
+}
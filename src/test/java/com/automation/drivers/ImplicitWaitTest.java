@@ -0,0 +1,104 @@
+package com.automation.drivers;
+
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumClientConfig;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.MutableCapabilities;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * {@link ImplicitWait} switching on sessions of the embedded {@link SimulatedAppiumServer}
+ */
+public class ImplicitWaitTest {
+    private static final Duration IMPLICIT_WAIT = Duration.ofSeconds(2);
+
+    private SimulatedAppiumServer server;
+    private AppiumDriver driver;
+
+    @BeforeMethod
+    public void setUp() {
+        server = SimulatedAppiumServer.start();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        if (driver != null) {
+            driver.quit();
+            driver = null;
+        }
+    }
+
+    @Test
+    public void managedSessionStaysAtZeroAcrossProbes() {
+        driver = createSession(true);
+        long switches = ImplicitWait.getSwitchCount();
+
+        for (int i = 0; i < 3; i++) {
+            ImplicitWait.withoutImplicitWait(driver, () -> driver.findElements(AppiumBy.id("missing")));
+        }
+
+        assertEquals(ImplicitWait.getSwitchCount() - switches, 1);
+        assertEquals(driver.manage().timeouts().getImplicitWaitTimeout(), Duration.ZERO);
+        assertEquals(ImplicitWait.get(driver), IMPLICIT_WAIT);
+    }
+
+    @Test
+    public void regularFindRestoresTheSessionImplicitWait() {
+        driver = createSession(true);
+        ImplicitWait.withoutImplicitWait(driver, () -> driver.findElements(AppiumBy.id("missing")));
+
+        driver.findElements(AppiumBy.id("missing"));
+
+        assertEquals(driver.manage().timeouts().getImplicitWaitTimeout(), IMPLICIT_WAIT);
+        long commands = server.getCommandCount();
+        driver.findElements(AppiumBy.id("missing"));
+        assertEquals(server.getCommandCount() - commands, 1, "no restore once the implicit wait is back");
+    }
+
+    @Test
+    public void implicitWaitSetByTheTestIsWhatGetsRestored() {
+        driver = createSession(true);
+        driver.manage().timeouts().implicitlyWait(Duration.ofMillis(500));
+        ImplicitWait.withoutImplicitWait(driver, () -> driver.findElements(AppiumBy.id("missing")));
+
+        driver.findElements(AppiumBy.id("missing"));
+
+        assertEquals(driver.manage().timeouts().getImplicitWaitTimeout(), Duration.ofMillis(500));
+    }
+
+    @Test
+    public void unmanagedSessionIsRestoredToItsOwnValueAfterEachProbe() {
+        driver = createSession(false);
+
+        ImplicitWait.withoutImplicitWait(driver, () -> driver.findElements(AppiumBy.id("missing")));
+
+        assertEquals(driver.manage().timeouts().getImplicitWaitTimeout(), IMPLICIT_WAIT);
+    }
+
+    private AppiumDriver createSession(boolean managed) {
+        MutableCapabilities capabilities = new MutableCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        capabilities.setCapability("appium:automationName", "UiAutomator2");
+        URL url;
+        try {
+            url = new URL(server.getUrl());
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+        AppiumDriver session = managed
+                ? new AndroidDriver(new InstrumentedCommandExecutor(AppiumClientConfig.defaultConfig().baseUrl(url),
+                        null), capabilities)
+                : new AndroidDriver(url, capabilities);
+        session.manage().timeouts().implicitlyWait(IMPLICIT_WAIT);
+        return session;
+    }
+}
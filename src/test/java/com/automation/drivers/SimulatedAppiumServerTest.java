@@ -0,0 +1,147 @@
+package com.automation.drivers;
+
+import com.automation.config.ConfigManager;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * {@link SimulatedAppiumServer} session and command endpoints, latency and jitter, driven over plain HTTP
+ */
+public class SimulatedAppiumServerTest {
+    private static final String UI_TREE = "<?xml version='1.0' encoding='UTF-8'?>"
+            + "<hierarchy width='1080' height='2340'>"
+            + "<android.widget.FrameLayout bounds='[0,0][1080,2340]'>"
+            + "<android.widget.EditText resource-id='app:id/username' text='Username' hint='Username'"
+            + " bounds='[90,640][990,790]'/>"
+            + "<android.widget.Button resource-id='app:id/login' text='Login' bounds='[90,1040][990,1190]'/>"
+            + "</android.widget.FrameLayout>"
+            + "</hierarchy>";
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private SimulatedAppiumServer server;
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+    }
+
+    @Test
+    public void sessionKeepsTypedTextPerElement() throws Exception {
+        server = SimulatedAppiumServer.create(UI_TREE, 0, 0);
+        String session = "/session/" + post("/session", "{\"capabilities\":{\"alwaysMatch\":"
+                + "{\"platformName\":\"Android\",\"appium:automationName\":\"UiAutomator2\"}}}")
+                .getAsJsonObject("value").get("sessionId").getAsString();
+        String element = session + "/element/" + post(session + "/element",
+                "{\"using\":\"id\",\"value\":\"app:id/username\"}").getAsJsonObject("value")
+                .get("element-6066-11e4-a52e-4f735466cecf").getAsString();
+
+        assertEquals(get(element + "/text").get("value").getAsString(), "Username");
+        assertEquals(get(element + "/attribute/hint").get("value").getAsString(), "Username");
+        post(element + "/clear", "{}");
+        post(element + "/value", "{\"text\":\"ali\"}");
+        post(element + "/value", "{\"text\":\"ce\"}");
+        assertEquals(get(element + "/text").get("value").getAsString(), "alice");
+        post(session + "/execute/sync", "{\"script\":\"mobile: replaceElementValue\",\"args\":[{\"elementId\":\""
+                + element.substring(element.lastIndexOf('/') + 1) + "\",\"text\":\"bob\"}]}");
+        assertEquals(get(element + "/text").get("value").getAsString(), "bob");
+        assertEquals(get(element + "/rect").getAsJsonObject("value").get("height").getAsInt(), 150);
+
+        assertEquals(send("DELETE", session, null).statusCode(), 200);
+        HttpResponse<String> expired = send("GET", element + "/text", null);
+        assertEquals(expired.statusCode(), 404);
+        assertTrue(expired.body().contains("invalid session id"), expired.body());
+    }
+
+    @Test
+    public void lookupErrorsFollowW3c() throws Exception {
+        server = SimulatedAppiumServer.create(UI_TREE, 0, 0);
+        String session = "/session/" + post("/session", "{}").getAsJsonObject("value").get("sessionId")
+                .getAsString();
+
+        HttpResponse<String> missing = send("POST", session + "/element",
+                "{\"using\":\"id\",\"value\":\"app:id/missing\"}");
+        HttpResponse<String> unsupported = send("POST", session + "/element",
+                "{\"using\":\"-custom\",\"value\":\"x\"}");
+        HttpResponse<String> none = send("POST", session + "/elements",
+                "{\"using\":\"id\",\"value\":\"app:id/missing\"}");
+
+        assertEquals(missing.statusCode(), 404);
+        assertTrue(missing.body().contains("no such element"), missing.body());
+        assertEquals(unsupported.statusCode(), 400);
+        assertEquals(none.statusCode(), 200);
+        assertEquals(JsonParser.parseString(none.body()).getAsJsonObject().getAsJsonArray("value").size(), 0);
+    }
+
+    @Test
+    public void everyCommandIsDelayedByLatencyPlusJitter() throws Exception {
+        server = SimulatedAppiumServer.create(UI_TREE, 50, 100);
+
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            get("/status");
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(millis >= 50 && millis < 150 + 500, millis + " ms");
+        }
+    }
+
+    @Test
+    public void commandsQueueBehindTheThreadLimit() throws Exception {
+        System.setProperty("simulator.threads", "2");
+        ConfigManager.reload();
+        try {
+            server = SimulatedAppiumServer.create(UI_TREE, 200, 0);
+        } finally {
+            System.clearProperty("simulator.threads");
+            ConfigManager.reload();
+        }
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            responses.add(http.sendAsync(HttpRequest.newBuilder(URI.create(server.getUrl() + "/status")).build(),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(response.get(10, TimeUnit.SECONDS).statusCode(), 200);
+        }
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(millis >= 400, "4 commands on 2 threads took " + millis + " ms");
+    }
+
+    private JsonObject get(String path) throws IOException, InterruptedException {
+        return JsonParser.parseString(send("GET", path, null).body()).getAsJsonObject();
+    }
+
+    private JsonObject post(String path, String body) throws IOException, InterruptedException {
+        HttpResponse<String> response = send("POST", path, body);
+        assertEquals(response.statusCode(), 200, response.body());
+        return JsonParser.parseString(response.body()).getAsJsonObject();
+    }
+
+    private HttpResponse<String> send(String method, String path, String body)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.getUrl() + path))
+                .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body)
+                        : HttpRequest.BodyPublishers.noBody())
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
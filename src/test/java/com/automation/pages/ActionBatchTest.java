@@ -0,0 +1,92 @@
+package com.automation.pages;
+
+import com.automation.config.ConfigManager;
+import com.automation.drivers.DriverManager;
+import com.automation.drivers.InstrumentedCommandExecutor;
+import com.automation.drivers.ScenarioContext;
+import com.automation.drivers.SimulatedAppiumServer;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumClientConfig;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriverException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * {@link ActionBatch} on the embedded {@link SimulatedAppiumServer}, which has no execute-driver support
+ */
+public class ActionBatchTest {
+    private AppiumDriver driver;
+
+    @BeforeMethod
+    public void setUp() throws MalformedURLException {
+        MutableCapabilities capabilities = new MutableCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        capabilities.setCapability("appium:automationName", "UiAutomator2");
+        driver = new AndroidDriver(new InstrumentedCommandExecutor(AppiumClientConfig.defaultConfig()
+                .baseUrl(new URL(SimulatedAppiumServer.start().getUrl())), null), capabilities);
+        ScenarioContext.open();
+        DriverManager.setDriver(driver);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        ScenarioContext.close();
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+
+    @Test
+    public void unsupportedServerRunsTheBatchSerially() {
+        SampleAndroidPage page = new SampleAndroidPage();
+
+        page.performLogin("alice", "secret");
+
+        assertEquals(driver.findElement(AppiumBy.id("com.example.app:id/username")).getText(), "alice");
+        assertTrue(ActionBatch.isUnsupported(String.valueOf(driver.getSessionId())));
+    }
+
+    @Test
+    public void serialBatchStopsAtTheFirstFailingAction() {
+        SampleAndroidPage page = new SampleAndroidPage();
+        ActionBatch batch = page.batch()
+                .enterText(AppiumBy.id("com.example.app:id/username"), "alice", "Username Field")
+                .click(AppiumBy.id("com.example.app:id/missing"), "Missing Button")
+                .enterText(AppiumBy.id("com.example.app:id/password"), "secret", "Password Field");
+        System.setProperty("explicit.wait", "1");
+        ConfigManager.reload();
+        try {
+            WebDriverException error = expectThrows(WebDriverException.class, batch::execute);
+
+            assertTrue(error.getMessage().contains("Missing Button"), error.getMessage());
+            assertEquals(batch.getResults().size(), 2);
+            assertFalse(batch.getResults().get(1).isSuccess());
+        } finally {
+            System.clearProperty("explicit.wait");
+            ConfigManager.reload();
+        }
+    }
+
+    @Test
+    public void quitSessionIsForgotten() {
+        new SampleAndroidPage().performLogin("alice", "secret");
+        String sessionId = String.valueOf(driver.getSessionId());
+
+        driver.quit();
+        driver = null;
+
+        assertFalse(ActionBatch.isUnsupported(sessionId));
+    }
+}
@@ -0,0 +1,74 @@
+package com.automation.pages;
+
+import com.automation.config.ConfigManager;
+import com.automation.drivers.DriverManager;
+import com.automation.drivers.InstrumentedCommandExecutor;
+import com.automation.drivers.ScenarioContext;
+import com.automation.drivers.SimulatedAppiumServer;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumClientConfig;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.MutableCapabilities;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Page binding with and without element caching on the embedded {@link SimulatedAppiumServer}
+ */
+public class BasePageTest {
+    private AppiumDriver driver;
+
+    @BeforeMethod
+    public void setUp() throws MalformedURLException {
+        MutableCapabilities capabilities = new MutableCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        capabilities.setCapability("appium:automationName", "UiAutomator2");
+        driver = new AndroidDriver(new InstrumentedCommandExecutor(AppiumClientConfig.defaultConfig()
+                .baseUrl(new URL(SimulatedAppiumServer.start().getUrl())), null), capabilities);
+        ScenarioContext.open();
+        DriverManager.setDriver(driver);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        ScenarioContext.close();
+        if (driver != null) {
+            driver.quit();
+        }
+        System.clearProperty("element.cache.enabled");
+        ConfigManager.reload();
+    }
+
+    @Test
+    public void cachedBinderFieldsReuseTheFoundElement() {
+        SampleAndroidPage page = new SampleAndroidPage();
+        long misses = ElementCache.getMisses();
+
+        page.usernameField.getText();
+        page.usernameField.isDisplayed();
+
+        assertEquals(ElementCache.getMisses() - misses, 1);
+    }
+
+    @Test
+    public void binderIsUsedWithoutCaching() {
+        System.setProperty("element.cache.enabled", "false");
+        ConfigManager.reload();
+        SampleAndroidPage page = new SampleAndroidPage();
+        long misses = ElementCache.getMisses();
+
+        page.usernameField.sendKeys("alice");
+
+        assertEquals(CachingElementLocator.locatorOf(page.usernameField),
+                AppiumBy.id("com.example.app:id/username"));
+        assertEquals(page.usernameField.getText(), "alice");
+        assertEquals(ElementCache.getMisses() - misses, 0);
+    }
+}
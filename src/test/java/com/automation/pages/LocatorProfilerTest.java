@@ -0,0 +1,88 @@
+package com.automation.pages;
+
+import com.automation.config.ConfigManager;
+import com.automation.drivers.DriverManager;
+import com.automation.drivers.InstrumentedCommandExecutor;
+import com.automation.drivers.ScenarioContext;
+import com.automation.drivers.SimulatedAppiumServer;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumClientConfig;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.MutableCapabilities;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * {@link LocatorProfiler} suggestions for slow lookups, analysed after the step on the embedded
+ * {@link SimulatedAppiumServer}
+ */
+public class LocatorProfilerTest {
+    private static final String LOGIN_XPATH = "//android.widget.Button[@text='Login']";
+
+    private Path reportDir;
+    private AppiumDriver driver;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        reportDir = Files.createTempDirectory("locator-profile");
+        System.setProperty("locator.profiler.suggest", "true");
+        System.setProperty("locator.profiler.slow.ms", "0");
+        System.setProperty("metrics.report.path", reportDir.toString());
+        ConfigManager.reload();
+        MutableCapabilities capabilities = new MutableCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        capabilities.setCapability("appium:automationName", "UiAutomator2");
+        driver = new AndroidDriver(new InstrumentedCommandExecutor(AppiumClientConfig.defaultConfig()
+                .baseUrl(new URL(SimulatedAppiumServer.start().getUrl())), null), capabilities);
+        ScenarioContext.open();
+        DriverManager.setDriver(driver);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws IOException {
+        ScenarioContext.close();
+        if (driver != null) {
+            driver.quit();
+        }
+        System.clearProperty("locator.profiler.suggest");
+        System.clearProperty("locator.profiler.slow.ms");
+        System.clearProperty("metrics.report.path");
+        ConfigManager.reload();
+        try (Stream<Path> paths = Files.walk(reportDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void slowLookupIsAnalysedAfterTheStep() throws IOException {
+        driver.findElement(AppiumBy.xpath(LOGIN_XPATH));
+
+        assertFalse(report().contains("\"suggestions\""), "no page source fetched during the step");
+
+        LocatorProfiler.suggestPending();
+
+        String report = report();
+        assertTrue(report.contains("\"suggestions\""), report);
+        assertTrue(report.contains("\"com.example.app:id/login_button\""), report);
+        assertTrue(report.contains("\"Login\""), report);
+    }
+
+    private String report() throws IOException {
+        LocatorProfiler.writeReport();
+        return new String(Files.readAllBytes(reportDir.resolve("locator-profile.json")), StandardCharsets.UTF_8);
+    }
+}
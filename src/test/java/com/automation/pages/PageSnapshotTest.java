@@ -0,0 +1,159 @@
+package com.automation.pages;
+
+import io.appium.java_client.AppiumBy;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Locator resolution in {@link PageSnapshot}; supported XPath expressions are checked against the JDK's
+ * XPath engine on the same source
+ */
+public class PageSnapshotTest {
+    private static final String ANDROID_SOURCE = "<?xml version='1.0' encoding='UTF-8'?>"
+            + "<hierarchy uid='h'>"
+            + "<android.widget.FrameLayout uid='frame' class='android.widget.FrameLayout'>"
+            + "<android.widget.LinearLayout uid='form' class='android.widget.LinearLayout'>"
+            + "<android.widget.EditText uid='user' resource-id='com.example.app:id/username' text='alice'/>"
+            + "<android.widget.EditText uid='pass' resource-id='com.example.app:id/password' text='' password='true'/>"
+            + "<android.widget.Button uid='login' resource-id='com.example.app:id/login' text='Log in'"
+            + " content-desc='loginButton'/>"
+            + "<android.widget.TextView uid='hint' text='Log in with your account'/>"
+            + "</android.widget.LinearLayout>"
+            + "<android.widget.LinearLayout uid='footer' class='android.widget.LinearLayout'>"
+            + "<android.widget.TextView uid='terms' text='Terms'/>"
+            + "<android.widget.TextView uid='privacy' text='Privacy policy'/>"
+            + "</android.widget.LinearLayout>"
+            + "</android.widget.FrameLayout>"
+            + "</hierarchy>";
+    private static final String IOS_SOURCE = "<?xml version='1.0' encoding='UTF-8'?>"
+            + "<AppiumAUT>"
+            + "<XCUIElementTypeApplication uid='app' name='Example'>"
+            + "<XCUIElementTypeWindow uid='window'>"
+            + "<XCUIElementTypeTextField uid='user' name='username' value='alice'/>"
+            + "<XCUIElementTypeSecureTextField uid='pass' name='password'/>"
+            + "<XCUIElementTypeButton uid='login' name='loginButton' label='Log in'/>"
+            + "<XCUIElementTypeButton uid='help' name='helpButton' label='Help'/>"
+            + "</XCUIElementTypeWindow>"
+            + "</XCUIElementTypeApplication>"
+            + "</AppiumAUT>";
+
+    @DataProvider
+    public Object[][] supportedXPaths() {
+        return new Object[][] {
+                {"/hierarchy"},
+                {"/hierarchy/android.widget.FrameLayout/android.widget.LinearLayout"},
+                {"//android.widget.EditText"},
+                {"//*[@resource-id='com.example.app:id/login']"},
+                {"//android.widget.EditText[@password='true']"},
+                {"//android.widget.TextView[@text=\"Terms\"]"},
+                {"//android.widget.TextView[contains(@text, 'Log in')]"},
+                {"//android.widget.TextView[starts-with(@text, 'Priv')]"},
+                {"//android.widget.EditText[@text='' and @password='true']"},
+                {"//android.widget.LinearLayout[2]/android.widget.TextView"},
+                {"//android.widget.LinearLayout/*[1]"},
+                {"//android.widget.LinearLayout/*[last()]"},
+                {"//android.widget.TextView[contains(@text, 'Log')][1]"},
+                {"//android.widget.FrameLayout//android.widget.Button"},
+                {"//android.widget.Button[@text='Sign up']"},
+                {"/android.widget.FrameLayout"},
+        };
+    }
+
+    @Test(dataProvider = "supportedXPaths")
+    public void xpathMatchesTheJdkEvaluator(String xpath) throws Exception {
+        PageSnapshot snapshot = PageSnapshot.parse(ANDROID_SOURCE, 1000);
+
+        List<SnapshotNode> nodes = snapshot.find(AppiumBy.xpath(xpath));
+
+        assertNotNull(nodes, "resolved locally: " + xpath);
+        assertEquals(uids(nodes), jdkXPath(ANDROID_SOURCE, xpath), xpath);
+    }
+
+    @DataProvider
+    public Object[][] unsupportedXPaths() {
+        return new Object[][] {
+                {"(//android.widget.TextView)[1]"},
+                {"//android.widget.TextView | //android.widget.Button"},
+                {"//android.widget.TextView[@text='Terms' or @text='Privacy policy']"},
+                {"//android.widget.TextView[@text!='Terms']"},
+                {"//android.widget.Button/parent::*"},
+                {"//android.widget.TextView[normalize-space(@text)='Terms']"},
+                {"android.widget.Button"},
+        };
+    }
+
+    @Test(dataProvider = "unsupportedXPaths")
+    public void xpathOutsideTheSubsetIsLeftToTheServer(String xpath) {
+        PageSnapshot snapshot = PageSnapshot.parse(ANDROID_SOURCE, 1000);
+
+        assertNull(snapshot.find(AppiumBy.xpath(xpath)), xpath);
+    }
+
+    @Test
+    public void idMatchesFullAndShortResourceIds() {
+        PageSnapshot snapshot = PageSnapshot.parse(ANDROID_SOURCE, 1000);
+
+        assertEquals(uids(snapshot.find(AppiumBy.id("com.example.app:id/username"))), List.of("user"));
+        assertEquals(uids(snapshot.find(AppiumBy.id("username"))), List.of("user"));
+        assertEquals(uids(snapshot.find(AppiumBy.accessibilityId("loginButton"))), List.of("login"));
+        assertEquals(uids(snapshot.find(AppiumBy.className("android.widget.TextView"))),
+                List.of("hint", "terms", "privacy"));
+        assertEquals(snapshot.find(AppiumBy.id("missing")), List.of());
+    }
+
+    @Test
+    public void classChainIsEvaluatedFromTheApplication() {
+        PageSnapshot snapshot = PageSnapshot.parse(IOS_SOURCE, 1000);
+
+        assertEquals(uids(snapshot.find(AppiumBy.iOSClassChain("**/XCUIElementTypeButton"))),
+                List.of("login", "help"));
+        assertEquals(uids(snapshot.find(AppiumBy.iOSClassChain(
+                "XCUIElementTypeWindow/XCUIElementTypeButton[`label == 'Help'`]"))), List.of("help"));
+        assertEquals(uids(snapshot.find(AppiumBy.iOSClassChain(
+                "**/XCUIElementTypeButton[`name BEGINSWITH 'login' AND label CONTAINS 'in'`]"))), List.of("login"));
+        assertEquals(uids(snapshot.find(AppiumBy.iOSClassChain("**/XCUIElementTypeButton[-1]"))), List.of("help"));
+        assertNull(snapshot.find(AppiumBy.iOSClassChain("**/XCUIElementTypeButton[`name MATCHES 'l.*'`]")));
+    }
+
+    @Test
+    public void oversizedOrMalformedSourceHasNoSnapshot() {
+        assertEquals(PageSnapshot.parse(ANDROID_SOURCE, 1000).size(), 10);
+        assertNull(PageSnapshot.parse(ANDROID_SOURCE, 9));
+        assertNull(PageSnapshot.parse("<hierarchy><unclosed></hierarchy>", 1000));
+    }
+
+    private static List<String> uids(List<SnapshotNode> nodes) {
+        List<String> uids = new ArrayList<>();
+        for (SnapshotNode node : nodes) {
+            uids.add(node.getAttribute("uid"));
+        }
+        return uids;
+    }
+
+    private static List<String> jdkXPath(String source, String xpath) throws Exception {
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new InputSource(new StringReader(source)));
+        NodeList nodes = (NodeList) XPathFactory.newInstance().newXPath()
+                .evaluate(xpath, document, XPathConstants.NODESET);
+        List<String> uids = new ArrayList<>();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            uids.add(((Element) nodes.item(i)).getAttribute("uid"));
+        }
+        return uids;
+    }
+}
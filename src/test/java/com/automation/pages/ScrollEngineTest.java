@@ -0,0 +1,189 @@
+package com.automation.pages;
+
+import com.automation.config.ConfigManager;
+import com.automation.drivers.DriverManager;
+import com.automation.drivers.InstrumentedCommandExecutor;
+import com.automation.drivers.ScenarioContext;
+import com.automation.drivers.SimulatedAppiumServer;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumClientConfig;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.ios.IOSDriver;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.NoSuchElementException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * {@link ScrollEngine} swipe loop on the embedded {@link SimulatedAppiumServer}, which shows a list of screens
+ */
+public class ScrollEngineTest {
+    private SimulatedAppiumServer server;
+    private AppiumDriver driver;
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        ScenarioContext.close();
+        if (driver != null) {
+            driver.quit();
+            driver = null;
+        }
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+        System.clearProperty("scroll.native.enabled");
+        ConfigManager.reload();
+    }
+
+    @Test
+    public void swipesWithGrowingDistanceUntilTheElementIsOnScreen() throws MalformedURLException {
+        driver = android(androidList(3));
+        long gestures = ScrollEngine.getGestureCount();
+
+        assertEquals(ScrollEngine.scrollTo(driver, AppiumBy.accessibilityId("Item 12"), "Item 12").getText(),
+                "Item 12");
+
+        List<Integer> swipes = server.getSwipes();
+        assertEquals(swipes.size(), 2, swipes.toString());
+        assertTrue(swipes.get(0) > 0 && swipes.get(1) > swipes.get(0), swipes.toString());
+        // UiScrollable is not supported by the simulator, so only the swipes count
+        assertEquals(ScrollEngine.getGestureCount() - gestures, 2);
+    }
+
+    @Test
+    public void endOfListReversesTheDirection() throws MalformedURLException {
+        driver = android(androidList(3));
+        ScrollEngine.scrollTo(driver, AppiumBy.accessibilityId("Item 13"), "Item 13");
+        int before = server.getSwipes().size();
+
+        assertEquals(ScrollEngine.scrollTo(driver, AppiumBy.accessibilityId("Item 2"), "Item 2").getText(),
+                "Item 2");
+
+        List<Integer> swipes = server.getSwipes().subList(before, server.getSwipes().size());
+        assertEquals(signs(swipes), Arrays.asList(1, -1, -1), swipes.toString());
+    }
+
+    @Test
+    public void missingElementStopsAtBothEnds() throws MalformedURLException {
+        driver = android(androidList(3));
+
+        expectThrows(NoSuchElementException.class,
+                () -> ScrollEngine.scrollTo(driver, AppiumBy.accessibilityId("Item 99"), "Item 99"));
+
+        List<Integer> swipes = server.getSwipes();
+        assertEquals(signs(swipes), Arrays.asList(1, 1, 1, -1, -1, -1), swipes.toString());
+        assertTrue(Math.abs(swipes.get(3)) >= Math.abs(swipes.get(2)), "reversal swipes the maximum distance");
+    }
+
+    @Test
+    public void offScreenElementGetsAnExactSwipe() throws MalformedURLException {
+        System.setProperty("scroll.native.enabled", "false");
+        ConfigManager.reload();
+        driver = ios(iosList());
+
+        ScrollEngine.scrollTo(driver, AppiumBy.accessibilityId("Row 9"), "Row 9");
+
+        // Row 9 is centred at y=922 on a 844 pt screen: 500 pt below the middle
+        List<Integer> swipes = server.getSwipes();
+        assertEquals(swipes.size(), 1, swipes.toString());
+        assertEquals(swipes.get(0), 500, 2);
+    }
+
+    @Test
+    public void nativeScrollCountsAsAGesture() throws MalformedURLException {
+        driver = ios(iosList());
+        long lookups = ScrollEngine.getLookupCount();
+        long gestures = ScrollEngine.getGestureCount();
+
+        ScrollEngine.scrollTo(driver, AppiumBy.accessibilityId("Row 9"), "Row 9");
+
+        assertTrue(server.getSwipes().isEmpty());
+        assertEquals(ScrollEngine.getLookupCount() - lookups, 1);
+        assertEquals(ScrollEngine.getGestureCount() - gestures, 1);
+    }
+
+    private AppiumDriver android(List<String> screens) throws MalformedURLException {
+        server = SimulatedAppiumServer.create(screens, 0, 0);
+        MutableCapabilities capabilities = new MutableCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        capabilities.setCapability("appium:automationName", "UiAutomator2");
+        return open(new AndroidDriver(executor(), capabilities));
+    }
+
+    private AppiumDriver ios(List<String> screens) throws MalformedURLException {
+        server = SimulatedAppiumServer.create(screens, 0, 0);
+        MutableCapabilities capabilities = new MutableCapabilities();
+        capabilities.setCapability("platformName", "iOS");
+        capabilities.setCapability("appium:automationName", "XCUITest");
+        return open(new IOSDriver(executor(), capabilities));
+    }
+
+    private InstrumentedCommandExecutor executor() throws MalformedURLException {
+        return new InstrumentedCommandExecutor(AppiumClientConfig.defaultConfig().baseUrl(new URL(server.getUrl())),
+                null);
+    }
+
+    private static AppiumDriver open(AppiumDriver driver) {
+        ScenarioContext.open();
+        DriverManager.setDriver(driver);
+        return driver;
+    }
+
+    /**
+     * Android list of five items per screen: Item 1 to 5 on the first
+     */
+    private static List<String> androidList(int screens) {
+        List<String> sources = new ArrayList<>();
+        for (int screen = 0; screen < screens; screen++) {
+            StringBuilder source = new StringBuilder("<?xml version='1.0' encoding='UTF-8'?><hierarchy>"
+                    + "<android.widget.FrameLayout bounds='[0,0][1080,2000]'>"
+                    + "<androidx.recyclerview.widget.RecyclerView scrollable='true' bounds='[0,0][1080,2000]'>");
+            for (int item = 0; item < 5; item++) {
+                int top = 100 + item * 360;
+                String name = "Item " + (screen * 5 + item + 1);
+                source.append("<android.widget.TextView text='").append(name).append("' content-desc='").append(name)
+                        .append("' displayed='true' bounds='[0,").append(top).append("][1080,").append(top + 300)
+                        .append("]'/>");
+            }
+            sources.add(source.append("</androidx.recyclerview.widget.RecyclerView></android.widget.FrameLayout>"
+                    + "</hierarchy>").toString());
+        }
+        return sources;
+    }
+
+    /**
+     * iOS table whose Row 9 is in the tree below the screen on the first screen and visible on the second
+     */
+    private static List<String> iosList() {
+        String header = "<?xml version='1.0' encoding='UTF-8'?><AppiumAUT>"
+                + "<XCUIElementTypeApplication name='Example' x='0' y='0' width='390' height='844'>"
+                + "<XCUIElementTypeTable x='0' y='0' width='390' height='844'>";
+        String footer = "</XCUIElementTypeTable></XCUIElementTypeApplication></AppiumAUT>";
+        return Arrays.asList(
+                header + "<XCUIElementTypeCell name='Row 1' visible='true' x='0' y='100' width='390' height='44'/>"
+                        + "<XCUIElementTypeCell name='Row 9' visible='false' x='0' y='900' width='390' height='44'/>"
+                        + footer,
+                header + "<XCUIElementTypeCell name='Row 9' visible='true' x='0' y='400' width='390' height='44'/>"
+                        + footer);
+    }
+
+    private static List<Integer> signs(List<Integer> swipes) {
+        List<Integer> signs = new ArrayList<>();
+        for (int swipe : swipes) {
+            signs.add(Integer.signum(swipe));
+        }
+        return signs;
+    }
+}
@@ -0,0 +1,208 @@
+package com.automation.pages;
+
+import com.automation.drivers.InstrumentedCommandExecutor;
+import com.automation.drivers.SimulatedAppiumServer;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumClientConfig;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.ios.IOSDriver;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * {@link TextEntry} strategy choice, verification and fallbacks on the embedded {@link SimulatedAppiumServer}
+ */
+public class TextEntryTest {
+    private static final String UI_TREE = "<?xml version='1.0' encoding='UTF-8'?>"
+            + "<hierarchy width='1080' height='2340'>"
+            + "<android.widget.FrameLayout bounds='[0,0][1080,2340]'>"
+            + "<android.widget.EditText resource-id='app:id/empty' text='' bounds='[90,240][990,390]'/>"
+            + "<android.widget.EditText resource-id='app:id/filled' text='alice' bounds='[90,440][990,590]'/>"
+            + "<android.widget.EditText resource-id='app:id/hinted' text='Enter' hint='Enter'"
+            + " bounds='[90,640][990,790]'/>"
+            + "<android.widget.EditText resource-id='app:id/filtered' text='' ignore-replace='true'"
+            + " bounds='[90,840][990,990]'/>"
+            + "<XCUIElementTypeTextField name='notes' value='' x='32' y='1040' width='326' height='44'/>"
+            + "</android.widget.FrameLayout>"
+            + "</hierarchy>";
+    private static final String PASTE_MENU = "<XCUIElementTypeMenuItem name='Paste' x='32' y='1000' width='80'"
+            + " height='40'/>";
+    private static final String LONG_TEXT = "The quick brown fox jumps over the lazy dog, twice over, to be sure";
+
+    private SimulatedAppiumServer server;
+    private SimulatedAppiumServer serverWithPasteMenu;
+    private AppiumDriver driver;
+
+    @BeforeClass
+    public void startServers() {
+        server = SimulatedAppiumServer.create(UI_TREE, 0, 0);
+        serverWithPasteMenu = SimulatedAppiumServer.create(
+                UI_TREE.replace("</android.widget.FrameLayout>", PASTE_MENU + "</android.widget.FrameLayout>"), 0, 0);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServers() {
+        server.stop();
+        serverWithPasteMenu.stop();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        if (driver != null) {
+            driver.quit();
+            driver = null;
+        }
+    }
+
+    @Test
+    public void equalValueIsSkipped() throws MalformedURLException {
+        driver = android(server, "UiAutomator2");
+
+        assertEquals(enter("app:id/filled", "alice"), TextEntryStrategy.SKIP);
+        assertEquals(text("app:id/filled"), "alice");
+    }
+
+    @Test
+    public void prefixGetsOnlyTheSuffixTyped() throws MalformedURLException {
+        driver = android(server, "UiAutomator2");
+
+        assertEquals(enter("app:id/filled", "alice.smith"), TextEntryStrategy.APPEND);
+        assertEquals(text("app:id/filled"), "alice.smith");
+    }
+
+    @Test
+    public void hintIsNotTakenForTheValue() throws MalformedURLException {
+        driver = android(server, "UiAutomator2");
+
+        assertEquals(enter("app:id/hinted", "Enter"), TextEntryStrategy.REPLACE);
+        // A value equal to the hint is ambiguous, so it is replaced rather than appended to
+        assertEquals(enter("app:id/hinted", "Entered"), TextEntryStrategy.REPLACE);
+        assertEquals(text("app:id/hinted"), "Entered");
+    }
+
+    @Test
+    public void androidReplacesTheValue() throws MalformedURLException {
+        driver = android(server, "UiAutomator2");
+
+        assertEquals(enter("app:id/filled", "bob"), TextEntryStrategy.REPLACE);
+        assertEquals(text("app:id/filled"), "bob");
+    }
+
+    @Test
+    public void wrongValueAfterReplaceFallsBackToTyping() throws MalformedURLException {
+        driver = android(server, "UiAutomator2");
+
+        assertEquals(enter("app:id/filtered", "bob"), TextEntryStrategy.TYPE);
+        assertEquals(text("app:id/filtered"), "bob");
+    }
+
+    @Test
+    public void sessionWithoutReplaceTypesUntilItQuits() throws MalformedURLException {
+        driver = android(server, "Flutter");
+        String sessionId = String.valueOf(driver.getSessionId());
+
+        assertEquals(enter("app:id/empty", "bob"), TextEntryStrategy.TYPE);
+        assertTrue(TextEntry.isReplaceUnsupported(sessionId));
+        assertEquals(enter("app:id/filled", "carol"), TextEntryStrategy.TYPE);
+        assertEquals(text("app:id/filled"), "carol");
+
+        driver.quit();
+        driver = null;
+        assertFalse(TextEntry.isReplaceUnsupported(sessionId));
+    }
+
+    @Test
+    public void iosPastesLongTexts() throws MalformedURLException {
+        driver = ios(serverWithPasteMenu);
+
+        assertEquals(TextEntry.enter(driver, driver.findElement(AppiumBy.accessibilityId("notes")), LONG_TEXT,
+                "Notes Field"), TextEntryStrategy.PASTE);
+        assertEquals(driver.findElement(AppiumBy.accessibilityId("notes")).getText(), LONG_TEXT);
+    }
+
+    @Test
+    public void iosTypesWithoutPasteMenu() throws MalformedURLException {
+        driver = ios(server);
+
+        assertEquals(TextEntry.enter(driver, driver.findElement(AppiumBy.accessibilityId("notes")), LONG_TEXT,
+                "Notes Field"), TextEntryStrategy.TYPE);
+        assertEquals(driver.findElement(AppiumBy.accessibilityId("notes")).getText(), LONG_TEXT);
+    }
+
+    @Test
+    public void iosTypesShortTexts() throws MalformedURLException {
+        driver = ios(serverWithPasteMenu);
+
+        assertEquals(TextEntry.enter(driver, driver.findElement(AppiumBy.accessibilityId("notes")), "short",
+                "Notes Field"), TextEntryStrategy.TYPE);
+    }
+
+    @Test
+    public void savedTimeUsesTheConfiguredCostWithoutTypedSamples() {
+        TextEntry.Savings savings = new TextEntry.Savings();
+        savings.record(TextEntryStrategy.REPLACE, 10, TimeUnit.MILLISECONDS.toNanos(100));
+        savings.record(TextEntryStrategy.SKIP, 10, TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertFalse(savings.isSampled());
+        assertEquals(savings.estimateSavedNanos(TimeUnit.MILLISECONDS.toNanos(50)),
+                TimeUnit.MILLISECONDS.toNanos(1000 - 150), 1.0);
+
+        savings.record(TextEntryStrategy.TYPE, 10, TimeUnit.MILLISECONDS.toNanos(600));
+        assertFalse(savings.isSampled(), "one typed length gives no slope");
+    }
+
+    @Test
+    public void savedTimeUsesTheFittedTypingCost() {
+        TextEntry.Savings savings = new TextEntry.Savings();
+        // Typing costs 100 ms plus 20 ms per character
+        savings.record(TextEntryStrategy.TYPE, 5, TimeUnit.MILLISECONDS.toNanos(200));
+        savings.record(TextEntryStrategy.TYPE, 15, TimeUnit.MILLISECONDS.toNanos(400));
+        savings.record(TextEntryStrategy.REPLACE, 30, TimeUnit.MILLISECONDS.toNanos(150));
+
+        assertTrue(savings.isSampled());
+        assertEquals(savings.estimateSavedNanos(TimeUnit.MILLISECONDS.toNanos(50)),
+                TimeUnit.MILLISECONDS.toNanos(100 + 20 * 30 - 150), 1000.0);
+    }
+
+    private TextEntryStrategy enter(String id, String text) {
+        return TextEntry.enter(driver, driver.findElement(AppiumBy.id(id)), text, id);
+    }
+
+    private String text(String id) {
+        WebElement element = driver.findElement(AppiumBy.id(id));
+        return element.getText();
+    }
+
+    private static AppiumDriver android(SimulatedAppiumServer server, String automationName)
+            throws MalformedURLException {
+        MutableCapabilities capabilities = new MutableCapabilities();
+        capabilities.setCapability("platformName", "Android");
+        capabilities.setCapability("appium:automationName", automationName);
+        return new AndroidDriver(executor(server), capabilities);
+    }
+
+    private static AppiumDriver ios(SimulatedAppiumServer server) throws MalformedURLException {
+        MutableCapabilities capabilities = new MutableCapabilities();
+        capabilities.setCapability("platformName", "iOS");
+        capabilities.setCapability("appium:automationName", "XCUITest");
+        return new IOSDriver(executor(server), capabilities);
+    }
+
+    private static InstrumentedCommandExecutor executor(SimulatedAppiumServer server) throws MalformedURLException {
+        return new InstrumentedCommandExecutor(AppiumClientConfig.defaultConfig().baseUrl(new URL(server.getUrl())),
+                null);
+    }
+}
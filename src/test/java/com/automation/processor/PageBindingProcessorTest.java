@@ -0,0 +1,205 @@
+package com.automation.processor;
+
+import com.automation.pages.BasePage;
+import com.automation.pages.PageBinder;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.By;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * {@link PageBindingProcessor} run by the system Java compiler on sample page sources
+ */
+public class PageBindingProcessorTest {
+    private static final String IMPORTS = "package sample;\n"
+            + "import com.automation.pages.BasePage;\n"
+            + "import io.appium.java_client.AppiumDriver;\n"
+            + "import io.appium.java_client.pagefactory.AndroidBy;\n"
+            + "import io.appium.java_client.pagefactory.AndroidFindBy;\n"
+            + "import io.appium.java_client.pagefactory.AndroidFindBys;\n"
+            + "import io.appium.java_client.pagefactory.iOSXCUITFindBy;\n"
+            + "import org.openqa.selenium.WebElement;\n";
+    private static final String PAGE_BODY = "    public %s(AppiumDriver driver) { super(driver); }\n"
+            + "    @Override protected void scrollToElement(WebElement element, String elementName) { }\n";
+
+    private Path outputDir;
+    private final List<String> notes = new ArrayList<>();
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        outputDir = Files.createTempDirectory("page-binding");
+        notes.clear();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(outputDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void binderHoldsTheLocatorsOfBothPlatforms() throws Exception {
+        compile(page("LoginPage",
+                "    @AndroidFindBy(id = \"com.example.app:id/username\")\n"
+                        + "    @iOSXCUITFindBy(accessibility = \"username\")\n"
+                        + "    WebElement usernameField;\n"
+                        + "    @AndroidFindBy(xpath = \"//*[@text='Log in']\")\n"
+                        + "    protected WebElement loginButton;\n"));
+
+        PageBinder<BasePage> binder = binder("sample.LoginPage_PageBinder");
+
+        assertEquals(binder.getLocator("usernameField", true), AppiumBy.id("com.example.app:id/username"));
+        assertEquals(binder.getLocator("usernameField", false), AppiumBy.accessibilityId("username"));
+        assertEquals(binder.getLocator("loginButton", true), AppiumBy.xpath("//*[@text='Log in']"));
+        assertNull(binder.getLocator("loginButton", false));
+        assertNull(binder.getLocator("missingField", true));
+    }
+
+    @Test
+    public void binderAssignsEveryFieldWithALocatorForThePlatform() throws Exception {
+        compile(page("LoginPage",
+                "    @AndroidFindBy(id = \"username\") @iOSXCUITFindBy(accessibility = \"username\")\n"
+                        + "    WebElement usernameField;\n"
+                        + "    @AndroidFindBy(id = \"login\")\n"
+                        + "    WebElement loginButton;\n"));
+        PageBinder<BasePage> binder = binder("sample.LoginPage_PageBinder");
+        Class<?> pageClass = binder.getClass().getClassLoader().loadClass("sample.LoginPage");
+        BasePage page = (BasePage) pageClass.getConstructor(AppiumDriver.class).newInstance((AppiumDriver) null);
+        assertNotNull(field(page, "usernameField"), "bound when the page was constructed");
+        assertNotNull(field(page, "loginButton"), "bound when the page was constructed");
+        List<By> requested = new ArrayList<>();
+
+        binder.bind(page, false, by -> {
+            requested.add(by);
+            return null;
+        });
+
+        assertEquals(requested, List.of(AppiumBy.accessibilityId("username")));
+        assertNull(field(page, "usernameField"));
+        assertNotNull(field(page, "loginButton"), "no iOS locator, left as it was");
+    }
+
+    @Test
+    public void nestedPageBinderIsNamedAfterTheBinaryName() throws Exception {
+        compile(source("Screens", "public class Screens {\n"
+                + "    public static class Welcome extends BasePage {\n"
+                + "        @AndroidFindBy(accessibility = \"welcome\") WebElement title;\n"
+                + String.format(PAGE_BODY, "Welcome")
+                + "    }\n"
+                + "}\n"));
+
+        assertEquals(binder("sample.Screens_Welcome_PageBinder").getLocator("title", true),
+                AppiumBy.accessibilityId("welcome"));
+    }
+
+    @Test
+    public void unsupportedPagesFallBackToPageFactoryWithANote() throws Exception {
+        compile(page("PrivateFieldPage", "    @AndroidFindBy(id = \"a\") private WebElement field;\n"),
+                page("TwoStrategiesPage", "    @AndroidFindBy(id = \"a\", xpath = \"//b\") WebElement field;\n"),
+                page("FindBysPage", "    @AndroidFindBy(id = \"a\")\n"
+                        + "    @AndroidFindBys({@AndroidBy(id = \"b\"), @AndroidBy(id = \"c\")})\n"
+                        + "    WebElement field;\n"),
+                page("ListFieldPage", "    @AndroidFindBy(id = \"a\") java.util.List<WebElement> field;\n"),
+                page("ParentPage", "    @AndroidFindBy(id = \"a\") WebElement parentField;\n"),
+                source("ChildPage", "public class ChildPage extends ParentPage {\n"
+                        + "    @AndroidFindBy(id = \"b\") WebElement childField;\n"
+                        + "    public ChildPage(AppiumDriver driver) { super(driver); }\n"
+                        + "}\n"));
+
+        for (String page : Arrays.asList("PrivateFieldPage", "TwoStrategiesPage", "FindBysPage", "ListFieldPage",
+                "ChildPage")) {
+            assertFalse(Files.exists(outputDir.resolve("sample/" + page + "_PageBinder.class")), page);
+            assertTrue(notes.stream().anyMatch(note -> note.contains("sample." + page + " (")),
+                    "note for " + page + " in " + notes);
+        }
+        assertTrue(Files.exists(outputDir.resolve("sample/ParentPage_PageBinder.class")));
+    }
+
+    @Test
+    public void classesOutsideBasePageAreIgnored() throws Exception {
+        compile(source("Widget", "public class Widget {\n"
+                + "    @AndroidFindBy(id = \"a\") WebElement field;\n"
+                + "}\n"));
+
+        assertFalse(Files.exists(outputDir.resolve("sample/Widget_PageBinder.class")));
+        assertTrue(notes.isEmpty(), notes.toString());
+    }
+
+    private static JavaFileObject page(String name, String fields) {
+        return source(name, "public class " + name + " extends BasePage {\n" + fields
+                + String.format(PAGE_BODY, name) + "}\n");
+    }
+
+    private static JavaFileObject source(String name, String body) {
+        return new SimpleJavaFileObject(URI.create("string:///sample/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return IMPORTS + body;
+            }
+        };
+    }
+
+    private void compile(JavaFileObject... sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT,
+                StandardCharsets.UTF_8)) {
+            List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"),
+                    "-d", outputDir.toString(), "-s", outputDir.toString());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    Arrays.asList(sources));
+            task.setProcessors(List.of(new PageBindingProcessor()));
+            boolean success = task.call();
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                if (diagnostic.getKind() == Diagnostic.Kind.NOTE) {
+                    notes.add(diagnostic.getMessage(Locale.ROOT));
+                }
+            }
+            assertTrue(success, "compilation failed: " + diagnostics.getDiagnostics());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private PageBinder<BasePage> binder(String binderName) throws Exception {
+        URLClassLoader loader = new URLClassLoader(new URL[] {outputDir.toUri().toURL()}, getClass().getClassLoader());
+        return (PageBinder<BasePage>) loader.loadClass(binderName).getDeclaredConstructor().newInstance();
+    }
+
+    private static Object field(Object page, String name) throws ReflectiveOperationException {
+        Field field = page.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(page);
+    }
+}
@@ -0,0 +1,26 @@
+package com.automation.runners;
+
+import com.automation.drivers.DeviceManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * TestNG listener that sizes the scenario data provider thread pool to the device inventory,
+ * so every device gets one worker thread
+ */
+public class DeviceAwareSuiteListener implements IAlterSuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(DeviceAwareSuiteListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int workers = Math.max(1, DeviceManager.getDeviceCount());
+        for (XmlSuite suite : suites) {
+            suite.setDataProviderThreadCount(workers);
+            logger.info("Suite '{}' will run scenarios on {} worker thread(s)", suite.getName(), workers);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.automation.runners;
+
+import com.automation.utils.DurationHistory;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+
+/**
+ * Cucumber plugin that records scenario durations in {@link DurationHistory} and saves the history
+ * when the run finishes. Skipped and undefined scenarios are not recorded.
+ */
+public class DurationHistoryPlugin implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> DurationHistory.save());
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        Status status = event.getResult().getStatus();
+        if (status == Status.PASSED || status == Status.FAILED) {
+            DurationHistory.record(DurationHistory.key(event.getTestCase().getUri(),
+                    event.getTestCase().getLocation().getLine()), event.getResult().getDuration().toMillis());
+        }
+    }
+}
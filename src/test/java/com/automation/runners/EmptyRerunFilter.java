@@ -0,0 +1,32 @@
+package com.automation.runners;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+/**
+ * Logback filter that drops the TestNG warning about the empty {@link TestRunner#failedScenarios} data
+ * provider. The rerun stage is registered before the main pass runs, so on a green run (or with reruns
+ * disabled) TestNG finds nothing to rerun and warns that rerunScenario is skipped; that is the expected
+ * outcome, not a problem. Other data provider warnings are kept.
+ */
+public class EmptyRerunFilter extends TurboFilter {
+    static final String TESTNG_LOGGER = "org.testng.internal.Utils";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (level != Level.WARN || !TESTNG_LOGGER.equals(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        // log4testng hands the message over as the argument of "{}"
+        String message = params != null && params.length == 1 ? String.valueOf(params[0]) : format;
+        return isEmptyRerunWarning(message) ? FilterReply.DENY : FilterReply.NEUTRAL;
+    }
+
+    static boolean isEmptyRerunWarning(String message) {
+        return message != null && message.contains("data provider 'failedScenarios' returned an empty");
+    }
+}
@@ -0,0 +1,68 @@
+package com.automation.runners;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * {@link EmptyRerunFilter} as installed by logback.xml, fed through TestNG's own logger
+ */
+public class EmptyRerunFilterTest {
+    private static final String EMPTY_WARNING = "The test method '%s' will be skipped since its data provider "
+            + "'%s' returned an empty array or iterator. ";
+
+    private Logger testngLogger;
+    private ListAppender<ILoggingEvent> written;
+
+    @BeforeMethod
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        written = new ListAppender<>();
+        written.setContext(context);
+        written.start();
+        testngLogger = context.getLogger(EmptyRerunFilter.TESTNG_LOGGER);
+        testngLogger.addAppender(written);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        testngLogger.detachAppender(written);
+        written.stop();
+    }
+
+    @Test
+    public void emptyRerunStageIsNotWarned() {
+        warn(String.format(EMPTY_WARNING, "com.automation.runners.TestRunner.rerunScenario", "failedScenarios"));
+
+        assertEquals(messages(), List.of());
+    }
+
+    @Test
+    public void otherEmptyDataProvidersAreStillWarned() {
+        String warning = String.format(EMPTY_WARNING, "com.automation.runners.TestRunner.runScenario", "scenarios");
+
+        warn(warning);
+
+        assertEquals(messages(), List.of(warning));
+    }
+
+    private static void warn(String message) {
+        org.testng.log4testng.Logger.getLogger(org.testng.internal.Utils.class).warn(message);
+    }
+
+    private List<String> messages() {
+        List<String> messages = new ArrayList<>();
+        written.list.forEach(event -> messages.add(event.getFormattedMessage()));
+        return messages;
+    }
+}
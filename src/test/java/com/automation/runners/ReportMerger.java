@@ -0,0 +1,468 @@
+package com.automation.runners;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.GherkinKeyword;
+import com.aventstack.extentreports.gherkin.model.Asterisk;
+import com.aventstack.extentreports.gherkin.model.Feature;
+import com.aventstack.extentreports.gherkin.model.Scenario;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Offline merger of the NDJSON scenario streams written by {@link StreamingReportPlugin}.
+ * Streams of all workers and JVMs are combined into cucumber.json (Cucumber JSON format) and
+ * cucumber.html under cucumber.report.path, and into the Extent Spark report configured in
+ * extent.properties. Only an index of the records is kept in memory; records are read back one at a time.
+ * A scenario run more than once (reruns) is reported by its latest attempt, labelled with the statuses of the
+ * earlier ones. Run with {@code gradle mergeReports}, which also runs after every test task, or at the end of
+ * a single-JVM run by {@link StreamingReportPlugin}.
+ */
+public class ReportMerger {
+    private static final Logger logger = LoggerFactory.getLogger(ReportMerger.class);
+
+    /**
+     * Merge the streams
+     * @param args Optional stream directory and output directory
+     */
+    public static void main(String[] args) throws IOException {
+        Path streamDirectory = Paths.get(args.length > 0 ? args[0]
+                : ConfigManager.getProperty(ConfigKey.REPORT_STREAM_PATH));
+        Path outputDirectory = Paths.get(args.length > 1 ? args[1]
+                : ConfigManager.getProperty(ConfigKey.CUCUMBER_REPORT_PATH));
+        merge(streamDirectory, outputDirectory);
+    }
+
+    /**
+     * Merge all *.ndjson streams in a directory into the Cucumber JSON, HTML and Extent reports
+     * @param streamDirectory Directory with the scenario streams
+     * @param outputDirectory Directory for cucumber.json and cucumber.html
+     */
+    public static void merge(Path streamDirectory, Path outputDirectory) throws IOException {
+        merge(streamDirectory, outputDirectory, null);
+    }
+
+    /**
+     * Merge all *.ndjson streams in a directory into the Cucumber JSON, HTML and Extent reports
+     * @param streamDirectory Directory with the scenario streams
+     * @param outputDirectory Directory for cucumber.json and cucumber.html
+     * @param extentReport Extent Spark report file, or null for the one configured in extent.properties
+     */
+    static void merge(Path streamDirectory, Path outputDirectory, Path extentReport) throws IOException {
+        if (!Files.isDirectory(streamDirectory)) {
+            logger.info("No scenario streams in {}, nothing to merge", streamDirectory);
+            return;
+        }
+        List<Path> streams;
+        try (Stream<Path> files = Files.list(streamDirectory)) {
+            streams = files.filter(file -> file.toString().endsWith(".ndjson")).sorted().collect(Collectors.toList());
+        }
+        List<RecordRef> records = new ArrayList<>();
+        for (int i = 0; i < streams.size(); i++) {
+            indexStream(streams.get(i), i, records);
+        }
+        records.sort(Comparator.comparing((RecordRef ref) -> ref.uri).thenComparingInt(ref -> ref.line)
+                .thenComparing(ref -> ref.started));
+        List<RecordRef> index = latestAttempts(records);
+        Map<String, Integer> statusCounts = new TreeMap<>();
+        index.forEach(ref -> statusCounts.merge(ref.status, 1, Integer::sum));
+        long flaky = index.stream()
+                .filter(ref -> "PASSED".equals(ref.status) && !ref.earlierStatuses.isEmpty()).count();
+
+        Files.createDirectories(outputDirectory);
+        RandomAccessFile[] files = new RandomAccessFile[streams.size()];
+        try {
+            for (int i = 0; i < streams.size(); i++) {
+                files[i] = new RandomAccessFile(streams.get(i).toFile(), "r");
+            }
+            writeCucumberJson(index, files, outputDirectory.resolve("cucumber.json"));
+            writeHtml(index, files, statusCounts, outputDirectory.resolve("cucumber.html"));
+            writeExtent(index, files, extentReport);
+        } finally {
+            for (RandomAccessFile file : files) {
+                if (file != null) {
+                    file.close();
+                }
+            }
+        }
+        logger.info("Merged {} scenario record(s) from {} stream(s) into {}: {} ({} earlier attempt(s), {} flaky)",
+                records.size(), streams.size(), outputDirectory, statusCounts, records.size() - index.size(), flaky);
+    }
+
+    /**
+     * Keep the latest attempt of every scenario location, remembering the statuses of the earlier ones
+     * @param records Records sorted by location and start time
+     */
+    private static List<RecordRef> latestAttempts(List<RecordRef> records) {
+        List<RecordRef> latest = new ArrayList<>();
+        List<String> earlierStatuses = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            RecordRef ref = records.get(i);
+            RecordRef next = i + 1 < records.size() ? records.get(i + 1) : null;
+            if (next != null && next.uri.equals(ref.uri) && next.line == ref.line) {
+                earlierStatuses.add(ref.status);
+                continue;
+            }
+            ref.earlierStatuses.addAll(earlierStatuses);
+            earlierStatuses.clear();
+            latest.add(ref);
+        }
+        return latest;
+    }
+
+    /**
+     * Index the records of one stream: location, status and byte range of every line
+     */
+    private static void indexStream(Path stream, int fileIndex, List<RecordRef> index) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(stream), 64 * 1024)) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(4096);
+            long offset = 0;
+            long lineStart = 0;
+            int b;
+            while ((b = in.read()) != -1) {
+                offset++;
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                addRecord(line, fileIndex, lineStart, stream, index);
+                line.reset();
+                lineStart = offset;
+            }
+            // A JVM killed mid-write leaves a partial last line; it is skipped
+            addRecord(line, fileIndex, lineStart, stream, index);
+        }
+    }
+
+    private static void addRecord(ByteArrayOutputStream line, int fileIndex, long offset, Path stream,
+                                  List<RecordRef> index) {
+        if (line.size() == 0) {
+            return;
+        }
+        try {
+            JsonObject record = JsonParser.parseString(line.toString(StandardCharsets.UTF_8)).getAsJsonObject();
+            index.add(new RecordRef(record.get("uri").getAsString(), record.get("feature").getAsString(),
+                    record.get("line").getAsInt(), Instant.parse(record.get("startTime").getAsString()),
+                    record.get("status").getAsString(), fileIndex, offset, line.size()));
+        } catch (RuntimeException e) {
+            logger.warn("Skipping unreadable record at byte {} of {}", offset, stream);
+        }
+    }
+
+    private static JsonObject read(RandomAccessFile[] files, RecordRef ref) throws IOException {
+        byte[] bytes = new byte[ref.length];
+        RandomAccessFile file = files[ref.fileIndex];
+        file.seek(ref.offset);
+        file.readFully(bytes);
+        return JsonParser.parseString(new String(bytes, StandardCharsets.UTF_8)).getAsJsonObject();
+    }
+
+    private static void writeCucumberJson(List<RecordRef> index, RandomAccessFile[] files, Path output)
+            throws IOException {
+        try (JsonWriter json = new JsonWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8))) {
+            json.setIndent("  ");
+            json.beginArray();
+            String currentUri = null;
+            for (RecordRef ref : index) {
+                if (!ref.uri.equals(currentUri)) {
+                    if (currentUri != null) {
+                        json.endArray().endObject();
+                    }
+                    currentUri = ref.uri;
+                    json.beginObject();
+                    json.name("uri").value(ref.uri);
+                    json.name("id").value(slug(ref.feature));
+                    json.name("keyword").value("Feature");
+                    json.name("name").value(ref.feature);
+                    json.name("line").value(1);
+                    json.name("description").value("");
+                    json.name("elements").beginArray();
+                }
+                JsonObject record = read(files, ref);
+                json.beginObject();
+                json.name("id").value(slug(ref.feature) + ";" + slug(record.get("name").getAsString()));
+                json.name("keyword").value(record.get("keyword").getAsString());
+                json.name("type").value("scenario");
+                json.name("name").value(record.get("name").getAsString());
+                json.name("line").value(ref.line);
+                json.name("description").value(attempts(ref));
+                json.name("start_timestamp").value(ref.started.toString());
+                json.name("tags").beginArray();
+                for (JsonElement tag : record.getAsJsonArray("tags")) {
+                    json.beginObject().name("name").value(tag.getAsString()).endObject();
+                }
+                json.endArray();
+                writeHooks(json, record, "before");
+                json.name("steps").beginArray();
+                for (JsonElement element : record.getAsJsonArray("steps")) {
+                    JsonObject step = element.getAsJsonObject();
+                    json.beginObject();
+                    json.name("keyword").value(step.get("keyword").getAsString());
+                    json.name("name").value(step.get("text").getAsString());
+                    json.name("line").value(step.get("line").getAsInt());
+                    writeExecution(json, step);
+                    writeHooks(json, step, "before");
+                    writeHooks(json, step, "after");
+                    json.endObject();
+                }
+                json.endArray();
+                writeHooks(json, record, "after");
+                json.endObject();
+            }
+            if (currentUri != null) {
+                json.endArray().endObject();
+            }
+            json.endArray();
+        }
+    }
+
+    /**
+     * Write the hooks of a scenario or step, if the record has any
+     */
+    private static void writeHooks(JsonWriter json, JsonObject owner, String name) throws IOException {
+        JsonArray hooks = owner.getAsJsonArray(name);
+        if (hooks == null || hooks.size() == 0) {
+            return;
+        }
+        json.name(name).beginArray();
+        for (JsonElement hook : hooks) {
+            json.beginObject();
+            writeExecution(json, hook.getAsJsonObject());
+            json.endObject();
+        }
+        json.endArray();
+    }
+
+    /**
+     * Write the match, result, attachments and output of a step or hook
+     */
+    private static void writeExecution(JsonWriter json, JsonObject step) throws IOException {
+        json.name("match").beginObject();
+        if (step.has("location")) {
+            json.name("location").value(step.get("location").getAsString());
+        }
+        json.endObject();
+        json.name("result").beginObject();
+        json.name("status").value(step.get("status").getAsString().toLowerCase(Locale.ROOT));
+        json.name("duration").value(step.get("durationNanos").getAsLong());
+        if (step.has("error")) {
+            json.name("error_message").value(step.get("error").getAsString());
+        }
+        json.endObject();
+        if (step.has("embeddings")) {
+            json.name("embeddings").beginArray();
+            for (JsonElement element : step.getAsJsonArray("embeddings")) {
+                JsonObject embedding = element.getAsJsonObject();
+                json.beginObject();
+                json.name("data").value(embedding.get("data").getAsString());
+                json.name("mime_type").value(embedding.get("mediaType").getAsString());
+                if (embedding.has("name")) {
+                    json.name("name").value(embedding.get("name").getAsString());
+                }
+                json.endObject();
+            }
+            json.endArray();
+        }
+        if (step.has("output")) {
+            json.name("output").beginArray();
+            for (JsonElement output : step.getAsJsonArray("output")) {
+                json.value(output.getAsString());
+            }
+            json.endArray();
+        }
+    }
+
+    private static void writeHtml(List<RecordRef> index, RandomAccessFile[] files, Map<String, Integer> statusCounts,
+                                  Path output) throws IOException {
+        try (Writer html = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            html.write("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Cucumber Report</title>\n"
+                    + "<style>body{font-family:sans-serif}table{border-collapse:collapse}"
+                    + "td,th{border:1px solid #ccc;padding:4px 8px;text-align:left;vertical-align:top}"
+                    + ".PASSED{color:#2e7d32}.FAILED{color:#c62828}.SKIPPED,.PENDING,.UNDEFINED{color:#ef6c00}"
+                    + "pre{margin:0;white-space:pre-wrap}</style></head><body>\n");
+            html.write("<h1>Cucumber Report</h1>\n<p>" + escape(statusCounts.toString()) + "</p>\n");
+            html.write("<table><tr><th>Feature</th><th>Scenario</th><th>Status</th><th>Attempts</th>"
+                    + "<th>Duration (s)</th><th>Worker</th><th>Failure</th></tr>\n");
+            for (RecordRef ref : index) {
+                JsonObject record = read(files, ref);
+                String failure = "";
+                for (JsonElement element : record.getAsJsonArray("steps")) {
+                    JsonObject step = element.getAsJsonObject();
+                    if (step.has("error")) {
+                        failure = step.get("text").getAsString() + "\n" + step.get("error").getAsString();
+                        break;
+                    }
+                }
+                if (failure.isEmpty() && record.has("hookError")) {
+                    failure = record.get("hookError").getAsString();
+                }
+                html.write("<tr><td>" + escape(ref.feature) + "</td><td>" + escape(record.get("name").getAsString())
+                        + "<br><small>" + escape(ref.uri + ":" + ref.line) + "</small></td><td class=\"" + ref.status
+                        + "\">" + ref.status + "</td><td>" + escape(attempts(ref)) + "</td><td>"
+                        + String.format(Locale.ROOT, "%.1f", record.get("durationNanos").getAsLong() / 1e9)
+                        + "</td><td>" + escape(record.get("worker").getAsString()) + "</td><td><pre>"
+                        + escape(failure) + "</pre></td></tr>\n");
+            }
+            html.write("</table></body></html>\n");
+        }
+    }
+
+    private static void writeExtent(List<RecordRef> index, RandomAccessFile[] files, Path extentReport)
+            throws IOException {
+        Properties extentProperties = new Properties();
+        try (InputStream in = ReportMerger.class.getClassLoader().getResourceAsStream("extent.properties")) {
+            if (in != null) {
+                extentProperties.load(in);
+            }
+        }
+        ExtentSparkReporter spark = new ExtentSparkReporter(extentReport != null ? extentReport.toString()
+                : extentProperties.getProperty("extent.reporter.spark.out", "extent-reports/Spark.html"));
+        String config = extentProperties.getProperty("extent.reporter.spark.config");
+        if (config != null && Files.exists(Paths.get(config))) {
+            spark.loadXMLConfig(config);
+        }
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(spark);
+        String currentUri = null;
+        ExtentTest feature = null;
+        for (RecordRef ref : index) {
+            if (!ref.uri.equals(currentUri)) {
+                currentUri = ref.uri;
+                feature = extent.createTest(Feature.class, ref.feature);
+            }
+            JsonObject record = read(files, ref);
+            ExtentTest scenario = feature.createNode(Scenario.class, record.get("name").getAsString(), attempts(ref));
+            JsonArray tags = record.getAsJsonArray("tags");
+            for (JsonElement tag : tags) {
+                scenario.assignCategory(tag.getAsString());
+            }
+            for (JsonElement element : record.getAsJsonArray("steps")) {
+                JsonObject step = element.getAsJsonObject();
+                String keyword = step.get("keyword").getAsString().trim();
+                String text = step.get("text").getAsString();
+                ExtentTest stepNode;
+                try {
+                    stepNode = scenario.createNode(new GherkinKeyword(keyword), text);
+                } catch (ClassNotFoundException e) {
+                    stepNode = scenario.createNode(Asterisk.class, keyword + " " + text);
+                }
+                switch (step.get("status").getAsString()) {
+                    case "PASSED":
+                        stepNode.pass(text);
+                        break;
+                    case "FAILED":
+                        stepNode.fail(step.has("error") ? step.get("error").getAsString() : text);
+                        break;
+                    default:
+                        stepNode.skip(step.get("status").getAsString().toLowerCase(Locale.ROOT));
+                        break;
+                }
+                addScreenshots(stepNode, step);
+                JsonArray afterStepHooks = step.getAsJsonArray("after");
+                if (afterStepHooks != null) {
+                    for (JsonElement hook : afterStepHooks) {
+                        addScreenshots(stepNode, hook.getAsJsonObject());
+                    }
+                }
+            }
+            JsonArray afterHooks = record.getAsJsonArray("after");
+            if (afterHooks != null) {
+                for (JsonElement hook : afterHooks) {
+                    addScreenshots(scenario, hook.getAsJsonObject());
+                }
+            }
+            if (record.has("hookError")) {
+                scenario.fail(record.get("hookError").getAsString());
+            }
+        }
+        extent.flush();
+    }
+
+    private static void addScreenshots(ExtentTest node, JsonObject step) {
+        JsonArray embeddings = step.getAsJsonArray("embeddings");
+        if (embeddings == null) {
+            return;
+        }
+        for (JsonElement element : embeddings) {
+            JsonObject embedding = element.getAsJsonObject();
+            if (embedding.get("mediaType").getAsString().startsWith("image/")) {
+                node.addScreenCaptureFromBase64String(embedding.get("data").getAsString(),
+                        embedding.has("name") ? embedding.get("name").getAsString() : null);
+            }
+        }
+    }
+
+    /**
+     * Label of a scenario run more than once, e.g. "Attempt 2, earlier: FAILED"; empty for a single run
+     */
+    private static String attempts(RecordRef ref) {
+        if (ref.earlierStatuses.isEmpty()) {
+            return "";
+        }
+        return "Attempt " + (ref.earlierStatuses.size() + 1) + ", earlier: " + String.join(", ", ref.earlierStatuses);
+    }
+
+    private static String slug(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    /**
+     * Location of one scenario record in a stream
+     */
+    private static final class RecordRef {
+        private final String uri;
+        private final String feature;
+        private final int line;
+        private final Instant started;
+        private final String status;
+        private final int fileIndex;
+        private final long offset;
+        private final int length;
+        private final List<String> earlierStatuses = new ArrayList<>();
+
+        private RecordRef(String uri, String feature, int line, Instant started, String status,
+                          int fileIndex, long offset, int length) {
+            this.uri = uri;
+            this.feature = feature;
+            this.line = line;
+            this.started = started;
+            this.status = status;
+            this.fileIndex = fileIndex;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.automation.runners;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * {@link ReportMerger} on hand-written scenario streams
+ */
+public class ReportMergerTest {
+    private static final Gson GSON = new Gson();
+    private static final String LOGIN = "file:src/test/resources/features/login.feature";
+
+    private Path directory;
+    private Path streams;
+    private Path output;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("report-merger");
+        streams = Files.createDirectories(directory.resolve("stream"));
+        output = directory.resolve("reports");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void rerunIsReportedByItsLatestAttempt() throws IOException {
+        writeStream("scenarios-1.ndjson",
+                scenario(5, "Valid login", "2026-01-01T10:00:00Z", "PASSED"),
+                scenario(12, "Locked account", "2026-01-01T10:00:01Z", "FAILED"));
+        writeStream("scenarios-2.ndjson",
+                scenario(12, "Locked account", "2026-01-01T10:00:09.5Z", "PASSED"));
+
+        JsonArray elements = merge().get(0).getAsJsonObject().getAsJsonArray("elements");
+
+        assertEquals(elements.size(), 2);
+        JsonObject rerun = elements.get(1).getAsJsonObject();
+        assertEquals(rerun.get("line").getAsInt(), 12);
+        assertEquals(rerun.get("start_timestamp").getAsString(), "2026-01-01T10:00:09.500Z");
+        assertEquals(rerun.get("description").getAsString(), "Attempt 2, earlier: FAILED");
+        assertEquals(status(rerun.getAsJsonArray("steps").get(0).getAsJsonObject()), "passed");
+        assertEquals(elements.get(0).getAsJsonObject().get("description").getAsString(), "");
+        String html = Files.readString(output.resolve("cucumber.html"));
+        assertTrue(html.contains("{PASSED=2}"), html);
+        assertTrue(html.contains("Attempt 2, earlier: FAILED"), html);
+    }
+
+    @Test
+    public void hooksMatchLocationsAndAttachmentsAreKept() throws IOException {
+        Map<String, Object> record = scenario(5, "Valid login", "2026-01-01T10:00:00Z", "FAILED");
+        Map<String, Object> step = steps(record).get(0);
+        step.put("status", "FAILED");
+        step.put("error", "java.lang.AssertionError: expected");
+        step.put("output", List.of("typed alice"));
+        step.put("before", List.of(hook("Hooks.beforeStep()", "PASSED")));
+        record.put("before", List.of(hook("Hooks.beforeScenario(io.cucumber.java.Scenario)", "PASSED")));
+        Map<String, Object> after = hook("Hooks.afterScenario(io.cucumber.java.Scenario)", "PASSED");
+        after.put("embeddings", List.of(Map.of("data", "iVBORw0K", "mediaType", "image/png", "name", "failure")));
+        record.put("after", List.of(after));
+        writeStream("scenarios-1.ndjson", record);
+
+        JsonObject scenario = merge().get(0).getAsJsonObject().getAsJsonArray("elements").get(0).getAsJsonObject();
+
+        JsonObject jsonStep = scenario.getAsJsonArray("steps").get(0).getAsJsonObject();
+        assertEquals(location(jsonStep), "LoginStepDefinitions.enterUsername(java.lang.String)");
+        assertEquals(jsonStep.getAsJsonObject("result").get("error_message").getAsString(),
+                "java.lang.AssertionError: expected");
+        assertEquals(jsonStep.getAsJsonArray("output").get(0).getAsString(), "typed alice");
+        assertEquals(location(jsonStep.getAsJsonArray("before").get(0).getAsJsonObject()), "Hooks.beforeStep()");
+        assertEquals(location(scenario.getAsJsonArray("before").get(0).getAsJsonObject()),
+                "Hooks.beforeScenario(io.cucumber.java.Scenario)");
+        JsonObject embedding = scenario.getAsJsonArray("after").get(0).getAsJsonObject()
+                .getAsJsonArray("embeddings").get(0).getAsJsonObject();
+        assertEquals(embedding.get("data").getAsString(), "iVBORw0K");
+        assertEquals(embedding.get("mime_type").getAsString(), "image/png");
+        assertEquals(embedding.get("name").getAsString(), "failure");
+    }
+
+    @Test
+    public void partialLastLineOfAKilledJvmIsSkipped() throws IOException {
+        String complete = GSON.toJson(scenario(5, "Valid login", "2026-01-01T10:00:00Z", "PASSED"));
+        String partial = GSON.toJson(scenario(12, "Locked account", "2026-01-01T10:00:01Z", "PASSED"));
+        Files.writeString(streams.resolve("scenarios-1.ndjson"),
+                complete + "\n" + partial.substring(0, partial.length() / 2));
+
+        JsonArray elements = merge().get(0).getAsJsonObject().getAsJsonArray("elements");
+
+        assertEquals(elements.size(), 1);
+        assertEquals(elements.get(0).getAsJsonObject().get("line").getAsInt(), 5);
+    }
+
+    @Test
+    public void missingStreamDirectoryWritesNothing() throws IOException {
+        ReportMerger.merge(directory.resolve("missing"), output, output.resolve("Spark.html"));
+
+        assertFalse(Files.exists(output.resolve("cucumber.json")));
+    }
+
+    private JsonArray merge() throws IOException {
+        ReportMerger.merge(streams, output, output.resolve("Spark.html"));
+        assertTrue(Files.exists(output.resolve("Spark.html")));
+        return JsonParser.parseString(Files.readString(output.resolve("cucumber.json"), StandardCharsets.UTF_8))
+                .getAsJsonArray();
+    }
+
+    @SafeVarargs
+    private void writeStream(String name, Map<String, Object>... records) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (Map<String, Object> record : records) {
+            lines.append(GSON.toJson(record)).append('\n');
+        }
+        Files.writeString(streams.resolve(name), lines);
+    }
+
+    private static Map<String, Object> scenario(int line, String name, String startTime, String status) {
+        Map<String, Object> step = new LinkedHashMap<>();
+        step.put("keyword", "Given ");
+        step.put("text", "I enter username \"alice\"");
+        step.put("line", line + 1);
+        step.put("location", "LoginStepDefinitions.enterUsername(java.lang.String)");
+        step.put("status", "PASSED");
+        step.put("durationNanos", 1_000_000L);
+        List<Map<String, Object>> steps = new ArrayList<>();
+        steps.add(step);
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("uri", LOGIN);
+        record.put("feature", "Login");
+        record.put("keyword", "Scenario");
+        record.put("name", name);
+        record.put("line", line);
+        record.put("tags", List.of("@smoke"));
+        record.put("startTime", startTime);
+        record.put("worker", "device-1");
+        record.put("jvm", "1@host");
+        record.put("steps", steps);
+        record.put("status", status);
+        record.put("durationNanos", 2_000_000L);
+        return record;
+    }
+
+    private static Map<String, Object> hook(String location, String status) {
+        Map<String, Object> hook = new LinkedHashMap<>();
+        hook.put("location", location);
+        hook.put("status", status);
+        hook.put("durationNanos", 500_000L);
+        return hook;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> steps(Map<String, Object> record) {
+        return (List<Map<String, Object>>) record.get("steps");
+    }
+
+    private static String status(JsonObject step) {
+        return step.getAsJsonObject("result").get("status").getAsString();
+    }
+
+    private static String location(JsonObject step) {
+        return step.getAsJsonObject("match").get("location").getAsString();
+    }
+}
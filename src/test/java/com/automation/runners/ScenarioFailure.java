@@ -0,0 +1,65 @@
+package com.automation.runners;
+
+import com.automation.drivers.ScenarioContext;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+
+import java.io.IOException;
+
+/**
+ * First error of the running scenario, recorded by {@link StepTimingPlugin}, used to decide whether the
+ * scenario's driver session can be trusted by the next scenario. Assertion failures and element lookups or
+ * waits that ran out are the app's state, not the session's; anything else, a failure without a recorded
+ * error, or an error caused by an I/O failure talking to the server gets the session evicted.
+ */
+public final class ScenarioFailure {
+    private static final ScenarioContext.Key<Throwable> ERROR = new ScenarioContext.Key<>("failure", Throwable.class);
+
+    private ScenarioFailure() {
+    }
+
+    /**
+     * Record a failed step's error, keeping the first one of the scenario
+     * @param error Step error, may be null
+     */
+    static void record(Throwable error) {
+        ScenarioContext context = ScenarioContext.peek();
+        if (context != null && error != null && context.get(ERROR) == null) {
+            context.put(ERROR, error);
+        }
+    }
+
+    /**
+     * Decide whether a finished scenario's session must be evicted rather than reused
+     * @param failed true if the scenario failed
+     * @return true if the scenario failed for a reason other than the app or an assertion
+     */
+    public static boolean isSessionSuspect(boolean failed) {
+        if (!failed) {
+            return false;
+        }
+        ScenarioContext context = ScenarioContext.peek();
+        Throwable error = context != null ? context.get(ERROR) : null;
+        return error == null || !isAppFailure(error);
+    }
+
+    /**
+     * Check whether an error is the app's or the test's, leaving the session healthy
+     * @param error Step error
+     * @return true for assertion failures and element lookups or waits that ran out
+     */
+    static boolean isAppFailure(Throwable error) {
+        for (Throwable cause = error.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return false;
+            }
+        }
+        return error instanceof AssertionError
+                || error instanceof NotFoundException
+                || error instanceof StaleElementReferenceException
+                || error instanceof ElementNotInteractableException
+                || error instanceof TimeoutException;
+    }
+}
@@ -0,0 +1,68 @@
+package com.automation.runners;
+
+import com.automation.drivers.ScenarioContext;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpTimeoutException;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * {@link ScenarioFailure} classification of scenario errors into app failures and suspect sessions
+ */
+public class ScenarioFailureTest {
+
+    @BeforeMethod
+    public void setUp() {
+        ScenarioContext.open();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        ScenarioContext.close();
+    }
+
+    @Test
+    public void passedScenarioKeepsItsSession() {
+        ScenarioFailure.record(new WebDriverException("ignored"));
+
+        assertFalse(ScenarioFailure.isSessionSuspect(false));
+    }
+
+    @Test
+    public void failureWithoutARecordedErrorIsSuspect() {
+        assertTrue(ScenarioFailure.isSessionSuspect(true));
+    }
+
+    @Test
+    public void assertionsAndElementWaitsAreAppFailures() {
+        assertTrue(ScenarioFailure.isAppFailure(new AssertionError("expected")));
+        assertTrue(ScenarioFailure.isAppFailure(new NoSuchElementException("missing")));
+        assertTrue(ScenarioFailure.isAppFailure(new TimeoutException("Expected condition failed")));
+    }
+
+    @Test
+    public void sessionAndTransportErrorsAreSuspect() {
+        assertFalse(ScenarioFailure.isAppFailure(new NoSuchSessionException("gone")));
+        assertFalse(ScenarioFailure.isAppFailure(new WebDriverException("crashed")));
+        assertFalse(ScenarioFailure.isAppFailure(new TimeoutException(new HttpTimeoutException("timed out"))));
+        assertFalse(ScenarioFailure.isAppFailure(new UncheckedIOException(new IOException("reset"))));
+    }
+
+    @Test
+    public void firstRecordedErrorDecides() {
+        ScenarioFailure.record(new AssertionError("expected"));
+        ScenarioFailure.record(new NoSuchSessionException("gone"));
+
+        assertFalse(ScenarioFailure.isSessionSuspect(true));
+    }
+}
@@ -0,0 +1,121 @@
+package com.automation.runners;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.google.gson.GsonBuilder;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects scenarios that failed in the main pass so {@link TestRunner} can rerun them in the same JVM
+ * after the pass finishes, and keeps first-pass and rerun outcomes apart so flaky scenarios stay visible.
+ * A failed scenario stays failed in the main pass; its reruns are reported as separate rerunScenario
+ * results and in the rerun summary.
+ */
+public class ScenarioRerun {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioRerun.class);
+    private static final Queue<Object[]> failedScenarios = new ConcurrentLinkedQueue<>();
+    private static final Queue<String> firstPassFailures = new ConcurrentLinkedQueue<>();
+    private static final Queue<String> passedOnRerun = new ConcurrentLinkedQueue<>();
+    private static final Queue<String> failedOnRerun = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Boolean> rerunning = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Get the number of reruns of a failed scenario
+     * @return rerun.failed.attempts (0 disables the rerun stage)
+     */
+    public static int getAttempts() {
+        return Math.max(0, ConfigManager.getIntProperty(ConfigKey.RERUN_FAILED_ATTEMPTS));
+    }
+
+    /**
+     * Check whether failed scenarios are rerun
+     * @return true if rerun.failed.attempts is greater than zero
+     */
+    public static boolean isEnabled() {
+        return getAttempts() > 0;
+    }
+
+    /**
+     * Check whether the current thread is running a rerun
+     * @return true during the rerun stage
+     */
+    public static boolean isRerunning() {
+        return rerunning.get();
+    }
+
+    static void setRerunning(boolean value) {
+        rerunning.set(value);
+    }
+
+    /**
+     * Record a scenario that failed in the main pass
+     * @param row Data provider row ({PickleWrapper, FeatureWrapper})
+     */
+    static void recordFailure(Object[] row) {
+        failedScenarios.add(row);
+        firstPassFailures.add(describe(row));
+    }
+
+    /**
+     * Record the final outcome of a rerun scenario
+     * @param row Data provider row
+     * @param passed true if an attempt passed
+     */
+    static void recordRerun(Object[] row, boolean passed) {
+        (passed ? passedOnRerun : failedOnRerun).add(describe(row));
+    }
+
+    /**
+     * Get the failed scenarios in the order they failed
+     * @return Data provider rows
+     */
+    static Object[][] getFailedScenarios() {
+        return failedScenarios.toArray(new Object[0][]);
+    }
+
+    /**
+     * Log the first-pass and rerun outcomes and write them to rerun-summary.json under
+     * cucumber.report.path. Does nothing if no scenario failed.
+     */
+    static void writeSummary() {
+        if (firstPassFailures.isEmpty()) {
+            return;
+        }
+        logger.info("Rerun summary: {} scenario(s) failed in the main pass, {} passed on rerun (flaky), "
+                + "{} failed again", firstPassFailures.size(), passedOnRerun.size(), failedOnRerun.size());
+        passedOnRerun.forEach(scenario -> logger.info("  Flaky: {}", scenario));
+        failedOnRerun.forEach(scenario -> logger.info("  Failed: {}", scenario));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("firstPassFailures", new ArrayList<>(firstPassFailures));
+        summary.put("passedOnRerun", new ArrayList<>(passedOnRerun));
+        summary.put("failedOnRerun", new ArrayList<>(failedOnRerun));
+        Path directory = Paths.get(ConfigManager.getProperty(ConfigKey.CUCUMBER_REPORT_PATH));
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("rerun-summary.json"), new GsonBuilder().setPrettyPrinting().create()
+                    .toJson(summary).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.error("Failed to write rerun summary", e);
+        }
+    }
+
+    private static String describe(Object[] row) {
+        Pickle pickle = ((PickleWrapper) row[0]).getPickle();
+        return pickle.getName() + " @ " + pickle.getUri() + ":" + pickle.getLine();
+    }
+}
@@ -0,0 +1,71 @@
+package com.automation.runners;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.automation.drivers.DeviceManager;
+import com.automation.utils.DurationHistory;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Orders the scenario data provider longest-first by {@link DurationHistory}, so the slowest
+ * scenarios start while every worker is still busy instead of extending the end of the run.
+ * The estimated wall-clock time on the available workers is logged before the run starts.
+ */
+public class ScenarioScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioScheduler.class);
+
+    /**
+     * Order data provider rows ({PickleWrapper, FeatureWrapper}) for the run
+     * @param scenarios Rows in feature file order
+     * @return Rows longest-first, or unchanged when scenario.order=file
+     */
+    public static Object[][] order(Object[][] scenarios) {
+        boolean byDuration = !"file".equalsIgnoreCase(ConfigManager.getProperty(ConfigKey.SCENARIO_ORDER));
+        int workers = Math.max(1, DeviceManager.getDeviceCount());
+
+        Object[][] ordered = scenarios.clone();
+        if (byDuration) {
+            // Stable sort: scenarios with equal estimates keep feature file order
+            Arrays.sort(ordered, Comparator.comparingLong((Object[] row) -> estimateMillis(row)).reversed());
+        }
+
+        List<Long> durations = new ArrayList<>();
+        int unknown = 0;
+        for (Object[] row : ordered) {
+            durations.add(estimateMillis(row));
+            if (!DurationHistory.isKnown(key(row))) {
+                unknown++;
+            }
+        }
+        long serial = durations.stream().mapToLong(Long::longValue).sum();
+        logger.info("Scheduling {} scenario(s) in {} order on {} worker(s): estimated {} (serial {}), "
+                        + "{} without history weighted {} ms",
+                ordered.length, byDuration ? "longest-first" : "feature file", workers,
+                format(DurationHistory.estimateMakespan(durations, workers)), format(serial), unknown,
+                DurationHistory.getDefaultMillis());
+        return ordered;
+    }
+
+    private static long estimateMillis(Object[] row) {
+        return DurationHistory.estimateMillis(key(row));
+    }
+
+    private static String key(Object[] row) {
+        Pickle pickle = ((PickleWrapper) row[0]).getPickle();
+        return DurationHistory.key(pickle.getUri(), pickle.getLine());
+    }
+
+    private static String format(long millis) {
+        Duration duration = Duration.ofMillis(millis);
+        return String.format("%dm%02ds", duration.toMinutes(), duration.toSecondsPart());
+    }
+}
@@ -0,0 +1,44 @@
+package com.automation.runners;
+
+import com.automation.utils.CommandMetrics;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Cucumber plugin that records step durations in {@link CommandMetrics} and marks the running step,
+ * so driver commands and waits are attributed to it, and records the error of a failed step or hook in
+ * {@link ScenarioFailure}. Events arrive on the thread executing the step.
+ */
+public class StepTimingPlugin implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepStarted.class, this::onStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+    }
+
+    private void onStepStarted(TestStepStarted event) {
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            CommandMetrics.setCurrentStep(stepText((PickleStepTestStep) event.getTestStep()));
+        }
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        if (event.getResult().getStatus() == Status.FAILED) {
+            ScenarioFailure.record(event.getResult().getError());
+        }
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            CommandMetrics.recordStep(stepText((PickleStepTestStep) event.getTestStep()),
+                    event.getResult().getDuration().toNanos());
+            CommandMetrics.setCurrentStep(null);
+        }
+    }
+
+    private static String stepText(PickleStepTestStep step) {
+        return step.getStep().getKeyword().trim() + " " + step.getStep().getText();
+    }
+}
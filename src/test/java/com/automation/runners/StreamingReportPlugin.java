@@ -0,0 +1,278 @@
+package com.automation.runners;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.google.gson.Gson;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EmbedEvent;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestSourceRead;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.WriteEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Cucumber plugin that appends one NDJSON record per finished scenario to
+ * report.stream.path/scenarios-&lt;jvm&gt;.ndjson and flushes it, so results can be followed while the run
+ * is going and memory does not grow with the number of scenarios. Records hold the steps and hooks with
+ * their match locations, attachments and output. Every JVM writes its own file; {@link ReportMerger}
+ * combines the files into the Cucumber JSON, HTML and Extent reports. With report.merge.on.finish the JVM
+ * owns the stream directory: it clears it before the first record and merges it when the run finishes,
+ * so single-JVM runs (IDE, plain TestNG) get their reports without gradle mergeReports.
+ */
+public class StreamingReportPlugin implements ConcurrentEventListener {
+    private static final Logger logger = LoggerFactory.getLogger(StreamingReportPlugin.class);
+    private static final Gson GSON = new Gson();
+
+    private final Map<URI, String> featureNames = new ConcurrentHashMap<>();
+    private final Map<UUID, RunningScenario> runningScenarios = new ConcurrentHashMap<>();
+    private final String jvm = ManagementFactory.getRuntimeMXBean().getName();
+    private BufferedWriter writer;
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestSourceRead.class, this::onTestSourceRead);
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(EmbedEvent.class, this::onEmbed);
+        publisher.registerHandlerFor(WriteEvent.class, this::onWrite);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> finish());
+    }
+
+    private void onTestSourceRead(TestSourceRead event) {
+        for (String line : event.getSource().split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("Feature:")) {
+                featureNames.put(event.getUri(), trimmed.substring("Feature:".length()).trim());
+                return;
+            }
+        }
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        TestCase testCase = event.getTestCase();
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("uri", testCase.getUri().toString());
+        record.put("feature", featureNames.getOrDefault(testCase.getUri(), testCase.getUri().toString()));
+        record.put("keyword", testCase.getKeyword());
+        record.put("name", testCase.getName());
+        record.put("line", testCase.getLocation().getLine());
+        record.put("tags", testCase.getTags());
+        record.put("startTime", event.getInstant().toString());
+        record.put("worker", Thread.currentThread().getName());
+        record.put("jvm", jvm);
+        record.put("before", new ArrayList<Map<String, Object>>());
+        record.put("steps", new ArrayList<Map<String, Object>>());
+        record.put("after", new ArrayList<Map<String, Object>>());
+        runningScenarios.put(testCase.getId(), new RunningScenario(record));
+    }
+
+    private void onEmbed(EmbedEvent event) {
+        RunningScenario scenario = runningScenarios.get(event.getTestCase().getId());
+        if (scenario == null) {
+            return;
+        }
+        Map<String, Object> embedding = new LinkedHashMap<>();
+        embedding.put("data", Base64.getEncoder().encodeToString(event.getData()));
+        embedding.put("mediaType", event.getMediaType());
+        if (event.getName() != null) {
+            embedding.put("name", event.getName());
+        }
+        scenario.embeddings.add(embedding);
+    }
+
+    private void onWrite(WriteEvent event) {
+        RunningScenario scenario = runningScenarios.get(event.getTestCase().getId());
+        if (scenario != null) {
+            scenario.output.add(event.getText());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onTestStepFinished(TestStepFinished event) {
+        RunningScenario scenario = runningScenarios.get(event.getTestCase().getId());
+        if (scenario == null) {
+            return;
+        }
+        Map<String, Object> record = scenario.record;
+        Result result = event.getResult();
+        Map<String, Object> stepRecord = new LinkedHashMap<>();
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+            stepRecord.put("keyword", step.getStep().getKeyword());
+            stepRecord.put("text", step.getStep().getText());
+            stepRecord.put("line", step.getStep().getLine());
+        }
+        if (event.getTestStep().getCodeLocation() != null) {
+            stepRecord.put("location", event.getTestStep().getCodeLocation());
+        }
+        stepRecord.put("status", result.getStatus().name());
+        stepRecord.put("durationNanos", result.getDuration().toNanos());
+        if (result.getError() != null) {
+            stepRecord.put("error", stackTrace(result.getError()));
+        }
+        scenario.drainAttachments(stepRecord);
+
+        List<Map<String, Object>> steps = (List<Map<String, Object>>) record.get("steps");
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            if (!scenario.beforeStepHooks.isEmpty()) {
+                stepRecord.put("before", new ArrayList<>(scenario.beforeStepHooks));
+                scenario.beforeStepHooks.clear();
+            }
+            steps.add(stepRecord);
+            return;
+        }
+        if (result.getError() != null && !record.containsKey("hookError")) {
+            record.put("hookError", stepRecord.get("error"));
+        }
+        switch (((HookTestStep) event.getTestStep()).getHookType()) {
+            case BEFORE:
+                ((List<Map<String, Object>>) record.get("before")).add(stepRecord);
+                break;
+            case BEFORE_STEP:
+                scenario.beforeStepHooks.add(stepRecord);
+                break;
+            case AFTER_STEP:
+                if (steps.isEmpty()) {
+                    ((List<Map<String, Object>>) record.get("after")).add(stepRecord);
+                } else {
+                    ((List<Map<String, Object>>) steps.get(steps.size() - 1)
+                            .computeIfAbsent("after", key -> new ArrayList<Map<String, Object>>())).add(stepRecord);
+                }
+                break;
+            default:
+                ((List<Map<String, Object>>) record.get("after")).add(stepRecord);
+                break;
+        }
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        RunningScenario scenario = runningScenarios.remove(event.getTestCase().getId());
+        if (scenario == null) {
+            return;
+        }
+        Map<String, Object> record = scenario.record;
+        record.put("status", event.getResult().getStatus().name());
+        record.put("durationNanos", event.getResult().getDuration().toNanos());
+        write(GSON.toJson(record));
+    }
+
+    private synchronized void write(String line) {
+        try {
+            if (writer == null) {
+                Path directory = Paths.get(ConfigManager.getProperty(ConfigKey.REPORT_STREAM_PATH));
+                Files.createDirectories(directory);
+                if (ConfigManager.getBooleanProperty(ConfigKey.REPORT_MERGE_ON_FINISH)) {
+                    deleteStreams(directory);
+                }
+                Path file = directory.resolve("scenarios-" + jvm.replaceAll("[^A-Za-z0-9.-]", "_") + ".ndjson");
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                logger.info("Streaming scenario results to: {}", file);
+            }
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write scenario record", e);
+        }
+    }
+
+    /**
+     * Delete the streams left by earlier runs, so the merge only sees this run
+     */
+    private static void deleteStreams(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.toString().endsWith(".ndjson")) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private synchronized void finish() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close scenario stream", e);
+        }
+        writer = null;
+        if (ConfigManager.getBooleanProperty(ConfigKey.REPORT_MERGE_ON_FINISH)) {
+            try {
+                ReportMerger.merge(Paths.get(ConfigManager.getProperty(ConfigKey.REPORT_STREAM_PATH)),
+                        Paths.get(ConfigManager.getProperty(ConfigKey.CUCUMBER_REPORT_PATH)));
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Failed to merge scenario streams into the reports", e);
+            }
+        }
+    }
+
+    private static String stackTrace(Throwable error) {
+        StringWriter out = new StringWriter();
+        error.printStackTrace(new PrintWriter(out));
+        return out.toString();
+    }
+
+    /**
+     * Record of a running scenario, with the attachments and output not yet assigned to a step and the
+     * BeforeStep hooks of the next step
+     */
+    private static final class RunningScenario {
+        private final Map<String, Object> record;
+        private final List<Map<String, Object>> embeddings = new ArrayList<>();
+        private final List<String> output = new ArrayList<>();
+        private final List<Map<String, Object>> beforeStepHooks = new ArrayList<>();
+
+        private RunningScenario(Map<String, Object> record) {
+            this.record = record;
+        }
+
+        /**
+         * Attachments and output are written while a step or hook runs; they belong to it when it finishes
+         */
+        private void drainAttachments(Map<String, Object> stepRecord) {
+            if (!embeddings.isEmpty()) {
+                stepRecord.put("embeddings", new ArrayList<>(embeddings));
+                embeddings.clear();
+            }
+            if (!output.isEmpty()) {
+                stepRecord.put("output", new ArrayList<>(output));
+                output.clear();
+            }
+        }
+    }
+}
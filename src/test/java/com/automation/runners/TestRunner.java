@@ -2,19 +2,29 @@ package com.automation.runners;
 
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
 
 /**
- * TestNG Cucumber Test Runner
+ * TestNG Cucumber Test Runner.
+ * Scenarios run in parallel, one worker thread per device in the device inventory
+ * (see {@link DeviceAwareSuiteListener}), longest-first by duration history (see {@link ScenarioScheduler}).
+ * Scenarios that fail are rerun in the same JVM after the main pass (see {@link ScenarioRerun}).
+ * Results are streamed per scenario and merged into the HTML/JSON/Extent reports by {@link ReportMerger},
+ * at the end of the run when it is the only JVM, otherwise by gradle mergeReports.
  */
 @CucumberOptions(
         features = "src/test/resources/features",
         glue = {"com.automation.stepdefinitions"},
         plugin = {
                 "pretty",
-                "html:cucumber-reports/cucumber.html",
-                "json:cucumber-reports/cucumber.json",
-                "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:"
+                "com.automation.runners.StreamingReportPlugin",
+                "com.automation.runners.StepTimingPlugin",
+                "com.automation.runners.DurationHistoryPlugin"
         },
         monochrome = true,
         dryRun = false,
@@ -23,8 +33,65 @@ import org.testng.annotations.DataProvider;
 public class TestRunner extends AbstractTestNGCucumberTests {
 
     @Override
-    @DataProvider(parallel = false)
+    @DataProvider(parallel = true)
     public Object[][] scenarios() {
-        return super.scenarios();
+        return ScenarioScheduler.order(super.scenarios());
+    }
+
+    /**
+     * Run a scenario in the main pass. With reruns enabled a failed scenario is queued for
+     * {@link #rerunScenario}; the main-pass failure is still reported as it happened.
+     */
+    @Override
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios")
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        try {
+            super.runScenario(pickleWrapper, featureWrapper);
+        } catch (RuntimeException | Error e) {
+            if (ScenarioRerun.isEnabled() && !(e instanceof SkipException)) {
+                ScenarioRerun.recordFailure(new Object[]{pickleWrapper, featureWrapper});
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Failed scenarios of the main pass; evaluated when the rerun stage starts
+     * @return Data provider rows
+     */
+    @DataProvider(parallel = true)
+    public Object[][] failedScenarios() {
+        return ScenarioRerun.getFailedScenarios();
+    }
+
+    /**
+     * Rerun a scenario that failed in the main pass, up to rerun.failed.attempts times
+     */
+    @Test(groups = "cucumber", description = "Reruns failed Cucumber Scenarios", dataProvider = "failedScenarios",
+            dependsOnMethods = "runScenario", alwaysRun = true)
+    public void rerunScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        Object[] row = {pickleWrapper, featureWrapper};
+        ScenarioRerun.setRerunning(true);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    super.runScenario(pickleWrapper, featureWrapper);
+                    ScenarioRerun.recordRerun(row, true);
+                    return;
+                } catch (RuntimeException | Error e) {
+                    if (attempt >= ScenarioRerun.getAttempts()) {
+                        ScenarioRerun.recordRerun(row, false);
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            ScenarioRerun.setRerunning(false);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeRerunSummary() {
+        ScenarioRerun.writeSummary();
     }
 }
@@ -1,10 +1,34 @@
 package com.automation.stepdefinitions;
 
 import com.automation.config.ConfigManager;
+import com.automation.drivers.AppResetManager;
+import com.automation.drivers.AppResetStrategy;
+import com.automation.drivers.AppiumSettings;
+import com.automation.drivers.DeviceManager;
 import com.automation.drivers.DriverManager;
+import com.automation.drivers.ScenarioContext;
+import com.automation.drivers.SharedHttpClientFactory;
+import com.automation.drivers.SimulatedAppiumServer;
+import com.automation.pages.ActionBatch;
+import com.automation.pages.ElementCache;
+import com.automation.pages.LocatorProfiler;
+import com.automation.pages.PageSnapshotCache;
+import com.automation.pages.ScrollEngine;
+import com.automation.pages.TextEntry;
+import com.automation.runners.ScenarioFailure;
+import com.automation.runners.ScenarioRerun;
+import com.automation.utils.CommandMetrics;
+import com.automation.utils.FrameRecorder;
+import com.automation.utils.PresenceProbe;
+import com.automation.utils.ScenarioLogContext;
 import com.automation.utils.ScreenshotUtils;
+import com.automation.utils.ScreenshotWriter;
+import com.automation.utils.WaitEngine;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeAll;
 import io.cucumber.java.Scenario;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,52 +39,125 @@ import org.slf4j.LoggerFactory;
 public class Hooks {
     private static final Logger logger = LoggerFactory.getLogger(Hooks.class);
 
+    /**
+     * Start the simulator if enabled and warm up pooled driver sessions before the suite starts
+     */
+    @BeforeAll
+    public static void beforeSuite() {
+        if (SimulatedAppiumServer.isEnabled()) {
+            DriverManager.setServerUrlOverride(SimulatedAppiumServer.start().getUrl());
+        }
+        DriverManager.warmUpPool();
+    }
+
+    /**
+     * Quit pooled driver sessions after the suite finishes
+     */
+    @AfterAll
+    public static void afterSuite() {
+        DriverManager.shutdownPool();
+        DriverManager.setServerUrlOverride(null);
+        SimulatedAppiumServer.shutdown();
+        ScreenshotWriter.shutdown(60);
+        logger.info("Driver session creations saved by pooling: {}", DriverManager.getSessionsSaved());
+        DeviceManager.logUtilization();
+        AppResetManager.logStatistics();
+        WaitEngine.logStatistics();
+        PresenceProbe.logStatistics();
+        PageSnapshotCache.logStatistics();
+        ElementCache.logStatistics();
+        ActionBatch.logStatistics();
+        ScrollEngine.logStatistics();
+        TextEntry.logStatistics();
+        ScreenshotWriter.logStatistics();
+        FrameRecorder.logStatistics();
+        SharedHttpClientFactory.getInstance().logStatistics();
+        CommandMetrics.writeReport();
+        LocatorProfiler.writeReport();
+        ScenarioLogContext.finishAll();
+    }
+
     /**
      * Setup before each scenario
      * @param scenario Cucumber scenario
      */
     @Before
     public void beforeScenario(Scenario scenario) {
+        ScenarioContext.open();
+        ScenarioLogContext.start(scenario.getName());
         logger.info("========================================");
         logger.info("Starting Scenario: {}", scenario.getName());
         logger.info("Platform: {}", ConfigManager.getPlatformType());
         logger.info("========================================");
         
         try {
-            DriverManager.initializeDriver();
+            AppResetStrategy resetStrategy = AppResetStrategy.fromTags(scenario.getSourceTagNames());
+            if (ScenarioRerun.isRerunning() && resetStrategy.compareTo(AppResetStrategy.CLEAR) < 0) {
+                // Do not let a rerun inherit the state its failed attempt left behind
+                resetStrategy = AppResetStrategy.CLEAR;
+            }
+            DriverManager.initializeDriver(resetStrategy);
             logger.info("Driver initialized successfully for scenario: {}", scenario.getName());
+            FrameRecorder.start();
         } catch (Exception e) {
             logger.error("Failed to initialize driver for scenario: {}", scenario.getName(), e);
             throw new RuntimeException("Driver initialization failed", e);
         }
     }
 
+    /**
+     * Capture a failure replay frame (replay.source=poll) and analyse the step's slow locators between steps
+     */
+    @AfterStep
+    public void afterStep() {
+        FrameRecorder.captureStep();
+        LocatorProfiler.suggestPending();
+    }
+
     /**
      * Teardown after each scenario
      * @param scenario Cucumber scenario
      */
     @After
     public void afterScenario(Scenario scenario) {
-        logger.info("========================================");
-        logger.info("Completing Scenario: {}", scenario.getName());
-        logger.info("Status: {}", scenario.getStatus());
-        logger.info("========================================");
+        try {
+            logger.info("========================================");
+            logger.info("Completing Scenario: {}", scenario.getName());
+            logger.info("Status: {}", scenario.getStatus());
+            logger.info("========================================");
+
+            // Keep the replay frames only when the scenario failed
+            FrameRecorder.stop(scenario.getName(), scenario.isFailed());
 
-        // Capture screenshot on failure
-        if (scenario.isFailed()) {
-            logger.warn("Scenario failed, capturing screenshot");
-            String screenshotPath = ScreenshotUtils.captureScreenshot(scenario.getName());
-            if (screenshotPath != null) {
-                logger.info("Screenshot saved at: {}", screenshotPath);
+            // Capture screenshot on failure
+            if (scenario.isFailed()) {
+                logger.warn("Scenario failed, capturing screenshot");
+                // Bytes are captured before the driver is released; the file is written in the background
+                ScreenshotUtils.captureScreenshotAsync(scenario.getName()).thenAccept(screenshotPath -> {
+                    if (screenshotPath != null) {
+                        logger.info("Screenshot saved at: {}", screenshotPath);
+                    }
+                });
             }
-        }
 
-        // Quit driver
-        try {
-            DriverManager.quitDriver();
-            logger.info("Driver quit successfully for scenario: {}", scenario.getName());
-        } catch (Exception e) {
-            logger.error("Failed to quit driver for scenario: {}", scenario.getName(), e);
+            PageSnapshotCache.invalidate();
+
+            // Pooled sessions are reused, so settings profiles must not leak into the next scenario
+            boolean settingsRestored = AppiumSettings.restore();
+
+            // Quit driver (pooled sessions are returned to the pool, and evicted if the scenario failed for a
+            // reason other than the app or an assertion, or kept settings; the next lease is health-checked and
+            // app-reset anyway)
+            try {
+                DriverManager.quitDriver(!settingsRestored || ScenarioFailure.isSessionSuspect(scenario.isFailed()));
+                logger.info("Driver quit successfully for scenario: {}", scenario.getName());
+            } catch (Exception e) {
+                logger.error("Failed to quit driver for scenario: {}", scenario.getName(), e);
+            }
+        } finally {
+            // Write the scenario's buffered lines, with its DEBUG lines only if it failed
+            ScenarioLogContext.finish(scenario.isFailed());
+            ScenarioContext.close();
         }
     }
 }
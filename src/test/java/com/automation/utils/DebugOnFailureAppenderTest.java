@@ -0,0 +1,117 @@
+package com.automation.utils;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * {@link DebugOnFailureAppender} buffering through {@link ScenarioLogContext}
+ */
+public class DebugOnFailureAppenderTest {
+    private LoggerContext context;
+    private DebugOnFailureAppender appender;
+    private ListAppender<ILoggingEvent> written;
+    private Logger logger;
+
+    @BeforeMethod
+    public void setUp() {
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        written = new ListAppender<>();
+        written.setContext(context);
+        written.start();
+        appender = new DebugOnFailureAppender();
+        appender.setContext(context);
+        appender.setMaxEvents(2);
+        appender.addAppender(written);
+        appender.start();
+        logger = context.getLogger(DebugOnFailureAppenderTest.class);
+        logger.setLevel(Level.DEBUG);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        MDC.remove(ScenarioLogContext.MDC_KEY);
+        logger.detachAppender(appender);
+        appender.stop();
+    }
+
+    @Test
+    public void failedScenarioIsWrittenInTimeOrder() {
+        ScenarioLogContext.start("failing");
+        logger.info("info 1");
+        logger.debug("debug 1");
+        logger.info("info 2");
+        logger.debug("debug 2");
+        assertEquals(messages(), List.of(), "held until the scenario finishes");
+
+        ScenarioLogContext.finish(true);
+
+        assertEquals(messages(), List.of("info 1", "debug 1", "info 2", "debug 2"));
+    }
+
+    @Test
+    public void passedScenarioDropsOnlyTheDebugLines() {
+        ScenarioLogContext.start("passing");
+        logger.debug("debug 1");
+        logger.info("info 1");
+
+        ScenarioLogContext.finish(false);
+
+        assertEquals(messages(), List.of("info 1"));
+    }
+
+    @Test
+    public void debugBufferDropsTheOldestLinesButKeepsInfo() {
+        ScenarioLogContext.start("verbose");
+        logger.info("info 1");
+        logger.debug("debug 1");
+        logger.debug("debug 2");
+        logger.info("info 2");
+        logger.debug("debug 3");
+
+        ScenarioLogContext.finish(true);
+
+        assertEquals(messages(), List.of("info 1", "debug 2", "info 2", "debug 3"));
+    }
+
+    @Test
+    public void unfinishedScenariosAreReleased() {
+        ScenarioLogContext.start("abandoned");
+        logger.debug("debug 1");
+        MDC.remove(ScenarioLogContext.MDC_KEY);
+
+        ScenarioLogContext.finishAll();
+
+        assertEquals(messages(), List.of("debug 1"));
+        assertEquals(DebugOnFailureAppender.getBufferedScenarioCount(), 0);
+    }
+
+    @Test
+    public void linesOutsideAScenarioAreWrittenImmediately() {
+        logger.debug("suite");
+
+        assertEquals(messages(), List.of("suite"));
+    }
+
+    private List<String> messages() {
+        List<String> messages = new ArrayList<>();
+        for (ILoggingEvent event : written.list) {
+            messages.add(event.getFormattedMessage());
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,57 @@
+package com.automation.utils;
+
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * {@link DurationHistory} makespan estimates and scenario keys
+ */
+public class DurationHistoryTest {
+
+    @Test
+    public void singleWorkerRunsEverythingInSequence() {
+        assertEquals(DurationHistory.estimateMakespan(Arrays.asList(30L, 10L, 20L), 1), 60);
+    }
+
+    @Test
+    public void eachScenarioGoesToTheFirstFreeWorker() {
+        // Worker 1: 50; worker 2: 40 then 30; worker 3: 20, 20 then 10
+        List<Long> longestFirst = Arrays.asList(50L, 40L, 20L, 20L, 30L, 10L);
+
+        assertEquals(DurationHistory.estimateMakespan(longestFirst, 3), 70);
+    }
+
+    @Test
+    public void longestFirstOrderShortensTheMakespan() {
+        List<Long> shortestFirst = Arrays.asList(10L, 10L, 10L, 10L, 40L);
+        List<Long> longestFirst = Arrays.asList(40L, 10L, 10L, 10L, 10L);
+
+        assertEquals(DurationHistory.estimateMakespan(shortestFirst, 2), 60);
+        assertEquals(DurationHistory.estimateMakespan(longestFirst, 2), 40);
+    }
+
+    @Test
+    public void moreWorkersThanScenariosIsBoundByTheLongest() {
+        assertEquals(DurationHistory.estimateMakespan(Arrays.asList(25L, 5L), 8), 25);
+    }
+
+    @Test
+    public void emptyRunOrNoWorkersIsHandled() {
+        assertEquals(DurationHistory.estimateMakespan(Collections.emptyList(), 4), 0);
+        assertEquals(DurationHistory.estimateMakespan(Arrays.asList(10L, 15L), 0), 25, "at least one worker");
+    }
+
+    @Test
+    public void keyIsRelativeToTheWorkingDirectory() {
+        URI feature = Paths.get("src/test/resources/features/login.feature").toAbsolutePath().toUri();
+
+        assertEquals(DurationHistory.key(feature, 12), "src/test/resources/features/login.feature:12");
+    }
+}
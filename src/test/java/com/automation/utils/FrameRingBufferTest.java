@@ -0,0 +1,102 @@
+package com.automation.utils;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * {@link FrameRingBuffer} slot reuse and frame order
+ */
+public class FrameRingBufferTest {
+
+    @Test
+    public void capacityIsSplitIntoEqualSlots() {
+        FrameRingBuffer buffer = new FrameRingBuffer(3, 100);
+
+        assertEquals(buffer.getSlots(), 3);
+        assertEquals(buffer.getCapacity(), 99);
+    }
+
+    @Test
+    public void framesAreReturnedOldestFirst() {
+        FrameRingBuffer buffer = new FrameRingBuffer(4, 64);
+        buffer.add(frame(1, 5), 100);
+        buffer.add(frame(2, 16), 200);
+
+        List<FrameRingBuffer.Frame> frames = buffer.snapshot(0);
+
+        assertEquals(timestamps(frames), List.of(100L, 200L));
+        assertEquals(frames.get(0).getBytes(), frame(1, 5));
+        assertEquals(frames.get(1).getBytes(), frame(2, 16));
+    }
+
+    @Test
+    public void fullRingOverwritesTheOldestFrame() {
+        FrameRingBuffer buffer = new FrameRingBuffer(3, 30);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(frame(i, 10), i * 100L);
+        }
+
+        List<FrameRingBuffer.Frame> frames = buffer.snapshot(0);
+
+        assertEquals(timestamps(frames), List.of(300L, 400L, 500L));
+        assertEquals(frames.get(0).getBytes(), frame(3, 10));
+        assertEquals(frames.get(2).getBytes(), frame(5, 10));
+    }
+
+    @Test
+    public void framesLargerThanASlotAreDropped() {
+        FrameRingBuffer buffer = new FrameRingBuffer(2, 20);
+
+        assertFalse(buffer.add(frame(1, 11), 100));
+        assertTrue(buffer.add(frame(2, 10), 200));
+
+        assertEquals(buffer.getDropped(), 1);
+        assertEquals(timestamps(buffer.snapshot(0)), List.of(200L));
+    }
+
+    @Test
+    public void snapshotSkipsFramesOlderThanTheWindow() {
+        FrameRingBuffer buffer = new FrameRingBuffer(4, 40);
+        for (int i = 1; i <= 4; i++) {
+            buffer.add(frame(i, 4), i * 100L);
+        }
+
+        assertEquals(timestamps(buffer.snapshot(250)), List.of(300L, 400L));
+    }
+
+    @Test
+    public void clearedBufferIsReusedFromTheStart() {
+        FrameRingBuffer buffer = new FrameRingBuffer(2, 20);
+        buffer.add(frame(1, 10), 100);
+        buffer.add(frame(2, 10), 200);
+        buffer.clear();
+
+        buffer.add(frame(3, 3), 300);
+
+        List<FrameRingBuffer.Frame> frames = buffer.snapshot(0);
+        assertEquals(timestamps(frames), List.of(300L));
+        assertEquals(frames.get(0).getBytes(), frame(3, 3));
+    }
+
+    private static byte[] frame(int value, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (value * 31 + i);
+        }
+        return bytes;
+    }
+
+    private static List<Long> timestamps(List<FrameRingBuffer.Frame> frames) {
+        List<Long> timestamps = new ArrayList<>();
+        for (FrameRingBuffer.Frame frame : frames) {
+            timestamps.add(frame.getTimestampMillis());
+        }
+        return timestamps;
+    }
+}
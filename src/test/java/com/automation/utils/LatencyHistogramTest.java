@@ -0,0 +1,101 @@
+package com.automation.utils;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * {@link LatencyHistogram} totals and percentile error bounds
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(histogram.getCount(), 0);
+        assertEquals(histogram.getPercentileMicros(50), 0);
+        assertEquals(histogram.getMaxMicros(), 0);
+    }
+
+    @Test
+    public void smallLatenciesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 0; micros < 8; micros++) {
+            histogram.record(micros * 1000L);
+        }
+
+        assertEquals(histogram.getPercentileMicros(50), 3);
+        assertEquals(histogram.getPercentileMicros(100), 7);
+        assertEquals(histogram.getTotalMicros(), 28);
+    }
+
+    @Test
+    public void percentilesStayWithinTheBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros * 1000L);
+        }
+
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            long exact = (long) Math.ceil(100_000 * percentile / 100.0);
+            long reported = histogram.getPercentileMicros(percentile);
+            assertTrue(reported >= exact && reported <= exact * 1.125, percentile + ": " + reported);
+        }
+        assertEquals(histogram.getMaxMicros(), 100_000);
+        assertEquals(histogram.getPercentileMicros(100), 100_000, "capped at the maximum");
+    }
+
+    @Test
+    public void negativeLatencyCountsAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(-5_000);
+
+        assertEquals(histogram.getCount(), 1);
+        assertEquals(histogram.getTotalMicros(), 0);
+        assertEquals(histogram.getPercentileMicros(99), 0);
+    }
+
+    @Test
+    public void largeLatenciesDoNotOverflowTheBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(histogram.getPercentileMicros(50), Long.MAX_VALUE / 1000);
+    }
+
+    @Test
+    public void concurrentRecordsAreAllCounted() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        histogram.record(2_000_000);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(histogram.getCount(), 40_000);
+        assertEquals(histogram.getTotalMicros(), 40_000L * 2000);
+        assertEquals(histogram.getMaxMicros(), 2000);
+    }
+}
@@ -0,0 +1,74 @@
+package com.automation.utils;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * {@link ScreenshotWriter} file writes and completion of writes racing with shutdown
+ */
+public class ScreenshotWriterTest {
+    private static final byte[] BYTES = {1, 2, 3};
+
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("screenshots");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        ScreenshotWriter.shutdown(5);
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void uniqueWritesNeverOverwrite() throws Exception {
+        String first = ScreenshotWriter.write(BYTES, directory.toString(), "shot", true).get(5, TimeUnit.SECONDS);
+        String second = ScreenshotWriter.write(BYTES, directory.toString(), "shot", true).get(5, TimeUnit.SECONDS);
+
+        assertEquals(Paths.get(first).getFileName().toString(), "shot.png");
+        assertEquals(Paths.get(second).getFileName().toString(), "shot_1.png");
+        assertEquals(Files.readAllBytes(Paths.get(second)), BYTES);
+    }
+
+    @Test
+    public void writeAfterShutdownStillCompletes() throws Exception {
+        ScreenshotWriter.write(BYTES, directory.toString(), "before", false).get(5, TimeUnit.SECONDS);
+        ScreenshotWriter.shutdown(5);
+
+        String path = ScreenshotWriter.write(BYTES, directory.toString(), "after", false).get(5, TimeUnit.SECONDS);
+
+        assertTrue(Files.exists(Paths.get(path)));
+    }
+
+    @Test
+    public void writeRejectedByAShutDownPoolRunsOnTheCaller() throws Exception {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                ScreenshotWriter.RUN_ON_CALLER);
+        pool.shutdown();
+        Thread caller = Thread.currentThread();
+
+        CompletableFuture<Thread> future = CompletableFuture.supplyAsync(Thread::currentThread, pool);
+
+        assertEquals(future.get(5, TimeUnit.SECONDS), caller);
+    }
+}
@@ -0,0 +1,648 @@
+package com.automation.drivers;
+
+import com.automation.config.ConfigKey;
+import com.automation.config.ConfigManager;
+import com.automation.pages.PageSnapshot;
+import com.automation.pages.SnapshotNode;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded W3C WebDriver / Appium stub server for offline throughput testing and unit tests.
+ * With simulator.enabled=true the test hooks start it and route every DriverManager session to it instead
+ * of appium.server.url. Every session serves the UI tree from simulator.ui.tree (default: the
+ * com.example.app login screen for the configured platform); locators are resolved with
+ * {@link PageSnapshot}, typed text is kept per session, and every command is delayed by
+ * simulator.latency.ms plus up to simulator.jitter.ms. Commands are answered by at most simulator.threads
+ * threads. Screen transitions are not simulated. Text input follows the drivers: an emptied field reports its
+ * hint, mobile: replaceElementValue is only known to UiAutomator2 and Espresso sessions (and dropped by
+ * fields marked ignore-replace="true", like a field whose input filter rejects a value set from outside),
+ * and tapping an element named Paste after mobile: touchAndHold pastes the clipboard into the held field.
+ * A simulator created with several screens shows them as the pages of one list: a vertical swipe moves to
+ * the next or previous screen (none past either end) and mobile: scroll to a name jumps to the screen showing it;
+ * swipe distances are recorded for tests.
+ */
+public class SimulatedAppiumServer {
+    private static final Logger logger = LoggerFactory.getLogger(SimulatedAppiumServer.class);
+    private static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+    // W3C replies need "value": null rather than an empty object
+    private static final Gson GSON = new GsonBuilder().serializeNulls().create();
+    private static volatile SimulatedAppiumServer instance;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final List<String> pageSources;
+    private final List<PageSnapshot> trees = new ArrayList<>();
+    private final String screenshot;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<SnapshotNode, String> elementIds = new ConcurrentHashMap<>();
+    private final Map<String, SnapshotNode> elements = new ConcurrentHashMap<>();
+    private final AtomicInteger nextElementId = new AtomicInteger();
+    private final AtomicLong sessionsCreated = new AtomicLong();
+    private final AtomicLong commands = new AtomicLong();
+    private final List<Integer> swipes = Collections.synchronizedList(new ArrayList<>());
+    private final long startNanos = System.nanoTime();
+
+    private SimulatedAppiumServer(int port, List<String> pageSources, long latencyMillis, long jitterMillis)
+            throws IOException {
+        this.pageSources = new ArrayList<>(pageSources);
+        for (String pageSource : pageSources) {
+            PageSnapshot tree = PageSnapshot.parse(pageSource, Integer.MAX_VALUE);
+            if (tree == null) {
+                throw new IllegalArgumentException("Simulator UI tree is not valid XML");
+            }
+            trees.add(tree);
+        }
+        this.screenshot = createScreenshot();
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, ConfigManager.getIntProperty(ConfigKey.SIMULATOR_THREADS));
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "simulator-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * Check if DriverManager should target the embedded simulator
+     * @return true if simulator.enabled is set
+     */
+    public static boolean isEnabled() {
+        return ConfigManager.getBooleanProperty(ConfigKey.SIMULATOR_ENABLED);
+    }
+
+    /**
+     * Get the running simulator, starting it from the configuration on first use
+     * @return Simulator instance
+     */
+    public static SimulatedAppiumServer start() {
+        SimulatedAppiumServer current = instance;
+        if (current == null) {
+            synchronized (SimulatedAppiumServer.class) {
+                current = instance;
+                if (current == null) {
+                    try {
+                        current = new SimulatedAppiumServer(ConfigManager.getIntProperty(ConfigKey.SIMULATOR_PORT),
+                                Collections.singletonList(loadUiTree()),
+                                ConfigManager.getLongProperty(ConfigKey.SIMULATOR_LATENCY_MS),
+                                ConfigManager.getLongProperty(ConfigKey.SIMULATOR_JITTER_MS));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to start simulator", e);
+                    }
+                    instance = current;
+                    logger.info("Simulated Appium server listening on {}", current.getUrl());
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Start a separate simulator on a free port, e.g. for a test that needs its own UI tree
+     * @param uiTree Page source to serve
+     * @param latencyMillis Delay of every command
+     * @param jitterMillis Maximum extra random delay of every command
+     * @return Running simulator; stop it with {@link #stop()}
+     */
+    public static SimulatedAppiumServer create(String uiTree, long latencyMillis, long jitterMillis) {
+        return create(Collections.singletonList(uiTree), latencyMillis, jitterMillis);
+    }
+
+    /**
+     * Start a separate simulator on a free port that serves a scrollable list of screens
+     * @param screens Page source of every screen, from the top of the list; sessions start on the first
+     * @param latencyMillis Delay of every command
+     * @param jitterMillis Maximum extra random delay of every command
+     * @return Running simulator; stop it with {@link #stop()}
+     */
+    public static SimulatedAppiumServer create(List<String> screens, long latencyMillis, long jitterMillis) {
+        try {
+            return new SimulatedAppiumServer(0, screens, latencyMillis, jitterMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start simulator", e);
+        }
+    }
+
+    /**
+     * Stop the shared simulator if it is running and log its throughput
+     */
+    public static synchronized void shutdown() {
+        SimulatedAppiumServer current = instance;
+        if (current == null) {
+            return;
+        }
+        instance = null;
+        current.stop();
+        double seconds = Math.max(1e-9, (System.nanoTime() - current.startNanos) / 1e9);
+        logger.info("Simulator: {} session(s) ({} /s), {} command(s) ({} /s)", current.sessionsCreated.get(),
+                String.format("%.1f", current.sessionsCreated.get() / seconds), current.commands.get(),
+                String.format("%.1f", current.commands.get() / seconds));
+    }
+
+    /**
+     * Stop this simulator
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Get the server URL to create sessions against
+     * @return Base URL
+     */
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Get number of commands answered since the simulator started
+     * @return Command count
+     */
+    long getCommandCount() {
+        return commands.get();
+    }
+
+    /**
+     * Get the vertical swipes received so far, in order
+     * @return Distance of every swipe in pixels: positive when the finger moved up (content scrolled down),
+     *         negative when it moved down
+     */
+    public List<Integer> getSwipes() {
+        synchronized (swipes) {
+            return new ArrayList<>(swipes);
+        }
+    }
+
+    /**
+     * Forget a session as if the server had dropped it (e.g. after newCommandTimeout)
+     * @param sessionId Session id
+     */
+    void expireSession(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    private static String loadUiTree() throws IOException {
+        String path = ConfigManager.getProperty(ConfigKey.SIMULATOR_UI_TREE);
+        if (!path.isEmpty()) {
+            return new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+        }
+        String resource = ConfigManager.isAndroid() ? "simulator/login-android.xml" : "simulator/login-ios.xml";
+        try (InputStream in = SimulatedAppiumServer.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Simulator UI tree not found: " + resource);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            return out.toString(StandardCharsets.UTF_8.name());
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        commands.incrementAndGet();
+        try {
+            simulateLatency();
+            String path = exchange.getRequestURI().getPath();
+            int sessionStart = path.indexOf("/session");
+            List<String> segments = new ArrayList<>();
+            if (sessionStart >= 0) {
+                for (String segment : path.substring(sessionStart + 1).split("/")) {
+                    if (!segment.isEmpty()) {
+                        segments.add(segment);
+                    }
+                }
+            }
+            JsonObject body = readBody(exchange);
+            Reply reply = route(exchange.getRequestMethod(), segments, body);
+            send(exchange, reply.status, reply.body);
+        } catch (RuntimeException e) {
+            logger.debug("Simulator failed to answer {}", exchange.getRequestURI(), e);
+            send(exchange, 500, error("unknown error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    private Reply route(String method, List<String> segments, JsonObject body) {
+        if (segments.isEmpty()) {
+            return Reply.value(Collections.singletonMap("ready", true));
+        }
+        if (segments.size() == 1) {
+            return "POST".equals(method) ? newSession(body) : Reply.value(null);
+        }
+        Session session = sessions.get(segments.get(1));
+        if (session == null) {
+            return new Reply(404, error("invalid session id", "No session " + segments.get(1)));
+        }
+        if (segments.size() == 2) {
+            if ("DELETE".equals(method)) {
+                sessions.remove(segments.get(1));
+            }
+            return Reply.value(null);
+        }
+        String command = segments.get(2);
+        switch (command) {
+            case "source":
+                return Reply.value(pageSources.get(session.screen));
+            case "screenshot":
+                return Reply.value(screenshot);
+            case "timeouts":
+                if ("POST".equals(method)) {
+                    for (Map.Entry<String, JsonElement> timeout : body.entrySet()) {
+                        if (timeout.getValue().isJsonPrimitive()) {
+                            session.timeouts.put(timeout.getKey(), timeout.getValue().getAsLong());
+                        }
+                    }
+                    return Reply.value(null);
+                }
+                return Reply.value(new LinkedHashMap<>(session.timeouts));
+            case "window":
+                // Window rect of the top-level element, so gestures have a screen size to work with
+                List<SnapshotNode> top = trees.get(session.screen).find("xpath", "/*/*");
+                return Reply.value(top == null || top.isEmpty() ? null : rect(top.get(0)));
+            case "element":
+            case "elements":
+                if (segments.size() == 3) {
+                    return find(session, null, command.equals("elements"), body);
+                }
+                return elementCommand(session, method, segments, body);
+            case "execute":
+                // mobile: terminateApp reports whether the app was running
+                String script = body.has("script") ? body.get("script").getAsString() : "";
+                JsonObject args = body.has("args") && body.getAsJsonArray("args").size() > 0
+                        && body.getAsJsonArray("args").get(0).isJsonObject()
+                        ? body.getAsJsonArray("args").get(0).getAsJsonObject() : new JsonObject();
+                if (script.equals("mobile: replaceElementValue")) {
+                    if (!session.automationName.equalsIgnoreCase("UiAutomator2")
+                            && !session.automationName.equalsIgnoreCase("Espresso")) {
+                        return new Reply(404, error("unknown command", script + " is not supported"));
+                    }
+                    SnapshotNode field = elements.get(args.get("elementId").getAsString());
+                    if (field != null && !"true".equals(field.getAttribute("ignore-replace"))) {
+                        session.texts.put(args.get("elementId").getAsString(), args.get("text").getAsString());
+                    }
+                    return Reply.value(null);
+                }
+                if (script.equals("mobile: scroll") && args.has("name")) {
+                    for (int screen = 0; screen < trees.size(); screen++) {
+                        List<SnapshotNode> named = trees.get(screen).find("accessibility id",
+                                args.get("name").getAsString());
+                        if (named != null && named.stream().anyMatch(SnapshotNode::isDisplayed)) {
+                            session.screen = screen;
+                            return Reply.value(null);
+                        }
+                    }
+                    return new Reply(404, error("no such element", "Nothing named " + args.get("name")));
+                }
+                if (script.equals("mobile: touchAndHold") && args.has("elementId")) {
+                    session.heldElement = args.get("elementId").getAsString();
+                    return Reply.value(null);
+                }
+                return Reply.value(script.equals("mobile: terminateApp") ? Boolean.TRUE : null);
+            case "actions":
+                if ("POST".equals(method)) {
+                    swipe(session, body);
+                }
+                return Reply.value(null);
+            case "appium":
+                if (segments.size() > 4 && segments.get(4).equals("set_clipboard") && body.has("content")) {
+                    session.clipboard = new String(Base64.getMimeDecoder().decode(body.get("content").getAsString()),
+                            StandardCharsets.UTF_8);
+                    return Reply.value(null);
+                }
+                if (segments.size() > 3 && segments.get(3).equals("device")) {
+                    return Reply.value(segments.size() > 4 && segments.get(4).equals("terminate_app") ? Boolean.TRUE : null);
+                }
+                if (segments.size() > 3 && segments.get(3).equals("settings")) {
+                    if ("POST".equals(method) && body.has("settings")) {
+                        for (Map.Entry<String, JsonElement> setting : body.getAsJsonObject("settings").entrySet()) {
+                            if (!setting.getValue().isJsonNull()) {
+                                session.settings.put(setting.getKey(), GSON.fromJson(setting.getValue(), Object.class));
+                            }
+                        }
+                        return Reply.value(null);
+                    }
+                    return Reply.value(new LinkedHashMap<>(session.settings));
+                }
+                if (segments.size() > 3 && segments.get(3).equals("execute_driver")) {
+                    // Like a server started without --allow-insecure execute_driver_script
+                    return new Reply(404, error("unknown command", "execute_driver is not supported"));
+                }
+                return Reply.value(null);
+            default:
+                return Reply.value(null);
+        }
+    }
+
+    /**
+     * Record a touch swipe from its first and last pointer move and move to the next or previous screen
+     * @param session Session
+     * @param body W3C actions request
+     */
+    private void swipe(Session session, JsonObject body) {
+        if (!body.has("actions")) {
+            return;
+        }
+        for (JsonElement source : body.getAsJsonArray("actions")) {
+            Integer startY = null;
+            Integer endY = null;
+            for (JsonElement action : source.getAsJsonObject().getAsJsonArray("actions")) {
+                JsonObject move = action.getAsJsonObject();
+                if ("pointerMove".equals(move.get("type").getAsString()) && move.has("y")) {
+                    startY = startY == null ? Integer.valueOf(move.get("y").getAsInt()) : startY;
+                    endY = move.get("y").getAsInt();
+                }
+            }
+            if (startY == null || startY.equals(endY)) {
+                continue;
+            }
+            int distance = startY - endY;
+            swipes.add(distance);
+            session.screen = distance > 0 ? Math.min(trees.size() - 1, session.screen + 1)
+                    : Math.max(0, session.screen - 1);
+        }
+    }
+
+    private Reply newSession(JsonObject body) {
+        Map<String, Object> capabilities = new LinkedHashMap<>();
+        JsonObject requested = body.has("capabilities") && body.getAsJsonObject("capabilities").has("alwaysMatch")
+                ? body.getAsJsonObject("capabilities").getAsJsonObject("alwaysMatch") : new JsonObject();
+        for (Map.Entry<String, JsonElement> capability : requested.entrySet()) {
+            String name = capability.getKey().startsWith("appium:")
+                    ? capability.getKey().substring("appium:".length()) : capability.getKey();
+            capabilities.put(name, GSON.fromJson(capability.getValue(), Object.class));
+        }
+        String sessionId = UUID.randomUUID().toString();
+        Object automationName = capabilities.get("automationName");
+        sessions.put(sessionId, new Session(automationName != null ? automationName.toString() : ""));
+        sessionsCreated.incrementAndGet();
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("sessionId", sessionId);
+        value.put("capabilities", capabilities);
+        return Reply.value(value);
+    }
+
+    private Reply elementCommand(Session session, String method, List<String> segments, JsonObject body) {
+        SnapshotNode node = segments.size() > 3 ? elements.get(segments.get(3)) : null;
+        if (node == null) {
+            return new Reply(404, error("no such element", "Unknown element"));
+        }
+        String elementId = segments.get(3);
+        String action = segments.size() > 4 ? segments.get(4) : "";
+        switch (action) {
+            case "element":
+                return find(session, node, false, body);
+            case "elements":
+                return find(session, node, true, body);
+            case "text":
+                String text = session.texts.getOrDefault(elementId, node.getText());
+                String hint = node.getAttribute("hint");
+                return Reply.value(text.isEmpty() && hint != null ? hint : text);
+            case "displayed":
+                return Reply.value(node.isDisplayed());
+            case "enabled":
+                return Reply.value(!"false".equals(node.getAttribute("enabled")));
+            case "selected":
+                return Reply.value("true".equals(node.getAttribute("selected")));
+            case "name":
+                return Reply.value(node.getTag());
+            case "attribute":
+                return Reply.value(segments.size() > 5 ? node.getAttribute(segments.get(5)) : null);
+            case "rect":
+                return Reply.value(rect(node));
+            case "value":
+                String typed = body.has("text") ? body.get("text").getAsString() : "";
+                session.texts.compute(elementId, (id, value) -> (value != null ? value : initialValue(node)) + typed);
+                return Reply.value(null);
+            case "clear":
+                session.texts.put(elementId, "");
+                return Reply.value(null);
+            case "click":
+                String held = session.heldElement;
+                if ("Paste".equals(node.getAttribute("name")) && held != null && session.clipboard != null) {
+                    session.texts.merge(held, session.clipboard, String::concat);
+                    session.heldElement = null;
+                }
+                return Reply.value(null);
+            default:
+                return Reply.value(null);
+        }
+    }
+
+    /**
+     * Get the value keys are typed after: text on Android (empty if it only shows the hint), value on iOS
+     * @param node Text field
+     * @return Value before any input
+     */
+    private static String initialValue(SnapshotNode node) {
+        String text = node.getAttribute("text");
+        if (text != null) {
+            return text.equals(node.getAttribute("hint")) ? "" : text;
+        }
+        String value = node.getAttribute("value");
+        return value != null ? value : "";
+    }
+
+    /**
+     * Resolve a locator from a find request against the session's screen
+     * @param session Session
+     * @param scope Element to search under, or null for the whole tree
+     * @param multiple true for findElements
+     * @param body Request body with using/value
+     * @return Element reference(s), or a no such element error
+     */
+    private Reply find(Session session, SnapshotNode scope, boolean multiple, JsonObject body) {
+        String using = body.has("using") ? body.get("using").getAsString() : "";
+        String value = body.has("value") ? body.get("value").getAsString() : "";
+        List<SnapshotNode> matches = trees.get(session.screen).find(using, value);
+        if (matches == null) {
+            return new Reply(400, error("invalid selector", "Unsupported locator strategy: " + using));
+        }
+        List<Map<String, String>> references = new ArrayList<>();
+        for (SnapshotNode node : matches) {
+            if (scope == null || isDescendant(node, scope)) {
+                references.add(Collections.singletonMap(ELEMENT_KEY, elementId(node)));
+                if (!multiple) {
+                    break;
+                }
+            }
+        }
+        if (multiple) {
+            return Reply.value(references);
+        }
+        return references.isEmpty()
+                ? new Reply(404, error("no such element", "No element found for " + using + "=" + value))
+                : Reply.value(references.get(0));
+    }
+
+    private String elementId(SnapshotNode node) {
+        return elementIds.computeIfAbsent(node, key -> {
+            String id = "element-" + nextElementId.incrementAndGet();
+            elements.put(id, key);
+            return id;
+        });
+    }
+
+    private static boolean isDescendant(SnapshotNode node, SnapshotNode ancestor) {
+        for (SnapshotNode parent = node.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, Integer> rect(SnapshotNode node) {
+        Map<String, Integer> rect = new LinkedHashMap<>();
+        String bounds = node.getAttribute("bounds");
+        if (bounds != null && bounds.matches("\\[\\d+,\\d+]\\[\\d+,\\d+]")) {
+            String[] numbers = bounds.replaceAll("[\\[\\]]", ",").split(",+");
+            int x1 = Integer.parseInt(numbers[1]);
+            int y1 = Integer.parseInt(numbers[2]);
+            rect.put("x", x1);
+            rect.put("y", y1);
+            rect.put("width", Integer.parseInt(numbers[3]) - x1);
+            rect.put("height", Integer.parseInt(numbers[4]) - y1);
+        } else {
+            for (String name : new String[] {"x", "y", "width", "height"}) {
+                String value = node.getAttribute(name);
+                rect.put(name, value != null ? Integer.parseInt(value) : 0);
+            }
+        }
+        return rect;
+    }
+
+    private void simulateLatency() {
+        long delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        if (delay > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static JsonObject readBody(HttpExchange exchange) throws IOException {
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            JsonObject body = GSON.fromJson(reader, JsonObject.class);
+            return body != null ? body : new JsonObject();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = GSON.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, Object> error(String error, String message) {
+        Map<String, Object> value = new HashMap<>();
+        value.put("error", error);
+        value.put("message", message);
+        value.put("stacktrace", "");
+        return Collections.singletonMap("value", value);
+    }
+
+    private static String createScreenshot() {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(new BufferedImage(360, 640, BufferedImage.TYPE_INT_RGB), "png", out);
+            return Base64.getEncoder().encodeToString(out.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Per-session state: text typed into elements, settings, timeouts, the clipboard and the screen shown
+     */
+    private static final class Session {
+        private final String automationName;
+        private final Map<String, String> texts = new ConcurrentHashMap<>();
+        private final Map<String, Object> settings = new ConcurrentHashMap<>();
+        private final Map<String, Long> timeouts = new ConcurrentHashMap<>();
+        private volatile String clipboard;
+        private volatile String heldElement;
+        private volatile int screen;
+
+        private Session(String automationName) {
+            this.automationName = automationName;
+            // W3C default timeouts
+            timeouts.put("implicit", 0L);
+            timeouts.put("pageLoad", 300000L);
+            timeouts.put("script", 30000L);
+            // A few of the UiAutomator2 / XCUITest defaults, so settings profiles have values to restore
+            settings.put("waitForIdleTimeout", ConfigManager.isAndroid() ? 10000 : 10.0);
+            settings.put(ConfigManager.isAndroid() ? "waitForSelectorTimeout" : "animationCoolOffTimeout",
+                    ConfigManager.isAndroid() ? 10000 : 2.0);
+            settings.put("snapshotMaxDepth", ConfigManager.isAndroid() ? 70 : 50);
+        }
+    }
+
+    /**
+     * HTTP status and JSON body of a reply
+     */
+    private static final class Reply {
+        private final int status;
+        private final Object body;
+
+        private Reply(int status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        private static Reply value(Object value) {
+            return new Reply(200, Collections.singletonMap("value", value));
+        }
+    }
+}